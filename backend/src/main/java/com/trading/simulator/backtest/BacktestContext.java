@@ -0,0 +1,38 @@
+package com.trading.simulator.backtest;
+
+/**
+ * What a {@link Strategy} sees of its run: the universe's bars, the clock and
+ * a simulated portfolio. Orders are market orders that fill at once at the
+ * symbol's latest close, and are settled by the same {@code Account} rules
+ * live trades are: a buy needs the cash, a sell needs the shares, and a
+ * rejected order changes nothing. Amounts are in cents.
+ */
+public interface BacktestContext {
+
+    int symbolCount();
+
+    BarSeries bars(int symbol);
+
+    // Start of the bar being delivered, in epoch seconds
+    long time();
+
+    long cash();
+
+    int position(int symbol);
+
+    // Cash plus every position at its latest close
+    long equity();
+
+    // The latest close seen for the symbol, or 0 before its first bar
+    long lastPrice(int symbol);
+
+    /**
+     * @return false if rejected for lack of cash or a price
+     */
+    boolean buy(int symbol, int quantity);
+
+    /**
+     * @return false if rejected for lack of shares
+     */
+    boolean sell(int symbol, int quantity);
+}
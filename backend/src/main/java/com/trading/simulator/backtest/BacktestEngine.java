@@ -0,0 +1,82 @@
+package com.trading.simulator.backtest;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs many {@link BacktestJob}s over the same universe in parallel on a
+ * fork-join pool. Each job runs start to finish on one worker with its own
+ * account and strategy; the only thing jobs share is the mapped bar data,
+ * which is read-only.
+ */
+public final class BacktestEngine implements AutoCloseable {
+
+    private final ForkJoinPool pool;
+
+    /**
+     * @param parallelism worker threads; 0 means one per available core
+     */
+    public BacktestEngine(int parallelism) {
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Runs every job over bars starting in {@code [from, to)}, epoch seconds,
+     * and returns the results in job order.
+     */
+    public List<BacktestResult> run(List<BarSeries> universe, List<BacktestJob> jobs, long initialCash,
+                                    long from, long to) {
+        if (initialCash <= 0) throw new IllegalArgumentException("Initial cash must be positive");
+        if (universe.isEmpty()) throw new IllegalArgumentException("The universe is empty");
+        BacktestResult[] results = new BacktestResult[jobs.size()];
+        pool.invoke(new Split(universe, jobs, initialCash, from, to, results, 0, jobs.size()));
+        return Arrays.asList(results);
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    // Halves the job range until one job is left; idle workers steal the other halves
+    private static final class Split extends RecursiveAction {
+        private final List<BarSeries> universe;
+        private final List<BacktestJob> jobs;
+        private final long initialCash;
+        private final long from;
+        private final long to;
+        private final BacktestResult[] results;
+        private final int start;
+        private final int end;
+
+        Split(List<BarSeries> universe, List<BacktestJob> jobs, long initialCash, long from, long to,
+              BacktestResult[] results, int start, int end) {
+            this.universe = universe;
+            this.jobs = jobs;
+            this.initialCash = initialCash;
+            this.from = from;
+            this.to = to;
+            this.results = results;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start == 1) {
+                results[start] = new BacktestRun(universe, initialCash).run(jobs.get(start), from, to);
+                return;
+            }
+            if (end <= start) return;
+            int middle = (start + end) >>> 1;
+            invokeAll(new Split(universe, jobs, initialCash, from, to, results, start, middle),
+                    new Split(universe, jobs, initialCash, from, to, results, middle, end));
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.trading.simulator.backtest;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One strategy with one set of parameters.
+ */
+public record BacktestJob(String strategy, Map<String, Double> parameters, StrategyFactory factory) {
+
+    /**
+     * One job per combination of the values in {@code grid}, in row-major
+     * order of the grid's iteration order.
+     */
+    public static List<BacktestJob> grid(String strategy, StrategyFactory factory, Map<String, List<Double>> grid) {
+        List<Map<String, Double>> combinations = new ArrayList<>();
+        combinations.add(new LinkedHashMap<>());
+        for (Map.Entry<String, List<Double>> parameter : grid.entrySet()) {
+            List<Map<String, Double>> next = new ArrayList<>();
+            for (Map<String, Double> combination : combinations) {
+                for (Double value : parameter.getValue()) {
+                    Map<String, Double> extended = new LinkedHashMap<>(combination);
+                    extended.put(parameter.getKey(), value);
+                    next.add(extended);
+                }
+            }
+            combinations = next;
+        }
+
+        List<BacktestJob> jobs = new ArrayList<>(combinations.size());
+        for (Map<String, Double> parameters : combinations) {
+            jobs.add(new BacktestJob(strategy, parameters, factory));
+        }
+        return jobs;
+    }
+}
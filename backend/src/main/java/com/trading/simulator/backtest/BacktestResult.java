@@ -0,0 +1,21 @@
+package com.trading.simulator.backtest;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Outcome of one {@link BacktestJob}. Drawdown is the largest fall of equity
+ * from a previous peak, sampled once per bar time.
+ */
+public record BacktestResult(
+        String strategy,
+        Map<String, Double> parameters,
+        BigDecimal initialCash,
+        BigDecimal finalEquity,
+        BigDecimal returnPercent,
+        BigDecimal maxDrawdownPercent,
+        int trades,
+        int rejectedOrders,
+        long bars,
+        long elapsedMillis
+) {}
@@ -0,0 +1,172 @@
+package com.trading.simulator.backtest;
+
+import com.trading.simulator.execution.Account;
+import com.trading.simulator.money.Money;
+
+import java.util.List;
+
+/**
+ * One job replayed over the universe on the calling thread: merges the
+ * symbols' bars into one time-ordered stream, feeds it to the strategy and
+ * settles its orders on a private {@link Account}. Equity is kept up to date
+ * incrementally, one multiply per bar, rather than by revaluing every
+ * position.
+ */
+final class BacktestRun implements BacktestContext {
+
+    private static final long NONE = Long.MAX_VALUE;
+
+    private final BarSeries[] universe;
+    private final Account account;
+    private final int[] held;
+    private final long[] lastClose;
+    private long marketValue;
+    private long time;
+    private int trades;
+    private int rejected;
+
+    BacktestRun(List<BarSeries> universe, long initialCash) {
+        this.universe = universe.toArray(BarSeries[]::new);
+        this.account = new Account(0L, initialCash);
+        this.held = new int[this.universe.length];
+        this.lastClose = new long[this.universe.length];
+    }
+
+    /**
+     * Replays bars starting in {@code [from, to)}, epoch seconds.
+     */
+    BacktestResult run(BacktestJob job, long from, long to) {
+        long started = System.nanoTime();
+        long initialCash = account.getBalance();
+        Strategy strategy = job.factory().create(job.parameters());
+        int n = universe.length;
+        int[] cursor = new int[n];
+        int[] end = new int[n];
+        long[] next = new long[n];
+        for (int s = 0; s < n; s++) {
+            cursor[s] = universe[s].indexAtOrAfter(from);
+            end[s] = universe[s].indexAtOrAfter(to);
+            next[s] = cursor[s] < end[s] ? universe[s].time(cursor[s]) : NONE;
+        }
+
+        strategy.onStart(this);
+        long bars = 0;
+        long peak = initialCash;
+        long maxDrawdown = 0; // ten-thousandths
+        while (true) {
+            long t = NONE;
+            for (int s = 0; s < n; s++) {
+                if (next[s] < t) t = next[s];
+            }
+            if (t == NONE) break;
+
+            time = t;
+            for (int s = 0; s < n; s++) {
+                if (next[s] != t) continue;
+                BarSeries series = universe[s];
+                int bar = cursor[s];
+                long close = series.close(bar);
+                marketValue += held[s] * (close - lastClose[s]);
+                lastClose[s] = close;
+                strategy.onBar(this, s, bar);
+                bars++;
+                next[s] = ++cursor[s] < end[s] ? series.time(cursor[s]) : NONE;
+            }
+
+            long equity = equity();
+            if (equity > peak) {
+                peak = equity;
+            } else if (peak > 0) {
+                maxDrawdown = Math.max(maxDrawdown, Money.ratio(peak - equity, peak));
+            }
+        }
+
+        long finalEquity = equity();
+        return new BacktestResult(
+                job.strategy(),
+                job.parameters(),
+                Money.toBigDecimal(initialCash),
+                Money.toBigDecimal(finalEquity),
+                Money.ratioAsPercent(Money.ratio(finalEquity - initialCash, initialCash)),
+                Money.ratioAsPercent(maxDrawdown),
+                trades,
+                rejected,
+                bars,
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    // ========== BacktestContext ==========
+
+    @Override
+    public int symbolCount() {
+        return universe.length;
+    }
+
+    @Override
+    public BarSeries bars(int symbol) {
+        return universe[symbol];
+    }
+
+    @Override
+    public long time() {
+        return time;
+    }
+
+    @Override
+    public long cash() {
+        return account.getBalance();
+    }
+
+    @Override
+    public int position(int symbol) {
+        return held[symbol];
+    }
+
+    @Override
+    public long equity() {
+        return account.getBalance() + marketValue;
+    }
+
+    @Override
+    public long lastPrice(int symbol) {
+        return lastClose[symbol];
+    }
+
+    @Override
+    public boolean buy(int symbol, int quantity) {
+        long price = lastClose[symbol];
+        if (quantity <= 0 || price == 0) {
+            rejected++;
+            return false;
+        }
+        try {
+            account.executeBuyOrder(universe[symbol].getSymbol(), quantity, price);
+        } catch (RuntimeException e) {
+            rejected++;
+            return false;
+        }
+        held[symbol] += quantity;
+        marketValue += Money.times(price, quantity);
+        trades++;
+        return true;
+    }
+
+    @Override
+    public boolean sell(int symbol, int quantity) {
+        long price = lastClose[symbol];
+        if (quantity <= 0) {
+            rejected++;
+            return false;
+        }
+        try {
+            account.executeSellOrder(universe[symbol].getSymbol(), quantity, price);
+        } catch (RuntimeException e) {
+            rejected++;
+            return false;
+        }
+        held[symbol] -= quantity;
+        marketValue -= Money.times(price, quantity);
+        trades++;
+        return true;
+    }
+}
@@ -0,0 +1,65 @@
+package com.trading.simulator.backtest;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes the {@code .bars} format {@link BarSeries} maps. The file is written
+ * under a temporary name and moved into place, so a reader never maps a
+ * half-written file.
+ */
+public final class BarFileWriter {
+
+    private BarFileWriter() {}
+
+    /**
+     * Writes {@code count} bars, which must be in ascending time order, with
+     * prices in cents.
+     */
+    public static void write(Path file, String symbol, int count, long[] times, long[] opens, long[] highs,
+                             long[] lows, long[] closes, long[] volumes) throws IOException {
+        byte[] symbolBytes = symbol.getBytes(StandardCharsets.US_ASCII);
+        if (symbolBytes.length > BarSeries.MAX_SYMBOL_BYTES) {
+            throw new IllegalArgumentException("Symbol longer than " + BarSeries.MAX_SYMBOL_BYTES + " bytes: " + symbol);
+        }
+        for (int i = 1; i < count; i++) {
+            if (times[i] <= times[i - 1]) {
+                throw new IllegalArgumentException(symbol + " bars are not in ascending time order at " + i);
+            }
+        }
+
+        long size = BarSeries.HEADER_BYTES + (long) count * BarSeries.BYTES_PER_BAR;
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            out.order(ByteOrder.LITTLE_ENDIAN);
+            out.putInt(BarSeries.MAGIC).putInt(BarSeries.VERSION).putInt(count).putShort((short) symbolBytes.length);
+            out.put(16, symbolBytes);
+            out.position(BarSeries.HEADER_BYTES);
+
+            for (int i = 0; i < count; i++) out.putLong(times[i]);
+            for (int i = 0; i < count; i++) out.putLong(volumes[i]);
+            putCents(out, opens, count);
+            putCents(out, highs, count);
+            putCents(out, lows, count);
+            putCents(out, closes, count);
+            out.force();
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void putCents(ByteBuffer out, long[] cents, int count) {
+        for (int i = 0; i < count; i++) {
+            out.putInt(Math.toIntExact(cents[i]));
+        }
+    }
+}
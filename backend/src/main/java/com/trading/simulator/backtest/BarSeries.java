@@ -0,0 +1,111 @@
+package com.trading.simulator.backtest;
+
+import com.trading.simulator.symbol.SymbolRegistry;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * OHLCV bars for one symbol, oldest first, read straight from a memory-mapped
+ * {@code .bars} file. Nothing is copied onto the heap, so a decade of minute
+ * bars costs page cache rather than heap, and every backtest running at once
+ * shares the same pages. Reads are absolute and the series is immutable, so
+ * one instance can be read from any number of threads.
+ *
+ * <p>The file is a 64-byte header followed by one column per field, little
+ * endian: bar start times in epoch seconds and volumes as longs, then open,
+ * high, low and close in cents as ints.
+ */
+public final class BarSeries {
+
+    static final int MAGIC = 0x42415253; // "BARS"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 64;
+    static final int MAX_SYMBOL_BYTES = 32;
+    static final int BYTES_PER_BAR = 2 * Long.BYTES + 4 * Integer.BYTES;
+
+    private final String symbol;
+    private final int symbolId;
+    private final int count;
+    private final LongBuffer times;
+    private final LongBuffer volumes;
+    private final IntBuffer opens;
+    private final IntBuffer highs;
+    private final IntBuffer lows;
+    private final IntBuffer closes;
+
+    private BarSeries(String symbol, int count, ByteBuffer data) {
+        this.symbol = symbol;
+        this.symbolId = SymbolRegistry.intern(symbol);
+        this.count = count;
+        int offset = HEADER_BYTES;
+        this.times = column(data, offset, count * Long.BYTES).asLongBuffer();
+        this.volumes = column(data, offset += count * Long.BYTES, count * Long.BYTES).asLongBuffer();
+        this.opens = column(data, offset += count * Long.BYTES, count * Integer.BYTES).asIntBuffer();
+        this.highs = column(data, offset += count * Integer.BYTES, count * Integer.BYTES).asIntBuffer();
+        this.lows = column(data, offset += count * Integer.BYTES, count * Integer.BYTES).asIntBuffer();
+        this.closes = column(data, offset + count * Integer.BYTES, count * Integer.BYTES).asIntBuffer();
+    }
+
+    /**
+     * Maps a file written by {@link BarFileWriter}. The mapping stays valid
+     * after the channel is closed and is released when the series is collected.
+     */
+    public static BarSeries open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            data.order(ByteOrder.LITTLE_ENDIAN);
+            if (data.limit() < HEADER_BYTES || data.getInt(0) != MAGIC) {
+                throw new IOException(file + " is not a bar file");
+            }
+            if (data.getInt(4) != VERSION) {
+                throw new IOException(file + " has unsupported version " + data.getInt(4));
+            }
+            int count = data.getInt(8);
+            int symbolLength = data.getShort(12);
+            if ((long) HEADER_BYTES + (long) count * BYTES_PER_BAR != data.limit()) {
+                throw new IOException(file + " is truncated");
+            }
+            byte[] symbol = new byte[symbolLength];
+            data.get(16, symbol);
+            return new BarSeries(new String(symbol, StandardCharsets.US_ASCII), count, data);
+        }
+    }
+
+    public String getSymbol() { return symbol; }
+    public int getSymbolId() { return symbolId; }
+    public int size() { return count; }
+
+    public long time(int bar) { return times.get(bar); }
+    public long volume(int bar) { return volumes.get(bar); }
+    public long open(int bar) { return opens.get(bar); }
+    public long high(int bar) { return highs.get(bar); }
+    public long low(int bar) { return lows.get(bar); }
+    public long close(int bar) { return closes.get(bar); }
+
+    /**
+     * Index of the first bar starting at or after {@code epochSecond}, or
+     * {@link #size()} if there is none.
+     */
+    public int indexAtOrAfter(long epochSecond) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (times.get(middle) < epochSecond) low = middle + 1; else high = middle;
+        }
+        return low;
+    }
+
+    private static ByteBuffer column(ByteBuffer data, int offset, int length) {
+        return data.slice(offset, length).order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
@@ -0,0 +1,24 @@
+package com.trading.simulator.backtest;
+
+/**
+ * Splits the starting cash evenly across the universe at each symbol's first
+ * bar and holds to the end. The baseline other strategies are judged against.
+ */
+public final class BuyAndHold implements Strategy {
+
+    private long budgetPerSymbol;
+
+    @Override
+    public void onStart(BacktestContext context) {
+        budgetPerSymbol = context.cash() / context.symbolCount();
+    }
+
+    @Override
+    public void onBar(BacktestContext context, int symbol, int bar) {
+        if (context.position(symbol) > 0) return;
+        long price = context.lastPrice(symbol);
+        if (price <= 0) return;
+        long quantity = Math.min(budgetPerSymbol, context.cash()) / price;
+        if (quantity > 0) context.buy(symbol, (int) Math.min(quantity, Integer.MAX_VALUE));
+    }
+}
@@ -0,0 +1,216 @@
+package com.trading.simulator.backtest;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Converts CSV bars to the {@code .bars} format. The expected columns are
+ * Alpha Vantage's {@code datatype=csv} layout:
+ * {@code timestamp,open,high,low,close,volume} with a header row, timestamps as
+ * {@code yyyy-MM-dd HH:mm:ss}, {@code yyyy-MM-dd} or epoch seconds (read as
+ * UTC), and prices with any number of decimals, rounded half-up to cents.
+ * Rows may be newest first, as Alpha Vantage sends them.
+ *
+ * <p>The CSV is memory-mapped and parsed in place, without a String per field.
+ */
+public final class CsvBarImporter {
+
+    private CsvBarImporter() {}
+
+    public static void convert(Path csv, Path bars, String symbol) throws IOException {
+        Columns columns = new Columns();
+        try (FileChannel channel = FileChannel.open(csv, StandardOpenOption.READ)) {
+            MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            Parser parser = new Parser(in, csv);
+            parser.skipLine(); // header
+            while (parser.hasMore()) {
+                if (parser.atLineEnd()) {
+                    parser.skipLine();
+                    continue;
+                }
+                long time = parser.timestamp();
+                long open = parser.cents();
+                long high = parser.cents();
+                long low = parser.cents();
+                long close = parser.cents();
+                long volume = parser.integer();
+                parser.skipLine();
+                columns.add(time, open, high, low, close, volume);
+            }
+        }
+
+        columns.sortAscending();
+        BarFileWriter.write(bars, symbol, columns.size, columns.times, columns.opens, columns.highs, columns.lows,
+                columns.closes, columns.volumes);
+    }
+
+    // ========== PRIVATE HELPERS ==========
+
+    private static final class Parser {
+        private final MappedByteBuffer in;
+        private final Path file;
+        private int position;
+        private int line = 1;
+
+        Parser(MappedByteBuffer in, Path file) {
+            this.in = in;
+            this.file = file;
+        }
+
+        boolean hasMore() {
+            return position < in.limit();
+        }
+
+        boolean atLineEnd() {
+            byte b = in.get(position);
+            return b == '\n' || b == '\r';
+        }
+
+        void skipLine() {
+            while (position < in.limit() && in.get(position) != '\n') position++;
+            position++;
+            line++;
+        }
+
+        long timestamp() throws IOException {
+            int start = position;
+            int end = fieldEnd();
+            int length = end - start;
+            long seconds;
+            if (length >= 10 && in.get(start + 4) == '-') {
+                LocalDate date = LocalDate.of(digits(start, 4), digits(start + 5, 2), digits(start + 8, 2));
+                seconds = date.toEpochSecond(LocalTime.MIDNIGHT, ZoneOffset.UTC);
+                if (length >= 19) {
+                    seconds += digits(start + 11, 2) * 3600L + digits(start + 14, 2) * 60L + digits(start + 17, 2);
+                }
+            } else {
+                seconds = integer(start, end);
+            }
+            position = end + 1;
+            return seconds;
+        }
+
+        long cents() throws IOException {
+            int end = fieldEnd();
+            long whole = 0;
+            long fraction = 0;
+            int fractionDigits = 0;
+            boolean roundUp = false;
+            boolean inFraction = false;
+            for (int i = position; i < end; i++) {
+                byte b = in.get(i);
+                if (b == '.') {
+                    inFraction = true;
+                } else if (b < '0' || b > '9') {
+                    throw error("bad price");
+                } else if (!inFraction) {
+                    whole = whole * 10 + (b - '0');
+                } else if (fractionDigits < 2) {
+                    fraction = fraction * 10 + (b - '0');
+                    fractionDigits++;
+                } else if (fractionDigits == 2) {
+                    roundUp = b >= '5'; // HALF_UP on the third decimal
+                    fractionDigits++;
+                }
+            }
+            if (end == position) throw error("missing price");
+            while (fractionDigits < 2) {
+                fraction *= 10;
+                fractionDigits++;
+            }
+            position = end + 1;
+            return whole * 100 + fraction + (roundUp ? 1 : 0);
+        }
+
+        long integer() throws IOException {
+            int end = fieldEnd();
+            long value = integer(position, end);
+            position = end;
+            return value;
+        }
+
+        private long integer(int start, int end) throws IOException {
+            if (start == end) throw error("missing number");
+            long value = 0;
+            for (int i = start; i < end; i++) {
+                byte b = in.get(i);
+                if (b < '0' || b > '9') throw error("bad number");
+                value = value * 10 + (b - '0');
+            }
+            return value;
+        }
+
+        private int digits(int start, int count) throws IOException {
+            return (int) integer(start, start + count);
+        }
+
+        private int fieldEnd() {
+            int end = position;
+            while (end < in.limit()) {
+                byte b = in.get(end);
+                if (b == ',' || b == '\n' || b == '\r') break;
+                end++;
+            }
+            return end;
+        }
+
+        private IOException error(String what) {
+            return new IOException(file + " line " + line + ": " + what);
+        }
+    }
+
+    private static final class Columns {
+        long[] times = new long[1024];
+        long[] opens = new long[1024];
+        long[] highs = new long[1024];
+        long[] lows = new long[1024];
+        long[] closes = new long[1024];
+        long[] volumes = new long[1024];
+        int size;
+
+        void add(long time, long open, long high, long low, long close, long volume) {
+            if (size == times.length) {
+                int capacity = size * 2;
+                times = Arrays.copyOf(times, capacity);
+                opens = Arrays.copyOf(opens, capacity);
+                highs = Arrays.copyOf(highs, capacity);
+                lows = Arrays.copyOf(lows, capacity);
+                closes = Arrays.copyOf(closes, capacity);
+                volumes = Arrays.copyOf(volumes, capacity);
+            }
+            times[size] = time;
+            opens[size] = open;
+            highs[size] = high;
+            lows[size] = low;
+            closes[size] = close;
+            volumes[size] = volume;
+            size++;
+        }
+
+        // Alpha Vantage sends newest first; anything else out of order is left for the writer to reject
+        void sortAscending() {
+            if (size < 2 || times[0] < times[size - 1]) return;
+            for (int i = 0, j = size - 1; i < j; i++, j--) {
+                swap(times, i, j);
+                swap(opens, i, j);
+                swap(highs, i, j);
+                swap(lows, i, j);
+                swap(closes, i, j);
+                swap(volumes, i, j);
+            }
+        }
+
+        private static void swap(long[] values, int i, int j) {
+            long value = values[i];
+            values[i] = values[j];
+            values[j] = value;
+        }
+    }
+}
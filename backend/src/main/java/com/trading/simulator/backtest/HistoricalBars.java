@@ -0,0 +1,98 @@
+package com.trading.simulator.backtest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * A directory of bar history, one file per symbol: {@code AAPL.bars} or
+ * {@code AAPL.csv}. A CSV is converted to {@code .bars} next to it the first
+ * time it is asked for, and again whenever it is newer than its conversion.
+ * Opened series are kept, so repeated backtests map each file once; a series
+ * is only opened again once its CSV has been replaced.
+ */
+public final class HistoricalBars {
+
+    // Symbols name files, so nothing that could leave the directory gets through
+    private static final Pattern SYMBOL = Pattern.compile("[A-Z0-9][A-Z0-9.\\-]{0,31}");
+
+    private final Path directory;
+    private final Map<String, Opened> open = new ConcurrentHashMap<>();
+
+    public HistoricalBars(Path directory) {
+        this.directory = directory;
+    }
+
+    public TreeSet<String> getSymbols() {
+        TreeSet<String> symbols = new TreeSet<>();
+        if (!Files.isDirectory(directory)) return symbols;
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.endsWith(".bars") || name.endsWith(".csv"))
+                    .map(name -> name.substring(0, name.lastIndexOf('.')).toUpperCase(Locale.ROOT))
+                    .forEach(symbols::add);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return symbols;
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code symbol} is not a valid symbol
+     *                                  or there is no history for it
+     */
+    public BarSeries get(String symbol) {
+        String canonical = symbol.trim().toUpperCase(Locale.ROOT);
+        if (!SYMBOL.matcher(canonical).matches()) {
+            throw new IllegalArgumentException("Invalid symbol: " + symbol);
+        }
+        try {
+            FileTime csvModified = csvModified(canonical);
+            Opened opened = open.get(canonical);
+            if (opened != null && !opened.isOlderThan(csvModified)) return opened.series();
+            return open.compute(canonical, (key, current) -> {
+                if (current != null && !current.isOlderThan(csvModified)) return current;
+                try {
+                    return new Opened(load(key), csvModified);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }).series();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private BarSeries load(String symbol) throws IOException {
+        Path bars = directory.resolve(symbol + ".bars");
+        Path csv = directory.resolve(symbol + ".csv");
+        if (Files.exists(csv) && (!Files.exists(bars)
+                || Files.getLastModifiedTime(csv).compareTo(Files.getLastModifiedTime(bars)) > 0)) {
+            CsvBarImporter.convert(csv, bars, symbol);
+        }
+        if (!Files.exists(bars)) {
+            throw new IllegalArgumentException("No history for " + symbol);
+        }
+        return BarSeries.open(bars);
+    }
+
+    private FileTime csvModified(String symbol) throws IOException {
+        Path csv = directory.resolve(symbol + ".csv");
+        return Files.exists(csv) ? Files.getLastModifiedTime(csv) : null;
+    }
+
+    private record Opened(BarSeries series, FileTime csvModified) {
+
+        boolean isOlderThan(FileTime csv) {
+            return csv != null && (csvModified == null || csv.compareTo(csvModified) > 0);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.trading.simulator.backtest;
+
+import java.util.Map;
+
+/**
+ * Buys a symbol when its {@code fast}-bar simple moving average of closes
+ * crosses above the {@code slow}-bar one, with an equal share of current
+ * equity, and sells the whole position when it crosses back below. Both
+ * averages are running sums over one ring of closes per symbol, so a bar costs
+ * the same whatever the window lengths.
+ */
+public final class MovingAverageCrossover implements Strategy {
+
+    private final int fast;
+    private final int slow;
+    private long[][] closes; // per symbol, ring of the last slow closes
+    private long[] fastSums;
+    private long[] slowSums;
+    private int[] counts;
+    private boolean[] fastAbove;
+
+    public MovingAverageCrossover(int fast, int slow) {
+        if (fast <= 0 || slow <= fast) {
+            throw new IllegalArgumentException("Need 0 < fast < slow, got fast=" + fast + " slow=" + slow);
+        }
+        this.fast = fast;
+        this.slow = slow;
+    }
+
+    public static MovingAverageCrossover of(Map<String, Double> parameters) {
+        return new MovingAverageCrossover(intParameter(parameters, "fast"), intParameter(parameters, "slow"));
+    }
+
+    @Override
+    public void onStart(BacktestContext context) {
+        int n = context.symbolCount();
+        closes = new long[n][slow];
+        fastSums = new long[n];
+        slowSums = new long[n];
+        counts = new int[n];
+        fastAbove = new boolean[n];
+    }
+
+    @Override
+    public void onBar(BacktestContext context, int symbol, int bar) {
+        long close = context.lastPrice(symbol);
+        long[] ring = closes[symbol];
+        int count = counts[symbol]++;
+        fastSums[symbol] += close - (count >= fast ? ring[(count - fast) % slow] : 0);
+        slowSums[symbol] += close - (count >= slow ? ring[count % slow] : 0);
+        ring[count % slow] = close;
+        if (count + 1 < slow) return;
+
+        // fastSum / fast > slowSum / slow, without dividing
+        boolean above = fastSums[symbol] * slow > slowSums[symbol] * fast;
+        if (count + 1 > slow && above != fastAbove[symbol]) {
+            int held = context.position(symbol);
+            if (above && held == 0) {
+                long quantity = Math.min(context.equity() / context.symbolCount(), context.cash()) / close;
+                if (quantity > 0) context.buy(symbol, (int) Math.min(quantity, Integer.MAX_VALUE));
+            } else if (!above && held > 0) {
+                context.sell(symbol, held);
+            }
+        }
+        fastAbove[symbol] = above;
+    }
+
+    private static int intParameter(Map<String, Double> parameters, String name) {
+        Double value = parameters.get(name);
+        if (value == null || value != Math.rint(value)) {
+            throw new IllegalArgumentException("Parameter " + name + " must be a whole number");
+        }
+        return value.intValue();
+    }
+}
@@ -0,0 +1,20 @@
+package com.trading.simulator.backtest;
+
+/**
+ * A trading strategy under backtest. One instance serves one run and is
+ * called from one thread, so it can keep plain mutable state.
+ */
+public interface Strategy {
+
+    default void onStart(BacktestContext context) {}
+
+    /**
+     * Called for every bar of every symbol in time order; bars of different
+     * symbols that start at the same time arrive in universe order. Orders
+     * placed here fill at that bar's close.
+     *
+     * @param symbol the symbol's index in the universe
+     * @param bar    the bar's index in {@code context.bars(symbol)}
+     */
+    void onBar(BacktestContext context, int symbol, int bar);
+}
@@ -0,0 +1,12 @@
+package com.trading.simulator.backtest;
+
+import java.util.Map;
+
+/**
+ * Builds a fresh {@link Strategy} for each run of a parameter sweep.
+ */
+@FunctionalInterface
+public interface StrategyFactory {
+
+    Strategy create(Map<String, Double> parameters);
+}
@@ -0,0 +1,177 @@
+package com.trading.simulator.candles;
+
+import com.trading.simulator.dto.Candle;
+import com.trading.simulator.execution.ShardedTradeExecutor;
+import com.trading.simulator.execution.TradeEffect;
+import com.trading.simulator.money.Money;
+import com.trading.simulator.pricing.PriceEngine;
+import com.trading.simulator.pricing.PriceSnapshot;
+import com.trading.simulator.pricing.PriceTick;
+import com.trading.simulator.symbol.SymbolRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Keeps the newest {@code capacity} OHLCV candles of every symbol at every
+ * {@link CandleInterval}, updated in place as prices move and trades fill.
+ *
+ * <p>Each symbol has one {@link CandleRing} per interval, allocated when the
+ * symbol is first seen, so memory is fixed at
+ * {@code 5 * capacity * 56} bytes per symbol. A move costs one update per
+ * interval on the ticker thread and a fill one on its shard thread; both take
+ * the symbol's lock for a few array writes. Volume is shares filled by this
+ * simulator's trades. Reading candles copies them out; nothing is
+ * recomputed from ticks.
+ */
+@Component
+public class CandleAggregator {
+
+    private static final CandleInterval[] INTERVALS = CandleInterval.values();
+
+    private final PriceEngine priceEngine;
+    private final ShardedTradeExecutor tradeExecutor;
+    private final int capacity;
+
+    // Grown under growLock; each symbol's rings are guarded by the array itself
+    private final Object growLock = new Object();
+    private volatile CandleRing[][] bySymbolId = new CandleRing[0][];
+
+    public CandleAggregator(PriceEngine priceEngine,
+                            ShardedTradeExecutor tradeExecutor,
+                            @Value("${simulator.candles.capacity:300}") int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("Candle capacity must be at least 1");
+        this.priceEngine = priceEngine;
+        this.tradeExecutor = tradeExecutor;
+        this.capacity = capacity;
+    }
+
+    @PostConstruct
+    public void start() {
+        priceEngine.addListener(this::onSnapshot);
+        tradeExecutor.addFillListener(this::onFill);
+    }
+
+    /**
+     * The newest {@code limit} candles of {@code symbol}, oldest first. The
+     * last one is still open. Empty for a symbol that never moved.
+     */
+    public List<Candle> getCandles(String symbol, CandleInterval interval, int limit) {
+        if (limit < 1) throw new IllegalArgumentException("Limit must be at least 1");
+        CandleRing[] rings = find(SymbolRegistry.idOf(symbol));
+        if (rings == null) return List.of();
+
+        long[] slots;
+        synchronized (rings) {
+            slots = rings[interval.ordinal()].last(limit);
+        }
+        List<Candle> candles = new ArrayList<>(slots.length / CandleRing.STRIDE);
+        for (int at = 0; at < slots.length; at += CandleRing.STRIDE) {
+            candles.add(new Candle(
+                    fromWallMillis(slots[at + CandleRing.START]),
+                    Money.toBigDecimal(slots[at + CandleRing.OPEN]),
+                    Money.toBigDecimal(slots[at + CandleRing.HIGH]),
+                    Money.toBigDecimal(slots[at + CandleRing.LOW]),
+                    Money.toBigDecimal(slots[at + CandleRing.CLOSE]),
+                    slots[at + CandleRing.VOLUME],
+                    (int) slots[at + CandleRing.TICKS]));
+        }
+        return candles;
+    }
+
+    /**
+     * The closes of every candle of {@code symbol} held at {@code interval},
+     * in cents, oldest first.
+     */
+    public long[] getCloses(String symbol, CandleInterval interval) {
+        CandleRing[] rings = find(SymbolRegistry.idOf(symbol));
+        if (rings == null) return new long[0];
+
+        long[] slots;
+        synchronized (rings) {
+            slots = rings[interval.ordinal()].last(capacity);
+        }
+        long[] closes = new long[slots.length / CandleRing.STRIDE];
+        for (int i = 0; i < closes.length; i++) {
+            closes[i] = slots[i * CandleRing.STRIDE + CandleRing.CLOSE];
+        }
+        return closes;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    void onPrice(String symbol, LocalDateTime time, long price) {
+        CandleRing[] rings = ringsFor(SymbolRegistry.intern(symbol));
+        long wallMillis = toWallMillis(time);
+        synchronized (rings) {
+            for (CandleRing ring : rings) {
+                ring.onPrice(wallMillis, price);
+            }
+        }
+    }
+
+    void onVolume(String symbol, LocalDateTime time, long quantity, long price) {
+        CandleRing[] rings = ringsFor(SymbolRegistry.intern(symbol));
+        long wallMillis = toWallMillis(time);
+        synchronized (rings) {
+            for (CandleRing ring : rings) {
+                ring.onVolume(wallMillis, quantity, price);
+            }
+        }
+    }
+
+    // ========== PRIVATE HELPERS ==========
+
+    private void onSnapshot(PriceSnapshot previous, PriceSnapshot current) {
+        for (PriceTick tick : current.getTicks()) {
+            if (previous.get(tick.getSymbolId()) == tick) continue;
+            onPrice(tick.getSymbol(), tick.getTimestamp(), tick.getPrice());
+        }
+    }
+
+    private void onFill(TradeEffect effect) {
+        onVolume(effect.getStockSymbol(), effect.getExecutedAt(), effect.getQuantity(), effect.getPricePerShare());
+    }
+
+    private CandleRing[] find(int symbolId) {
+        CandleRing[][] current = bySymbolId;
+        return symbolId >= 0 && symbolId < current.length ? current[symbolId] : null;
+    }
+
+    private CandleRing[] ringsFor(int symbolId) {
+        CandleRing[] rings = find(symbolId);
+        if (rings != null) return rings;
+
+        synchronized (growLock) {
+            CandleRing[][] current = bySymbolId;
+            if (symbolId < current.length && current[symbolId] != null) return current[symbolId];
+
+            CandleRing[][] grown = Arrays.copyOf(current, Math.max(current.length, Math.max(symbolId + 1,
+                    SymbolRegistry.size())));
+            rings = new CandleRing[INTERVALS.length];
+            for (CandleInterval interval : INTERVALS) {
+                rings[interval.ordinal()] = new CandleRing(interval.getMillis(), capacity);
+            }
+            grown[symbolId] = rings;
+            bySymbolId = grown;
+            return rings;
+        }
+    }
+
+    // Wall-clock time as if it were UTC, so buckets line up with local minutes, hours and days
+    private static long toWallMillis(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000 + time.getNano() / 1_000_000;
+    }
+
+    private static LocalDateTime fromWallMillis(long wallMillis) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(wallMillis, 1_000), 0, ZoneOffset.UTC);
+    }
+}
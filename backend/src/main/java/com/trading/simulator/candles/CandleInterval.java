@@ -0,0 +1,35 @@
+package com.trading.simulator.candles;
+
+/**
+ * The candle widths every symbol is aggregated at. Candles start on
+ * multiples of their width in wall-clock time, so daily candles start at
+ * local midnight.
+ */
+public enum CandleInterval {
+    ONE_SECOND("1s", 1_000L),
+    ONE_MINUTE("1m", 60_000L),
+    FIVE_MINUTES("5m", 300_000L),
+    ONE_HOUR("1h", 3_600_000L),
+    ONE_DAY("1d", 86_400_000L);
+
+    private final String label;
+    private final long millis;
+
+    CandleInterval(String label, long millis) {
+        this.label = label;
+        this.millis = millis;
+    }
+
+    public String getLabel() { return label; }
+    public long getMillis() { return millis; }
+
+    /**
+     * @throws IllegalArgumentException if {@code label} is not one of 1s, 1m, 5m, 1h or 1d
+     */
+    public static CandleInterval fromLabel(String label) {
+        for (CandleInterval interval : values()) {
+            if (interval.label.equalsIgnoreCase(label)) return interval;
+        }
+        throw new IllegalArgumentException("Interval must be 1s, 1m, 5m, 1h or 1d");
+    }
+}
@@ -0,0 +1,92 @@
+package com.trading.simulator.candles;
+
+/**
+ * The newest {@code capacity} candles of one symbol at one interval, in one
+ * flat array of {@value #STRIDE} longs per candle: start, open, high, low,
+ * close, volume and ticks. Opening a candle overwrites the oldest once the
+ * ring is full, so every update is a handful of array writes. Not
+ * thread-safe; {@link CandleAggregator} guards each symbol's rings.
+ */
+final class CandleRing {
+
+    static final int START = 0;
+    static final int OPEN = 1;
+    static final int HIGH = 2;
+    static final int LOW = 3;
+    static final int CLOSE = 4;
+    static final int VOLUME = 5;
+    static final int TICKS = 6;
+    static final int STRIDE = 7;
+
+    private final long width;
+    private final int capacity;
+    private final long[] slots;
+    private int head = -1; // index of the newest candle
+    private int size;
+
+    CandleRing(long width, int capacity) {
+        this.width = width;
+        this.capacity = capacity;
+        this.slots = new long[capacity * STRIDE];
+    }
+
+    /**
+     * Folds a price move at {@code time} into its candle. A time before the
+     * newest candle (the clock stepped back) counts toward the newest candle.
+     */
+    void onPrice(long time, long price) {
+        int at = candleFor(time, price);
+        slots[at + HIGH] = Math.max(slots[at + HIGH], price);
+        slots[at + LOW] = Math.min(slots[at + LOW], price);
+        slots[at + CLOSE] = price;
+        slots[at + TICKS]++;
+    }
+
+    /**
+     * Adds traded shares to the candle of {@code time}, opening one at
+     * {@code price} if none is open yet.
+     */
+    void onVolume(long time, long quantity, long price) {
+        int at = candleFor(time, price);
+        slots[at + VOLUME] += quantity;
+    }
+
+    /**
+     * Copies the newest {@code limit} candles, oldest first, in the ring's own
+     * layout.
+     */
+    long[] last(int limit) {
+        int count = Math.min(limit, size);
+        long[] out = new long[count * STRIDE];
+        int first = Math.floorMod(head - count + 1, capacity);
+        for (int i = 0; i < count; i++) {
+            System.arraycopy(slots, ((first + i) % capacity) * STRIDE, out, i * STRIDE, STRIDE);
+        }
+        return out;
+    }
+
+    int size() {
+        return size;
+    }
+
+    // ========== PRIVATE HELPERS ==========
+
+    private int candleFor(long time, long price) {
+        long start = Math.floorDiv(time, width) * width;
+        if (size > 0 && start <= slots[head * STRIDE + START]) {
+            return head * STRIDE;
+        }
+
+        head = head + 1 == capacity ? 0 : head + 1;
+        if (size < capacity) size++;
+        int at = head * STRIDE;
+        slots[at + START] = start;
+        slots[at + OPEN] = price;
+        slots[at + HIGH] = price;
+        slots[at + LOW] = price;
+        slots[at + CLOSE] = price;
+        slots[at + VOLUME] = 0;
+        slots[at + TICKS] = 0;
+        return at;
+    }
+}
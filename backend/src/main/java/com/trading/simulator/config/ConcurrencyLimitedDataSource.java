@@ -0,0 +1,173 @@
+package com.trading.simulator.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps how many callers may hold a connection at once and how many may wait
+ * for one. With virtual threads every request gets its own thread, so
+ * without a cap thousands of them would park inside the pool until its
+ * connection timeout; here a caller beyond {@code maxWaiting} fails at once,
+ * and one that waits longer than {@code acquireTimeoutMs} fails too. Permits
+ * are returned when the connection is closed.
+ *
+ * <p>{@code reserved} of the {@code maxConcurrent} permits are kept for code
+ * run through {@link #runReserved}, such as the write-behind threads, so
+ * they never queue behind requests or get rejected for a full queue. They
+ * still give up after {@code acquireTimeoutMs}.
+ */
+public class ConcurrencyLimitedDataSource extends DelegatingDataSource {
+
+    private static final ThreadLocal<Boolean> RESERVED = new ThreadLocal<>();
+
+    private final Semaphore permits;
+    private final Semaphore reservedPermits;
+    private final int maxConcurrent;
+    private final int maxWaiting;
+    private final long acquireTimeoutMs;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public ConcurrencyLimitedDataSource(DataSource target, int maxConcurrent, int maxWaiting, long acquireTimeoutMs) {
+        this(target, maxConcurrent, maxWaiting, acquireTimeoutMs, 0);
+    }
+
+    public ConcurrencyLimitedDataSource(DataSource target, int maxConcurrent, int maxWaiting, long acquireTimeoutMs,
+                                        int reserved) {
+        super(target);
+        if (reserved < 0 || reserved >= maxConcurrent) {
+            throw new IllegalArgumentException("Reserved permits must be at least 0 and less than " + maxConcurrent);
+        }
+        this.permits = new Semaphore(maxConcurrent - reserved, true);
+        this.reservedPermits = new Semaphore(reserved, true);
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaiting = maxWaiting;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+    }
+
+    /**
+     * Runs {@code task} with every connection the calling thread opens in it
+     * drawn from the reserved permits. Without a limiter it just runs.
+     */
+    public static void runReserved(Runnable task) {
+        if (RESERVED.get() != null) {
+            task.run();
+            return;
+        }
+        RESERVED.set(Boolean.TRUE);
+        try {
+            task.run();
+        } finally {
+            RESERVED.remove();
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Semaphore source = acquire();
+        return limited(source, () -> getTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Semaphore source = acquire();
+        return limited(source, () -> getTargetDataSource().getConnection(username, password));
+    }
+
+    public int getInUse() {
+        return maxConcurrent - permits.availablePermits() - reservedPermits.availablePermits();
+    }
+
+    public int getWaiting() {
+        return waiting.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    // ========== PRIVATE HELPERS ==========
+
+    // Returns the semaphore the permit came from, to release it to
+    private Semaphore acquire() throws SQLException {
+        if (RESERVED.get() != null && reservedPermits.tryAcquire()) return reservedPermits;
+        if (RESERVED.get() != null) return acquireReserved();
+        if (permits.tryAcquire()) return permits;
+
+        if (waiting.incrementAndGet() > maxWaiting) {
+            waiting.decrementAndGet();
+            rejected.incrementAndGet();
+            throw new SQLTransientConnectionException("Too many callers waiting for a database connection");
+        }
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                rejected.incrementAndGet();
+                throw new SQLTransientConnectionException(
+                        "No database connection available within " + acquireTimeoutMs + "ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted waiting for a database connection", e);
+        } finally {
+            waiting.decrementAndGet();
+        }
+        return permits;
+    }
+
+    private Semaphore acquireReserved() throws SQLException {
+        try {
+            if (!reservedPermits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                        "No reserved database connection available within " + acquireTimeoutMs + "ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted waiting for a database connection", e);
+        }
+        return reservedPermits;
+    }
+
+    private Connection limited(Semaphore permit, ConnectionSource source) throws SQLException {
+        Connection connection;
+        try {
+            connection = source.get();
+        } catch (SQLException | RuntimeException e) {
+            permit.release();
+            throw e;
+        }
+
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                        try {
+                            connection.close();
+                        } finally {
+                            permit.release();
+                        }
+                        return null;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection get() throws SQLException;
+    }
+}
@@ -0,0 +1,54 @@
+package com.trading.simulator.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application's DataSource in a {@link ConcurrencyLimitedDataSource}
+ * when {@code simulator.jdbc.limiter.enabled} is set, which it is by default
+ * whenever virtual threads are. {@code simulator.jdbc.limiter.reserved} of its
+ * permits are kept for the write-behind threads.
+ */
+@Configuration
+@ConditionalOnProperty(name = "simulator.jdbc.limiter.enabled", havingValue = "true")
+public class JdbcLimiterConfig {
+
+    @Bean
+    public static BeanPostProcessor jdbcLimiter(Environment environment, ObjectProvider<MeterRegistry> registry) {
+        int maxConcurrent = environment.getProperty("simulator.jdbc.limiter.max-concurrent", Integer.class, 10);
+        int maxWaiting = environment.getProperty("simulator.jdbc.limiter.max-waiting", Integer.class, 200);
+        long acquireTimeoutMs = environment.getProperty("simulator.jdbc.limiter.acquire-timeout-ms", Long.class, 2000L);
+        int reserved = environment.getProperty("simulator.jdbc.limiter.reserved", Integer.class, 2);
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConcurrencyLimitedDataSource) {
+                    return bean;
+                }
+                ConcurrencyLimitedDataSource limited = new ConcurrencyLimitedDataSource(
+                        dataSource, maxConcurrent, maxWaiting, acquireTimeoutMs, reserved);
+                registry.ifAvailable(meters -> bind(meters, limited));
+                return limited;
+            }
+        };
+    }
+
+    private static void bind(MeterRegistry registry, ConcurrencyLimitedDataSource limited) {
+        Gauge.builder("simulator.jdbc.limiter.in.use", limited, ConcurrencyLimitedDataSource::getInUse)
+                .register(registry);
+        Gauge.builder("simulator.jdbc.limiter.waiting", limited, ConcurrencyLimitedDataSource::getWaiting)
+                .register(registry);
+        FunctionCounter.builder("simulator.jdbc.limiter.rejected", limited, ConcurrencyLimitedDataSource::getRejected)
+                .register(registry);
+    }
+}
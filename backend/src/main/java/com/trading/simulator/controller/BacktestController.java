@@ -0,0 +1,42 @@
+package com.trading.simulator.controller;
+
+import com.trading.simulator.backtest.BacktestResult;
+import com.trading.simulator.dto.BacktestRequest;
+import com.trading.simulator.service.BacktestService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/backtests")
+@CrossOrigin(origins = "http://localhost:3000")
+public class BacktestController {
+
+    @Autowired
+    private BacktestService backtestService;
+
+    // Symbols with history in the data directory
+    @GetMapping("/symbols")
+    public ResponseEntity<Set<String>> getSymbols() {
+        return ResponseEntity.ok(backtestService.getAvailableSymbols());
+    }
+
+    @GetMapping("/strategies")
+    public ResponseEntity<Set<String>> getStrategies() {
+        return ResponseEntity.ok(backtestService.getStrategies());
+    }
+
+    // Runs every parameter combination in parallel; results are sorted best return first
+    @PostMapping
+    public ResponseEntity<List<BacktestResult>> runBacktest(@Valid @RequestBody BacktestRequest request) {
+        try {
+            return ResponseEntity.ok(backtestService.run(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
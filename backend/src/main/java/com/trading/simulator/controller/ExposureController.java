@@ -0,0 +1,35 @@
+package com.trading.simulator.controller;
+
+import com.trading.simulator.dto.AccountValuation;
+import com.trading.simulator.dto.FirmExposure;
+import com.trading.simulator.valuation.LiveRevaluation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/exposure")
+@CrossOrigin(origins = "http://localhost:3000")
+public class ExposureController {
+
+    @Autowired
+    private LiveRevaluation revaluation;
+
+    // Every account marked at the last tick, totalled and broken down by symbol
+    @GetMapping
+    public ResponseEntity<FirmExposure> getExposure() {
+        try {
+            return ResponseEntity.ok(revaluation.getExposure());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    @GetMapping("/users/{userId}")
+    public ResponseEntity<AccountValuation> getAccount(@PathVariable Long userId) {
+        return revaluation.getAccount(userId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,36 @@
+package com.trading.simulator.controller;
+
+import com.trading.simulator.dto.LeaderboardEntry;
+import com.trading.simulator.leaderboard.LiveLeaderboard;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/leaderboard")
+@CrossOrigin(origins = "http://localhost:3000")
+public class LeaderboardController {
+
+    @Autowired
+    private LiveLeaderboard leaderboard;
+
+    // Users by net worth, best first, one page per call
+    @GetMapping
+    public ResponseEntity<List<LeaderboardEntry>> getLeaderboard(@RequestParam(defaultValue = "0") int offset,
+                                                                 @RequestParam(defaultValue = "10") int limit) {
+        try {
+            return ResponseEntity.ok(leaderboard.getPage(offset, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/users/{userId}")
+    public ResponseEntity<LeaderboardEntry> getEntry(@PathVariable Long userId) {
+        return leaderboard.getEntry(userId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
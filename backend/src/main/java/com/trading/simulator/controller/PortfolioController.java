@@ -1,71 +1,188 @@
 package com.trading.simulator.controller;
 
+import com.trading.simulator.dto.PortfolioDashboard;
 import com.trading.simulator.dto.PortfolioSummary;
+import com.trading.simulator.dto.RiskReport;
+import com.trading.simulator.dto.TransactionFilter;
+import com.trading.simulator.dto.TransactionPage;
 import com.trading.simulator.entity.Portfolio;
+import com.trading.simulator.entity.Transaction;
+import com.trading.simulator.readmodel.AccountSnapshot;
+import com.trading.simulator.readmodel.ReadModel;
 import com.trading.simulator.service.PortfolioService;
+import com.trading.simulator.service.RiskService;
+import com.trading.simulator.service.TransactionHistoryService;
+import com.trading.simulator.streaming.PortfolioStream;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/portfolio")
-@CrossOrigin(origins = "http://localhost:3000")
+@CrossOrigin(origins = "http://localhost:3000", exposedHeaders = ReadModel.VERSION_HEADER)
 public class PortfolioController {
 
     @Autowired
     private PortfolioService portfolioService;
 
+    @Autowired
+    private PortfolioStream portfolioStream;
+
+    @Autowired
+    private TransactionHistoryService historyService;
+
+    @Autowired
+    private RiskService riskService;
+
+    // Account reads come from the read model; pass minVersion to wait for a write you made elsewhere
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<PortfolioSummary>> getUserPortfolio(@PathVariable Long userId) {
-        List<PortfolioSummary> portfolio = portfolioService.getUserPortfolio(userId);
-        return ResponseEntity.ok(portfolio);
+    public ResponseEntity<List<PortfolioSummary>> getUserPortfolio(@PathVariable Long userId,
+                                                                   @RequestParam(required = false) Long minVersion) {
+        return read(userId, minVersion, account -> Optional.of(portfolioService.getUserPortfolio(account)));
+    }
+
+    @GetMapping("/user/{userId}/dashboard")
+    public ResponseEntity<PortfolioDashboard> getDashboard(@PathVariable Long userId,
+                                                           @RequestParam(required = false) Long minVersion) {
+        return read(userId, minVersion, account -> Optional.of(portfolioService.getDashboard(account)));
+    }
+
+    // One-day Monte Carlo VaR, expected shortfall and stress scenarios at current prices
+    @GetMapping("/user/{userId}/risk")
+    public ResponseEntity<RiskReport> getRisk(@PathVariable Long userId,
+                                              @RequestParam(required = false) Integer paths) {
+        try {
+            return ResponseEntity.ok(riskService.assess(userId, paths));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // The report from the last nightly run over all users
+    @GetMapping("/user/{userId}/risk/nightly")
+    public ResponseEntity<RiskReport> getNightlyRisk(@PathVariable Long userId) {
+        return riskService.getNightlyReport(userId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Stream position and total changes as server-sent events, starting with the whole portfolio
+    @GetMapping(value = "/user/{userId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamPortfolio(@PathVariable Long userId) {
+        try {
+            return ResponseEntity.ok(portfolioStream.subscribe(userId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
     }
 
+    // Newest first, one page per call; pass nextCursor back as cursor for the following page
+    @GetMapping("/user/{userId}/transactions")
+    public ResponseEntity<TransactionPage> getTransactions(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String symbol,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + TransactionHistoryService.DEFAULT_PAGE_SIZE) int limit) {
+        try {
+            TransactionFilter filter = historyService.buildFilter(userId, symbol, type, from, to);
+            return ResponseEntity.ok(historyService.getHistory(filter, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // The newest transactions, held in memory; older ones page through /transactions
+    @GetMapping("/user/{userId}/transactions/recent")
+    public ResponseEntity<List<Transaction>> getRecentTransactions(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "" + TransactionHistoryService.DEFAULT_PAGE_SIZE) int limit,
+            @RequestParam(required = false) Long minVersion) {
+        if (limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        return read(userId, minVersion, account -> Optional.of(portfolioService.getRecentTransactions(account, limit)));
+    }
+
+    // Every matching transaction as CSV, written as it is read rather than collected first
+    @GetMapping(value = "/user/{userId}/transactions/export", produces = "text/csv")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String symbol,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        TransactionFilter filter;
+        try {
+            filter = historyService.buildFilter(userId, symbol, type, from, to);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        StreamingResponseBody body = out -> historyService.export(filter, out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"transactions-" + userId + ".csv\"")
+                .body(body);
+    }
+
+    // Single-figure views over the dashboard computation
     @GetMapping("/user/{userId}/value")
-    public ResponseEntity<BigDecimal> getTotalPortfolioValue(@PathVariable Long userId) {
-        BigDecimal totalValue = portfolioService.getTotalPortfolioValue(userId);
-        return ResponseEntity.ok(totalValue);
+    public ResponseEntity<BigDecimal> getTotalPortfolioValue(@PathVariable Long userId,
+                                                             @RequestParam(required = false) Long minVersion) {
+        return read(userId, minVersion, account -> Optional.of(portfolioService.getTotalPortfolioValue(account)));
     }
 
     @GetMapping("/user/{userId}/gainloss")
-    public ResponseEntity<BigDecimal> getTotalGainLoss(@PathVariable Long userId) {
-        BigDecimal totalGainLoss = portfolioService.getTotalGainLoss(userId);
-        return ResponseEntity.ok(totalGainLoss);
+    public ResponseEntity<BigDecimal> getTotalGainLoss(@PathVariable Long userId,
+                                                       @RequestParam(required = false) Long minVersion) {
+        return read(userId, minVersion, account -> Optional.of(portfolioService.getTotalGainLoss(account)));
     }
 
     @GetMapping("/user/{userId}/gainloss-percent")
-    public ResponseEntity<BigDecimal> getTotalGainLossPercent(@PathVariable Long userId) {
-        BigDecimal totalGainLossPercent = portfolioService.getTotalGainLossPercent(userId);
-        return ResponseEntity.ok(totalGainLossPercent);
+    public ResponseEntity<BigDecimal> getTotalGainLossPercent(@PathVariable Long userId,
+                                                              @RequestParam(required = false) Long minVersion) {
+        return read(userId, minVersion, account -> Optional.of(portfolioService.getTotalGainLossPercent(account)));
     }
 
     @GetMapping("/user/{userId}/invested")
-    public ResponseEntity<BigDecimal> getTotalInvested(@PathVariable Long userId) {
-        BigDecimal totalInvested = portfolioService.getTotalInvested(userId);
-        return ResponseEntity.ok(totalInvested);
+    public ResponseEntity<BigDecimal> getTotalInvested(@PathVariable Long userId,
+                                                       @RequestParam(required = false) Long minVersion) {
+        return read(userId, minVersion, account -> Optional.of(portfolioService.getTotalInvested(account)));
     }
 
 
     @GetMapping("/user/{userId}/position/{stockSymbol}")
-    public ResponseEntity<Portfolio> getPortfolioPosition(@PathVariable Long userId, @PathVariable String stockSymbol) {
-        Optional<Portfolio> position = portfolioService.getPortfolioPosition(userId, stockSymbol);
-        return position.map(ResponseEntity::ok)
-                      .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<Portfolio> getPortfolioPosition(@PathVariable Long userId, @PathVariable String stockSymbol,
+                                                          @RequestParam(required = false) Long minVersion) {
+        return read(userId, minVersion, account -> portfolioService.getPortfolioPosition(account, stockSymbol));
     }
 
     @GetMapping("/user/{userId}/shares/{stockSymbol}")
-    public ResponseEntity<Integer> getAvailableShares(@PathVariable Long userId, @PathVariable String stockSymbol) {
-        Integer shares = portfolioService.getAvailableShares(userId, stockSymbol);
-        return ResponseEntity.ok(shares);
+    public ResponseEntity<Integer> getAvailableShares(@PathVariable Long userId, @PathVariable String stockSymbol,
+                                                      @RequestParam(required = false) Long minVersion) {
+        return read(userId, minVersion,
+                account -> Optional.of(portfolioService.getAvailableShares(account, stockSymbol)));
     }
 
     @GetMapping("/user/{userId}/has-position/{stockSymbol}")
-    public ResponseEntity<Boolean> hasPosition(@PathVariable Long userId, @PathVariable String stockSymbol) {
-        boolean hasPosition = portfolioService.hasPosition(userId, stockSymbol);
-        return ResponseEntity.ok(hasPosition);
+    public ResponseEntity<Boolean> hasPosition(@PathVariable Long userId, @PathVariable String stockSymbol,
+                                               @RequestParam(required = false) Long minVersion) {
+        return read(userId, minVersion, account -> Optional.of(portfolioService.hasPosition(account, stockSymbol)));
+    }
+
+    private <T> ResponseEntity<T> read(Long userId, Long minVersion, Function<AccountSnapshot, Optional<T>> view) {
+        return ReadModelResponses.read(() -> Optional.of(portfolioService.getAccount(userId, minVersion)), view);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,37 @@
+package com.trading.simulator.controller;
+
+import com.trading.simulator.dto.ReadModelReport;
+import com.trading.simulator.readmodel.ReadModelChecker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/read-model")
+@CrossOrigin(origins = "http://localhost:3000")
+public class ReadModelController {
+
+    @Autowired
+    private ReadModelChecker checker;
+
+    // Diffs every account against the database; 503 while the write-behind is too far behind to compare
+    @GetMapping("/check")
+    public ResponseEntity<ReadModelReport> check() {
+        return run(false);
+    }
+
+    // The same diff, reloading every account that differs from the database
+    @PostMapping("/repair")
+    public ResponseEntity<ReadModelReport> repair() {
+        return run(true);
+    }
+
+    private ResponseEntity<ReadModelReport> run(boolean repair) {
+        try {
+            return ResponseEntity.ok(checker.check(repair));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.trading.simulator.controller;
+
+import com.trading.simulator.readmodel.AccountSnapshot;
+import com.trading.simulator.readmodel.ReadModel;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Responses for reads served from the {@link ReadModel}, shared so every
+ * controller reports versions the same way: the view of one account snapshot
+ * with the snapshot's version in {@link ReadModel#VERSION_HEADER}, 404 when
+ * there is nothing to show, and 503 when the requested {@code minVersion} is
+ * not reached within {@code simulator.read-model.max-wait-ms}.
+ */
+final class ReadModelResponses {
+
+    private ReadModelResponses() {
+    }
+
+    static <T> ResponseEntity<T> read(Supplier<Optional<AccountSnapshot>> lookup,
+                                      Function<AccountSnapshot, Optional<T>> view) {
+        Optional<AccountSnapshot> account;
+        try {
+            account = lookup.get();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return account
+                .flatMap(found -> view.apply(found).map(body -> versioned(found.getVersion(), body)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    static <T> ResponseEntity<T> versioned(long version, T body) {
+        return ResponseEntity.ok().header(ReadModel.VERSION_HEADER, Long.toString(version)).body(body);
+    }
+}
@@ -1,12 +1,20 @@
 package com.trading.simulator.controller;
 
+import com.trading.simulator.dto.Candle;
+import com.trading.simulator.dto.PriceBar;
 import com.trading.simulator.dto.StockQuote;
 import com.trading.simulator.entity.Stock;
 import com.trading.simulator.service.StockService;
+import com.trading.simulator.streaming.QuoteStream;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +26,9 @@ public class StockController {
     @Autowired
     private StockService stockService;
 
+    @Autowired
+    private QuoteStream quoteStream;
+
     // Get all available stocks
     @GetMapping
     public ResponseEntity<List<Stock>> getAllStocks() {
@@ -25,6 +36,12 @@ public class StockController {
         return ResponseEntity.ok(stocks);
     }
 
+    // Stream quotes for a comma-separated list of symbols as server-sent events
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamQuotes(@RequestParam List<String> symbols) {
+        return quoteStream.subscribe(symbols);
+    }
+
     // Get a stock by its symbol
     @GetMapping("/{symbol}")
     public ResponseEntity<Stock> getStock(@PathVariable String symbol) {
@@ -60,6 +77,36 @@ public class StockController {
         }
     }
 
+    // Get recorded price bars, by default the last day at one-minute resolution
+    @GetMapping("/{symbol}/history")
+    public ResponseEntity<List<PriceBar>> getPriceHistory(
+            @PathVariable String symbol,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "1m") String resolution) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusDays(1);
+        try {
+            return ResponseEntity.ok(stockService.getPriceHistory(symbol, start, end, resolution));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    // Get the newest candles at one interval, kept up to date as prices move
+    @GetMapping("/{symbol}/candles")
+    public ResponseEntity<List<Candle>> getCandles(@PathVariable String symbol,
+                                                   @RequestParam(defaultValue = "1m") String interval,
+                                                   @RequestParam(defaultValue = "100") int limit) {
+        try {
+            return ResponseEntity.ok(stockService.getCandles(symbol, interval, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     // Check if a stock symbol exists in the system
     @GetMapping("/{symbol}/exists")
     public ResponseEntity<Boolean> stockExists(@PathVariable String symbol) {
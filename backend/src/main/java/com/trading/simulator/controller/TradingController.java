@@ -1,27 +1,76 @@
 package com.trading.simulator.controller;
 
+import com.trading.simulator.dto.BatchTradeResult;
+import com.trading.simulator.dto.OrderBookView;
+import com.trading.simulator.dto.OrderRequest;
+import com.trading.simulator.dto.OrderResult;
 import com.trading.simulator.dto.TradeRequest;
 import com.trading.simulator.entity.Transaction;
+import com.trading.simulator.readmodel.AccountSnapshot;
+import com.trading.simulator.readmodel.ReadModel;
 import com.trading.simulator.service.TradingService;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/trades")
-@CrossOrigin(origins = "http://localhost:3000")
+@CrossOrigin(origins = "http://localhost:3000", exposedHeaders = ReadModel.VERSION_HEADER)
 public class TradingController {
 
     private final TradingService tradingService;
+    private final ReadModel readModel;
+    private final int maxBatchSize;
 
-    public TradingController(TradingService tradingService) {
+    public TradingController(TradingService tradingService,
+                             ReadModel readModel,
+                             @Value("${simulator.execution.max-batch-size:1000}") int maxBatchSize) {
         this.tradingService = tradingService;
+        this.readModel = readModel;
+        this.maxBatchSize = maxBatchSize;
     }
 
+    // The fill is in the read model before this returns; the header is a version that includes it
     @PostMapping
     public ResponseEntity<Transaction> executeTrade(@Valid @RequestBody TradeRequest tradeRequest) { 
         Transaction transaction = tradingService.executeTrade(tradeRequest);
-        return ResponseEntity.ok(transaction);  
+        long version = readModel.get(tradeRequest.getUserId()).map(AccountSnapshot::getVersion).orElse(0L);
+        return ReadModelResponses.versioned(version, transaction);
+    }
+
+    // Items are validated individually and reported per index, so the list itself is not @Valid
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchTradeResult>> executeBatch(@RequestBody List<TradeRequest> tradeRequests) {
+        if (tradeRequests.isEmpty() || tradeRequests.size() > maxBatchSize) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<BatchTradeResult> results = tradingService.executeBatch(tradeRequests);
+        return ResponseEntity.ok(results);
+    }
+
+    @PostMapping("/orders")
+    public ResponseEntity<OrderResult> placeOrder(@Valid @RequestBody OrderRequest orderRequest) {
+        OrderResult result = tradingService.placeOrder(orderRequest);
+        return ResponseEntity.ok(result);
+    }
+
+    @DeleteMapping("/orders/{orderId}")
+    public ResponseEntity<Integer> cancelOrder(@PathVariable long orderId, @RequestParam Long userId) {
+        int cancelled = tradingService.cancelOrder(orderId, userId);
+        return ResponseEntity.ok(cancelled);
+    }
+
+    @GetMapping("/orders/book/{symbol}")
+    public ResponseEntity<OrderBookView> getOrderBook(@PathVariable String symbol,
+                                                      @RequestParam(defaultValue = "10") int depth) {
+        if (depth < 1 || depth > 1000) {
+            return ResponseEntity.badRequest().build();
+        }
+        OrderBookView book = tradingService.getOrderBook(symbol, depth);
+        return ResponseEntity.ok(book);
     }
 
     @PostMapping("/validate")
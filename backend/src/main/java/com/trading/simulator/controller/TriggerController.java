@@ -0,0 +1,42 @@
+package com.trading.simulator.controller;
+
+import com.trading.simulator.dto.TriggerRequest;
+import com.trading.simulator.dto.TriggerView;
+import com.trading.simulator.service.TriggerService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/triggers")
+@CrossOrigin(origins = "http://localhost:3000")
+public class TriggerController {
+
+    @Autowired
+    private TriggerService triggerService;
+
+    @PostMapping
+    public ResponseEntity<TriggerView> placeTrigger(@Valid @RequestBody TriggerRequest triggerRequest) {
+        try {
+            return ResponseEntity.ok(triggerService.placeTrigger(triggerRequest));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @DeleteMapping("/{triggerId}")
+    public ResponseEntity<Void> cancelTrigger(@PathVariable long triggerId, @RequestParam Long userId) {
+        return triggerService.cancelTrigger(triggerId, userId)
+                ? ResponseEntity.ok().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    // Active triggers first, then recently finished ones
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<List<TriggerView>> getTriggers(@PathVariable Long userId) {
+        return ResponseEntity.ok(triggerService.getTriggers(userId));
+    }
+}
@@ -1,48 +1,48 @@
 package com.trading.simulator.controller;
 
 import com.trading.simulator.entity.User;
-import com.trading.simulator.repository.UserRepository;
+import com.trading.simulator.money.Money;
+import com.trading.simulator.readmodel.AccountSnapshot;
+import com.trading.simulator.readmodel.ReadModel;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
+// Served from the read model; minVersion waits for a write made elsewhere, as on /portfolio
 @RestController
 @RequestMapping("/users")
-@CrossOrigin(origins = "http://localhost:3000")
+@CrossOrigin(origins = "http://localhost:3000", exposedHeaders = ReadModel.VERSION_HEADER)
 public class UserController {
 
     @Autowired
-    private UserRepository userRepository;
+    private ReadModel readModel;
 
     @GetMapping
     public ResponseEntity<List<User>> getAllUsers() {
-        List<User> users = userRepository.findAll();
+        List<User> users = readModel.getAll().stream().map(AccountSnapshot::toUser).toList();
         return ResponseEntity.ok(users);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<User> getUser(@PathVariable Long id) {
-        Optional<User> user = userRepository.findById(id);
-        return user.map(ResponseEntity::ok)
-                  .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<User> getUser(@PathVariable Long id, @RequestParam(required = false) Long minVersion) {
+        return ReadModelResponses.read(() -> readModel.get(id, minVersion), account -> Optional.of(account.toUser()));
     }
- 
+
     @GetMapping("/username/{username}")
-    public ResponseEntity<User> getUserByUsername(@PathVariable String username) {
-        Optional<User> user = userRepository.findByUsername(username);
-        return user.map(ResponseEntity::ok)
-                  .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<User> getUserByUsername(@PathVariable String username,
+                                                  @RequestParam(required = false) Long minVersion) {
+        return ReadModelResponses.read(() -> readModel.findByUsername(username, minVersion),
+                account -> Optional.of(account.toUser()));
     }
 
     @GetMapping("/{id}/balance")
-    public ResponseEntity<Object> getUserBalance(@PathVariable Long id) {
-        Optional<User> user = userRepository.findById(id);
-        if (user.isPresent()) {
-            return ResponseEntity.ok(user.get().getBalance());
-        }
-        return ResponseEntity.notFound().build();
+    public ResponseEntity<BigDecimal> getUserBalance(@PathVariable Long id,
+                                                     @RequestParam(required = false) Long minVersion) {
+        return ReadModelResponses.read(() -> readModel.get(id, minVersion),
+                account -> Optional.of(Money.toBigDecimal(account.getBalance())));
     }
-}
\ No newline at end of file
+}
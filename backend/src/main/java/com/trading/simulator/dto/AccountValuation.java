@@ -0,0 +1,44 @@
+package com.trading.simulator.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One account as of the last revaluation: cash, positions at the mark
+ * price, and the two together.
+ */
+public class AccountValuation {
+    private Long userId;
+    private BigDecimal cash;
+    private BigDecimal marketValue;
+    private BigDecimal netWorth;
+    private LocalDateTime revaluedAt;
+
+    // Constructors
+    public AccountValuation() {}
+
+    public AccountValuation(Long userId, BigDecimal cash, BigDecimal marketValue, BigDecimal netWorth,
+                            LocalDateTime revaluedAt) {
+        this.userId = userId;
+        this.cash = cash;
+        this.marketValue = marketValue;
+        this.netWorth = netWorth;
+        this.revaluedAt = revaluedAt;
+    }
+
+    // Getters and Setters
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public BigDecimal getCash() { return cash; }
+    public void setCash(BigDecimal cash) { this.cash = cash; }
+
+    public BigDecimal getMarketValue() { return marketValue; }
+    public void setMarketValue(BigDecimal marketValue) { this.marketValue = marketValue; }
+
+    public BigDecimal getNetWorth() { return netWorth; }
+    public void setNetWorth(BigDecimal netWorth) { this.netWorth = netWorth; }
+
+    public LocalDateTime getRevaluedAt() { return revaluedAt; }
+    public void setRevaluedAt(LocalDateTime revaluedAt) { this.revaluedAt = revaluedAt; }
+}
@@ -0,0 +1,60 @@
+package com.trading.simulator.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class BacktestRequest {
+    @NotBlank(message = "Strategy is required")
+    private String strategy; // buy-and-hold or sma-crossover
+
+    @NotEmpty(message = "At least one symbol is required")
+    private List<String> symbols;
+
+    // Every combination of the listed values is run, e.g. {"fast": [5, 10], "slow": [50, 200]}
+    private Map<String, List<Double>> parameters = new LinkedHashMap<>();
+
+    @NotNull(message = "Initial cash is required")
+    @Positive(message = "Initial cash must be positive")
+    private BigDecimal initialCash;
+
+    private LocalDateTime from; // optional, UTC; the range is [from, to)
+    private LocalDateTime to;
+
+    // Constructors
+    public BacktestRequest() {}
+
+    public BacktestRequest(String strategy, List<String> symbols, Map<String, List<Double>> parameters,
+                           BigDecimal initialCash) {
+        this.strategy = strategy;
+        this.symbols = symbols;
+        this.parameters = parameters;
+        this.initialCash = initialCash;
+    }
+
+    // Getters and Setters
+    public String getStrategy() { return strategy; }
+    public void setStrategy(String strategy) { this.strategy = strategy; }
+
+    public List<String> getSymbols() { return symbols; }
+    public void setSymbols(List<String> symbols) { this.symbols = symbols; }
+
+    public Map<String, List<Double>> getParameters() { return parameters; }
+    public void setParameters(Map<String, List<Double>> parameters) { this.parameters = parameters; }
+
+    public BigDecimal getInitialCash() { return initialCash; }
+    public void setInitialCash(BigDecimal initialCash) { this.initialCash = initialCash; }
+
+    public LocalDateTime getFrom() { return from; }
+    public void setFrom(LocalDateTime from) { this.from = from; }
+
+    public LocalDateTime getTo() { return to; }
+    public void setTo(LocalDateTime to) { this.to = to; }
+}
@@ -0,0 +1,41 @@
+package com.trading.simulator.dto;
+
+import com.trading.simulator.entity.Transaction;
+
+public class BatchTradeResult {
+    private int index;
+    private String status; // FILLED or REJECTED
+    private Transaction transaction;
+    private String error;
+
+    // Constructors
+    public BatchTradeResult() {}
+
+    public BatchTradeResult(int index, String status, Transaction transaction, String error) {
+        this.index = index;
+        this.status = status;
+        this.transaction = transaction;
+        this.error = error;
+    }
+
+    public static BatchTradeResult filled(int index, Transaction transaction) {
+        return new BatchTradeResult(index, "FILLED", transaction, null);
+    }
+
+    public static BatchTradeResult rejected(int index, String error) {
+        return new BatchTradeResult(index, "REJECTED", null, error);
+    }
+
+    // Getters and Setters
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public Transaction getTransaction() { return transaction; }
+    public void setTransaction(Transaction transaction) { this.transaction = transaction; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
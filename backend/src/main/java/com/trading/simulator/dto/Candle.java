@@ -0,0 +1,54 @@
+package com.trading.simulator.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One OHLCV candle starting at {@code time}: prices from the price engine,
+ * volume in shares filled, and how many price moves it was built from.
+ */
+public class Candle {
+    private LocalDateTime time;
+    private BigDecimal open;
+    private BigDecimal high;
+    private BigDecimal low;
+    private BigDecimal close;
+    private long volume;
+    private int ticks;
+
+    // Constructors
+    public Candle() {}
+
+    public Candle(LocalDateTime time, BigDecimal open, BigDecimal high, BigDecimal low,
+                  BigDecimal close, long volume, int ticks) {
+        this.time = time;
+        this.open = open;
+        this.high = high;
+        this.low = low;
+        this.close = close;
+        this.volume = volume;
+        this.ticks = ticks;
+    }
+
+    // Getters and Setters
+    public LocalDateTime getTime() { return time; }
+    public void setTime(LocalDateTime time) { this.time = time; }
+
+    public BigDecimal getOpen() { return open; }
+    public void setOpen(BigDecimal open) { this.open = open; }
+
+    public BigDecimal getHigh() { return high; }
+    public void setHigh(BigDecimal high) { this.high = high; }
+
+    public BigDecimal getLow() { return low; }
+    public void setLow(BigDecimal low) { this.low = low; }
+
+    public BigDecimal getClose() { return close; }
+    public void setClose(BigDecimal close) { this.close = close; }
+
+    public long getVolume() { return volume; }
+    public void setVolume(long volume) { this.volume = volume; }
+
+    public int getTicks() { return ticks; }
+    public void setTicks(int ticks) { this.ticks = ticks; }
+}
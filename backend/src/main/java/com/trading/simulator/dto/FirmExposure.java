@@ -0,0 +1,61 @@
+package com.trading.simulator.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Every account marked to market at once: total cash and market value, and
+ * per-symbol exposure largest first, as of the last revaluation.
+ */
+public class FirmExposure {
+    private int accounts;
+    private int positions;
+    private BigDecimal totalCash;
+    private BigDecimal totalMarketValue;
+    private BigDecimal totalNetWorth;
+    private List<SymbolExposure> symbols;
+    private LocalDateTime revaluedAt;
+    private double revaluationMillis;
+
+    // Constructors
+    public FirmExposure() {}
+
+    public FirmExposure(int accounts, int positions, BigDecimal totalCash, BigDecimal totalMarketValue,
+                        BigDecimal totalNetWorth, List<SymbolExposure> symbols,
+                        LocalDateTime revaluedAt, double revaluationMillis) {
+        this.accounts = accounts;
+        this.positions = positions;
+        this.totalCash = totalCash;
+        this.totalMarketValue = totalMarketValue;
+        this.totalNetWorth = totalNetWorth;
+        this.symbols = symbols;
+        this.revaluedAt = revaluedAt;
+        this.revaluationMillis = revaluationMillis;
+    }
+
+    // Getters and Setters
+    public int getAccounts() { return accounts; }
+    public void setAccounts(int accounts) { this.accounts = accounts; }
+
+    public int getPositions() { return positions; }
+    public void setPositions(int positions) { this.positions = positions; }
+
+    public BigDecimal getTotalCash() { return totalCash; }
+    public void setTotalCash(BigDecimal totalCash) { this.totalCash = totalCash; }
+
+    public BigDecimal getTotalMarketValue() { return totalMarketValue; }
+    public void setTotalMarketValue(BigDecimal totalMarketValue) { this.totalMarketValue = totalMarketValue; }
+
+    public BigDecimal getTotalNetWorth() { return totalNetWorth; }
+    public void setTotalNetWorth(BigDecimal totalNetWorth) { this.totalNetWorth = totalNetWorth; }
+
+    public List<SymbolExposure> getSymbols() { return symbols; }
+    public void setSymbols(List<SymbolExposure> symbols) { this.symbols = symbols; }
+
+    public LocalDateTime getRevaluedAt() { return revaluedAt; }
+    public void setRevaluedAt(LocalDateTime revaluedAt) { this.revaluedAt = revaluedAt; }
+
+    public double getRevaluationMillis() { return revaluationMillis; }
+    public void setRevaluationMillis(double revaluationMillis) { this.revaluationMillis = revaluationMillis; }
+}
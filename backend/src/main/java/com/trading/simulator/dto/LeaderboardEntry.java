@@ -0,0 +1,37 @@
+package com.trading.simulator.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * A user's place on the leaderboard: one-based rank and net worth, which is
+ * cash plus every position at the live price.
+ */
+public class LeaderboardEntry {
+    private int rank;
+    private Long userId;
+    private String username;
+    private BigDecimal netWorth;
+
+    // Constructors
+    public LeaderboardEntry() {}
+
+    public LeaderboardEntry(int rank, Long userId, String username, BigDecimal netWorth) {
+        this.rank = rank;
+        this.userId = userId;
+        this.username = username;
+        this.netWorth = netWorth;
+    }
+
+    // Getters and Setters
+    public int getRank() { return rank; }
+    public void setRank(int rank) { this.rank = rank; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+
+    public BigDecimal getNetWorth() { return netWorth; }
+    public void setNetWorth(BigDecimal netWorth) { this.netWorth = netWorth; }
+}
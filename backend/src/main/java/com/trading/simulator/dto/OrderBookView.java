@@ -0,0 +1,47 @@
+package com.trading.simulator.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public class OrderBookView {
+    private String symbol;
+    private List<Level> bids; // best (highest) first
+    private List<Level> asks; // best (lowest) first
+
+    // Constructors
+    public OrderBookView() {}
+
+    public OrderBookView(String symbol, List<Level> bids, List<Level> asks) {
+        this.symbol = symbol;
+        this.bids = bids;
+        this.asks = asks;
+    }
+
+    // Getters and Setters
+    public String getSymbol() { return symbol; }
+    public void setSymbol(String symbol) { this.symbol = symbol; }
+
+    public List<Level> getBids() { return bids; }
+    public void setBids(List<Level> bids) { this.bids = bids; }
+
+    public List<Level> getAsks() { return asks; }
+    public void setAsks(List<Level> asks) { this.asks = asks; }
+
+    public static class Level {
+        private BigDecimal price;
+        private long quantity;
+
+        public Level() {}
+
+        public Level(BigDecimal price, long quantity) {
+            this.price = price;
+            this.quantity = quantity;
+        }
+
+        public BigDecimal getPrice() { return price; }
+        public void setPrice(BigDecimal price) { this.price = price; }
+
+        public long getQuantity() { return quantity; }
+        public void setQuantity(long quantity) { this.quantity = quantity; }
+    }
+}
@@ -0,0 +1,60 @@
+package com.trading.simulator.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.math.BigDecimal;
+
+public class OrderRequest {
+    @NotNull(message = "User ID is required")
+    private Long userId;
+
+    @NotBlank(message = "Stock symbol is required")
+    private String stockSymbol;
+
+    @NotBlank(message = "Side is required")
+    private String side; // BUY or SELL
+
+    @NotBlank(message = "Order type is required")
+    private String orderType; // LIMIT, MARKET or IOC
+
+    @NotNull(message = "Quantity is required")
+    @Positive(message = "Quantity must be positive")
+    private Integer quantity;
+
+    @Positive(message = "Limit price must be positive")
+    private BigDecimal limitPrice; // required for LIMIT and IOC
+
+    // Constructors
+    public OrderRequest() {}
+
+    public OrderRequest(Long userId, String stockSymbol, String side, String orderType,
+                        Integer quantity, BigDecimal limitPrice) {
+        this.userId = userId;
+        this.stockSymbol = stockSymbol;
+        this.side = side;
+        this.orderType = orderType;
+        this.quantity = quantity;
+        this.limitPrice = limitPrice;
+    }
+
+    // Getters and Setters
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public String getStockSymbol() { return stockSymbol; }
+    public void setStockSymbol(String stockSymbol) { this.stockSymbol = stockSymbol; }
+
+    public String getSide() { return side; }
+    public void setSide(String side) { this.side = side; }
+
+    public String getOrderType() { return orderType; }
+    public void setOrderType(String orderType) { this.orderType = orderType; }
+
+    public Integer getQuantity() { return quantity; }
+    public void setQuantity(Integer quantity) { this.quantity = quantity; }
+
+    public BigDecimal getLimitPrice() { return limitPrice; }
+    public void setLimitPrice(BigDecimal limitPrice) { this.limitPrice = limitPrice; }
+}
@@ -0,0 +1,40 @@
+package com.trading.simulator.dto;
+
+import com.trading.simulator.entity.Transaction;
+
+import java.util.List;
+
+public class OrderResult {
+    private long orderId;
+    private String status; // FILLED, RESTING (remainder on the book) or EXPIRED (remainder cancelled)
+    private int filledQuantity;
+    private int restingQuantity;
+    private List<Transaction> fills;
+
+    // Constructors
+    public OrderResult() {}
+
+    public OrderResult(long orderId, String status, int filledQuantity, int restingQuantity, List<Transaction> fills) {
+        this.orderId = orderId;
+        this.status = status;
+        this.filledQuantity = filledQuantity;
+        this.restingQuantity = restingQuantity;
+        this.fills = fills;
+    }
+
+    // Getters and Setters
+    public long getOrderId() { return orderId; }
+    public void setOrderId(long orderId) { this.orderId = orderId; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public int getFilledQuantity() { return filledQuantity; }
+    public void setFilledQuantity(int filledQuantity) { this.filledQuantity = filledQuantity; }
+
+    public int getRestingQuantity() { return restingQuantity; }
+    public void setRestingQuantity(int restingQuantity) { this.restingQuantity = restingQuantity; }
+
+    public List<Transaction> getFills() { return fills; }
+    public void setFills(List<Transaction> fills) { this.fills = fills; }
+}
@@ -0,0 +1,56 @@
+package com.trading.simulator.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Positions and portfolio totals computed together against one price snapshot.
+ */
+public class PortfolioDashboard {
+    private Long userId;
+    private List<PortfolioSummary> positions;
+    private BigDecimal totalValue;
+    private BigDecimal totalInvested;
+    private BigDecimal totalGainLoss;
+    private BigDecimal totalGainLossPercent;
+    private long priceSequence;
+
+    // Constructors
+    public PortfolioDashboard() {}
+
+    public PortfolioDashboard(Long userId, List<PortfolioSummary> positions,
+                              BigDecimal totalValue, BigDecimal totalInvested,
+                              BigDecimal totalGainLoss, BigDecimal totalGainLossPercent,
+                              long priceSequence) {
+        this.userId = userId;
+        this.positions = positions;
+        this.totalValue = totalValue;
+        this.totalInvested = totalInvested;
+        this.totalGainLoss = totalGainLoss;
+        this.totalGainLossPercent = totalGainLossPercent;
+        this.priceSequence = priceSequence;
+    }
+
+    // Getters and Setters
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public List<PortfolioSummary> getPositions() { return positions; }
+    public void setPositions(List<PortfolioSummary> positions) { this.positions = positions; }
+
+    public BigDecimal getTotalValue() { return totalValue; }
+    public void setTotalValue(BigDecimal totalValue) { this.totalValue = totalValue; }
+
+    public BigDecimal getTotalInvested() { return totalInvested; }
+    public void setTotalInvested(BigDecimal totalInvested) { this.totalInvested = totalInvested; }
+
+    public BigDecimal getTotalGainLoss() { return totalGainLoss; }
+    public void setTotalGainLoss(BigDecimal totalGainLoss) { this.totalGainLoss = totalGainLoss; }
+
+    public BigDecimal getTotalGainLossPercent() { return totalGainLossPercent; }
+    public void setTotalGainLossPercent(BigDecimal totalGainLossPercent) { this.totalGainLossPercent = totalGainLossPercent; }
+
+    // Sequence of the price snapshot every position was valued against
+    public long getPriceSequence() { return priceSequence; }
+    public void setPriceSequence(long priceSequence) { this.priceSequence = priceSequence; }
+}
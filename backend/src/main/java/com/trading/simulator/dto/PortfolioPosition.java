@@ -0,0 +1,49 @@
+package com.trading.simulator.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * One open position joined to its stock metadata, loaded in a single query
+ * for portfolio valuation.
+ */
+public class PortfolioPosition {
+    private String stockSymbol;
+    private String companyName;
+    private Integer quantity;
+    private BigDecimal averagePrice;
+    private BigDecimal totalInvested;
+    private BigDecimal storedPrice;
+
+    // Constructors
+    public PortfolioPosition() {}
+
+    public PortfolioPosition(String stockSymbol, String companyName, Integer quantity,
+                             BigDecimal averagePrice, BigDecimal totalInvested, BigDecimal storedPrice) {
+        this.stockSymbol = stockSymbol;
+        this.companyName = companyName;
+        this.quantity = quantity;
+        this.averagePrice = averagePrice;
+        this.totalInvested = totalInvested;
+        this.storedPrice = storedPrice;
+    }
+
+    // Getters and Setters
+    public String getStockSymbol() { return stockSymbol; }
+    public void setStockSymbol(String stockSymbol) { this.stockSymbol = stockSymbol; }
+
+    public String getCompanyName() { return companyName; }
+    public void setCompanyName(String companyName) { this.companyName = companyName; }
+
+    public Integer getQuantity() { return quantity; }
+    public void setQuantity(Integer quantity) { this.quantity = quantity; }
+
+    public BigDecimal getAveragePrice() { return averagePrice; }
+    public void setAveragePrice(BigDecimal averagePrice) { this.averagePrice = averagePrice; }
+
+    public BigDecimal getTotalInvested() { return totalInvested; }
+    public void setTotalInvested(BigDecimal totalInvested) { this.totalInvested = totalInvested; }
+
+    // stocks.current_price, used only when the price engine has no tick for the symbol
+    public BigDecimal getStoredPrice() { return storedPrice; }
+    public void setStoredPrice(BigDecimal storedPrice) { this.storedPrice = storedPrice; }
+}
@@ -0,0 +1,64 @@
+package com.trading.simulator.dto;
+
+import com.trading.simulator.money.Money;
+import com.trading.simulator.tickstore.TickBar;
+import com.trading.simulator.tickstore.TickRecorder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Open, high, low and close of one symbol over one interval starting at
+ * {@code time}, and how many price moves it was built from.
+ */
+public class PriceBar {
+    private LocalDateTime time;
+    private BigDecimal open;
+    private BigDecimal high;
+    private BigDecimal low;
+    private BigDecimal close;
+    private int ticks;
+
+    // Constructors
+    public PriceBar() {}
+
+    public PriceBar(LocalDateTime time, BigDecimal open, BigDecimal high, BigDecimal low,
+                    BigDecimal close, int ticks) {
+        this.time = time;
+        this.open = open;
+        this.high = high;
+        this.low = low;
+        this.close = close;
+        this.ticks = ticks;
+    }
+
+    public static PriceBar from(TickBar bar) {
+        return new PriceBar(
+                TickRecorder.fromEpochMillis(bar.startMillis()),
+                Money.toBigDecimal(bar.open()),
+                Money.toBigDecimal(bar.high()),
+                Money.toBigDecimal(bar.low()),
+                Money.toBigDecimal(bar.close()),
+                bar.ticks()
+        );
+    }
+
+    // Getters and Setters
+    public LocalDateTime getTime() { return time; }
+    public void setTime(LocalDateTime time) { this.time = time; }
+
+    public BigDecimal getOpen() { return open; }
+    public void setOpen(BigDecimal open) { this.open = open; }
+
+    public BigDecimal getHigh() { return high; }
+    public void setHigh(BigDecimal high) { this.high = high; }
+
+    public BigDecimal getLow() { return low; }
+    public void setLow(BigDecimal low) { this.low = low; }
+
+    public BigDecimal getClose() { return close; }
+    public void setClose(BigDecimal close) { this.close = close; }
+
+    public int getTicks() { return ticks; }
+    public void setTicks(int ticks) { this.ticks = ticks; }
+}
@@ -0,0 +1,34 @@
+package com.trading.simulator.dto;
+
+/**
+ * One value on which the read model and the database disagree for a user.
+ */
+public class ReadModelMismatch {
+    private Long userId;
+    private String field;
+    private String database;
+    private String model;
+
+    // Constructors
+    public ReadModelMismatch() {}
+
+    public ReadModelMismatch(Long userId, String field, String database, String model) {
+        this.userId = userId;
+        this.field = field;
+        this.database = database;
+        this.model = model;
+    }
+
+    // Getters and Setters
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public String getField() { return field; }
+    public void setField(String field) { this.field = field; }
+
+    public String getDatabase() { return database; }
+    public void setDatabase(String database) { this.database = database; }
+
+    public String getModel() { return model; }
+    public void setModel(String model) { this.model = model; }
+}
@@ -0,0 +1,55 @@
+package com.trading.simulator.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * The outcome of diffing the read model against the database. Users that
+ * traded while the check ran are skipped rather than compared; mismatches
+ * lists at most the first {@code max-reported-mismatches}.
+ */
+public class ReadModelReport {
+    private int checkedUsers;
+    private int skippedUsers;
+    private int mismatchedUsers;
+    private int repairedUsers;
+    private List<ReadModelMismatch> mismatches;
+    private LocalDateTime checkedAt;
+    private double checkMillis;
+
+    // Constructors
+    public ReadModelReport() {}
+
+    public ReadModelReport(int checkedUsers, int skippedUsers, int mismatchedUsers, int repairedUsers,
+                           List<ReadModelMismatch> mismatches, LocalDateTime checkedAt, double checkMillis) {
+        this.checkedUsers = checkedUsers;
+        this.skippedUsers = skippedUsers;
+        this.mismatchedUsers = mismatchedUsers;
+        this.repairedUsers = repairedUsers;
+        this.mismatches = mismatches;
+        this.checkedAt = checkedAt;
+        this.checkMillis = checkMillis;
+    }
+
+    // Getters and Setters
+    public int getCheckedUsers() { return checkedUsers; }
+    public void setCheckedUsers(int checkedUsers) { this.checkedUsers = checkedUsers; }
+
+    public int getSkippedUsers() { return skippedUsers; }
+    public void setSkippedUsers(int skippedUsers) { this.skippedUsers = skippedUsers; }
+
+    public int getMismatchedUsers() { return mismatchedUsers; }
+    public void setMismatchedUsers(int mismatchedUsers) { this.mismatchedUsers = mismatchedUsers; }
+
+    public int getRepairedUsers() { return repairedUsers; }
+    public void setRepairedUsers(int repairedUsers) { this.repairedUsers = repairedUsers; }
+
+    public List<ReadModelMismatch> getMismatches() { return mismatches; }
+    public void setMismatches(List<ReadModelMismatch> mismatches) { this.mismatches = mismatches; }
+
+    public LocalDateTime getCheckedAt() { return checkedAt; }
+    public void setCheckedAt(LocalDateTime checkedAt) { this.checkedAt = checkedAt; }
+
+    public double getCheckMillis() { return checkMillis; }
+    public void setCheckMillis(double checkMillis) { this.checkMillis = checkMillis; }
+}
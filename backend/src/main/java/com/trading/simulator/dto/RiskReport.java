@@ -0,0 +1,68 @@
+package com.trading.simulator.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One-day risk of a portfolio at its current value: Monte Carlo
+ * value-at-risk and expected shortfall at 95% and 99%, as positive losses,
+ * and the profit or loss of each stress scenario.
+ */
+public class RiskReport {
+    private Long userId;
+    private BigDecimal totalValue;
+    private int paths;
+    private BigDecimal valueAtRisk95;
+    private BigDecimal valueAtRisk99;
+    private BigDecimal expectedShortfall95;
+    private BigDecimal expectedShortfall99;
+    private List<StressResult> stressScenarios;
+    private LocalDateTime computedAt;
+
+    // Constructors
+    public RiskReport() {}
+
+    public RiskReport(Long userId, BigDecimal totalValue, int paths,
+                      BigDecimal valueAtRisk95, BigDecimal valueAtRisk99,
+                      BigDecimal expectedShortfall95, BigDecimal expectedShortfall99,
+                      List<StressResult> stressScenarios, LocalDateTime computedAt) {
+        this.userId = userId;
+        this.totalValue = totalValue;
+        this.paths = paths;
+        this.valueAtRisk95 = valueAtRisk95;
+        this.valueAtRisk99 = valueAtRisk99;
+        this.expectedShortfall95 = expectedShortfall95;
+        this.expectedShortfall99 = expectedShortfall99;
+        this.stressScenarios = stressScenarios;
+        this.computedAt = computedAt;
+    }
+
+    // Getters and Setters
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public BigDecimal getTotalValue() { return totalValue; }
+    public void setTotalValue(BigDecimal totalValue) { this.totalValue = totalValue; }
+
+    public int getPaths() { return paths; }
+    public void setPaths(int paths) { this.paths = paths; }
+
+    public BigDecimal getValueAtRisk95() { return valueAtRisk95; }
+    public void setValueAtRisk95(BigDecimal valueAtRisk95) { this.valueAtRisk95 = valueAtRisk95; }
+
+    public BigDecimal getValueAtRisk99() { return valueAtRisk99; }
+    public void setValueAtRisk99(BigDecimal valueAtRisk99) { this.valueAtRisk99 = valueAtRisk99; }
+
+    public BigDecimal getExpectedShortfall95() { return expectedShortfall95; }
+    public void setExpectedShortfall95(BigDecimal expectedShortfall95) { this.expectedShortfall95 = expectedShortfall95; }
+
+    public BigDecimal getExpectedShortfall99() { return expectedShortfall99; }
+    public void setExpectedShortfall99(BigDecimal expectedShortfall99) { this.expectedShortfall99 = expectedShortfall99; }
+
+    public List<StressResult> getStressScenarios() { return stressScenarios; }
+    public void setStressScenarios(List<StressResult> stressScenarios) { this.stressScenarios = stressScenarios; }
+
+    public LocalDateTime getComputedAt() { return computedAt; }
+    public void setComputedAt(LocalDateTime computedAt) { this.computedAt = computedAt; }
+}
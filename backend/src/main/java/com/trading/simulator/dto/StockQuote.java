@@ -1,5 +1,8 @@
 package com.trading.simulator.dto;
 
+import com.trading.simulator.money.Money;
+import com.trading.simulator.pricing.PriceTick;
+
 import java.math.BigDecimal;
 
 public class StockQuote {
@@ -23,6 +26,17 @@ public class StockQuote {
         this.lastUpdated = lastUpdated;
     }
 
+    public static StockQuote from(PriceTick tick) {
+        return new StockQuote(
+                tick.getSymbol(),
+                tick.getCompanyName(),
+                Money.toBigDecimal(tick.getPrice()),
+                Money.toBigDecimal(tick.getChange()),
+                Money.ratioAsPercent(tick.getChangeRatio()),
+                tick.getTimestamp().toString()
+        );
+    }
+
     // Getters and Setters
     public String getSymbol() { return symbol; }
     public void setSymbol(String symbol) { this.symbol = symbol; }
@@ -0,0 +1,26 @@
+package com.trading.simulator.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Portfolio profit or loss under one fixed stress scenario.
+ */
+public class StressResult {
+    private String scenario;
+    private BigDecimal profitLoss;
+
+    // Constructors
+    public StressResult() {}
+
+    public StressResult(String scenario, BigDecimal profitLoss) {
+        this.scenario = scenario;
+        this.profitLoss = profitLoss;
+    }
+
+    // Getters and Setters
+    public String getScenario() { return scenario; }
+    public void setScenario(String scenario) { this.scenario = scenario; }
+
+    public BigDecimal getProfitLoss() { return profitLoss; }
+    public void setProfitLoss(BigDecimal profitLoss) { this.profitLoss = profitLoss; }
+}
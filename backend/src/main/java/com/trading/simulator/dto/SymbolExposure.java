@@ -0,0 +1,42 @@
+package com.trading.simulator.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Firm-wide holdings of one symbol: shares held across every account, the
+ * accounts holding it and their value at the mark price.
+ */
+public class SymbolExposure {
+    private String symbol;
+    private BigDecimal price;
+    private long quantity;
+    private int holders;
+    private BigDecimal marketValue;
+
+    // Constructors
+    public SymbolExposure() {}
+
+    public SymbolExposure(String symbol, BigDecimal price, long quantity, int holders, BigDecimal marketValue) {
+        this.symbol = symbol;
+        this.price = price;
+        this.quantity = quantity;
+        this.holders = holders;
+        this.marketValue = marketValue;
+    }
+
+    // Getters and Setters
+    public String getSymbol() { return symbol; }
+    public void setSymbol(String symbol) { this.symbol = symbol; }
+
+    public BigDecimal getPrice() { return price; }
+    public void setPrice(BigDecimal price) { this.price = price; }
+
+    public long getQuantity() { return quantity; }
+    public void setQuantity(long quantity) { this.quantity = quantity; }
+
+    public int getHolders() { return holders; }
+    public void setHolders(int holders) { this.holders = holders; }
+
+    public BigDecimal getMarketValue() { return marketValue; }
+    public void setMarketValue(BigDecimal marketValue) { this.marketValue = marketValue; }
+}
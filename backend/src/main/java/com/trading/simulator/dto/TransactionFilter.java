@@ -0,0 +1,31 @@
+package com.trading.simulator.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Which of a user's transactions a history page or export covers. Every
+ * field but the user is optional; the date range is {@code [from, to)}.
+ */
+public class TransactionFilter {
+    private final Long userId;
+    private final String stockSymbol;
+    private final String transactionType;
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+
+    public TransactionFilter(Long userId, String stockSymbol, String transactionType,
+                             LocalDateTime from, LocalDateTime to) {
+        this.userId = userId;
+        this.stockSymbol = stockSymbol;
+        this.transactionType = transactionType;
+        this.from = from;
+        this.to = to;
+    }
+
+    // Getters
+    public Long getUserId() { return userId; }
+    public String getStockSymbol() { return stockSymbol; }
+    public String getTransactionType() { return transactionType; }
+    public LocalDateTime getFrom() { return from; }
+    public LocalDateTime getTo() { return to; }
+}
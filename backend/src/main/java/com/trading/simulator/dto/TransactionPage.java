@@ -0,0 +1,29 @@
+package com.trading.simulator.dto;
+
+import com.trading.simulator.entity.Transaction;
+
+import java.util.List;
+
+/**
+ * One page of transaction history, newest first. Pass {@code nextCursor}
+ * back to get the page after it; it is {@code null} on the last page.
+ */
+public class TransactionPage {
+    private List<Transaction> transactions;
+    private String nextCursor;
+
+    // Constructors
+    public TransactionPage() {}
+
+    public TransactionPage(List<Transaction> transactions, String nextCursor) {
+        this.transactions = transactions;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<Transaction> getTransactions() { return transactions; }
+    public void setTransactions(List<Transaction> transactions) { this.transactions = transactions; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -0,0 +1,59 @@
+package com.trading.simulator.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.math.BigDecimal;
+
+public class TriggerRequest {
+    @NotNull(message = "User ID is required")
+    private Long userId;
+
+    @NotBlank(message = "Stock symbol is required")
+    private String stockSymbol;
+
+    @NotBlank(message = "Trigger type is required")
+    private String triggerType; // STOP_LOSS, TAKE_PROFIT, TRAILING_STOP, ALERT_ABOVE or ALERT_BELOW
+
+    @Positive(message = "Quantity must be positive")
+    private Integer quantity; // shares to sell; required for all but alerts
+
+    @Positive(message = "Trigger price must be positive")
+    private BigDecimal triggerPrice; // required for all but trailing stops
+
+    @Positive(message = "Trail amount must be positive")
+    private BigDecimal trailAmount; // trailing stops only
+
+    // Constructors
+    public TriggerRequest() {}
+
+    public TriggerRequest(Long userId, String stockSymbol, String triggerType, Integer quantity,
+                          BigDecimal triggerPrice, BigDecimal trailAmount) {
+        this.userId = userId;
+        this.stockSymbol = stockSymbol;
+        this.triggerType = triggerType;
+        this.quantity = quantity;
+        this.triggerPrice = triggerPrice;
+        this.trailAmount = trailAmount;
+    }
+
+    // Getters and Setters
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public String getStockSymbol() { return stockSymbol; }
+    public void setStockSymbol(String stockSymbol) { this.stockSymbol = stockSymbol; }
+
+    public String getTriggerType() { return triggerType; }
+    public void setTriggerType(String triggerType) { this.triggerType = triggerType; }
+
+    public Integer getQuantity() { return quantity; }
+    public void setQuantity(Integer quantity) { this.quantity = quantity; }
+
+    public BigDecimal getTriggerPrice() { return triggerPrice; }
+    public void setTriggerPrice(BigDecimal triggerPrice) { this.triggerPrice = triggerPrice; }
+
+    public BigDecimal getTrailAmount() { return trailAmount; }
+    public void setTrailAmount(BigDecimal trailAmount) { this.trailAmount = trailAmount; }
+}
@@ -0,0 +1,92 @@
+package com.trading.simulator.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A trigger and where it stands. {@code stopPrice} is the price it fires at
+ * now, which for a trailing stop follows the price up; the fired and
+ * executed fields are set once it fires and once its sell is done.
+ */
+public class TriggerView {
+    private Long id;
+    private Long userId;
+    private String stockSymbol;
+    private String triggerType;
+    private Integer quantity;
+    private BigDecimal triggerPrice;
+    private BigDecimal trailAmount;
+    private BigDecimal stopPrice;
+    private String status;
+    private LocalDateTime createdAt;
+    private LocalDateTime firedAt;
+    private BigDecimal firedPrice;
+    private BigDecimal executedPrice;
+    private String message;
+
+    // Constructors
+    public TriggerView() {}
+
+    public TriggerView(Long id, Long userId, String stockSymbol, String triggerType, Integer quantity,
+                       BigDecimal triggerPrice, BigDecimal trailAmount, BigDecimal stopPrice, String status,
+                       LocalDateTime createdAt, LocalDateTime firedAt, BigDecimal firedPrice,
+                       BigDecimal executedPrice, String message) {
+        this.id = id;
+        this.userId = userId;
+        this.stockSymbol = stockSymbol;
+        this.triggerType = triggerType;
+        this.quantity = quantity;
+        this.triggerPrice = triggerPrice;
+        this.trailAmount = trailAmount;
+        this.stopPrice = stopPrice;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.firedAt = firedAt;
+        this.firedPrice = firedPrice;
+        this.executedPrice = executedPrice;
+        this.message = message;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public String getStockSymbol() { return stockSymbol; }
+    public void setStockSymbol(String stockSymbol) { this.stockSymbol = stockSymbol; }
+
+    public String getTriggerType() { return triggerType; }
+    public void setTriggerType(String triggerType) { this.triggerType = triggerType; }
+
+    public Integer getQuantity() { return quantity; }
+    public void setQuantity(Integer quantity) { this.quantity = quantity; }
+
+    public BigDecimal getTriggerPrice() { return triggerPrice; }
+    public void setTriggerPrice(BigDecimal triggerPrice) { this.triggerPrice = triggerPrice; }
+
+    public BigDecimal getTrailAmount() { return trailAmount; }
+    public void setTrailAmount(BigDecimal trailAmount) { this.trailAmount = trailAmount; }
+
+    public BigDecimal getStopPrice() { return stopPrice; }
+    public void setStopPrice(BigDecimal stopPrice) { this.stopPrice = stopPrice; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getFiredAt() { return firedAt; }
+    public void setFiredAt(LocalDateTime firedAt) { this.firedAt = firedAt; }
+
+    public BigDecimal getFiredPrice() { return firedPrice; }
+    public void setFiredPrice(BigDecimal firedPrice) { this.firedPrice = firedPrice; }
+
+    public BigDecimal getExecutedPrice() { return executedPrice; }
+    public void setExecutedPrice(BigDecimal executedPrice) { this.executedPrice = executedPrice; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
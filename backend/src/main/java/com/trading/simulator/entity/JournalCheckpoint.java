@@ -0,0 +1,30 @@
+package com.trading.simulator.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Highest trade journal sequence whose effects are in the database. Updated
+ * in the same transaction as the rows it covers, so replay after a crash
+ * resumes exactly after it.
+ */
+@Entity
+@Table(name = "journal_checkpoint")
+public class JournalCheckpoint {
+    public static final int SINGLETON_ID = 1;
+
+    @Id
+    private Integer id = SINGLETON_ID;
+
+    @Column(name = "last_sequence", nullable = false)
+    private long lastSequence;
+
+    // Constructors
+    public JournalCheckpoint() {}
+
+    // Getters and Setters
+    public Integer getId() { return id; }
+    public void setId(Integer id) { this.id = id; }
+
+    public long getLastSequence() { return lastSequence; }
+    public void setLastSequence(long lastSequence) { this.lastSequence = lastSequence; }
+}
@@ -9,8 +9,10 @@ import java.time.LocalDateTime;
     @UniqueConstraint(columnNames = {"user_id", "stock_symbol"})
 })
 public class Portfolio {
+    // Pooled sequence rather than IDENTITY so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "portfolio_seq")
+    @SequenceGenerator(name = "portfolio_seq", sequenceName = "portfolio_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "user_id")
@@ -5,10 +5,16 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+        // History pages walk these backwards by (transaction_date, id); see TransactionHistoryRepository
+        @Index(name = "idx_transactions_user_date", columnList = "user_id, transaction_date DESC, id DESC"),
+        @Index(name = "idx_transactions_user_symbol_date", columnList = "user_id, stock_symbol, transaction_date DESC, id DESC")
+})
 public class Transaction {
+    // Pooled sequence rather than IDENTITY so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_seq")
+    @SequenceGenerator(name = "transactions_seq", sequenceName = "transactions_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "user_id")
@@ -48,7 +54,10 @@ public class Transaction {
     // Lifecycle methods
     @PrePersist
     protected void onCreate() {
-        transactionDate = LocalDateTime.now();
+        // Keep the execution time when the row is written after the fact
+        if (transactionDate == null) {
+            transactionDate = LocalDateTime.now();
+        }
     }
 
     // Getters and Setters
@@ -0,0 +1,155 @@
+package com.trading.simulator.execution;
+
+import com.trading.simulator.money.Money;
+import com.trading.simulator.symbol.IntObjectMap;
+import com.trading.simulator.symbol.SymbolRegistry;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * In-memory cash balance and holdings for one user. An account is owned by
+ * exactly one {@link TradeShard} and only ever read or mutated on that shard's
+ * thread, so none of this needs locking; a backtest's account is private to
+ * the thread running it in the same way. Amounts are in cents. Positions are
+ * keyed by {@link SymbolRegistry} id, and the shares held against resting
+ * sell orders are kept on the position itself.
+ */
+public class Account {
+    private final Long userId;
+    private long balance;
+    private long reservedCash;
+    private final IntObjectMap<Position> positions = new IntObjectMap<>();
+
+    public Account(Long userId, long balance) {
+        this.userId = userId;
+        this.balance = balance;
+    }
+
+    public void addPosition(String stockSymbol, int quantity, long averagePrice, long totalInvested) {
+        Position position = new Position(stockSymbol, quantity, averagePrice, totalInvested);
+        positions.put(position.getSymbolId(), position);
+    }
+
+    // Getters
+    public Long getUserId() { return userId; }
+    public long getBalance() { return balance; }
+    public long getReservedCash() { return reservedCash; }
+
+    // Cash not held against resting buy orders
+    public long getAvailableBalance() {
+        return balance - reservedCash;
+    }
+
+    public Position getPosition(String stockSymbol) {
+        return positions.get(SymbolRegistry.idOf(stockSymbol));
+    }
+
+    // Shares not held against resting sell orders
+    public int getAvailableShares(String stockSymbol) {
+        Position position = positions.get(SymbolRegistry.idOf(stockSymbol));
+        return position != null ? position.getQuantity() - position.getReservedShares() : 0;
+    }
+
+    public Collection<Position> getPositions() {
+        return Collections.unmodifiableCollection(positions.values());
+    }
+
+    // ========== TRADE APPLICATION ==========
+
+    public TradeEffect executeBuyOrder(String stockSymbol, int quantity, long price) {
+        long totalAmount = Money.times(price, quantity);
+        if (getAvailableBalance() < totalAmount) {
+            throw new RuntimeException("Insufficient balance for this purchase");
+        }
+
+        balance -= totalAmount;
+
+        int symbolId = SymbolRegistry.intern(stockSymbol);
+        Position position = positions.get(symbolId);
+        if (position != null) {
+            long newTotalInvested = position.getTotalInvested() + totalAmount;
+            int newQuantity = position.getQuantity() + quantity;
+            position.setQuantity(newQuantity);
+            position.setAveragePrice(Money.divideHalfUp(newTotalInvested, newQuantity));
+            position.setTotalInvested(newTotalInvested);
+        } else {
+            position = new Position(symbolId, quantity, price, totalAmount);
+            positions.put(symbolId, position);
+        }
+
+        return new TradeEffect(userId, position.getStockSymbol(), "BUY", quantity, price, totalAmount,
+                LocalDateTime.now(), balance, position);
+    }
+
+    public TradeEffect executeSellOrder(String stockSymbol, int quantity, long price) {
+        Position position = positions.get(SymbolRegistry.idOf(stockSymbol));
+        if (position == null || position.getQuantity() - position.getReservedShares() < quantity) {
+            throw new RuntimeException("Insufficient shares to sell");
+        }
+        String symbol = position.getStockSymbol();
+
+        long totalAmount = Money.times(price, quantity);
+        balance += totalAmount;
+
+        int newQuantity = position.getQuantity() - quantity;
+        if (newQuantity == 0) {
+            positions.remove(position.getSymbolId());
+            position = null;
+        } else {
+            long soldInvestment = Money.times(position.getAveragePrice(), quantity);
+            position.setQuantity(newQuantity);
+            position.setTotalInvested(position.getTotalInvested() - soldInvestment);
+        }
+
+        return new TradeEffect(userId, symbol, "SELL", quantity, price, totalAmount,
+                LocalDateTime.now(), balance, position);
+    }
+
+    // ========== ORDER RESERVATIONS ==========
+
+    /**
+     * Holds cash (BUY) or shares (SELL) for an order that may fill later, so
+     * that the fill cannot fail and nothing else can spend what it needs.
+     */
+    void reserve(String stockSymbol, String type, int quantity, long price) {
+        if ("BUY".equals(type)) {
+            long amount = Money.times(price, quantity);
+            if (getAvailableBalance() < amount) {
+                throw new RuntimeException("Insufficient balance for this purchase");
+            }
+            reservedCash += amount;
+        } else {
+            // Reserved shares never exceed the holding, so a position with reservations is never closed
+            Position position = positions.get(SymbolRegistry.idOf(stockSymbol));
+            if (position == null || position.getQuantity() - position.getReservedShares() < quantity) {
+                throw new RuntimeException("Insufficient shares to sell");
+            }
+            position.setReservedShares(position.getReservedShares() + quantity);
+        }
+    }
+
+    void release(String stockSymbol, String type, int quantity, long price) {
+        if ("BUY".equals(type)) {
+            reservedCash -= Money.times(price, quantity);
+        } else {
+            Position position = positions.get(SymbolRegistry.idOf(stockSymbol));
+            if (position != null) {
+                position.setReservedShares(Math.max(0, position.getReservedShares() - quantity));
+            }
+        }
+    }
+
+    /**
+     * Fills part of a reserved order: releases the reservation made at
+     * {@code reservedPrice} and executes at {@code fillPrice}, which is never
+     * worse for the account than the reserved price.
+     */
+    TradeEffect settle(String stockSymbol, String type, int quantity, long reservedPrice, long fillPrice) {
+        release(stockSymbol, type, quantity, reservedPrice);
+        return "BUY".equals(type)
+                ? executeBuyOrder(stockSymbol, quantity, fillPrice)
+                : executeSellOrder(stockSymbol, quantity, fillPrice);
+    }
+}
@@ -0,0 +1,28 @@
+package com.trading.simulator.execution;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Loads an account's persisted state the first time its shard sees it.
+ */
+public interface AccountLoader {
+
+    /**
+     * @return the account, or {@code null} if the user does not exist
+     */
+    Account load(Long userId);
+
+    /**
+     * Loads several accounts at once; users that do not exist are absent from the result.
+     */
+    default Map<Long, Account> loadAll(Collection<Long> userIds) {
+        Map<Long, Account> accounts = new HashMap<>();
+        for (Long userId : userIds) {
+            Account account = load(userId);
+            if (account != null) accounts.put(userId, account);
+        }
+        return accounts;
+    }
+}
@@ -0,0 +1,163 @@
+package com.trading.simulator.execution;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The system of record for fills. Every effect is appended to the
+ * {@link TradeJournal} before it is handed to the {@link TradePersister}, so
+ * the database is only a projection of the journal and never on the trade
+ * path. A background thread forces the journal to disk every
+ * {@code fsync-interval-ms}, or sooner once {@code fsync-batch-size} records
+ * are waiting.
+ *
+ * <p>On startup, journal records past the database's checkpoint are written
+ * to the database before any shard can load an account from it. Segments
+ * the database has caught up with are deleted then, and every
+ * {@code prune-interval-ms} after that.
+ */
+@Component
+@Primary
+public class JournaledTradeSink implements TradeEffectSink {
+
+    private static final Logger log = LoggerFactory.getLogger(JournaledTradeSink.class);
+
+    private final TradePersister persister;
+    private final Path directory;
+    private final int segmentSize;
+    private final long fsyncIntervalMs;
+    private final int fsyncBatchSize;
+    private final int replayBatchSize;
+    private final long pruneIntervalMs;
+
+    private final Object appendLock = new Object();
+    private final AtomicBoolean syncRequested = new AtomicBoolean();
+    private TradeJournal journal;
+    private ScheduledExecutorService syncer;
+    private int unsynced;
+
+    public JournaledTradeSink(TradePersister persister,
+                              @Value("${simulator.journal.directory:data/journal}") String directory,
+                              @Value("${simulator.journal.segment-size-mb:64}") int segmentSizeMb,
+                              @Value("${simulator.journal.fsync-interval-ms:10}") long fsyncIntervalMs,
+                              @Value("${simulator.journal.fsync-batch-size:1000}") int fsyncBatchSize,
+                              @Value("${simulator.execution.persist-batch-size:500}") int replayBatchSize,
+                              @Value("${simulator.journal.prune-interval-ms:10000}") long pruneIntervalMs) {
+        this.persister = persister;
+        this.directory = Path.of(directory);
+        this.segmentSize = segmentSizeMb << 20;
+        this.fsyncIntervalMs = fsyncIntervalMs;
+        this.fsyncBatchSize = fsyncBatchSize;
+        this.replayBatchSize = replayBatchSize;
+        this.pruneIntervalMs = pruneIntervalMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        journal = TradeJournal.open(directory, segmentSize);
+        long checkpoint = persister.getCheckpoint();
+        long replayed = replay(checkpoint);
+        log.info("Trade journal at sequence {}, replayed {} records into the database",
+                journal.getLastSequence(), replayed);
+        prune(Math.max(checkpoint, persister.getCommittedSequence()));
+
+        syncer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread t = new Thread(runnable, "journal-sync");
+            t.setDaemon(true);
+            return t;
+        });
+        syncer.scheduleWithFixedDelay(this::sync, fsyncIntervalMs, fsyncIntervalMs, TimeUnit.MILLISECONDS);
+        syncer.scheduleWithFixedDelay(() -> prune(persister.getCommittedSequence()),
+                pruneIntervalMs, pruneIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        syncer.shutdown();
+        syncer.awaitTermination(5, TimeUnit.SECONDS);
+        synchronized (appendLock) {
+            journal.close();
+        }
+    }
+
+    @Override
+    public void accept(TradeEffect effect) {
+        boolean requestSync;
+        synchronized (appendLock) {
+            long sequence = journal.append(effect);
+            // Enqueued under the lock so the persister sees sequences in order
+            persister.accept(effect, sequence);
+            requestSync = ++unsynced >= fsyncBatchSize;
+        }
+        if (requestSync && syncRequested.compareAndSet(false, true)) {
+            syncer.execute(this::sync);
+        }
+    }
+
+    public long getLastSequence() {
+        synchronized (appendLock) {
+            return journal.getLastSequence();
+        }
+    }
+
+    // ========== PRIVATE HELPERS ==========
+
+    private void sync() {
+        syncRequested.set(false);
+        synchronized (appendLock) {
+            if (unsynced == 0) return;
+            unsynced = 0;
+        }
+        try {
+            journal.sync();
+        } catch (RuntimeException e) {
+            log.error("Failed to sync trade journal", e);
+        }
+    }
+
+    // Deleting a segment is one unlink, rare enough to do under the append lock
+    private void prune(long checkpoint) {
+        int deleted;
+        try {
+            synchronized (appendLock) {
+                deleted = journal.deleteThrough(checkpoint);
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to delete trade journal segments", e);
+            return;
+        }
+        if (deleted > 0) {
+            log.info("Deleted {} trade journal segments up to sequence {}", deleted, checkpoint);
+        }
+    }
+
+    private long replay(long checkpoint) {
+        List<TradeJournal.Entry> batch = new ArrayList<>(replayBatchSize);
+        long[] count = new long[1];
+        journal.replay(checkpoint, entry -> {
+            batch.add(entry);
+            count[0]++;
+            if (batch.size() == replayBatchSize) {
+                persister.writeNow(batch);
+                batch.clear();
+            }
+        });
+        if (!batch.isEmpty()) {
+            persister.writeNow(batch);
+        }
+        return count[0];
+    }
+}
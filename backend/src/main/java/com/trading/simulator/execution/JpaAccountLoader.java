@@ -0,0 +1,62 @@
+package com.trading.simulator.execution;
+
+import com.trading.simulator.entity.Portfolio;
+import com.trading.simulator.entity.User;
+import com.trading.simulator.money.Money;
+import com.trading.simulator.repository.PortfolioRepository;
+import com.trading.simulator.repository.UserRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Builds {@link Account}s from the {@code users} and {@code portfolio} rows.
+ */
+@Component
+public class JpaAccountLoader implements AccountLoader {
+
+    private final UserRepository userRepository;
+    private final PortfolioRepository portfolioRepository;
+
+    public JpaAccountLoader(UserRepository userRepository, PortfolioRepository portfolioRepository) {
+        this.userRepository = userRepository;
+        this.portfolioRepository = portfolioRepository;
+    }
+
+    @Override
+    public Account load(Long userId) {
+        return userRepository.findById(userId)
+                .map(user -> {
+                    Account account = new Account(user.getId(), Money.of(user.getBalance()));
+                    for (Portfolio portfolio : portfolioRepository.findByUserIdAndQuantityGreaterThan(userId, 0)) {
+                        addPosition(account, portfolio);
+                    }
+                    return account;
+                })
+                .orElse(null);
+    }
+
+    // Two queries however many users are asked for
+    @Override
+    public Map<Long, Account> loadAll(Collection<Long> userIds) {
+        Map<Long, Account> accounts = new HashMap<>();
+        for (User user : userRepository.findAllById(userIds)) {
+            accounts.put(user.getId(), new Account(user.getId(), Money.of(user.getBalance())));
+        }
+        if (accounts.isEmpty()) return accounts;
+
+        for (Portfolio portfolio : portfolioRepository.findByUserIdIn(accounts.keySet())) {
+            if (portfolio.getQuantity() > 0) {
+                addPosition(accounts.get(portfolio.getUserId()), portfolio);
+            }
+        }
+        return accounts;
+    }
+
+    private void addPosition(Account account, Portfolio portfolio) {
+        account.addPosition(portfolio.getStockSymbol(), portfolio.getQuantity(),
+                Money.of(portfolio.getAveragePrice()), Money.of(portfolio.getTotalInvested()));
+    }
+}
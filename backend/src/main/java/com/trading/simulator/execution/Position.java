@@ -0,0 +1,44 @@
+package com.trading.simulator.execution;
+
+import com.trading.simulator.symbol.SymbolRegistry;
+
+/**
+ * In-memory holding of one symbol inside an {@link Account}. Amounts are in
+ * cents; see {@link com.trading.simulator.money.Money}.
+ */
+public class Position {
+    private final int symbolId;
+    private final String stockSymbol;
+    private int quantity;
+    private long averagePrice;
+    private long totalInvested;
+    private int reservedShares; // held against resting sell orders
+
+    Position(String stockSymbol, int quantity, long averagePrice, long totalInvested) {
+        this(SymbolRegistry.intern(stockSymbol), quantity, averagePrice, totalInvested);
+    }
+
+    Position(int symbolId, int quantity, long averagePrice, long totalInvested) {
+        this.symbolId = symbolId;
+        this.stockSymbol = SymbolRegistry.symbolOf(symbolId);
+        this.quantity = quantity;
+        this.averagePrice = averagePrice;
+        this.totalInvested = totalInvested;
+    }
+
+    // Getters and package-private setters (only the owning shard mutates)
+    public int getSymbolId() { return symbolId; }
+    public String getStockSymbol() { return stockSymbol; }
+
+    public int getQuantity() { return quantity; }
+    void setQuantity(int quantity) { this.quantity = quantity; }
+
+    public long getAveragePrice() { return averagePrice; }
+    void setAveragePrice(long averagePrice) { this.averagePrice = averagePrice; }
+
+    public long getTotalInvested() { return totalInvested; }
+    void setTotalInvested(long totalInvested) { this.totalInvested = totalInvested; }
+
+    int getReservedShares() { return reservedShares; }
+    void setReservedShares(int reservedShares) { this.reservedShares = reservedShares; }
+}
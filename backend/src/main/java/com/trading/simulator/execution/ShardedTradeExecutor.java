@@ -0,0 +1,169 @@
+package com.trading.simulator.execution;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+/**
+ * Executes trades against in-memory accounts partitioned by user id. All
+ * trades for one user run in order on the same shard thread, so balance and
+ * position updates never race; different users spread across shards and run
+ * in parallel. Fills are handed to a {@link TradeEffectSink} which persists
+ * them asynchronously, then to any fill listeners.
+ */
+@Component
+public class ShardedTradeExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardedTradeExecutor.class);
+    private static final long SHUTDOWN_TIMEOUT_MS = 10_000;
+
+    private final TradeShard[] shards;
+    private final List<TradeEffectSink> fillListeners = new CopyOnWriteArrayList<>();
+
+    public ShardedTradeExecutor(AccountLoader accountLoader,
+                                TradeEffectSink effectSink,
+                                @Value("${simulator.execution.shards:0}") int shardCount) {
+        int count = shardCount > 0 ? shardCount : Runtime.getRuntime().availableProcessors();
+        this.shards = new TradeShard[count];
+        TradeEffectSink sink = effect -> {
+            effectSink.accept(effect);
+            notifyFillListeners(effect);
+        };
+        for (int i = 0; i < count; i++) {
+            shards[i] = new TradeShard(i, accountLoader, sink);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        for (TradeShard shard : shards) {
+            shard.shutdown(SHUTDOWN_TIMEOUT_MS);
+        }
+    }
+
+    /**
+     * Registers a listener that sees every fill after it has been handed to the
+     * effect sink, on the shard thread and in per-account order. A failing
+     * listener does not fail the trade.
+     */
+    public void addFillListener(TradeEffectSink listener) {
+        fillListeners.add(listener);
+    }
+
+    /**
+     * Applies a BUY or SELL on the user's shard.
+     */
+    public CompletableFuture<TradeEffect> submit(Long userId, String stockSymbol, String type,
+                                                 int quantity, long price) {
+        return shardFor(userId).submit(userId, stockSymbol, type, quantity, price);
+    }
+
+    /**
+     * Applies many orders with one task per shard. The returned futures line up
+     * with {@code orders}; a rejected order fails only its own future.
+     */
+    public List<CompletableFuture<TradeEffect>> submitAll(List<TradeOrder> orders) {
+        List<CompletableFuture<TradeEffect>> results = new ArrayList<>(orders.size());
+        List<List<TradeOrder>> ordersByShard = new ArrayList<>(shards.length);
+        List<List<CompletableFuture<TradeEffect>>> resultsByShard = new ArrayList<>(shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            ordersByShard.add(new ArrayList<>());
+            resultsByShard.add(new ArrayList<>());
+        }
+
+        for (TradeOrder order : orders) {
+            int shard = shardIndex(order.getUserId());
+            CompletableFuture<TradeEffect> result = new CompletableFuture<>();
+            ordersByShard.get(shard).add(order);
+            resultsByShard.get(shard).add(result);
+            results.add(result);
+        }
+
+        for (int i = 0; i < shards.length; i++) {
+            if (!ordersByShard.get(i).isEmpty()) {
+                shards[i].submitAll(ordersByShard.get(i), resultsByShard.get(i));
+            }
+        }
+        return results;
+    }
+
+    public TradeEffect execute(Long userId, String stockSymbol, String type, int quantity, long price) {
+        return await(submit(userId, stockSymbol, type, quantity, price));
+    }
+
+    /**
+     * Holds cash or shares for an order that will fill later through
+     * {@link #settle}. Fails the same way a trade would if the account cannot
+     * cover it.
+     */
+    public void reserve(Long userId, String stockSymbol, String type, int quantity, long price) {
+        await(shardFor(userId).reserve(userId, stockSymbol, type, quantity, price));
+    }
+
+    /**
+     * Returns an unfilled part of a reservation. Callers that do not need to
+     * wait for it can ignore the future.
+     */
+    public CompletableFuture<Void> release(Long userId, String stockSymbol, String type, int quantity, long price) {
+        return shardFor(userId).release(userId, stockSymbol, type, quantity, price);
+    }
+
+    /**
+     * Fills part of a reserved order at {@code fillPrice}; the effect goes to
+     * the sink like any other trade.
+     */
+    public CompletableFuture<TradeEffect> settle(Long userId, String stockSymbol, String type, int quantity,
+                                                 long reservedPrice, long fillPrice) {
+        return shardFor(userId).settle(userId, stockSymbol, type, quantity, reservedPrice, fillPrice);
+    }
+
+    /**
+     * Reads an account on its shard, ordered after every trade submitted before it.
+     * The reader receives {@code null} if the user does not exist.
+     */
+    public <T> T query(Long userId, Function<Account, T> reader) {
+        return await(shardFor(userId).query(userId, reader));
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    // ========== PRIVATE HELPERS ==========
+
+    private void notifyFillListeners(TradeEffect effect) {
+        for (TradeEffectSink listener : fillListeners) {
+            try {
+                listener.accept(effect);
+            } catch (RuntimeException e) {
+                log.error("Fill listener failed", e);
+            }
+        }
+    }
+
+    private TradeShard shardFor(Long userId) {
+        return shards[shardIndex(userId)];
+    }
+
+    private int shardIndex(Long userId) {
+        return Math.floorMod(Long.hashCode(userId), shards.length);
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+}
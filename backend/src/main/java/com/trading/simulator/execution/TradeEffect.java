@@ -0,0 +1,63 @@
+package com.trading.simulator.execution;
+
+import com.trading.simulator.entity.Transaction;
+import com.trading.simulator.money.Money;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable outcome of one filled trade: the transaction itself plus the
+ * account's balance and position for that symbol right after the fill.
+ * Carrying absolute state rather than deltas lets the persister coalesce
+ * several effects for the same account into one write. Amounts are in cents.
+ */
+public final class TradeEffect {
+    private final Long userId;
+    private final String stockSymbol;
+    private final String transactionType;
+    private final int quantity;
+    private final long pricePerShare;
+    private final long totalAmount;
+    private final LocalDateTime executedAt;
+
+    private final long balanceAfter;
+    private final int positionQuantityAfter;
+    private final long positionAveragePriceAfter;
+    private final long positionTotalInvestedAfter;
+
+    TradeEffect(Long userId, String stockSymbol, String transactionType, int quantity,
+                long pricePerShare, long totalAmount, LocalDateTime executedAt,
+                long balanceAfter, Position positionAfter) {
+        this.userId = userId;
+        this.stockSymbol = stockSymbol;
+        this.transactionType = transactionType;
+        this.quantity = quantity;
+        this.pricePerShare = pricePerShare;
+        this.totalAmount = totalAmount;
+        this.executedAt = executedAt;
+        this.balanceAfter = balanceAfter;
+        this.positionQuantityAfter = positionAfter != null ? positionAfter.getQuantity() : 0;
+        this.positionAveragePriceAfter = positionAfter != null ? positionAfter.getAveragePrice() : 0;
+        this.positionTotalInvestedAfter = positionAfter != null ? positionAfter.getTotalInvested() : 0;
+    }
+
+    public Transaction toTransaction() {
+        Transaction transaction = new Transaction(userId, stockSymbol, transactionType, quantity,
+                Money.toBigDecimal(pricePerShare), Money.toBigDecimal(totalAmount));
+        transaction.setTransactionDate(executedAt);
+        return transaction;
+    }
+
+    // Getters
+    public Long getUserId() { return userId; }
+    public String getStockSymbol() { return stockSymbol; }
+    public String getTransactionType() { return transactionType; }
+    public int getQuantity() { return quantity; }
+    public long getPricePerShare() { return pricePerShare; }
+    public long getTotalAmount() { return totalAmount; }
+    public LocalDateTime getExecutedAt() { return executedAt; }
+    public long getBalanceAfter() { return balanceAfter; }
+    public int getPositionQuantityAfter() { return positionQuantityAfter; }
+    public long getPositionAveragePriceAfter() { return positionAveragePriceAfter; }
+    public long getPositionTotalInvestedAfter() { return positionTotalInvestedAfter; }
+}
@@ -0,0 +1,9 @@
+package com.trading.simulator.execution;
+
+/**
+ * Receives every fill, in per-account order, right after it is applied in memory.
+ * Called on the shard thread, so implementations must not block.
+ */
+public interface TradeEffectSink {
+    void accept(TradeEffect effect);
+}
@@ -0,0 +1,355 @@
+package com.trading.simulator.execution;
+
+import com.trading.simulator.money.Money;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only binary log of {@link TradeEffect}s in memory-mapped segment
+ * files.
+ *
+ * <p>Each record is {@code [int length][int crc32][payload]} where the payload
+ * starts with the record's sequence number. The length is written last, so a
+ * record is only visible once it is complete. A write cut off by a crash
+ * leaves either a zero length or a checksum mismatch, and {@link #open}
+ * truncates the journal back to the last good record. Writes land in the page
+ * cache immediately and survive a killed process; {@link #sync} forces them
+ * to disk. Segments whose records are all in the database are deleted with
+ * {@link #deleteThrough}.
+ *
+ * <p>Appends must not run concurrently with each other or with
+ * {@link #replay} and {@link #deleteThrough}.
+ */
+public final class TradeJournal implements AutoCloseable {
+
+    private static final int HEADER_BYTES = 8;
+    private static final int MAX_PAYLOAD_BYTES = 512;
+    private static final String SEGMENT_SUFFIX = ".journal";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final ByteBuffer scratch = ByteBuffer.allocate(MAX_PAYLOAD_BYTES);
+    private final CRC32 crc = new CRC32();
+
+    private int segmentIndex;
+    private FileChannel channel;
+    private volatile MappedByteBuffer segment;
+    private int writePosition;
+    private long lastSequence;
+    // First sequence of each segment by index; an empty segment starts after the last record
+    private final NavigableMap<Integer, Long> segmentStarts = new TreeMap<>();
+
+    private TradeJournal(Path directory, int segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Opens or creates the journal in {@code directory}, dropping any torn
+     * record at the tail.
+     */
+    public static TradeJournal open(Path directory, int segmentSize) {
+        TradeJournal journal = new TradeJournal(directory, segmentSize);
+        try {
+            Files.createDirectories(directory);
+            journal.recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open trade journal in " + directory, e);
+        }
+        return journal;
+    }
+
+    /**
+     * @return the sequence number assigned to the effect
+     */
+    public long append(TradeEffect effect) {
+        long sequence = lastSequence + 1;
+        scratch.clear();
+        encode(sequence, effect, scratch);
+        int length = scratch.position();
+
+        if (writePosition + HEADER_BYTES + length > segmentSize) {
+            roll();
+        }
+
+        crc.reset();
+        crc.update(scratch.array(), 0, length);
+        MappedByteBuffer buffer = segment;
+        buffer.put(writePosition + HEADER_BYTES, scratch.array(), 0, length);
+        buffer.putInt(writePosition + 4, (int) crc.getValue());
+        buffer.putInt(writePosition, length); // publishes the record
+
+        writePosition += HEADER_BYTES + length;
+        lastSequence = sequence;
+        return sequence;
+    }
+
+    /**
+     * Forces everything appended so far to disk. Safe to call from another
+     * thread while appends continue.
+     */
+    public void sync() {
+        segment.force();
+    }
+
+    /**
+     * Reads every record with a sequence above {@code afterSequence}, in order.
+     * Segments that end at or before it are not read at all, and records
+     * before it are skipped without being decoded.
+     */
+    public void replay(long afterSequence, Consumer<Entry> consumer) {
+        for (Path file : segmentFiles()) {
+            Map.Entry<Integer, Long> next = segmentStarts.higherEntry(indexOf(file));
+            if (next != null && next.getValue() - 1 <= afterSequence) continue;
+
+            try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+                ByteBuffer buffer = in.map(FileChannel.MapMode.READ_ONLY, 0, in.size());
+                int position = 0;
+                long sequence;
+                while ((sequence = peekSequence(buffer, position)) != 0) {
+                    if (sequence > afterSequence) {
+                        Entry entry = read(buffer, position);
+                        if (entry == null) break;
+                        consumer.accept(entry);
+                    }
+                    position += HEADER_BYTES + buffer.getInt(position);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot read trade journal segment " + file, e);
+            }
+        }
+    }
+
+    /**
+     * Deletes every closed segment whose records all have a sequence at or
+     * below {@code sequence}. While the current segment is still empty the one
+     * before it is kept, since {@link #open} recovers the last sequence from it.
+     *
+     * @return the number of segments deleted
+     */
+    public int deleteThrough(long sequence) {
+        int deleted = 0;
+        int oldest;
+        while ((oldest = segmentStarts.firstKey()) < segmentIndex) {
+            Map.Entry<Integer, Long> next = segmentStarts.higherEntry(oldest);
+            if (next.getValue() - 1 > sequence || (next.getKey() == segmentIndex && writePosition == 0)) break;
+            try {
+                Files.deleteIfExists(directory.resolve(segmentName(oldest)));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot delete trade journal segment " + segmentName(oldest), e);
+            }
+            segmentStarts.remove(oldest);
+            deleted++;
+        }
+        return deleted;
+    }
+
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    @Override
+    public void close() {
+        try {
+            segment.force();
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * One decoded record.
+     */
+    public record Entry(long sequence, TradeEffect effect, int nextPosition) {}
+
+    // ========== SEGMENTS ==========
+
+    private void recover() throws IOException {
+        List<Path> files = segmentFiles();
+        if (files.isEmpty()) {
+            map(0);
+            segmentStarts.put(0, 1L);
+            return;
+        }
+
+        // Earlier segments were closed by a roll and are complete; only the last can have a torn tail
+        for (int i = 0; i < files.size() - 1; i++) {
+            segmentStarts.put(indexOf(files.get(i)), firstSequence(files.get(i)));
+        }
+        Path last = files.get(files.size() - 1);
+        map(indexOf(last));
+        writePosition = scanTail(segment);
+        if (writePosition == 0 && files.size() > 1) {
+            scanSegment(files.get(files.size() - 2));
+        }
+        segmentStarts.put(segmentIndex, writePosition > 0 ? peekSequence(segment, 0) : lastSequence + 1);
+        for (int i = writePosition; i < segmentSize; i++) {
+            if (segment.get(i) != 0) segment.put(i, (byte) 0);
+        }
+    }
+
+    private void scanSegment(Path file) throws IOException {
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            scanTail(in.map(FileChannel.MapMode.READ_ONLY, 0, in.size()));
+        }
+    }
+
+    private static long firstSequence(Path file) throws IOException {
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            long header = Math.min(in.size(), HEADER_BYTES + MAX_PAYLOAD_BYTES);
+            return peekSequence(in.map(FileChannel.MapMode.READ_ONLY, 0, header), 0);
+        }
+    }
+
+    // Walks complete records in order and returns the offset just past the last one
+    private int scanTail(ByteBuffer buffer) {
+        int position = 0;
+        Entry entry;
+        while ((entry = read(buffer, position)) != null) {
+            if (lastSequence != 0 && entry.sequence() != lastSequence + 1) break;
+            lastSequence = entry.sequence();
+            position = entry.nextPosition();
+        }
+        return position;
+    }
+
+    private void roll() {
+        segment.force();
+        try {
+            channel.close();
+            map(segmentIndex + 1);
+            segmentStarts.put(segmentIndex, lastSequence + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot roll trade journal segment", e);
+        }
+    }
+
+    private void map(int index) throws IOException {
+        segmentIndex = index;
+        writePosition = 0;
+        channel = FileChannel.open(directory.resolve(segmentName(index)),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+    }
+
+    private List<Path> segmentFiles() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list trade journal in " + directory, e);
+        }
+    }
+
+    private static String segmentName(int index) {
+        return String.format("trades-%08d%s", index, SEGMENT_SUFFIX);
+    }
+
+    private static int indexOf(Path file) {
+        String name = file.getFileName().toString();
+        return Integer.parseInt(name.substring("trades-".length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    // ========== ENCODING ==========
+
+    // Returns the sequence of the record at position without checking or decoding it, or 0 at the end of the data
+    private static long peekSequence(ByteBuffer buffer, int position) {
+        if (position + HEADER_BYTES + Long.BYTES > buffer.limit()) return 0;
+        int length = buffer.getInt(position);
+        if (length < Long.BYTES || length > MAX_PAYLOAD_BYTES || position + HEADER_BYTES + length > buffer.limit()) {
+            return 0;
+        }
+        return buffer.getLong(position + HEADER_BYTES);
+    }
+
+    // Returns null at the end of the data or at the first incomplete or corrupt record
+    private static Entry read(ByteBuffer buffer, int position) {
+        if (position + HEADER_BYTES > buffer.limit()) return null;
+        int length = buffer.getInt(position);
+        if (length <= 0 || length > MAX_PAYLOAD_BYTES || position + HEADER_BYTES + length > buffer.limit()) {
+            return null;
+        }
+
+        byte[] payload = new byte[length];
+        buffer.get(position + HEADER_BYTES, payload);
+        CRC32 check = new CRC32();
+        check.update(payload);
+        if ((int) check.getValue() != buffer.getInt(position + 4)) return null;
+
+        ByteBuffer in = ByteBuffer.wrap(payload);
+        long sequence = in.getLong();
+        return new Entry(sequence, decode(in), position + HEADER_BYTES + length);
+    }
+
+    private static void encode(long sequence, TradeEffect effect, ByteBuffer out) {
+        byte[] symbol = effect.getStockSymbol().getBytes(StandardCharsets.UTF_8);
+        out.putLong(sequence);
+        out.putLong(effect.getUserId());
+        out.put((byte) ("BUY".equals(effect.getTransactionType()) ? 0 : 1));
+        out.putShort((short) symbol.length);
+        out.put(symbol);
+        out.putInt(effect.getQuantity());
+        putCents(out, effect.getPricePerShare());
+        putCents(out, effect.getTotalAmount());
+        out.putLong(effect.getExecutedAt().toEpochSecond(ZoneOffset.UTC));
+        out.putInt(effect.getExecutedAt().getNano());
+        putCents(out, effect.getBalanceAfter());
+        out.putInt(effect.getPositionQuantityAfter());
+        if (effect.getPositionQuantityAfter() > 0) {
+            putCents(out, effect.getPositionAveragePriceAfter());
+            putCents(out, effect.getPositionTotalInvestedAfter());
+        }
+    }
+
+    private static TradeEffect decode(ByteBuffer in) {
+        Long userId = in.getLong();
+        String type = in.get() == 0 ? "BUY" : "SELL";
+        byte[] symbolBytes = new byte[in.getShort()];
+        in.get(symbolBytes);
+        String symbol = new String(symbolBytes, StandardCharsets.UTF_8);
+        int quantity = in.getInt();
+        long price = getCents(in);
+        long totalAmount = getCents(in);
+        LocalDateTime executedAt = LocalDateTime.ofEpochSecond(in.getLong(), in.getInt(), ZoneOffset.UTC);
+        long balanceAfter = getCents(in);
+        int positionQuantity = in.getInt();
+        Position position = positionQuantity > 0
+                ? new Position(symbol, positionQuantity, getCents(in), getCents(in))
+                : null;
+
+        return new TradeEffect(userId, symbol, type, quantity, price, totalAmount, executedAt, balanceAfter, position);
+    }
+
+    // Amounts are stored as (scale, unscaled value) so the format does not depend on Money.SCALE
+    private static void putCents(ByteBuffer out, long cents) {
+        out.put((byte) Money.SCALE);
+        out.putLong(cents);
+    }
+
+    private static long getCents(ByteBuffer in) {
+        int scale = in.get();
+        long unscaled = in.getLong();
+        return scale == Money.SCALE ? unscaled : Money.of(BigDecimal.valueOf(unscaled, scale));
+    }
+}
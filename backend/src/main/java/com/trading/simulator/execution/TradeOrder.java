@@ -0,0 +1,27 @@
+package com.trading.simulator.execution;
+
+/**
+ * A validated trade ready for a shard: symbol resolved, type normalized, price fixed (in cents).
+ */
+public final class TradeOrder {
+    private final Long userId;
+    private final String stockSymbol;
+    private final String type;
+    private final int quantity;
+    private final long price;
+
+    public TradeOrder(Long userId, String stockSymbol, String type, int quantity, long price) {
+        this.userId = userId;
+        this.stockSymbol = stockSymbol;
+        this.type = type;
+        this.quantity = quantity;
+        this.price = price;
+    }
+
+    // Getters
+    public Long getUserId() { return userId; }
+    public String getStockSymbol() { return stockSymbol; }
+    public String getType() { return type; }
+    public int getQuantity() { return quantity; }
+    public long getPrice() { return price; }
+}
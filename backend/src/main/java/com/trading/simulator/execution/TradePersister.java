@@ -0,0 +1,345 @@
+package com.trading.simulator.execution;
+
+import com.trading.simulator.config.ConcurrencyLimitedDataSource;
+import com.trading.simulator.entity.JournalCheckpoint;
+import com.trading.simulator.entity.Portfolio;
+import com.trading.simulator.entity.Transaction;
+import com.trading.simulator.entity.User;
+import com.trading.simulator.metrics.HotPathMetrics;
+import com.trading.simulator.metrics.SqlStatementCounter;
+import com.trading.simulator.money.Money;
+import com.trading.simulator.repository.JournalCheckpointRepository;
+import com.trading.simulator.repository.PortfolioRepository;
+import com.trading.simulator.repository.TransactionRepository;
+import com.trading.simulator.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind for trade fills. Shards enqueue effects; one background thread
+ * drains whatever has accumulated and writes it in a single database
+ * transaction, collapsing repeated balance and position updates for the same
+ * account down to the last one. Effects are written strictly in the order
+ * they were enqueued. The queue holds at most {@code persist-queue-capacity}
+ * effects; once it is full, {@link #accept} blocks until the writer catches up.
+ *
+ * <p>A failed batch is retried every {@code persist-retry-delay-ms}. Once the
+ * database has rejected it {@code persist-max-attempts} times with an error
+ * retrying cannot fix, such as a constraint violation, it is split in halves
+ * until the effect it rejects is found; that effect is logged, counted in
+ * {@code simulator_persister_dropped_total} and skipped.
+ *
+ * <p>Effects that come from the {@link TradeJournal} carry their journal
+ * sequence; each batch records the highest one in {@code journal_checkpoint}
+ * in the same transaction, which is where replay resumes after a restart.
+ */
+@Component
+public class TradePersister implements TradeEffectSink {
+
+    private static final Logger log = LoggerFactory.getLogger(TradePersister.class);
+    private static final long SHUTDOWN_TIMEOUT_MS = 30_000;
+
+    private final UserRepository userRepository;
+    private final PortfolioRepository portfolioRepository;
+    private final TransactionRepository transactionRepository;
+    private final JournalCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final HotPathMetrics metrics;
+    private final int batchSize;
+    private final long retryDelayMs;
+    private final int maxAttempts;
+
+    private final BlockingQueue<Pending> queue;
+    private final AtomicLong enqueued = new AtomicLong();
+    private final Object writtenLock = new Object();
+    private long written; // guarded by writtenLock
+    private volatile long committedSequence;
+    private volatile boolean running;
+    private Thread writer;
+
+    public TradePersister(UserRepository userRepository,
+                          PortfolioRepository portfolioRepository,
+                          TransactionRepository transactionRepository,
+                          JournalCheckpointRepository checkpointRepository,
+                          TransactionTemplate transactionTemplate,
+                          HotPathMetrics metrics,
+                          @Value("${simulator.execution.persist-batch-size:500}") int batchSize,
+                          @Value("${simulator.execution.persist-queue-capacity:100000}") int queueCapacity,
+                          @Value("${simulator.execution.persist-retry-delay-ms:1000}") long retryDelayMs,
+                          @Value("${simulator.execution.persist-max-attempts:5}") int maxAttempts) {
+        this.userRepository = userRepository;
+        this.portfolioRepository = portfolioRepository;
+        this.transactionRepository = transactionRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.metrics = metrics;
+        this.batchSize = batchSize;
+        this.retryDelayMs = retryDelayMs;
+        this.maxAttempts = maxAttempts;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = new Thread(() -> ConcurrencyLimitedDataSource.runReserved(this::run), "trade-persister");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.join(SHUTDOWN_TIMEOUT_MS);
+        if (writer.isAlive()) {
+            log.error("Trade persister did not drain within {} ms, {} effects not written",
+                    SHUTDOWN_TIMEOUT_MS, queue.size());
+            writer.interrupt();
+        }
+    }
+
+    @Override
+    public void accept(TradeEffect effect) {
+        enqueue(new Pending(effect, 0));
+    }
+
+    public void accept(TradeEffect effect, long journalSequence) {
+        enqueue(new Pending(effect, journalSequence));
+    }
+
+    /**
+     * Writes journal entries synchronously on the calling thread. Used to
+     * replay the journal on startup, before anything is enqueued.
+     */
+    public void writeNow(List<TradeJournal.Entry> entries) {
+        List<Pending> batch = new ArrayList<>(entries.size());
+        for (TradeJournal.Entry entry : entries) {
+            batch.add(new Pending(entry.effect(), entry.sequence()));
+        }
+        transactionTemplate.executeWithoutResult(status -> write(batch));
+        committedSequence = Math.max(committedSequence, entries.get(entries.size() - 1).sequence());
+    }
+
+    /**
+     * @return the last journal sequence already in the database, or 0
+     */
+    public long getCheckpoint() {
+        return checkpointRepository.findById(JournalCheckpoint.SINGLETON_ID)
+                .map(JournalCheckpoint::getLastSequence)
+                .orElse(0L);
+    }
+
+    /**
+     * The highest journal sequence this persister has committed since
+     * startup, or 0; unlike {@link #getCheckpoint} it does not query the
+     * database.
+     */
+    public long getCommittedSequence() {
+        return committedSequence;
+    }
+
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    /**
+     * Effects handed to {@link #accept} so far. Effects are written in that
+     * order, so once {@link #awaitWritten} reaches this count every one of
+     * them is in the database.
+     */
+    public long getEnqueuedCount() {
+        return enqueued.get();
+    }
+
+    /**
+     * Waits until at least {@code count} enqueued effects have been committed.
+     *
+     * @return false if that did not happen within {@code timeoutMs}
+     */
+    public boolean awaitWritten(long count, long timeoutMs) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        synchronized (writtenLock) {
+            while (written < count) {
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remaining <= 0) return false;
+                writtenLock.wait(remaining);
+            }
+            return true;
+        }
+    }
+
+    // ========== PRIVATE HELPERS ==========
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writeWithRetry(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void enqueue(Pending pending) {
+        enqueued.incrementAndGet();
+        try {
+            queue.put(pending);
+        } catch (InterruptedException e) {
+            enqueued.decrementAndGet();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the trade persister", e);
+        }
+    }
+
+    // Retrying the same batch keeps per-account order; later effects wait behind it
+    private void writeWithRetry(List<Pending> batch) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                long statementsBefore = SqlStatementCounter.current();
+                transactionTemplate.executeWithoutResult(status -> write(batch));
+                metrics.recordPersistedBatch(batch.size(), SqlStatementCounter.current() - statementsBefore);
+                committed(batch);
+                return;
+            } catch (RuntimeException e) {
+                metrics.recordPersistFailure();
+                if (attempt >= maxAttempts && isRejected(e)) {
+                    isolate(batch, e);
+                    return;
+                }
+                log.error("Failed to persist {} trade effects, retrying", batch.size(), e);
+                Thread.sleep(retryDelayMs);
+            }
+        }
+    }
+
+    // Halves keep their order, so accounts still see their effects in sequence
+    private void isolate(List<Pending> batch, RuntimeException cause) throws InterruptedException {
+        if (batch.size() > 1) {
+            int half = batch.size() / 2;
+            writeWithRetry(batch.subList(0, half));
+            writeWithRetry(batch.subList(half, batch.size()));
+            return;
+        }
+
+        Pending pending = batch.get(0);
+        TradeEffect effect = pending.effect();
+        log.error("Dropping trade effect at journal sequence {} ({} {} {} for user {}), the database rejects it",
+                pending.journalSequence(), effect.getTransactionType(), effect.getQuantity(),
+                effect.getStockSymbol(), effect.getUserId(), cause);
+        metrics.recordPersistDropped();
+        if (pending.journalSequence() > 0) {
+            // Otherwise a restart would replay it and fail the same way
+            try {
+                transactionTemplate.executeWithoutResult(status -> saveCheckpoint(pending.journalSequence()));
+            } catch (RuntimeException e) {
+                log.error("Failed to move the journal checkpoint past a dropped effect", e);
+            }
+        }
+        committed(batch);
+    }
+
+    private void committed(List<Pending> batch) {
+        long lastSequence = batch.get(batch.size() - 1).journalSequence();
+        if (lastSequence > 0) committedSequence = lastSequence;
+        synchronized (writtenLock) {
+            written += batch.size();
+            writtenLock.notifyAll();
+        }
+    }
+
+    // Errors such as constraint violations, which fail the same way however often they are retried
+    private static boolean isRejected(RuntimeException e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof DataAccessResourceFailureException) return false;
+            if (t instanceof NonTransientDataAccessException) return true;
+        }
+        return false;
+    }
+
+    private void write(List<Pending> batch) {
+        Map<Long, TradeEffect> lastByUser = new LinkedHashMap<>();
+        Map<PositionKey, TradeEffect> lastByPosition = new LinkedHashMap<>();
+        List<Transaction> transactions = new ArrayList<>(batch.size());
+        long lastSequence = 0;
+
+        for (Pending pending : batch) {
+            TradeEffect effect = pending.effect();
+            lastSequence = Math.max(lastSequence, pending.journalSequence());
+            lastByUser.put(effect.getUserId(), effect);
+            lastByPosition.put(new PositionKey(effect.getUserId(), effect.getStockSymbol()), effect);
+            transactions.add(effect.toTransaction());
+        }
+
+        for (User user : userRepository.findAllById(lastByUser.keySet())) {
+            user.setBalance(Money.toBigDecimal(lastByUser.get(user.getId()).getBalanceAfter()));
+        }
+
+        Map<PositionKey, Portfolio> existing = new HashMap<>();
+        for (Portfolio portfolio : portfolioRepository.findByUserIdIn(lastByUser.keySet())) {
+            existing.put(new PositionKey(portfolio.getUserId(), portfolio.getStockSymbol()), portfolio);
+        }
+
+        List<Portfolio> toSave = new ArrayList<>();
+        List<Portfolio> toDelete = new ArrayList<>();
+        for (Map.Entry<PositionKey, TradeEffect> entry : lastByPosition.entrySet()) {
+            TradeEffect effect = entry.getValue();
+            Portfolio portfolio = existing.get(entry.getKey());
+
+            if (effect.getPositionQuantityAfter() == 0) {
+                if (portfolio != null) toDelete.add(portfolio);
+            } else if (portfolio != null) {
+                portfolio.setQuantity(effect.getPositionQuantityAfter());
+                portfolio.setAveragePrice(Money.toBigDecimal(effect.getPositionAveragePriceAfter()));
+                portfolio.setTotalInvested(Money.toBigDecimal(effect.getPositionTotalInvestedAfter()));
+            } else {
+                toSave.add(new Portfolio(effect.getUserId(), effect.getStockSymbol(),
+                        effect.getPositionQuantityAfter(), Money.toBigDecimal(effect.getPositionAveragePriceAfter()),
+                        Money.toBigDecimal(effect.getPositionTotalInvestedAfter())));
+            }
+        }
+
+        portfolioRepository.deleteAll(toDelete);
+        portfolioRepository.saveAll(toSave);
+        transactionRepository.saveAll(transactions);
+
+        if (lastSequence > 0) {
+            saveCheckpoint(lastSequence);
+        }
+    }
+
+    private void saveCheckpoint(long lastSequence) {
+        JournalCheckpoint checkpoint = checkpointRepository.findById(JournalCheckpoint.SINGLETON_ID)
+                .orElseGet(JournalCheckpoint::new);
+        checkpoint.setLastSequence(lastSequence);
+        checkpointRepository.save(checkpoint);
+    }
+
+    private record Pending(TradeEffect effect, long journalSequence) {}
+
+    private record PositionKey(Long userId, String stockSymbol) {}
+}
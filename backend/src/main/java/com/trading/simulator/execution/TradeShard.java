@@ -0,0 +1,137 @@
+package com.trading.simulator.execution;
+
+import com.trading.simulator.metrics.SqlStatementCounter;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * One single-threaded partition of the account space. Every task for an
+ * account runs on this shard's thread, in submission order, so the accounts
+ * map and the {@link Account} objects in it are thread-confined. Tasks carry
+ * the submitting thread's {@link SqlStatementCounter}, so loading an account
+ * counts towards the request that needed it.
+ */
+class TradeShard {
+
+    private final ExecutorService thread;
+    private final AccountLoader accountLoader;
+    private final TradeEffectSink effectSink;
+    private final Map<Long, Account> accounts = new HashMap<>();
+
+    TradeShard(int index, AccountLoader accountLoader, TradeEffectSink effectSink) {
+        this.accountLoader = accountLoader;
+        this.effectSink = effectSink;
+        this.thread = Executors.newSingleThreadExecutor(runnable -> {
+            Thread t = new Thread(runnable, "trade-shard-" + index);
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    CompletableFuture<TradeEffect> submit(Long userId, String stockSymbol, String type, int quantity, long price) {
+        return CompletableFuture.supplyAsync(
+                SqlStatementCounter.carry(() -> apply(userId, stockSymbol, type, quantity, price)), thread);
+    }
+
+    /**
+     * Runs several orders as one task: accounts not yet in memory are loaded
+     * together, then each order is applied in turn and completes its own future.
+     */
+    void submitAll(List<TradeOrder> orders, List<CompletableFuture<TradeEffect>> results) {
+        thread.execute(SqlStatementCounter.carry(() -> {
+            try {
+                preload(orders);
+            } catch (RuntimeException e) {
+                results.forEach(result -> result.completeExceptionally(e));
+                return;
+            }
+
+            for (int i = 0; i < orders.size(); i++) {
+                TradeOrder order = orders.get(i);
+                try {
+                    results.get(i).complete(apply(order.getUserId(), order.getStockSymbol(),
+                            order.getType(), order.getQuantity(), order.getPrice()));
+                } catch (RuntimeException e) {
+                    results.get(i).completeExceptionally(e);
+                }
+            }
+        }));
+    }
+
+    CompletableFuture<Void> reserve(Long userId, String stockSymbol, String type, int quantity, long price) {
+        return CompletableFuture.runAsync(SqlStatementCounter.carry(
+                () -> requireAccount(userId).reserve(stockSymbol, type, quantity, price)), thread);
+    }
+
+    CompletableFuture<Void> release(Long userId, String stockSymbol, String type, int quantity, long price) {
+        return CompletableFuture.runAsync(SqlStatementCounter.carry(
+                () -> requireAccount(userId).release(stockSymbol, type, quantity, price)), thread);
+    }
+
+    CompletableFuture<TradeEffect> settle(Long userId, String stockSymbol, String type, int quantity,
+                                          long reservedPrice, long fillPrice) {
+        return CompletableFuture.supplyAsync(SqlStatementCounter.carry(() -> {
+            TradeEffect effect = requireAccount(userId).settle(stockSymbol, type, quantity, reservedPrice, fillPrice);
+            effectSink.accept(effect);
+            return effect;
+        }), thread);
+    }
+
+    <T> CompletableFuture<T> query(Long userId, Function<Account, T> reader) {
+        return CompletableFuture.supplyAsync(SqlStatementCounter.carry(() -> reader.apply(getAccount(userId))), thread);
+    }
+
+    void shutdown(long timeoutMs) throws InterruptedException {
+        thread.shutdown();
+        thread.awaitTermination(timeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    // ========== PRIVATE HELPERS ==========
+
+    private TradeEffect apply(Long userId, String stockSymbol, String type, int quantity, long price) {
+        Account account = requireAccount(userId);
+        TradeEffect effect = "BUY".equals(type)
+                ? account.executeBuyOrder(stockSymbol, quantity, price)
+                : account.executeSellOrder(stockSymbol, quantity, price);
+        effectSink.accept(effect);
+        return effect;
+    }
+
+    private void preload(List<TradeOrder> orders) {
+        Set<Long> missing = new LinkedHashSet<>();
+        for (TradeOrder order : orders) {
+            if (!accounts.containsKey(order.getUserId())) missing.add(order.getUserId());
+        }
+        if (!missing.isEmpty()) {
+            accounts.putAll(accountLoader.loadAll(missing));
+        }
+    }
+
+    private Account requireAccount(Long userId) {
+        Account account = getAccount(userId);
+        if (account == null) {
+            throw new RuntimeException("User not found");
+        }
+        return account;
+    }
+
+    private Account getAccount(Long userId) {
+        Account account = accounts.get(userId);
+        if (account == null) {
+            account = accountLoader.load(userId);
+            if (account != null) {
+                accounts.put(userId, account);
+            }
+        }
+        return account;
+    }
+}
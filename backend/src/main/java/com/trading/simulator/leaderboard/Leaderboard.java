@@ -0,0 +1,244 @@
+package com.trading.simulator.leaderboard;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Every user ranked by net worth: cash plus each position marked at the
+ * symbol's last price, all in cents.
+ *
+ * <p>Users are held in a {@link RankTree} by dense slot. Each symbol keeps the
+ * slots and quantities of its holders, so a price change re-marks and
+ * re-ranks only those users, each in O(log n); a fill re-ranks only its user.
+ * Rank and top-N queries are O(log n) too. Not thread-safe.
+ */
+public final class Leaderboard {
+
+    private final RankTree tree;
+    private final Map<Long, Integer> slotsByUser = new HashMap<>();
+    private long[] userIds;
+    private long[] cash;
+    private String[] names;
+    private Holdings[] holdings;
+    private int users;
+
+    private long[] marks = new long[0];          // by symbol id
+    private Holders[] holdersBySymbol = new Holders[0];
+
+    public Leaderboard(int expectedUsers) {
+        int capacity = Math.max(16, expectedUsers);
+        tree = new RankTree(capacity);
+        userIds = new long[capacity];
+        cash = new long[capacity];
+        names = new String[capacity];
+        holdings = new Holdings[capacity];
+    }
+
+    // ========== UPDATES ==========
+
+    /**
+     * Adds the user, or sets the cash of one already ranked.
+     */
+    public void setUser(long userId, String name, long cashCents) {
+        Integer slot = slotsByUser.get(userId);
+        if (slot == null) {
+            int added = add(userId, name);
+            cash[added] = cashCents;
+            tree.insert(added, cashCents, userId);
+            return;
+        }
+        if (name != null) names[slot] = name;
+        rerank(slot, tree.value(slot) + cashCents - cash[slot]);
+        cash[slot] = cashCents;
+    }
+
+    /**
+     * Sets the user's quantity of a symbol, marking it at {@code priceIfUnmarked}
+     * when the symbol has no price yet.
+     */
+    public void setPosition(long userId, int symbolId, long quantity, long priceIfUnmarked) {
+        Integer slot = slotsByUser.get(userId);
+        if (slot == null) {
+            setUser(userId, null, 0);
+            slot = slotsByUser.get(userId);
+        }
+        ensureSymbol(symbolId);
+        if (marks[symbolId] == 0) marks[symbolId] = priceIfUnmarked;
+
+        long previous = updateHolding(slot, symbolId, quantity);
+        if (previous != quantity) {
+            rerank(slot, tree.value(slot) + (quantity - previous) * marks[symbolId]);
+        }
+    }
+
+    /**
+     * Marks a symbol at {@code price} and re-ranks its holders.
+     *
+     * @return the number of users re-ranked
+     */
+    public int setPrice(int symbolId, long price) {
+        ensureSymbol(symbolId);
+        long move = price - marks[symbolId];
+        marks[symbolId] = price;
+        Holders holders = holdersBySymbol[symbolId];
+        if (move == 0 || holders == null) return 0;
+
+        for (int i = 0; i < holders.size; i++) {
+            int slot = holders.slots[i];
+            rerank(slot, tree.value(slot) + holders.quantities[i] * move);
+        }
+        return holders.size;
+    }
+
+    // ========== QUERIES ==========
+
+    public int size() {
+        return tree.size();
+    }
+
+    public boolean contains(long userId) {
+        return slotsByUser.containsKey(userId);
+    }
+
+    /**
+     * One-based rank of the user, or 0 if the user is not ranked.
+     */
+    public int rankOf(long userId) {
+        Integer slot = slotsByUser.get(userId);
+        return slot == null ? 0 : tree.rank(slot) + 1;
+    }
+
+    public long netWorthOf(long userId) {
+        Integer slot = slotsByUser.get(userId);
+        return slot == null ? 0 : tree.value(slot);
+    }
+
+    public String nameOf(long userId) {
+        Integer slot = slotsByUser.get(userId);
+        return slot == null ? null : names[slot];
+    }
+
+    /**
+     * The users ranked {@code offset + 1} onwards, up to {@code out.length} of
+     * them, as user ids in rank order. Returns how many were written.
+     */
+    public int top(int offset, long[] out) {
+        int[] slots = new int[out.length];
+        int count = tree.range(offset, slots);
+        for (int i = 0; i < count; i++) {
+            out[i] = userIds[slots[i]];
+        }
+        return count;
+    }
+
+    // ========== PRIVATE HELPERS ==========
+
+    private int add(long userId, String name) {
+        int slot = users++;
+        if (slot == userIds.length) {
+            int grown = slot * 2;
+            userIds = Arrays.copyOf(userIds, grown);
+            cash = Arrays.copyOf(cash, grown);
+            names = Arrays.copyOf(names, grown);
+            holdings = Arrays.copyOf(holdings, grown);
+        }
+        userIds[slot] = userId;
+        names[slot] = name;
+        holdings[slot] = new Holdings();
+        slotsByUser.put(userId, slot);
+        return slot;
+    }
+
+    // Sets the quantity in both the user's holdings and the symbol's holders; returns the previous one
+    private long updateHolding(int slot, int symbolId, long quantity) {
+        Holdings own = holdings[slot];
+        int i = own.indexOf(symbolId);
+        Holders holders = holdersBySymbol[symbolId];
+        if (i < 0) {
+            if (quantity == 0) return 0;
+            if (holders == null) holders = holdersBySymbol[symbolId] = new Holders();
+            own.add(symbolId, holders.add(slot, quantity));
+            return 0;
+        }
+
+        int at = own.indexes[i];
+        long previous = holders.quantities[at];
+        if (quantity != 0) {
+            holders.quantities[at] = quantity;
+            return previous;
+        }
+
+        // Closed: move the symbol's last holder into the gap and repoint that holder's index
+        own.remove(i);
+        int last = --holders.size;
+        if (at != last) {
+            int moved = holders.slots[last];
+            holders.slots[at] = moved;
+            holders.quantities[at] = holders.quantities[last];
+            Holdings movedOwn = holdings[moved];
+            movedOwn.indexes[movedOwn.indexOf(symbolId)] = at;
+        }
+        return previous;
+    }
+
+    private void rerank(int slot, long netWorth) {
+        if (netWorth == tree.value(slot)) return;
+        tree.remove(slot);
+        tree.insert(slot, netWorth, userIds[slot]);
+    }
+
+    private void ensureSymbol(int symbolId) {
+        if (symbolId < marks.length) return;
+        int grown = Math.max(symbolId + 1, marks.length * 2);
+        marks = Arrays.copyOf(marks, grown);
+        holdersBySymbol = Arrays.copyOf(holdersBySymbol, grown);
+    }
+
+    // One symbol's holders, unordered; removal moves the last holder into the gap
+    private static final class Holders {
+        int[] slots = new int[8];
+        long[] quantities = new long[8];
+        int size;
+
+        int add(int slot, long quantity) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+                quantities = Arrays.copyOf(quantities, size * 2);
+            }
+            slots[size] = slot;
+            quantities[size] = quantity;
+            return size++;
+        }
+    }
+
+    // One user's symbols and where the user sits in each symbol's holders; users hold few symbols
+    private static final class Holdings {
+        int[] symbols = new int[4];
+        int[] indexes = new int[4];
+        int size;
+
+        void add(int symbolId, int index) {
+            if (size == symbols.length) {
+                symbols = Arrays.copyOf(symbols, size * 2);
+                indexes = Arrays.copyOf(indexes, size * 2);
+            }
+            symbols[size] = symbolId;
+            indexes[size] = index;
+            size++;
+        }
+
+        void remove(int i) {
+            size--;
+            symbols[i] = symbols[size];
+            indexes[i] = indexes[size];
+        }
+
+        int indexOf(int symbolId) {
+            for (int i = 0; i < size; i++) {
+                if (symbols[i] == symbolId) return i;
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.trading.simulator.leaderboard;
+
+import com.trading.simulator.dto.LeaderboardEntry;
+import com.trading.simulator.entity.Portfolio;
+import com.trading.simulator.entity.User;
+import com.trading.simulator.execution.ShardedTradeExecutor;
+import com.trading.simulator.execution.TradeEffect;
+import com.trading.simulator.money.Money;
+import com.trading.simulator.pricing.PriceEngine;
+import com.trading.simulator.pricing.PriceSnapshot;
+import com.trading.simulator.pricing.PriceTick;
+import com.trading.simulator.readmodel.AccountFeed;
+import com.trading.simulator.repository.PortfolioRepository;
+import com.trading.simulator.repository.UserRepository;
+import com.trading.simulator.symbol.SymbolRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Keeps a {@link Leaderboard} of every user current with the price engine
+ * and trade fills.
+ *
+ * <p>An {@link AccountFeed} loads every account at startup and then applies
+ * each update on the leaderboard thread: fills set a user's cash and position
+ * from the fill, and snapshots re-mark the symbols that moved. Queries take
+ * the same lock as each update and never touch the database.
+ */
+@Component
+public class LiveLeaderboard implements AccountFeed.Listener {
+
+    private final UserRepository userRepository;
+    private final AccountFeed feed;
+    private final int maxPageSize;
+
+    private final Object lock = new Object();
+    private final Leaderboard board;
+
+    public LiveLeaderboard(PriceEngine priceEngine,
+                           ShardedTradeExecutor tradeExecutor,
+                           UserRepository userRepository,
+                           PortfolioRepository portfolioRepository,
+                           @Value("${simulator.leaderboard.expected-users:10000}") int expectedUsers,
+                           @Value("${simulator.leaderboard.max-page-size:100}") int maxPageSize) {
+        this.userRepository = userRepository;
+        this.feed = new AccountFeed("leaderboard", priceEngine, tradeExecutor, userRepository, portfolioRepository);
+        this.maxPageSize = maxPageSize;
+        this.board = new Leaderboard(expectedUsers);
+    }
+
+    @PostConstruct
+    public void start() {
+        feed.start(this);
+    }
+
+    @PreDestroy
+    public void stop() {
+        feed.stop();
+    }
+
+    /**
+     * A page of the leaderboard, best first.
+     *
+     * @throws IllegalArgumentException for a negative offset or a limit
+     *                                  outside 1 to {@code max-page-size}
+     */
+    public List<LeaderboardEntry> getPage(int offset, int limit) {
+        if (offset < 0) throw new IllegalArgumentException("Offset must not be negative");
+        if (limit < 1 || limit > maxPageSize) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + maxPageSize);
+        }
+
+        long[] userIds = new long[limit];
+        List<LeaderboardEntry> page = new ArrayList<>(limit);
+        synchronized (lock) {
+            int count = board.top(offset, userIds);
+            for (int i = 0; i < count; i++) {
+                page.add(entry(userIds[i], offset + i + 1));
+            }
+        }
+        return page;
+    }
+
+    public Optional<LeaderboardEntry> getEntry(long userId) {
+        synchronized (lock) {
+            if (!board.contains(userId)) return Optional.empty();
+            return Optional.of(entry(userId, board.rankOf(userId)));
+        }
+    }
+
+    public int getSize() {
+        synchronized (lock) {
+            return board.size();
+        }
+    }
+
+    @Override
+    public void load(PriceSnapshot prices, List<User> users, List<Portfolio> positions) {
+        synchronized (lock) {
+            for (PriceTick tick : prices.getTicks()) {
+                board.setPrice(tick.getSymbolId(), tick.getPrice());
+            }
+            for (User user : users) {
+                board.setUser(user.getId(), user.getUsername(), Money.of(user.getBalance()));
+            }
+            for (Portfolio position : positions) {
+                board.setPosition(position.getUserId(), SymbolRegistry.intern(position.getStockSymbol()),
+                        position.getQuantity(), Money.of(position.getAveragePrice()));
+            }
+        }
+    }
+
+    @Override
+    public void applyPrices(PriceSnapshot prices) {
+        // Per symbol, so a query waits for at most one symbol's holders
+        for (PriceTick tick : prices.getTicks()) {
+            synchronized (lock) {
+                board.setPrice(tick.getSymbolId(), tick.getPrice());
+            }
+        }
+    }
+
+    @Override
+    public void applyFill(TradeEffect effect) {
+        // A user created after the load is named once, off the trade path
+        boolean known;
+        synchronized (lock) {
+            known = board.contains(effect.getUserId());
+        }
+        String name = known ? null
+                : userRepository.findById(effect.getUserId()).map(User::getUsername).orElse(null);
+        synchronized (lock) {
+            board.setUser(effect.getUserId(), name, effect.getBalanceAfter());
+            board.setPosition(effect.getUserId(), SymbolRegistry.intern(effect.getStockSymbol()),
+                    effect.getPositionQuantityAfter(), effect.getPricePerShare());
+        }
+    }
+
+    // ========== PRIVATE HELPERS ==========
+
+    private LeaderboardEntry entry(long userId, int rank) {
+        return new LeaderboardEntry(rank, userId, board.nameOf(userId), Money.toBigDecimal(board.netWorthOf(userId)));
+    }
+}
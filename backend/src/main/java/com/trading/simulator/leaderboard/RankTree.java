@@ -0,0 +1,237 @@
+package com.trading.simulator.leaderboard;
+
+import java.util.Arrays;
+
+/**
+ * Order-statistic treap over dense slots, ranked by value high to low and
+ * then by id low to high. Nodes live in parallel primitive arrays indexed by
+ * slot, and each keeps the size of its subtree, so insert, remove, rank and
+ * select are all O(log n) with no allocation once the arrays have grown. A
+ * slot's key must not change while it is in the tree. Not thread-safe.
+ */
+final class RankTree {
+
+    private static final int NIL = -1;
+
+    private long[] values;
+    private long[] ids;
+    private int[] left;
+    private int[] right;
+    private int[] sizes;
+    private int[] priorities;
+    private int root = NIL;
+    private int seed = 0x2545F491;
+
+    // Results of split, so it allocates nothing
+    private int splitLeft;
+    private int splitRight;
+
+    RankTree(int capacity) {
+        int initial = Math.max(16, capacity);
+        values = new long[initial];
+        ids = new long[initial];
+        left = new int[initial];
+        right = new int[initial];
+        sizes = new int[initial];
+        priorities = new int[initial];
+    }
+
+    /**
+     * Adds {@code slot} with the given key. The slot must not be in the tree.
+     */
+    void insert(int slot, long value, long id) {
+        ensureCapacity(slot + 1);
+        values[slot] = value;
+        ids[slot] = id;
+        left[slot] = NIL;
+        right[slot] = NIL;
+        sizes[slot] = 1;
+        priorities[slot] = nextPriority();
+        root = insert(root, slot);
+    }
+
+    /**
+     * Removes {@code slot}, which must be in the tree.
+     */
+    void remove(int slot) {
+        root = remove(root, slot);
+    }
+
+    long value(int slot) {
+        return values[slot];
+    }
+
+    int size() {
+        return root == NIL ? 0 : sizes[root];
+    }
+
+    /**
+     * Zero-based rank of {@code slot}, which must be in the tree.
+     */
+    int rank(int slot) {
+        int rank = 0;
+        int node = root;
+        while (node != slot) {
+            if (before(slot, node)) {
+                node = left[node];
+            } else {
+                rank += size(left[node]) + 1;
+                node = right[node];
+            }
+        }
+        return rank + size(left[slot]);
+    }
+
+    /**
+     * The slot at zero-based {@code rank}, which must be below {@link #size()}.
+     */
+    int select(int rank) {
+        int node = root;
+        while (true) {
+            int leftSize = size(left[node]);
+            if (rank < leftSize) {
+                node = left[node];
+            } else if (rank == leftSize) {
+                return node;
+            } else {
+                rank -= leftSize + 1;
+                node = right[node];
+            }
+        }
+    }
+
+    /**
+     * Fills {@code out} with the slots ranked {@code from} onwards, in rank
+     * order, and returns how many there were.
+     */
+    int range(int from, int[] out) {
+        int count = Math.min(out.length, size() - from);
+        if (count <= 0) return 0;
+
+        // In-order walk from the node at rank from, keeping the path of left turns on a stack
+        int[] stack = new int[64];
+        int depth = 0;
+        int node = root;
+        int skip = from;
+        while (true) {
+            int leftSize = size(left[node]);
+            if (skip < leftSize) {
+                if (depth == stack.length) stack = Arrays.copyOf(stack, depth * 2);
+                stack[depth++] = node;
+                node = left[node];
+            } else if (skip == leftSize) {
+                break;
+            } else {
+                skip -= leftSize + 1;
+                node = right[node];
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            out[i] = node;
+            if (right[node] != NIL) {
+                node = right[node];
+                while (left[node] != NIL) {
+                    if (depth == stack.length) stack = Arrays.copyOf(stack, depth * 2);
+                    stack[depth++] = node;
+                    node = left[node];
+                }
+            } else if (depth > 0) {
+                node = stack[--depth];
+            }
+        }
+        return count;
+    }
+
+    // ========== PRIVATE HELPERS ==========
+
+    private int insert(int node, int slot) {
+        if (node == NIL) return slot;
+        sizes[node]++;
+        if (priorities[slot] > priorities[node]) {
+            split(node, slot);
+            left[slot] = splitLeft;
+            right[slot] = splitRight;
+            sizes[slot] = size(splitLeft) + size(splitRight) + 1;
+            return slot;
+        }
+        if (before(slot, node)) {
+            left[node] = insert(left[node], slot);
+        } else {
+            right[node] = insert(right[node], slot);
+        }
+        return node;
+    }
+
+    private int remove(int node, int slot) {
+        if (node == slot) return merge(left[node], right[node]);
+        sizes[node]--;
+        if (before(slot, node)) {
+            left[node] = remove(left[node], slot);
+        } else {
+            right[node] = remove(right[node], slot);
+        }
+        return node;
+    }
+
+    // Splits the subtree into the nodes ranked before slot and those after it
+    private void split(int node, int slot) {
+        if (node == NIL) {
+            splitLeft = NIL;
+            splitRight = NIL;
+            return;
+        }
+        if (before(node, slot)) {
+            split(right[node], slot);
+            right[node] = splitLeft;
+            sizes[node] = size(left[node]) + size(right[node]) + 1;
+            splitLeft = node;
+        } else {
+            split(left[node], slot);
+            left[node] = splitRight;
+            sizes[node] = size(left[node]) + size(right[node]) + 1;
+            splitRight = node;
+        }
+    }
+
+    private int merge(int a, int b) {
+        if (a == NIL) return b;
+        if (b == NIL) return a;
+        if (priorities[a] > priorities[b]) {
+            right[a] = merge(right[a], b);
+            sizes[a] = size(left[a]) + size(right[a]) + 1;
+            return a;
+        }
+        left[b] = merge(a, left[b]);
+        sizes[b] = size(left[b]) + size(right[b]) + 1;
+        return b;
+    }
+
+    // Whether a ranks ahead of b: higher value first, then lower id
+    private boolean before(int a, int b) {
+        if (values[a] != values[b]) return values[a] > values[b];
+        return ids[a] < ids[b];
+    }
+
+    private int size(int node) {
+        return node == NIL ? 0 : sizes[node];
+    }
+
+    private int nextPriority() {
+        // xorshift32; the tree only needs priorities that look random
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        return seed;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= values.length) return;
+        int grown = Math.max(capacity, values.length * 2);
+        values = Arrays.copyOf(values, grown);
+        ids = Arrays.copyOf(ids, grown);
+        left = Arrays.copyOf(left, grown);
+        right = Arrays.copyOf(right, grown);
+        sizes = Arrays.copyOf(sizes, grown);
+        priorities = Arrays.copyOf(priorities, grown);
+    }
+}
@@ -0,0 +1,15 @@
+package com.trading.simulator.matching;
+
+/**
+ * Receives fills from the match loop. Every argument is primitive so that
+ * reporting a fill never allocates.
+ */
+@FunctionalInterface
+public interface FillListener {
+
+    /**
+     * @param makerRemaining quantity still resting on the maker order after this fill
+     */
+    void onFill(long makerOrderId, long makerUserId, long takerOrderId, long takerUserId,
+                OrderSide takerSide, long priceTicks, int quantity, int makerRemaining);
+}
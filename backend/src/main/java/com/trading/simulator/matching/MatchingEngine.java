@@ -0,0 +1,222 @@
+package com.trading.simulator.matching;
+
+import com.trading.simulator.dto.OrderBookView;
+import com.trading.simulator.dto.OrderResult;
+import com.trading.simulator.entity.Transaction;
+import com.trading.simulator.execution.ShardedTradeExecutor;
+import com.trading.simulator.execution.TradeEffect;
+import com.trading.simulator.money.Money;
+import com.trading.simulator.symbol.SymbolRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Routes orders into per-symbol {@link OrderBook}s and settles the resulting
+ * fills on the accounts of both sides.
+ *
+ * <p>An order first reserves the cash or shares it could need on the user's
+ * trade shard, then matches on the single matching thread that owns every
+ * book, and finally each fill is settled on the maker's and taker's shards
+ * through the normal trade path, so fills become Transactions and Portfolio
+ * updates like any other trade. Any part of the order that does not fill or
+ * rest is released again.
+ *
+ * <p>Market buys are sent as IOC orders collared at the reference price plus
+ * {@code market-collar-percent}, which bounds the cash they must reserve.
+ * Resting orders and their reservations live in memory only.
+ */
+@Component
+public class MatchingEngine {
+
+    private static final long SHUTDOWN_TIMEOUT_MS = 10_000;
+
+    private final ShardedTradeExecutor tradeExecutor;
+    private final int levels;
+    private final int bookCapacity;
+    private final long collarBasisPoints;
+    private final ExecutorService thread;
+    private final AtomicLong nextOrderId = new AtomicLong();
+
+    // Confined to the matching thread; books are indexed by symbol id
+    private OrderBook[] books = new OrderBook[0];
+    private final Map<Long, RestingOrder> restingOrders = new HashMap<>();
+
+    public MatchingEngine(ShardedTradeExecutor tradeExecutor,
+                          @Value("${simulator.matching.levels:65536}") int levels,
+                          @Value("${simulator.matching.book-capacity:65536}") int bookCapacity,
+                          @Value("${simulator.matching.market-collar-percent:5}") double marketCollarPercent) {
+        this.tradeExecutor = tradeExecutor;
+        this.levels = levels;
+        this.bookCapacity = bookCapacity;
+        this.collarBasisPoints = 10_000 + Math.round(marketCollarPercent * 100);
+        this.thread = Executors.newSingleThreadExecutor(runnable -> {
+            Thread t = new Thread(runnable, "matching-engine");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        thread.shutdown();
+        thread.awaitTermination(SHUTDOWN_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Prices are in cents, which are also the book's ticks.
+     *
+     * @param limitPrice     ignored for {@link OrderType#MARKET}
+     * @param referencePrice current price, used to centre a new book and to collar market buys
+     */
+    public OrderResult placeOrder(Long userId, String symbol, OrderSide side, OrderType type,
+                                  int quantity, long limitPrice, long referencePrice) {
+        String tradeType = side.name();
+        long reservedPrice = type != OrderType.MARKET ? limitPrice
+                : side == OrderSide.BUY ? Money.multiply(referencePrice, collarBasisPoints, 4)
+                : referencePrice;
+        OrderType bookType = type == OrderType.MARKET && side == OrderSide.BUY ? OrderType.IOC : type;
+        long orderId = nextOrderId.incrementAndGet();
+
+        tradeExecutor.reserve(userId, symbol, tradeType, quantity, reservedPrice);
+
+        Match match;
+        try {
+            match = await(CompletableFuture.supplyAsync(() -> match(orderId, userId, symbol, side, bookType,
+                    reservedPrice, quantity, referencePrice), thread));
+        } catch (RuntimeException e) {
+            tradeExecutor.release(userId, symbol, tradeType, quantity, reservedPrice);
+            throw e;
+        }
+
+        String makerType = side == OrderSide.BUY ? "SELL" : "BUY";
+        List<CompletableFuture<TradeEffect>> takerFills = new ArrayList<>(match.fills().size());
+        List<CompletableFuture<TradeEffect>> makerFills = new ArrayList<>(match.fills().size());
+        for (Fill fill : match.fills()) {
+            long fillPrice = fill.priceTicks();
+            // A maker always rests at its own limit, so that is also the price it reserved at
+            makerFills.add(tradeExecutor.settle(fill.makerUserId(), symbol, makerType, fill.quantity(), fillPrice, fillPrice));
+            takerFills.add(tradeExecutor.settle(userId, symbol, tradeType, fill.quantity(), reservedPrice, fillPrice));
+        }
+
+        int unfilled = quantity - match.filled() - match.resting();
+        if (unfilled > 0) {
+            tradeExecutor.release(userId, symbol, tradeType, unfilled, reservedPrice);
+        }
+
+        List<Transaction> transactions = new ArrayList<>(takerFills.size());
+        for (CompletableFuture<TradeEffect> fill : takerFills) {
+            transactions.add(await(fill).toTransaction());
+        }
+        makerFills.forEach(MatchingEngine::await);
+
+        String status = match.filled() == quantity ? "FILLED" : match.resting() > 0 ? "RESTING" : "EXPIRED";
+        return new OrderResult(orderId, status, match.filled(), match.resting(), transactions);
+    }
+
+    /**
+     * Cancels a resting order owned by {@code userId} and releases its reservation.
+     *
+     * @return the quantity that was still resting
+     */
+    public int cancelOrder(long orderId, Long userId) {
+        Cancellation cancellation = await(CompletableFuture.supplyAsync(() -> {
+            RestingOrder order = restingOrders.get(orderId);
+            if (order == null || !order.userId().equals(userId)) {
+                throw new RuntimeException("Order not found");
+            }
+            restingOrders.remove(orderId);
+            return new Cancellation(order, books[order.symbolId()].cancel(orderId));
+        }, thread));
+
+        RestingOrder order = cancellation.order();
+        await(tradeExecutor.release(userId, order.symbol(), order.side().name(), cancellation.quantity(), order.price()));
+        return cancellation.quantity();
+    }
+
+    /**
+     * Aggregated depth of up to {@code depth} price levels per side.
+     */
+    public OrderBookView getBook(String symbol, int depth) {
+        int symbolId = SymbolRegistry.idOf(symbol);
+        String name = symbolId != SymbolRegistry.UNKNOWN ? SymbolRegistry.symbolOf(symbolId) : symbol;
+        return await(CompletableFuture.supplyAsync(() -> {
+            OrderBook book = symbolId >= 0 && symbolId < books.length ? books[symbolId] : null;
+            if (book == null) {
+                return new OrderBookView(name, List.of(), List.of());
+            }
+            return new OrderBookView(name, levels(book, OrderSide.BUY, depth), levels(book, OrderSide.SELL, depth));
+        }, thread));
+    }
+
+    // ========== MATCHING THREAD ==========
+
+    private Match match(long orderId, Long userId, String symbol, OrderSide side, OrderType type,
+                        long limitTicks, int quantity, long referenceTicks) {
+        int symbolId = SymbolRegistry.intern(symbol);
+        if (symbolId >= books.length) {
+            books = Arrays.copyOf(books, Math.max(symbolId + 1, SymbolRegistry.size()));
+        }
+        OrderBook book = books[symbolId];
+        if (book == null) {
+            book = new OrderBook(symbol, Math.max(1, referenceTicks - levels / 2), levels, bookCapacity);
+            books[symbolId] = book;
+        }
+
+        List<Fill> fills = new ArrayList<>();
+        int filled = book.submit(orderId, userId, side, type, limitTicks, quantity,
+                (makerOrderId, makerUserId, takerOrderId, takerUserId, takerSide, priceTicks, qty, makerRemaining) -> {
+                    fills.add(new Fill(makerUserId, priceTicks, qty));
+                    if (makerRemaining == 0) restingOrders.remove(makerOrderId);
+                });
+
+        int resting = book.contains(orderId) ? quantity - filled : 0;
+        if (resting > 0) {
+            restingOrders.put(orderId, new RestingOrder(userId, symbolId, symbol, side, limitTicks));
+        }
+        return new Match(fills, filled, resting);
+    }
+
+    private static List<OrderBookView.Level> levels(OrderBook book, OrderSide side, int depth) {
+        long[] prices = new long[depth];
+        long[] volumes = new long[depth];
+        int count = book.depth(side, prices, volumes);
+
+        List<OrderBookView.Level> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(new OrderBookView.Level(Money.toBigDecimal(prices[i]), volumes[i]));
+        }
+        return result;
+    }
+
+    // ========== PRIVATE HELPERS ==========
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    private record Fill(long makerUserId, long priceTicks, int quantity) {}
+
+    private record Match(List<Fill> fills, int filled, int resting) {}
+
+    private record RestingOrder(Long userId, int symbolId, String symbol, OrderSide side, long price) {}
+
+    private record Cancellation(RestingOrder order, int quantity) {}
+}
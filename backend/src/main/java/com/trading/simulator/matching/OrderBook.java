@@ -0,0 +1,428 @@
+package com.trading.simulator.matching;
+
+import java.util.Arrays;
+
+/**
+ * Limit order book for one symbol with price-time priority.
+ *
+ * <p>Prices are integer ticks (cents) inside a window of {@code levels} ticks
+ * starting at {@code basePriceTicks}; each side keeps one FIFO queue per price
+ * level in primitive arrays. An order priced outside the window matches as if
+ * priced at its edge; whatever is left of a limit order then moves the window
+ * onto its price, as far as the resting orders allow, so the book follows the
+ * market. Orders live in a pool of up to {@code capacity} slots and
+ * are chained into their level's queue through {@code next}/{@code prev} slot
+ * indices; the pool grows by doubling, and once it has grown, resting,
+ * matching and cancelling allocate nothing.
+ *
+ * <p>Not thread-safe: a book must only be used from one thread at a time.
+ */
+public final class OrderBook {
+
+    private static final int NONE = -1;
+    private static final int INITIAL_POOL = 1024;
+
+    private final String symbol;
+    private long basePriceTicks;
+    private final int levels;
+    private final int capacity;
+
+    // Order pool, indexed by slot
+    private long[] orderIds;
+    private long[] userIds;
+    private int[] remaining;
+    private int[] level;
+    private boolean[] isBid;
+    private int[] next;
+    private int[] prev;
+    private int freeHead;
+    private int restingCount;
+
+    // Price levels, indexed by (priceTicks - basePriceTicks)
+    private final int[] bidHead;
+    private final int[] bidTail;
+    private final long[] bidVolume;
+    private final int[] askHead;
+    private final int[] askTail;
+    private final long[] askVolume;
+    private int bestBid = NONE;
+    private int bestAsk;
+
+    private final LongIntMap slotsByOrderId;
+
+    public OrderBook(String symbol, long basePriceTicks, int levels, int capacity) {
+        this.symbol = symbol;
+        this.basePriceTicks = basePriceTicks;
+        this.levels = levels;
+        this.capacity = capacity;
+
+        int pool = Math.min(capacity, INITIAL_POOL);
+        orderIds = new long[pool];
+        userIds = new long[pool];
+        remaining = new int[pool];
+        level = new int[pool];
+        isBid = new boolean[pool];
+        next = new int[pool];
+        prev = new int[pool];
+        freeHead = linkFree(0, pool);
+
+        bidHead = filled(levels);
+        bidTail = filled(levels);
+        bidVolume = new long[levels];
+        askHead = filled(levels);
+        askTail = filled(levels);
+        askVolume = new long[levels];
+        bestAsk = levels;
+
+        slotsByOrderId = new LongIntMap(pool);
+    }
+
+    /**
+     * Matches an incoming order against the opposite side and, for
+     * {@link OrderType#LIMIT}, rests whatever is left.
+     *
+     * @param priceTicks limit price in ticks; ignored for {@link OrderType#MARKET}
+     * @return the quantity filled
+     * @throws IllegalArgumentException if what is left of a limit order would
+     *                                  rest at a price the window cannot reach
+     *                                  without dropping resting orders out of
+     *                                  it; checked before anything is matched
+     */
+    public int submit(long orderId, long userId, OrderSide side, OrderType type,
+                      long priceTicks, int quantity, FillListener listener) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+
+        int limitLevel;
+        if (type == OrderType.MARKET) {
+            limitLevel = side == OrderSide.BUY ? levels - 1 : 0;
+        } else {
+            // Every resting order is inside the window, so a limit beyond it matches like the edge
+            limitLevel = clampedLevel(side, priceTicks);
+            if (type == OrderType.LIMIT && toLevel(priceTicks) < 0
+                    && !canRestOutside(side == OrderSide.BUY, priceTicks, quantity)) {
+                throw new IllegalArgumentException("Price outside book range for " + symbol);
+            }
+        }
+        if (type == OrderType.LIMIT && freeHead == NONE && orderIds.length == capacity) {
+            throw new IllegalStateException("Order book full for " + symbol);
+        }
+
+        int filled = side == OrderSide.BUY
+                ? matchAgainstAsks(orderId, userId, limitLevel, quantity, listener)
+                : matchAgainstBids(orderId, userId, limitLevel, quantity, listener);
+
+        int left = quantity - filled;
+        if (left > 0 && type == OrderType.LIMIT) {
+            if (toLevel(priceTicks) < 0) recenter(priceTicks);
+            rest(orderId, userId, side == OrderSide.BUY, toLevel(priceTicks), left);
+        }
+        return filled;
+    }
+
+    /**
+     * @return the quantity that was still resting, or 0 if the order is unknown
+     */
+    public int cancel(long orderId) {
+        int slot = slotsByOrderId.remove(orderId);
+        if (slot == LongIntMap.MISSING) return 0;
+
+        int left = remaining[slot];
+        unlink(slot);
+        release(slot);
+        return left;
+    }
+
+    // ========== VIEWS ==========
+
+    public String getSymbol() { return symbol; }
+
+    public int getRestingCount() { return restingCount; }
+
+    public boolean contains(long orderId) {
+        return slotsByOrderId.get(orderId) != LongIntMap.MISSING;
+    }
+
+    /** @return best bid in ticks, or -1 if there are no bids */
+    public long getBestBid() {
+        return bestBid == NONE ? -1 : basePriceTicks + bestBid;
+    }
+
+    /** @return best ask in ticks, or -1 if there are no asks */
+    public long getBestAsk() {
+        return bestAsk == levels ? -1 : basePriceTicks + bestAsk;
+    }
+
+    /**
+     * Copies up to {@code prices.length} aggregated levels of one side, best first.
+     *
+     * @return the number of levels written
+     */
+    public int depth(OrderSide side, long[] prices, long[] volumes) {
+        int count = 0;
+        if (side == OrderSide.BUY) {
+            for (int l = bestBid; l >= 0 && count < prices.length; l--) {
+                if (bidHead[l] != NONE) {
+                    prices[count] = basePriceTicks + l;
+                    volumes[count++] = bidVolume[l];
+                }
+            }
+        } else {
+            for (int l = bestAsk; l < levels && count < prices.length; l++) {
+                if (askHead[l] != NONE) {
+                    prices[count] = basePriceTicks + l;
+                    volumes[count++] = askVolume[l];
+                }
+            }
+        }
+        return count;
+    }
+
+    // ========== MATCHING ==========
+
+    private int matchAgainstAsks(long orderId, long userId, int limitLevel, int quantity, FillListener listener) {
+        int left = quantity;
+        while (left > 0 && bestAsk <= limitLevel) {
+            int slot = askHead[bestAsk];
+            int traded = Math.min(left, remaining[slot]);
+            left -= traded;
+            remaining[slot] -= traded;
+            askVolume[bestAsk] -= traded;
+
+            listener.onFill(orderIds[slot], userIds[slot], orderId, userId, OrderSide.BUY,
+                    basePriceTicks + bestAsk, traded, remaining[slot]);
+
+            if (remaining[slot] == 0) {
+                slotsByOrderId.remove(orderIds[slot]);
+                unlink(slot);
+                release(slot);
+            }
+        }
+        return quantity - left;
+    }
+
+    private int matchAgainstBids(long orderId, long userId, int limitLevel, int quantity, FillListener listener) {
+        int left = quantity;
+        while (left > 0 && bestBid != NONE && bestBid >= limitLevel) {
+            int slot = bidHead[bestBid];
+            int traded = Math.min(left, remaining[slot]);
+            left -= traded;
+            remaining[slot] -= traded;
+            bidVolume[bestBid] -= traded;
+
+            listener.onFill(orderIds[slot], userIds[slot], orderId, userId, OrderSide.SELL,
+                    basePriceTicks + bestBid, traded, remaining[slot]);
+
+            if (remaining[slot] == 0) {
+                slotsByOrderId.remove(orderIds[slot]);
+                unlink(slot);
+                release(slot);
+            }
+        }
+        return quantity - left;
+    }
+
+    // ========== QUEUE MAINTENANCE ==========
+
+    private void rest(long orderId, long userId, boolean bid, int lvl, int quantity) {
+        if (freeHead == NONE) growPool();
+        int slot = freeHead;
+        freeHead = next[slot];
+
+        orderIds[slot] = orderId;
+        userIds[slot] = userId;
+        remaining[slot] = quantity;
+        level[slot] = lvl;
+        isBid[slot] = bid;
+        next[slot] = NONE;
+
+        int[] head = bid ? bidHead : askHead;
+        int[] tail = bid ? bidTail : askTail;
+        prev[slot] = tail[lvl];
+        if (tail[lvl] == NONE) {
+            head[lvl] = slot;
+        } else {
+            next[tail[lvl]] = slot;
+        }
+        tail[lvl] = slot;
+
+        if (bid) {
+            bidVolume[lvl] += quantity;
+            if (lvl > bestBid) bestBid = lvl;
+        } else {
+            askVolume[lvl] += quantity;
+            if (lvl < bestAsk) bestAsk = lvl;
+        }
+
+        slotsByOrderId.put(orderId, slot);
+        restingCount++;
+    }
+
+    private void unlink(int slot) {
+        int lvl = level[slot];
+        boolean bid = isBid[slot];
+        int[] head = bid ? bidHead : askHead;
+        int[] tail = bid ? bidTail : askTail;
+
+        if (prev[slot] == NONE) head[lvl] = next[slot]; else next[prev[slot]] = next[slot];
+        if (next[slot] == NONE) tail[lvl] = prev[slot]; else prev[next[slot]] = prev[slot];
+
+        if (bid) {
+            bidVolume[lvl] -= remaining[slot];
+            if (head[lvl] == NONE && lvl == bestBid) {
+                while (bestBid >= 0 && bidHead[bestBid] == NONE) bestBid--;
+            }
+        } else {
+            askVolume[lvl] -= remaining[slot];
+            if (head[lvl] == NONE && lvl == bestAsk) {
+                while (bestAsk < levels && askHead[bestAsk] == NONE) bestAsk++;
+            }
+        }
+    }
+
+    private void release(int slot) {
+        next[slot] = freeHead;
+        freeHead = slot;
+        restingCount--;
+    }
+
+    // ========== WINDOW AND POOL ==========
+
+    /**
+     * Moves the window so {@code priceTicks} is at its centre, or as close to
+     * it as keeps every resting order inside. Costs a pass over the levels,
+     * and only happens when a limit order lands outside the window.
+     */
+    private void recenter(long priceTicks) {
+        long lowest = Math.max(1, priceTicks - levels / 2);
+        long highest = lowest;
+        if (restingCount > 0) {
+            int low = bestBid != NONE ? lowestBid() : bestAsk;
+            int high = bestAsk != levels ? highestAsk() : bestBid;
+            lowest = basePriceTicks + high - levels + 1;
+            highest = basePriceTicks + low;
+        }
+        long newBase = Math.max(lowest, Math.min(highest, Math.max(1, priceTicks - levels / 2)));
+        long shift = newBase - basePriceTicks;
+        if (shift == 0) return;
+
+        shiftLevels(bidHead, bidTail, bidVolume, shift);
+        shiftLevels(askHead, askTail, askVolume, shift);
+        for (int l = 0; l < levels; l++) {
+            for (int slot = bidHead[l]; slot != NONE; slot = next[slot]) level[slot] = l;
+            for (int slot = askHead[l]; slot != NONE; slot = next[slot]) level[slot] = l;
+        }
+        if (bestBid != NONE) bestBid -= (int) shift;
+        if (bestAsk != levels) bestAsk -= (int) shift;
+        basePriceTicks = newBase;
+    }
+
+    /**
+     * Whether what is left of a limit order priced outside the window could
+     * rest once it has matched. An order beyond the far side of the book takes
+     * every order on that side first; the window must then span its price and
+     * the orders that remain.
+     */
+    private boolean canRestOutside(boolean bid, long priceTicks, int quantity) {
+        long offset = priceTicks - basePriceTicks;
+        boolean sweeps = bid ? offset >= levels : offset < 0;
+        if (sweeps) {
+            long opposite = 0;
+            if (bid) {
+                for (int l = bestAsk; l < levels; l++) opposite += askVolume[l];
+            } else {
+                for (int l = 0; l <= bestBid; l++) opposite += bidVolume[l];
+            }
+            if (quantity <= opposite) return true;
+        }
+
+        long low = priceTicks;
+        long high = priceTicks;
+        if (bestBid != NONE && !(sweeps && !bid)) {
+            low = Math.min(low, basePriceTicks + lowestBid());
+            high = Math.max(high, basePriceTicks + bestBid);
+        }
+        if (bestAsk != levels && !(sweeps && bid)) {
+            low = Math.min(low, basePriceTicks + bestAsk);
+            high = Math.max(high, basePriceTicks + highestAsk());
+        }
+        return high - low < levels;
+    }
+
+    private int clampedLevel(OrderSide side, long priceTicks) {
+        long offset = priceTicks - basePriceTicks;
+        return side == OrderSide.BUY
+                ? (int) Math.max(-1, Math.min(levels - 1, offset))
+                : (int) Math.max(0, Math.min(levels, offset));
+    }
+
+    private int lowestBid() {
+        int l = 0;
+        while (bidHead[l] == NONE) l++;
+        return l;
+    }
+
+    private int highestAsk() {
+        int l = levels - 1;
+        while (askHead[l] == NONE) l--;
+        return l;
+    }
+
+    // Levels are only ever shifted out of the window when they are empty
+    private void shiftLevels(int[] head, int[] tail, long[] volume, long shift) {
+        if (Math.abs(shift) >= levels) {
+            Arrays.fill(head, NONE);
+            Arrays.fill(tail, NONE);
+            Arrays.fill(volume, 0);
+            return;
+        }
+        int by = (int) shift;
+        if (by > 0) {
+            System.arraycopy(head, by, head, 0, levels - by);
+            System.arraycopy(tail, by, tail, 0, levels - by);
+            System.arraycopy(volume, by, volume, 0, levels - by);
+            Arrays.fill(head, levels - by, levels, NONE);
+            Arrays.fill(tail, levels - by, levels, NONE);
+            Arrays.fill(volume, levels - by, levels, 0);
+        } else {
+            System.arraycopy(head, 0, head, -by, levels + by);
+            System.arraycopy(tail, 0, tail, -by, levels + by);
+            System.arraycopy(volume, 0, volume, -by, levels + by);
+            Arrays.fill(head, 0, -by, NONE);
+            Arrays.fill(tail, 0, -by, NONE);
+            Arrays.fill(volume, 0, -by, 0);
+        }
+    }
+
+    private void growPool() {
+        int size = orderIds.length;
+        int grown = Math.min(capacity, size * 2);
+        orderIds = Arrays.copyOf(orderIds, grown);
+        userIds = Arrays.copyOf(userIds, grown);
+        remaining = Arrays.copyOf(remaining, grown);
+        level = Arrays.copyOf(level, grown);
+        isBid = Arrays.copyOf(isBid, grown);
+        next = Arrays.copyOf(next, grown);
+        prev = Arrays.copyOf(prev, grown);
+        freeHead = linkFree(size, grown);
+    }
+
+    // Chains slots [from, to) into a free list and returns its head
+    private int linkFree(int from, int to) {
+        for (int i = from; i < to; i++) next[i] = i + 1;
+        next[to - 1] = NONE;
+        return from;
+    }
+
+    private int toLevel(long priceTicks) {
+        long offset = priceTicks - basePriceTicks;
+        return offset < 0 || offset >= levels ? -1 : (int) offset;
+    }
+
+    private static int[] filled(int length) {
+        int[] array = new int[length];
+        Arrays.fill(array, NONE);
+        return array;
+    }
+}
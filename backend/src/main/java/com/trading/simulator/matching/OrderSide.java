@@ -0,0 +1,5 @@
+package com.trading.simulator.matching;
+
+public enum OrderSide {
+    BUY, SELL
+}
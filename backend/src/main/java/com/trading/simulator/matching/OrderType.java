@@ -0,0 +1,7 @@
+package com.trading.simulator.matching;
+
+public enum OrderType {
+    LIMIT,  // match what crosses, rest the remainder
+    MARKET, // match at any price, cancel the remainder
+    IOC     // match what crosses the limit, cancel the remainder
+}
@@ -0,0 +1,164 @@
+package com.trading.simulator.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Latency and SQL statement counts for the request paths that matter most,
+ * published through Micrometer and scraped from {@code /actuator/prometheus}.
+ *
+ * <p>Each {@link Operation} records into two {@link IntervalHistogram}s, one
+ * for latency in nanoseconds and one for statements per call, so the cost
+ * per call is two {@code nanoTime} calls, two thread-local reads and two
+ * wait-free histogram updates. The registry only sees gauges for p50, p99,
+ * p999 and max over the last {@code window-ms}, plus cumulative counters,
+ * and computes them when it is scraped. Statements run on a trade shard on
+ * the call's behalf are included; see {@link SqlStatementCounter#carry}. With
+ * {@code simulator.metrics.enabled=false} the call runs unwrapped.
+ */
+@Component
+public class HotPathMetrics {
+
+    public enum Operation {
+        EXECUTE_TRADE("trade.execute"),
+        USER_PORTFOLIO("portfolio.user"),
+        STOCK_QUOTE("stock.quote");
+
+        private final String tag;
+
+        Operation(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final long MAX_STATEMENTS = 100_000;
+    private static final double[] QUANTILES = {0.5, 0.99, 0.999};
+
+    private final boolean enabled;
+    private final IntervalHistogram[] latencies = new IntervalHistogram[Operation.values().length];
+    private final IntervalHistogram[] statements = new IntervalHistogram[Operation.values().length];
+    private final DistributionSummary persistedStatementsPerTrade;
+    private final Counter persistFailures;
+    private final Counter persistDropped;
+
+    @Autowired
+    public HotPathMetrics(ObjectProvider<MeterRegistry> registry,
+                          @Value("${simulator.metrics.enabled:true}") boolean enabled,
+                          @Value("${simulator.metrics.window-ms:10000}") long windowMs) {
+        this(registry.getIfAvailable(SimpleMeterRegistry::new), enabled, windowMs);
+    }
+
+    public HotPathMetrics(MeterRegistry registry, boolean enabled, long windowMs) {
+        this.enabled = enabled;
+        long windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+        for (Operation operation : Operation.values()) {
+            IntervalHistogram latency = new IntervalHistogram(MAX_LATENCY_NANOS, windowNanos);
+            IntervalHistogram statementCount = new IntervalHistogram(MAX_STATEMENTS, windowNanos);
+            latencies[operation.ordinal()] = latency;
+            statements[operation.ordinal()] = statementCount;
+
+            register(registry, "simulator.request.latency", "seconds", operation, latency, 1e-9);
+            FunctionCounter.builder("simulator.request.calls", latency, IntervalHistogram::count)
+                    .tag("operation", operation.tag)
+                    .register(registry);
+            FunctionCounter.builder("simulator.request.latency.total", latency, h -> h.total() * 1e-9)
+                    .baseUnit("seconds")
+                    .tag("operation", operation.tag)
+                    .register(registry);
+
+            register(registry, "simulator.request.sql.statements", null, operation, statementCount, 1);
+            FunctionCounter.builder("simulator.request.sql.statements.total", statementCount, IntervalHistogram::total)
+                    .tag("operation", operation.tag)
+                    .register(registry);
+        }
+        persistedStatementsPerTrade = DistributionSummary.builder("simulator.persister.statements.per.trade")
+                .description("SQL statements per trade in each write-behind batch")
+                .register(registry);
+        persistFailures = Counter.builder("simulator.persister.failures")
+                .description("Write-behind batches the database failed to commit")
+                .register(registry);
+        persistDropped = Counter.builder("simulator.persister.dropped")
+                .description("Fills the database rejected and the write-behind dropped")
+                .register(registry);
+    }
+
+    /**
+     * An instance that records nothing, for wiring services by hand.
+     */
+    public static HotPathMetrics disabled() {
+        return new HotPathMetrics(new SimpleMeterRegistry(), false, 10_000);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Runs {@code call} and records its latency and statement count, whether
+     * it returns or throws.
+     */
+    public <T> T record(Operation operation, Supplier<T> call) {
+        if (!enabled) return call.get();
+
+        long statementsBefore = SqlStatementCounter.current();
+        long start = System.nanoTime();
+        try {
+            return call.get();
+        } finally {
+            latencies[operation.ordinal()].record(System.nanoTime() - start);
+            statements[operation.ordinal()].record(SqlStatementCounter.current() - statementsBefore);
+        }
+    }
+
+    /**
+     * Records the statements one write-behind batch of {@code trades} fills took.
+     */
+    public void recordPersistedBatch(int trades, long statementCount) {
+        if (enabled && trades > 0) {
+            persistedStatementsPerTrade.record((double) statementCount / trades);
+        }
+    }
+
+    /**
+     * Records one failed attempt to commit a write-behind batch.
+     */
+    public void recordPersistFailure() {
+        if (enabled) persistFailures.increment();
+    }
+
+    /**
+     * Records a fill the write-behind gave up on because the database rejects it.
+     */
+    public void recordPersistDropped() {
+        if (enabled) persistDropped.increment();
+    }
+
+    // ========== PRIVATE HELPERS ==========
+
+    private static void register(MeterRegistry registry, String name, String baseUnit, Operation operation,
+                                 IntervalHistogram histogram, double scale) {
+        for (double quantile : QUANTILES) {
+            Gauge.builder(name, histogram, h -> h.percentile(quantile * 100) * scale)
+                    .baseUnit(baseUnit)
+                    .tag("operation", operation.tag)
+                    .tag("quantile", String.valueOf(quantile))
+                    .register(registry);
+        }
+        Gauge.builder(name + ".max", histogram, h -> h.max() * scale)
+                .baseUnit(baseUnit)
+                .tag("operation", operation.tag)
+                .register(registry);
+    }
+}
@@ -0,0 +1,70 @@
+package com.trading.simulator.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * A high-resolution histogram that is cheap to record into from many
+ * threads. Values go into an HdrHistogram {@link Recorder}, which is
+ * wait-free for writers; readers see the values recorded during the last
+ * completed window, swapped out at most once per {@code windowNanos} so that
+ * every gauge read during one scrape sees the same interval. Cumulative
+ * count and total are folded in at each swap, so they lag by up to one
+ * window.
+ */
+final class IntervalHistogram {
+
+    private final Recorder recorder;
+    private final long highestTrackableValue;
+    private final long windowNanos;
+
+    private Histogram interval;
+    private long lastSwap;
+    private boolean swapped;
+    private long count;
+    private double total;
+
+    IntervalHistogram(long highestTrackableValue, long windowNanos) {
+        this.recorder = new Recorder(highestTrackableValue, 3);
+        this.highestTrackableValue = highestTrackableValue;
+        this.windowNanos = windowNanos;
+    }
+
+    void record(long value) {
+        recorder.recordValue(Math.min(Math.max(value, 0), highestTrackableValue));
+    }
+
+    /**
+     * @return the value at {@code percentile} (0-100) of the last window
+     */
+    synchronized double percentile(double percentile) {
+        return snapshot().getValueAtPercentile(percentile);
+    }
+
+    synchronized double max() {
+        return snapshot().getMaxValue();
+    }
+
+    // Cumulative since start, for rates
+    synchronized long count() {
+        snapshot();
+        return count;
+    }
+
+    synchronized double total() {
+        snapshot();
+        return total;
+    }
+
+    private Histogram snapshot() {
+        long now = System.nanoTime();
+        if (!swapped || now - lastSwap >= windowNanos) {
+            interval = recorder.getIntervalHistogram(interval);
+            count += interval.getTotalCount();
+            total += interval.getMean() * interval.getTotalCount();
+            lastSwap = now;
+            swapped = true;
+        }
+        return interval;
+    }
+}
@@ -0,0 +1,64 @@
+package com.trading.simulator.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Counts the SQL statements Hibernate prepares on each thread. Registered as
+ * the session factory's statement inspector, so every repository call that
+ * reaches the database passes through here; a batched statement counts once
+ * per round trip, not once per row.
+ *
+ * <p>Callers read {@link #current()} before and after a piece of work and
+ * take the difference. Work handed to another thread, such as a trade shard,
+ * is wrapped with {@link #carry(Supplier)} so its statements still count
+ * towards the thread that handed it off.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<AtomicLong> COUNT = ThreadLocal.withInitial(AtomicLong::new);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get().incrementAndGet();
+        return sql;
+    }
+
+    /**
+     * @return statements prepared on the calling thread so far, including
+     *         those of work it carried to other threads
+     */
+    public static long current() {
+        return COUNT.get().get();
+    }
+
+    /**
+     * Wraps {@code task} so the statements it prepares, on whichever thread
+     * runs it, count towards the calling thread.
+     */
+    public static <T> Supplier<T> carry(Supplier<T> task) {
+        AtomicLong caller = COUNT.get();
+        return () -> {
+            AtomicLong own = COUNT.get();
+            COUNT.set(caller);
+            try {
+                return task.get();
+            } finally {
+                COUNT.set(own);
+            }
+        };
+    }
+
+    /**
+     * @see #carry(Supplier)
+     */
+    public static Runnable carry(Runnable task) {
+        Supplier<Void> carried = carry(() -> {
+            task.run();
+            return null;
+        });
+        return carried::get;
+    }
+}
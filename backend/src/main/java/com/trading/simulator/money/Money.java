@@ -0,0 +1,109 @@
+package com.trading.simulator.money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point arithmetic for amounts and prices held as {@code long} cents,
+ * the scale-2 unit of every money column. Java has no value classes, so
+ * amounts travel as bare longs and this class holds the operations; a
+ * {@link BigDecimal} is only created where a value leaves for JPA or JSON.
+ *
+ * <p>Every operation gives exactly the result the equivalent scale-2
+ * {@code BigDecimal} expression gives, including {@link RoundingMode#HALF_UP}
+ * division, and throws {@link ArithmeticException} instead of overflowing.
+ */
+public final class Money {
+
+    public static final int SCALE = 2;
+
+    // Scale of ratios such as gain/loss and change percentages
+    public static final int RATIO_SCALE = 4;
+    private static final long RATIO_ONE = 10_000;
+
+    private Money() {}
+
+    // ========== CONVERSION ==========
+
+    /**
+     * Cents for {@code value}, rounded {@code HALF_UP} to two decimals like
+     * {@code value.setScale(2, RoundingMode.HALF_UP)}.
+     */
+    public static long of(BigDecimal value) {
+        return value.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Cents for {@code value}, which must already be in whole cents.
+     *
+     * @throws ArithmeticException if {@code value} has a fraction of a cent
+     */
+    public static long ofExact(BigDecimal value) {
+        return value.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    public static long parse(String value) {
+        return of(new BigDecimal(value));
+    }
+
+    public static BigDecimal toBigDecimal(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    // ========== ARITHMETIC ==========
+
+    /**
+     * {@code price * quantity}.
+     */
+    public static long times(long cents, long quantity) {
+        return Math.multiplyExact(cents, quantity);
+    }
+
+    /**
+     * {@code amount.multiply(BigDecimal.valueOf(unscaledFactor, factorScale))}
+     * rounded {@code HALF_UP} back to cents.
+     */
+    public static long multiply(long cents, long unscaledFactor, int factorScale) {
+        return divideHalfUp(Math.multiplyExact(cents, unscaledFactor), pow10(factorScale));
+    }
+
+    /**
+     * {@code part.divide(whole, 4, RoundingMode.HALF_UP)} as an integer count
+     * of ten-thousandths.
+     */
+    public static long ratio(long part, long whole) {
+        return divideHalfUp(Math.multiplyExact(part, RATIO_ONE), whole);
+    }
+
+    /**
+     * The percentage BigDecimal code produced from a ratio:
+     * {@code ratio.multiply(BigDecimal.valueOf(100))}, at scale 4.
+     */
+    public static BigDecimal ratioAsPercent(long ratio) {
+        return BigDecimal.valueOf(Math.multiplyExact(ratio, 100L), RATIO_SCALE);
+    }
+
+    /**
+     * Integer division rounding halves away from zero, as
+     * {@link RoundingMode#HALF_UP} does. With an amount in cents and a share
+     * count this is {@code amount.divide(BigDecimal.valueOf(divisor), 2, HALF_UP)}.
+     */
+    public static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (remainder == 0) return quotient;
+
+        long absRemainder = Math.abs(remainder);
+        long absDivisor = Math.abs(divisor);
+        if (absRemainder >= absDivisor - absRemainder) {
+            quotient += (dividend < 0) == (divisor < 0) ? 1 : -1;
+        }
+        return quotient;
+    }
+
+    private static long pow10(int exponent) {
+        long result = 1;
+        for (int i = 0; i < exponent; i++) result *= 10;
+        return result;
+    }
+}
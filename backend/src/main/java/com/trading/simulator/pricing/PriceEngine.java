@@ -0,0 +1,253 @@
+package com.trading.simulator.pricing;
+
+import com.trading.simulator.config.ConcurrencyLimitedDataSource;
+import com.trading.simulator.entity.Stock;
+import com.trading.simulator.money.Money;
+import com.trading.simulator.repository.StockRepository;
+import com.trading.simulator.symbol.SymbolRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process price simulator. A single ticker thread random-walks every symbol
+ * on a fixed interval and publishes the result as an immutable {@link PriceSnapshot};
+ * quote reads are plain volatile reads of the latest snapshot and never touch the
+ * database. Prices are written back to {@code stocks} in periodic batches, and
+ * every new snapshot is handed to the registered {@link PriceListener}s.
+ */
+@Component
+public class PriceEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(PriceEngine.class);
+    private static final long MIN_PRICE = 1; // one cent
+    private static final int MOVE_SCALE = 6;  // moves are drawn in millionths
+    private static final long NEVER_FLUSHED = -1;
+
+    private final StockRepository stockRepository;
+    private final StockPriceWriter priceWriter;
+    private final long tickIntervalMs;
+    private final long flushIntervalMs;
+    private final long maxMoveMillionths;
+
+    // Writers (ticker, register, updatePrice) serialize on this; readers never lock
+    private final Object publishLock = new Object();
+    private volatile PriceSnapshot snapshot = PriceSnapshot.EMPTY;
+    private final List<PriceListener> listeners = new CopyOnWriteArrayList<>();
+
+    private final Object flushLock = new Object();
+    private long[] lastFlushed = new long[0]; // by symbol id
+
+    private ScheduledExecutorService ticker;
+    private ScheduledExecutorService writer;
+
+    public PriceEngine(StockRepository stockRepository,
+                       StockPriceWriter priceWriter,
+                       @Value("${simulator.pricing.tick-interval-ms:1000}") long tickIntervalMs,
+                       @Value("${simulator.pricing.flush-interval-ms:5000}") long flushIntervalMs,
+                       @Value("${simulator.pricing.max-move-percent:2}") double maxMovePercent) {
+        this.stockRepository = stockRepository;
+        this.priceWriter = priceWriter;
+        this.tickIntervalMs = tickIntervalMs;
+        this.flushIntervalMs = flushIntervalMs;
+        this.maxMoveMillionths = Math.round(maxMovePercent * 10_000);
+    }
+
+    @PostConstruct
+    public void start() {
+        stockRepository.findAll().forEach(this::register);
+
+        ticker = Executors.newSingleThreadScheduledExecutor(daemon("price-ticker"));
+        ticker.scheduleAtFixedRate(this::safeTick, tickIntervalMs, tickIntervalMs, TimeUnit.MILLISECONDS);
+
+        writer = Executors.newSingleThreadScheduledExecutor(daemon("price-writer"));
+        writer.scheduleWithFixedDelay(() -> ConcurrencyLimitedDataSource.runReserved(this::safeFlush),
+                flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (ticker != null) ticker.shutdownNow();
+        if (writer != null) writer.shutdownNow();
+        safeFlush();
+    }
+
+    // ========== READS (lock-free) ==========
+
+    public PriceSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    // Any letter case
+    public Optional<PriceTick> getTick(String symbol) {
+        return Optional.ofNullable(snapshot.get(symbol));
+    }
+
+    // ========== WRITES ==========
+
+    public void addListener(PriceListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Advances every symbol by one random step of at most {@code max-move-percent}.
+     */
+    public void tick() {
+        synchronized (publishLock) {
+            PriceSnapshot current = snapshot;
+            LocalDateTime now = LocalDateTime.now();
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            PriceTick[] next = current.copyBySymbolId(0);
+            List<PriceTick> ticks = new ArrayList<>(current.size());
+
+            for (PriceTick previous : current.getTicks()) {
+                long move = random.nextLong(-maxMoveMillionths, maxMoveMillionths + 1);
+                long oldPrice = previous.getPrice();
+                long newPrice = oldPrice + Money.multiply(oldPrice, move, MOVE_SCALE);
+                PriceTick tick = nextTick(previous, newPrice, now);
+                next[tick.getSymbolId()] = tick;
+                ticks.add(tick);
+            }
+
+            publish(current, new PriceSnapshot(current.getSequence() + 1, next, ticks));
+        }
+    }
+
+    public void register(Stock stock) {
+        if (stock.getCurrentPrice() == null) return;
+
+        int symbolId = SymbolRegistry.intern(stock.getSymbol());
+        synchronized (publishLock) {
+            publish(snapshot, new PriceTick(
+                    symbolId,
+                    stock.getCompanyName(),
+                    Money.of(stock.getCurrentPrice()),
+                    0,
+                    0,
+                    LocalDateTime.now()
+            ));
+        }
+    }
+
+    public void updatePrice(String symbol, long newPrice) {
+        synchronized (publishLock) {
+            PriceSnapshot current = snapshot;
+            PriceTick previous = current.get(symbol);
+            if (previous == null) return;
+
+            publish(current, nextTick(previous, newPrice, LocalDateTime.now()));
+        }
+    }
+
+    /**
+     * Writes every price that changed since the last flush in one batch.
+     *
+     * @return the number of symbols written
+     */
+    public int flush() {
+        synchronized (flushLock) {
+            List<PriceTick> dirty = new ArrayList<>();
+            for (PriceTick tick : snapshot.getTicks()) {
+                int id = tick.getSymbolId();
+                if (id >= lastFlushed.length || lastFlushed[id] != tick.getPrice()) {
+                    dirty.add(tick);
+                }
+            }
+            if (dirty.isEmpty()) return 0;
+
+            priceWriter.writePrices(dirty);
+            for (PriceTick tick : dirty) {
+                int id = tick.getSymbolId();
+                if (id >= lastFlushed.length) {
+                    int oldLength = lastFlushed.length;
+                    lastFlushed = Arrays.copyOf(lastFlushed, Math.max(id + 1, SymbolRegistry.size()));
+                    Arrays.fill(lastFlushed, oldLength, lastFlushed.length, NEVER_FLUSHED);
+                }
+                lastFlushed[id] = tick.getPrice();
+            }
+            return dirty.size();
+        }
+    }
+
+    // ========== PRIVATE HELPERS ==========
+
+    // Replaces or adds one symbol's tick; called under publishLock
+    private void publish(PriceSnapshot current, PriceTick tick) {
+        int symbolId = tick.getSymbolId();
+        PriceTick[] next = current.copyBySymbolId(symbolId + 1);
+        List<PriceTick> ticks = new ArrayList<>(current.getTicks());
+        if (next[symbolId] == null) {
+            ticks.add(tick);
+        } else {
+            ticks.replaceAll(existing -> existing.getSymbolId() == symbolId ? tick : existing);
+        }
+        next[symbolId] = tick;
+        publish(current, new PriceSnapshot(current.getSequence() + 1, next, ticks));
+    }
+
+    // Called under publishLock so listeners see snapshots in sequence order
+    private void publish(PriceSnapshot previous, PriceSnapshot next) {
+        snapshot = next;
+        for (PriceListener listener : listeners) {
+            try {
+                listener.onSnapshot(previous, next);
+            } catch (RuntimeException e) {
+                log.error("Price listener failed", e);
+            }
+        }
+    }
+
+    private PriceTick nextTick(PriceTick previous, long newPrice, LocalDateTime now) {
+        long oldPrice = previous.getPrice();
+        long price = Math.max(newPrice, MIN_PRICE);
+        long change = price - oldPrice;
+
+        return new PriceTick(
+                previous.getSymbolId(),
+                previous.getCompanyName(),
+                price,
+                change,
+                oldPrice == 0 ? 0 : Money.ratio(change, oldPrice),
+                now
+        );
+    }
+
+    private void safeTick() {
+        try {
+            tick();
+        } catch (RuntimeException e) {
+            log.error("Price tick failed", e);
+        }
+    }
+
+    private void safeFlush() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Price write-behind failed, will retry on next flush", e);
+        }
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
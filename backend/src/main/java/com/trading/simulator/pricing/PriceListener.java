@@ -0,0 +1,16 @@
+package com.trading.simulator.pricing;
+
+/**
+ * Receives every snapshot the {@link PriceEngine} publishes, in order, on the
+ * publishing thread. Implementations must hand work off rather than block, as
+ * the next tick waits for them.
+ */
+@FunctionalInterface
+public interface PriceListener {
+
+    /**
+     * @param previous the snapshot {@code current} replaced; ticks that did not
+     *                 move are the same instance in both
+     */
+    void onSnapshot(PriceSnapshot previous, PriceSnapshot current);
+}
@@ -0,0 +1,51 @@
+package com.trading.simulator.pricing;
+
+import com.trading.simulator.symbol.SymbolRegistry;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable view of every symbol's price after one engine tick. Readers
+ * grab the current snapshot once and get a consistent set of prices.
+ * Ticks are held in an array indexed by {@link SymbolRegistry} id.
+ */
+public final class PriceSnapshot {
+    static final PriceSnapshot EMPTY = new PriceSnapshot(0, new PriceTick[0], List.of());
+
+    private final long sequence;
+    private final PriceTick[] bySymbolId;
+    private final List<PriceTick> ticks;
+
+    // Takes ownership of both; neither may change afterwards
+    PriceSnapshot(long sequence, PriceTick[] bySymbolId, List<PriceTick> ticks) {
+        this.sequence = sequence;
+        this.bySymbolId = bySymbolId;
+        this.ticks = Collections.unmodifiableList(ticks);
+    }
+
+    public long getSequence() { return sequence; }
+
+    public PriceTick get(int symbolId) {
+        return symbolId >= 0 && symbolId < bySymbolId.length ? bySymbolId[symbolId] : null;
+    }
+
+    // Any letter case; resolves through the registry without allocating
+    public PriceTick get(CharSequence symbol) {
+        return get(SymbolRegistry.idOf(symbol));
+    }
+
+    public List<PriceTick> getTicks() {
+        return ticks;
+    }
+
+    public int size() {
+        return ticks.size();
+    }
+
+    // A copy of the id-indexed array, at least minLength long
+    PriceTick[] copyBySymbolId(int minLength) {
+        return Arrays.copyOf(bySymbolId, Math.max(minLength, bySymbolId.length));
+    }
+}
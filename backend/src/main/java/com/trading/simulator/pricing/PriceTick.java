@@ -0,0 +1,45 @@
+package com.trading.simulator.pricing;
+
+import com.trading.simulator.symbol.SymbolRegistry;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable price of one symbol as of a given engine tick. Price and change
+ * are in cents and the change ratio in ten-thousandths; see
+ * {@link com.trading.simulator.money.Money}.
+ */
+public final class PriceTick {
+    private final int symbolId;
+    private final String symbol;
+    private final String companyName;
+    private final long price;
+    private final long change;
+    private final long changeRatio;
+    private final LocalDateTime timestamp;
+
+    public PriceTick(String symbol, String companyName, long price,
+                     long change, long changeRatio, LocalDateTime timestamp) {
+        this(SymbolRegistry.intern(symbol), companyName, price, change, changeRatio, timestamp);
+    }
+
+    PriceTick(int symbolId, String companyName, long price,
+              long change, long changeRatio, LocalDateTime timestamp) {
+        this.symbolId = symbolId;
+        this.symbol = SymbolRegistry.symbolOf(symbolId);
+        this.companyName = companyName;
+        this.price = price;
+        this.change = change;
+        this.changeRatio = changeRatio;
+        this.timestamp = timestamp;
+    }
+
+    // Getters
+    public int getSymbolId() { return symbolId; }
+    public String getSymbol() { return symbol; }
+    public String getCompanyName() { return companyName; }
+    public long getPrice() { return price; }
+    public long getChange() { return change; }
+    public long getChangeRatio() { return changeRatio; }
+    public LocalDateTime getTimestamp() { return timestamp; }
+}
@@ -0,0 +1,33 @@
+package com.trading.simulator.pricing;
+
+import com.trading.simulator.money.Money;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Writes engine prices back to {@code stocks.current_price} as one JDBC batch.
+ */
+@Component
+public class StockPriceWriter {
+
+    private static final String UPDATE_PRICE_SQL =
+            "UPDATE stocks SET current_price = ?, last_updated = ? WHERE symbol = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StockPriceWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void writePrices(List<PriceTick> ticks) {
+        if (ticks.isEmpty()) return;
+        jdbcTemplate.batchUpdate(UPDATE_PRICE_SQL, ticks, ticks.size(), (ps, tick) -> {
+            ps.setBigDecimal(1, Money.toBigDecimal(tick.getPrice()));
+            ps.setTimestamp(2, Timestamp.valueOf(tick.getTimestamp()));
+            ps.setString(3, tick.getSymbol());
+        });
+    }
+}
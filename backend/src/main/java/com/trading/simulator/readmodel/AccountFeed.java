@@ -0,0 +1,128 @@
+package com.trading.simulator.readmodel;
+
+import com.trading.simulator.entity.Portfolio;
+import com.trading.simulator.entity.User;
+import com.trading.simulator.execution.ShardedTradeExecutor;
+import com.trading.simulator.execution.TradeEffect;
+import com.trading.simulator.pricing.PriceEngine;
+import com.trading.simulator.pricing.PriceSnapshot;
+import com.trading.simulator.repository.PortfolioRepository;
+import com.trading.simulator.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Feeds every account to an in-memory view on one thread of its own, for
+ * views such as the leaderboard and the revaluation book that are not
+ * thread-safe.
+ *
+ * <p>Users, balances and open positions are loaded once when the feed
+ * starts. After that, fills are passed on in order and price snapshots are
+ * conflated, since the latest one carries every price. The listeners are
+ * registered before the load, so nothing between the load and the first
+ * update is missed.
+ */
+public class AccountFeed {
+
+    /**
+     * Called on the feed's thread only.
+     */
+    public interface Listener {
+
+        void load(PriceSnapshot prices, List<User> users, List<Portfolio> positions);
+
+        void applyPrices(PriceSnapshot prices);
+
+        void applyFill(TradeEffect effect);
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(AccountFeed.class);
+
+    private final String name;
+    private final PriceEngine priceEngine;
+    private final ShardedTradeExecutor tradeExecutor;
+    private final UserRepository userRepository;
+    private final PortfolioRepository portfolioRepository;
+
+    private final AtomicReference<PriceSnapshot> pendingPrices = new AtomicReference<>();
+    private Listener listener;
+    private ExecutorService updater;
+
+    /**
+     * @param name names the feed's thread and its log lines
+     */
+    public AccountFeed(String name,
+                       PriceEngine priceEngine,
+                       ShardedTradeExecutor tradeExecutor,
+                       UserRepository userRepository,
+                       PortfolioRepository portfolioRepository) {
+        this.name = name;
+        this.priceEngine = priceEngine;
+        this.tradeExecutor = tradeExecutor;
+        this.userRepository = userRepository;
+        this.portfolioRepository = portfolioRepository;
+    }
+
+    public void start(Listener listener) {
+        this.listener = listener;
+        updater = Executors.newSingleThreadExecutor(runnable -> {
+            Thread t = new Thread(runnable, name);
+            t.setDaemon(true);
+            return t;
+        });
+        priceEngine.addListener(this::onSnapshot);
+        tradeExecutor.addFillListener(this::onFill);
+        updater.execute(this::load);
+    }
+
+    public void stop() {
+        if (updater != null) updater.shutdownNow();
+    }
+
+    // ========== PRIVATE HELPERS ==========
+
+    private void load() {
+        long started = System.nanoTime();
+        PriceSnapshot prices = priceEngine.getSnapshot();
+        List<User> users = userRepository.findAll();
+        List<Portfolio> positions = portfolioRepository.findByQuantityGreaterThan(0);
+
+        listener.load(prices, users, positions);
+        log.info("Loaded {} users and {} positions into the {} in {} ms", users.size(), positions.size(), name,
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void onSnapshot(PriceSnapshot previous, PriceSnapshot current) {
+        if (pendingPrices.getAndSet(current) == null && !updater.isShutdown()) {
+            updater.execute(this::applyPrices);
+        }
+    }
+
+    private void applyPrices() {
+        PriceSnapshot prices = pendingPrices.getAndSet(null);
+        if (prices == null) return;
+        try {
+            listener.applyPrices(prices);
+        } catch (RuntimeException e) {
+            log.error("Failed to apply prices to the {}", name, e);
+        }
+    }
+
+    private void onFill(TradeEffect effect) {
+        if (updater.isShutdown()) return;
+        updater.execute(() -> applyFill(effect));
+    }
+
+    private void applyFill(TradeEffect effect) {
+        try {
+            listener.applyFill(effect);
+        } catch (RuntimeException e) {
+            log.error("Failed to apply a fill to the {}", name, e);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.trading.simulator.readmodel;
+
+import com.trading.simulator.entity.Portfolio;
+import com.trading.simulator.entity.Transaction;
+import com.trading.simulator.entity.User;
+import com.trading.simulator.execution.TradeEffect;
+import com.trading.simulator.money.Money;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * One user's balance, open positions and newest transactions at one version.
+ * Immutable: a fill produces a new snapshot, so a reader holding one sees a
+ * consistent account without locking. Amounts are in cents.
+ *
+ * <p>The version is the number of transactions the user has made, counted
+ * from the database at load and advanced by each fill, so it only grows,
+ * restarts included.
+ */
+public final class AccountSnapshot {
+
+    private static final Comparator<Holding> BY_SYMBOL = Comparator.comparing(Holding::getStockSymbol);
+
+    private final Long userId;
+    private final String username;
+    private final String email;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    private final long balance;
+    private final List<Holding> positions;               // by symbol
+    private final List<Transaction> recentTransactions;  // newest first
+    private final long version;
+
+    AccountSnapshot(Long userId, String username, String email, LocalDateTime createdAt, LocalDateTime updatedAt,
+                    long balance, List<Holding> positions, List<Transaction> recentTransactions, long version) {
+        this.userId = userId;
+        this.username = username;
+        this.email = email;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.balance = balance;
+        this.positions = positions;
+        this.recentTransactions = recentTransactions;
+        this.version = version;
+    }
+
+    /**
+     * The snapshot for a user the model does not hold: no cash, no positions.
+     */
+    public static AccountSnapshot empty(Long userId) {
+        return new AccountSnapshot(userId, null, null, null, null, 0, List.of(), List.of(), 0);
+    }
+
+    /**
+     * @param positions          open positions only
+     * @param recentTransactions newest first
+     */
+    static AccountSnapshot of(User user, List<Portfolio> positions, List<Transaction> recentTransactions,
+                              long version) {
+        List<Holding> holdings = new ArrayList<>(positions.size());
+        for (Portfolio position : positions) {
+            holdings.add(Holding.of(position));
+        }
+        holdings.sort(BY_SYMBOL);
+        return new AccountSnapshot(user.getId(), user.getUsername(), user.getEmail(), user.getCreatedAt(),
+                user.getUpdatedAt(), Money.of(user.getBalance()), List.copyOf(holdings),
+                List.copyOf(recentTransactions), version);
+    }
+
+    /**
+     * This account after {@code effect}, keeping at most {@code recentLimit}
+     * transactions. The new transaction has no id until it is written.
+     */
+    AccountSnapshot apply(TradeEffect effect, int recentLimit) {
+        String symbol = effect.getStockSymbol();
+        List<Holding> nextPositions = new ArrayList<>(positions.size() + 1);
+        Long positionId = null;
+        for (Holding holding : positions) {
+            if (holding.getStockSymbol().equals(symbol)) {
+                positionId = holding.getId();
+            } else {
+                nextPositions.add(holding);
+            }
+        }
+        if (effect.getPositionQuantityAfter() > 0) {
+            nextPositions.add(new Holding(positionId, symbol, effect.getPositionQuantityAfter(),
+                    effect.getPositionAveragePriceAfter(), effect.getPositionTotalInvestedAfter(),
+                    effect.getExecutedAt()));
+            nextPositions.sort(BY_SYMBOL);
+        }
+
+        int kept = Math.min(recentTransactions.size(), recentLimit - 1);
+        List<Transaction> nextRecent = new ArrayList<>(kept + 1);
+        nextRecent.add(effect.toTransaction());
+        nextRecent.addAll(recentTransactions.subList(0, kept));
+
+        return new AccountSnapshot(userId, username, email, createdAt, effect.getExecutedAt(),
+                effect.getBalanceAfter(), List.copyOf(nextPositions), List.copyOf(nextRecent), version + 1);
+    }
+
+    public Optional<Holding> getPosition(String stockSymbol) {
+        for (Holding holding : positions) {
+            if (holding.getStockSymbol().equals(stockSymbol)) return Optional.of(holding);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * A detached {@link User} with this snapshot's values.
+     */
+    public User toUser() {
+        User user = new User();
+        user.setId(userId);
+        user.setUsername(username);
+        user.setEmail(email);
+        user.setBalance(Money.toBigDecimal(balance));
+        user.setCreatedAt(createdAt);
+        user.setUpdatedAt(updatedAt);
+        return user;
+    }
+
+    // Getters; the transactions are shared between readers and must not be modified
+    public Long getUserId() { return userId; }
+    public String getUsername() { return username; }
+    public String getEmail() { return email; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public long getBalance() { return balance; }
+    public List<Holding> getPositions() { return positions; }
+    public List<Transaction> getRecentTransactions() { return recentTransactions; }
+    public long getVersion() { return version; }
+}
@@ -0,0 +1,53 @@
+package com.trading.simulator.readmodel;
+
+import com.trading.simulator.entity.Portfolio;
+import com.trading.simulator.money.Money;
+
+import java.time.LocalDateTime;
+
+/**
+ * One open position as the read model holds it. Amounts are in cents.
+ */
+public final class Holding {
+    private final Long id;               // the portfolio row's, or null until a restart or repair loads it
+    private final String stockSymbol;
+    private final int quantity;
+    private final long averagePrice;
+    private final long totalInvested;
+    private final LocalDateTime lastUpdated;
+
+    public Holding(Long id, String stockSymbol, int quantity, long averagePrice, long totalInvested,
+                   LocalDateTime lastUpdated) {
+        this.id = id;
+        this.stockSymbol = stockSymbol;
+        this.quantity = quantity;
+        this.averagePrice = averagePrice;
+        this.totalInvested = totalInvested;
+        this.lastUpdated = lastUpdated;
+    }
+
+    static Holding of(Portfolio portfolio) {
+        return new Holding(portfolio.getId(), portfolio.getStockSymbol(), portfolio.getQuantity(),
+                Money.of(portfolio.getAveragePrice()), Money.of(portfolio.getTotalInvested()),
+                portfolio.getLastUpdated());
+    }
+
+    /**
+     * A detached {@link Portfolio} with this holding's values.
+     */
+    public Portfolio toPortfolio(Long userId) {
+        Portfolio portfolio = new Portfolio(userId, stockSymbol, quantity,
+                Money.toBigDecimal(averagePrice), Money.toBigDecimal(totalInvested));
+        portfolio.setId(id);
+        portfolio.setLastUpdated(lastUpdated);
+        return portfolio;
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public String getStockSymbol() { return stockSymbol; }
+    public int getQuantity() { return quantity; }
+    public long getAveragePrice() { return averagePrice; }
+    public long getTotalInvested() { return totalInvested; }
+    public LocalDateTime getLastUpdated() { return lastUpdated; }
+}
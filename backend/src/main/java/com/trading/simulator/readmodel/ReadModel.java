@@ -0,0 +1,299 @@
+package com.trading.simulator.readmodel;
+
+import com.trading.simulator.dto.TransactionFilter;
+import com.trading.simulator.entity.Portfolio;
+import com.trading.simulator.entity.Transaction;
+import com.trading.simulator.entity.User;
+import com.trading.simulator.execution.ShardedTradeExecutor;
+import com.trading.simulator.execution.TradeEffect;
+import com.trading.simulator.execution.TradePersister;
+import com.trading.simulator.repository.PortfolioRepository;
+import com.trading.simulator.repository.TransactionHistoryRepository;
+import com.trading.simulator.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Every user's balance, open positions and newest transactions in memory, so
+ * account reads never touch the database.
+ *
+ * <p>The model is loaded from the database at startup and then follows the
+ * trade shards: each fill replaces the user's {@link AccountSnapshot} on the
+ * shard thread before the trade returns, so a client reads its own trade
+ * right away, ahead of the write-behind. Each snapshot carries the user's
+ * version; a reader on another connection can ask for at least the version
+ * its write returned and waits up to {@code max-wait-ms} for it.
+ *
+ * <p>A user the model does not hold yet, such as one created after startup,
+ * is loaded on its shard the first time it is read or trades, once the
+ * write-behind has caught up, so the load includes every fill it has made.
+ * Only if that load fails are its fills counted rather than applied, until
+ * the next read or fill loads it or {@link ReadModelChecker} repairs it.
+ */
+@Component
+public class ReadModel {
+
+    public static final String VERSION_HEADER = "X-Read-Model-Version";
+
+    private static final Logger log = LoggerFactory.getLogger(ReadModel.class);
+
+    private final ShardedTradeExecutor tradeExecutor;
+    private final TradePersister persister;
+    private final UserRepository userRepository;
+    private final PortfolioRepository portfolioRepository;
+    private final TransactionHistoryRepository historyRepository;
+    private final int recentPerUser;
+    private final long maxWaitMs;
+
+    private final Map<Long, AccountSnapshot> accounts = new ConcurrentHashMap<>();
+    private final Map<String, Long> idsByUsername = new ConcurrentHashMap<>();
+    // Fills seen for users the model does not hold; a repair restores a user only if its count is unchanged
+    private final Map<Long, Long> missedFills = new ConcurrentHashMap<>();
+
+    private final Object versionLock = new Object();
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    public ReadModel(ShardedTradeExecutor tradeExecutor,
+                     TradePersister persister,
+                     UserRepository userRepository,
+                     PortfolioRepository portfolioRepository,
+                     TransactionHistoryRepository historyRepository,
+                     @Value("${simulator.read-model.recent-transactions:50}") int recentPerUser,
+                     @Value("${simulator.read-model.max-wait-ms:1000}") long maxWaitMs) {
+        this.tradeExecutor = tradeExecutor;
+        this.persister = persister;
+        this.userRepository = userRepository;
+        this.portfolioRepository = portfolioRepository;
+        this.historyRepository = historyRepository;
+        this.recentPerUser = Math.max(1, recentPerUser);
+        this.maxWaitMs = maxWaitMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        // Registered before loading; a user loaded at an older version than a fill already applied keeps the fill
+        tradeExecutor.addFillListener(this::onFill);
+        load();
+    }
+
+    /**
+     * Loads every user from the database, in four statements however many
+     * there are.
+     */
+    public void load() {
+        long started = System.nanoTime();
+        List<User> users = userRepository.findAll();
+        Map<Long, List<Portfolio>> positions = new HashMap<>();
+        for (Portfolio position : portfolioRepository.findByQuantityGreaterThan(0)) {
+            positions.computeIfAbsent(position.getUserId(), id -> new ArrayList<>()).add(position);
+        }
+        Map<Long, List<Transaction>> recent = new HashMap<>();
+        historyRepository.forEachRecent(recentPerUser,
+                transaction -> recent.computeIfAbsent(transaction.getUserId(), id -> new ArrayList<>()).add(transaction));
+        Map<Long, Long> versions = historyRepository.countByUser();
+
+        for (User user : users) {
+            AccountSnapshot loaded = AccountSnapshot.of(user, positions.getOrDefault(user.getId(), List.of()),
+                    recent.getOrDefault(user.getId(), List.of()), versions.getOrDefault(user.getId(), 0L));
+            accounts.merge(user.getId(), loaded,
+                    (current, fresh) -> current.getVersion() > fresh.getVersion() ? current : fresh);
+            index(loaded);
+        }
+        log.info("Read model loaded {} users and {} positions in {} ms", users.size(),
+                positions.values().stream().mapToInt(List::size).sum(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * The user's account if the model holds it, without loading it.
+     */
+    public Optional<AccountSnapshot> get(long userId) {
+        return Optional.ofNullable(accounts.get(userId));
+    }
+
+    /**
+     * The user's account once the model has reached {@code minVersion} for
+     * it, or right away if that is {@code null}. A user the model does not
+     * hold yet is loaded from the database first.
+     *
+     * @throws IllegalStateException if it is not reached within {@code max-wait-ms}
+     */
+    public Optional<AccountSnapshot> get(long userId, Long minVersion) {
+        AccountSnapshot account = accounts.get(userId);
+        if (account == null) {
+            account = tradeExecutor.query(userId, shardAccount -> shardAccount != null ? loadMissing(userId) : null);
+        }
+        if (minVersion == null || reached(account, minVersion)) return Optional.ofNullable(account);
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        waiting.incrementAndGet();
+        try {
+            synchronized (versionLock) {
+                while (!reached(account = accounts.get(userId), minVersion)) {
+                    long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                    if (remaining <= 0) {
+                        throw new IllegalStateException("Version " + minVersion + " of user " + userId
+                                + " is not in the read model yet");
+                    }
+                    versionLock.wait(remaining);
+                }
+            }
+            return Optional.of(account);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for the read model", e);
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    public Optional<AccountSnapshot> findByUsername(String username, Long minVersion) {
+        Long userId = idsByUsername.get(username);
+        if (userId == null) {
+            userId = userRepository.findByUsername(username).map(User::getId).orElse(null);
+        }
+        return userId != null ? get(userId, minVersion) : Optional.empty();
+    }
+
+    /**
+     * Every account, by user id.
+     */
+    public List<AccountSnapshot> getAll() {
+        List<AccountSnapshot> all = new ArrayList<>(accounts.values());
+        all.sort(Comparator.comparing(AccountSnapshot::getUserId));
+        return all;
+    }
+
+    public int size() {
+        return accounts.size();
+    }
+
+    public int getRecentPerUser() {
+        return recentPerUser;
+    }
+
+    void onFill(TradeEffect effect) {
+        AccountSnapshot updated = accounts.computeIfPresent(effect.getUserId(),
+                (userId, current) -> current.apply(effect, recentPerUser));
+        if (updated != null) {
+            notifyWaiters();
+        } else if (loadMissing(effect.getUserId()) == null) {
+            missedFills.merge(effect.getUserId(), 1L, Long::sum);
+        }
+    }
+
+    // ========== REPAIR (see ReadModelChecker) ==========
+
+    Map<Long, AccountSnapshot> copyAccounts() {
+        return new HashMap<>(accounts);
+    }
+
+    Map<Long, Long> copyMissedFills() {
+        return new HashMap<>(missedFills);
+    }
+
+    /**
+     * Replaces {@code expected} unless a fill has replaced it first.
+     */
+    boolean replace(AccountSnapshot expected, AccountSnapshot replacement) {
+        // Snapshots do not override equals, so this compares identity
+        if (!accounts.replace(expected.getUserId(), expected, replacement)) return false;
+        index(replacement);
+        notifyWaiters();
+        return true;
+    }
+
+    /**
+     * Adds a user the model did not hold, unless it has missed a fill since
+     * {@code expectedMissedFills} was read.
+     */
+    boolean restore(AccountSnapshot snapshot, long expectedMissedFills) {
+        boolean[] restored = new boolean[1];
+        accounts.compute(snapshot.getUserId(), (userId, current) -> {
+            if (current != null || missedFills.getOrDefault(userId, 0L) != expectedMissedFills) return current;
+            missedFills.remove(userId);
+            restored[0] = true;
+            return snapshot;
+        });
+        if (!restored[0]) return false;
+        index(snapshot);
+        notifyWaiters();
+        return true;
+    }
+
+    /**
+     * Drops a user the database no longer has, unless a fill has replaced
+     * {@code expected} first.
+     */
+    boolean remove(AccountSnapshot expected) {
+        if (!accounts.remove(expected.getUserId(), expected)) return false;
+        if (expected.getUsername() != null) idsByUsername.remove(expected.getUsername(), expected.getUserId());
+        return true;
+    }
+
+    // ========== PRIVATE HELPERS ==========
+
+    /**
+     * Loads a user the model does not hold. Runs on the user's shard, so no
+     * fill of the user can come in meanwhile; once the write-behind has
+     * written everything handed to it, the database has each one it made.
+     *
+     * @return the user's account, or null if it could not be loaded
+     */
+    private AccountSnapshot loadMissing(Long userId) {
+        try {
+            if (!persister.awaitWritten(persister.getEnqueuedCount(), maxWaitMs)) {
+                log.warn("Trade persister did not catch up within {} ms to load user {}", maxWaitMs, userId);
+                return null;
+            }
+            Optional<User> user = userRepository.findById(userId);
+            if (user.isEmpty()) return null;
+
+            List<Transaction> recent = historyRepository.findPage(
+                    new TransactionFilter(userId, null, null, null, null), null, null, recentPerUser);
+            AccountSnapshot loaded = AccountSnapshot.of(user.get(),
+                    portfolioRepository.findByUserIdAndQuantityGreaterThan(userId, 0), recent,
+                    historyRepository.countForUser(userId));
+            AccountSnapshot current = accounts.merge(userId, loaded,
+                    (existing, fresh) -> existing.getVersion() > fresh.getVersion() ? existing : fresh);
+            missedFills.remove(userId);
+            index(current);
+            notifyWaiters();
+            return current;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (RuntimeException e) {
+            log.warn("Could not load user {} into the read model", userId, e);
+            return null;
+        }
+    }
+
+    private void index(AccountSnapshot account) {
+        if (account.getUsername() != null) idsByUsername.put(account.getUsername(), account.getUserId());
+    }
+
+    // Waiters check under versionLock, so a change made before this cannot be missed
+    private void notifyWaiters() {
+        if (waiting.get() == 0) return;
+        synchronized (versionLock) {
+            versionLock.notifyAll();
+        }
+    }
+
+    private static boolean reached(AccountSnapshot account, long minVersion) {
+        return account != null && account.getVersion() >= minVersion;
+    }
+}
@@ -0,0 +1,196 @@
+package com.trading.simulator.readmodel;
+
+import com.trading.simulator.dto.ReadModelMismatch;
+import com.trading.simulator.dto.ReadModelReport;
+import com.trading.simulator.dto.TransactionFilter;
+import com.trading.simulator.entity.Portfolio;
+import com.trading.simulator.entity.Transaction;
+import com.trading.simulator.entity.User;
+import com.trading.simulator.execution.TradePersister;
+import com.trading.simulator.money.Money;
+import com.trading.simulator.repository.PortfolioRepository;
+import com.trading.simulator.repository.TransactionHistoryRepository;
+import com.trading.simulator.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Diffs the {@link ReadModel} against the database, and optionally repairs it.
+ *
+ * <p>The database runs behind the model by the write-behind queue, so the
+ * check first captures the model, then waits until the {@link TradePersister}
+ * has written every fill enqueued by then, and only then reads the database.
+ * A user whose snapshot changed in the meantime traded during the check and
+ * is skipped; every other user must match exactly: balance, each open
+ * position, and version against the user's transaction count.
+ */
+@Component
+public class ReadModelChecker {
+
+    private final ReadModel readModel;
+    private final TradePersister persister;
+    private final UserRepository userRepository;
+    private final PortfolioRepository portfolioRepository;
+    private final TransactionHistoryRepository historyRepository;
+    private final long persistTimeoutMs;
+    private final int maxReported;
+
+    public ReadModelChecker(ReadModel readModel,
+                            TradePersister persister,
+                            UserRepository userRepository,
+                            PortfolioRepository portfolioRepository,
+                            TransactionHistoryRepository historyRepository,
+                            @Value("${simulator.read-model.check-timeout-ms:10000}") long persistTimeoutMs,
+                            @Value("${simulator.read-model.max-reported-mismatches:100}") int maxReported) {
+        this.readModel = readModel;
+        this.persister = persister;
+        this.userRepository = userRepository;
+        this.portfolioRepository = portfolioRepository;
+        this.historyRepository = historyRepository;
+        this.persistTimeoutMs = persistTimeoutMs;
+        this.maxReported = maxReported;
+    }
+
+    /**
+     * Compares every user; with {@code repair}, reloads each one that differs
+     * from the database, adds users the model is missing and drops users the
+     * database no longer has, unless a fill overtook the repair.
+     *
+     * @throws IllegalStateException if the write-behind does not catch up
+     *                               within {@code check-timeout-ms}
+     */
+    public ReadModelReport check(boolean repair) {
+        long started = System.nanoTime();
+        Map<Long, AccountSnapshot> modelled = readModel.copyAccounts();
+        Map<Long, Long> missedFills = readModel.copyMissedFills();
+        awaitPersisted(persister.getEnqueuedCount());
+
+        List<User> users = userRepository.findAll();
+        Map<Long, List<Portfolio>> positions = new HashMap<>();
+        for (Portfolio position : portfolioRepository.findByQuantityGreaterThan(0)) {
+            positions.computeIfAbsent(position.getUserId(), id -> new ArrayList<>()).add(position);
+        }
+        Map<Long, Long> versions = historyRepository.countByUser();
+
+        List<ReadModelMismatch> reported = new ArrayList<>();
+        Set<Long> inDatabase = new HashSet<>();
+        int checked = 0;
+        int skipped = 0;
+        int mismatched = 0;
+        int repaired = 0;
+
+        for (User user : users) {
+            inDatabase.add(user.getId());
+            AccountSnapshot account = modelled.get(user.getId());
+            if (readModel.get(user.getId()).orElse(null) != account) {
+                skipped++;
+                continue;
+            }
+            checked++;
+
+            List<Portfolio> userPositions = positions.getOrDefault(user.getId(), List.of());
+            long version = versions.getOrDefault(user.getId(), 0L);
+            List<ReadModelMismatch> found = diff(user, userPositions, version, account);
+            if (found.isEmpty()) continue;
+
+            mismatched++;
+            report(reported, found);
+            if (repair && repair(user, userPositions, version, account, missedFills.getOrDefault(user.getId(), 0L))) {
+                repaired++;
+            }
+        }
+
+        for (AccountSnapshot account : modelled.values()) {
+            if (inDatabase.contains(account.getUserId())) continue;
+            checked++;
+            mismatched++;
+            report(reported, List.of(new ReadModelMismatch(account.getUserId(), "user", "missing", "present")));
+            if (repair && readModel.remove(account)) repaired++;
+        }
+
+        return new ReadModelReport(checked, skipped, mismatched, repaired, reported, LocalDateTime.now(),
+                (System.nanoTime() - started) / 1e6);
+    }
+
+    // ========== PRIVATE HELPERS ==========
+
+    private void awaitPersisted(long enqueued) {
+        try {
+            if (!persister.awaitWritten(enqueued, persistTimeoutMs)) {
+                throw new IllegalStateException("Trade persister did not catch up within " + persistTimeoutMs + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for the trade persister", e);
+        }
+    }
+
+    private static List<ReadModelMismatch> diff(User user, List<Portfolio> positions, long version,
+                                                AccountSnapshot account) {
+        Long userId = user.getId();
+        if (account == null) {
+            return List.of(new ReadModelMismatch(userId, "user", "present", "missing"));
+        }
+
+        List<ReadModelMismatch> found = new ArrayList<>();
+        long balance = Money.of(user.getBalance());
+        if (balance != account.getBalance()) {
+            found.add(new ReadModelMismatch(userId, "balance",
+                    Money.toBigDecimal(balance).toPlainString(), Money.toBigDecimal(account.getBalance()).toPlainString()));
+        }
+        if (version != account.getVersion()) {
+            found.add(new ReadModelMismatch(userId, "version", Long.toString(version),
+                    Long.toString(account.getVersion())));
+        }
+
+        Map<String, String> stored = new HashMap<>();
+        for (Portfolio position : positions) {
+            stored.put(position.getStockSymbol(), describe(position.getQuantity(),
+                    Money.of(position.getAveragePrice()), Money.of(position.getTotalInvested())));
+        }
+        Map<String, String> held = new HashMap<>();
+        for (Holding holding : account.getPositions()) {
+            held.put(holding.getStockSymbol(),
+                    describe(holding.getQuantity(), holding.getAveragePrice(), holding.getTotalInvested()));
+        }
+        Set<String> symbols = new TreeSet<>(stored.keySet());
+        symbols.addAll(held.keySet());
+        for (String symbol : symbols) {
+            String database = stored.getOrDefault(symbol, "none");
+            String model = held.getOrDefault(symbol, "none");
+            if (!database.equals(model)) {
+                found.add(new ReadModelMismatch(userId, "position " + symbol, database, model));
+            }
+        }
+        return found;
+    }
+
+    private static String describe(int quantity, long averagePrice, long totalInvested) {
+        return quantity + " @ " + Money.toBigDecimal(averagePrice).toPlainString()
+                + ", invested " + Money.toBigDecimal(totalInvested).toPlainString();
+    }
+
+    private void report(List<ReadModelMismatch> reported, List<ReadModelMismatch> found) {
+        for (ReadModelMismatch mismatch : found) {
+            if (reported.size() >= maxReported) return;
+            reported.add(mismatch);
+        }
+    }
+
+    private boolean repair(User user, List<Portfolio> positions, long version, AccountSnapshot account,
+                           long missedFills) {
+        List<Transaction> recent = historyRepository.findPage(
+                new TransactionFilter(user.getId(), null, null, null, null), null, null, readModel.getRecentPerUser());
+        AccountSnapshot loaded = AccountSnapshot.of(user, positions, recent, version);
+        return account != null ? readModel.replace(account, loaded) : readModel.restore(loaded, missedFills);
+    }
+}
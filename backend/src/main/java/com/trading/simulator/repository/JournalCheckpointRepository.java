@@ -0,0 +1,7 @@
+package com.trading.simulator.repository;
+
+import com.trading.simulator.entity.JournalCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface JournalCheckpointRepository extends JpaRepository<JournalCheckpoint, Integer> {
+}
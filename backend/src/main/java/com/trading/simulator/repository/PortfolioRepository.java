@@ -1,8 +1,12 @@
 package com.trading.simulator.repository;
 
+import com.trading.simulator.dto.PortfolioPosition;
 import com.trading.simulator.entity.Portfolio;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,4 +16,14 @@ public interface PortfolioRepository extends JpaRepository<Portfolio, Long> {
     Optional<Portfolio> findByUserIdAndStockSymbol(Long userId, String stockSymbol);
     
     List<Portfolio> findByUserIdAndQuantityGreaterThan(Long userId, Integer quantity);
-}
\ No newline at end of file
+
+    List<Portfolio> findByUserIdIn(Collection<Long> userIds);
+
+    List<Portfolio> findByQuantityGreaterThan(Integer quantity);
+
+    @Query("SELECT new com.trading.simulator.dto.PortfolioPosition(" +
+           "p.stockSymbol, s.companyName, p.quantity, p.averagePrice, p.totalInvested, s.currentPrice) " +
+           "FROM Portfolio p JOIN Stock s ON s.symbol = p.stockSymbol " +
+           "WHERE p.userId = :userId AND p.quantity > 0")
+    List<PortfolioPosition> findOpenPositions(@Param("userId") Long userId);
+}
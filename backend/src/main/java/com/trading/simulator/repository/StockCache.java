@@ -0,0 +1,156 @@
+package com.trading.simulator.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.trading.simulator.entity.Stock;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Bounded cache of stock reference data in front of {@link StockRepository}.
+ *
+ * <p>Symbols are cached with their lookup result, so unknown symbols are
+ * answered from memory too. The full list is cached separately and warms the
+ * symbol entries when it loads. Writers go to the repository and then call
+ * {@link #invalidate(String)}; an invalidation waits for a load of the same
+ * key in flight, so a load that read the old row never outlives it. Entries
+ * also expire after {@code expire-after-write-ms} to pick up rows written
+ * behind the application's back.
+ *
+ * <p>Cached entities are shared between callers and must not be modified.
+ * Their {@code currentPrice} is the price when the row was loaded; the live
+ * price comes from the price engine.
+ */
+@Component
+public class StockCache {
+
+    private static final String ALL = "*";
+
+    private final StockRepository stockRepository;
+    private final LoadingCache<String, Optional<Stock>> bySymbol;
+    private final Cache<String, List<Stock>> all;
+
+    @Autowired
+    public StockCache(StockRepository stockRepository,
+                      ObjectProvider<MeterRegistry> registry,
+                      @Value("${simulator.stock-cache.maximum-size:10000}") long maximumSize,
+                      @Value("${simulator.stock-cache.expire-after-write-ms:600000}") long expireAfterWriteMs) {
+        this(stockRepository, registry.getIfAvailable(SimpleMeterRegistry::new), maximumSize, expireAfterWriteMs);
+    }
+
+    public StockCache(StockRepository stockRepository, MeterRegistry registry,
+                      long maximumSize, long expireAfterWriteMs) {
+        this.stockRepository = stockRepository;
+        Duration expiry = Duration.ofMillis(expireAfterWriteMs);
+        // Maintenance and evictions run on the calling thread rather than the common pool
+        this.bySymbol = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expiry)
+                .executor(Runnable::run)
+                .recordStats()
+                .build(new SymbolLoader());
+        this.all = Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(expiry)
+                .executor(Runnable::run)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, bySymbol, "stocks.symbol");
+        CaffeineCacheMetrics.monitor(registry, all, "stocks.all");
+    }
+
+    public Optional<Stock> findBySymbol(String symbol) {
+        return bySymbol.get(symbol);
+    }
+
+    public boolean existsBySymbol(String symbol) {
+        return findBySymbol(symbol).isPresent();
+    }
+
+    /**
+     * The stocks among {@code symbols} that exist, by symbol, with one query
+     * for whichever of them are not cached.
+     */
+    public Map<String, Stock> findBySymbolIn(Collection<String> symbols) {
+        Map<String, Stock> stocks = new HashMap<>();
+        bySymbol.getAll(symbols).forEach((symbol, stock) -> stock.ifPresent(s -> stocks.put(symbol, s)));
+        return stocks;
+    }
+
+    public List<Stock> findAll() {
+        return all.get(ALL, key -> {
+            List<Stock> stocks = List.copyOf(stockRepository.findAll());
+            for (Stock stock : stocks) {
+                bySymbol.put(stock.getSymbol(), Optional.of(stock));
+            }
+            return stocks;
+        });
+    }
+
+    /**
+     * Drops {@code symbol} and the full list; call it after the row is written.
+     */
+    public void invalidate(String symbol) {
+        // The list first: it waits out a findAll in flight, which may still be putting old rows
+        all.invalidate(ALL);
+        bySymbol.invalidate(symbol);
+    }
+
+    public void invalidateAll() {
+        all.invalidate(ALL);
+        bySymbol.invalidateAll();
+    }
+
+    public CacheStats getSymbolStats() {
+        return bySymbol.stats();
+    }
+
+    public CacheStats getAllStats() {
+        return all.stats();
+    }
+
+    // Runs pending evictions now; the cache otherwise does it on later reads and writes
+    void cleanUp() {
+        bySymbol.cleanUp();
+        all.cleanUp();
+    }
+
+    // ========== PRIVATE HELPERS ==========
+
+    private final class SymbolLoader implements CacheLoader<String, Optional<Stock>> {
+
+        @Override
+        public Optional<Stock> load(String symbol) {
+            return stockRepository.findBySymbol(symbol);
+        }
+
+        // Symbols with no row are cached as absent, so a batch naming them does not query again
+        @Override
+        public Map<String, Optional<Stock>> loadAll(Set<? extends String> symbols) {
+            Map<String, Optional<Stock>> loaded = new HashMap<>();
+            for (String symbol : symbols) {
+                loaded.put(symbol, Optional.empty());
+            }
+            for (Stock stock : stockRepository.findBySymbolIn(List.copyOf(symbols))) {
+                loaded.put(stock.getSymbol(), Optional.of(stock));
+            }
+            return loaded;
+        }
+    }
+}
@@ -3,9 +3,12 @@ package com.trading.simulator.repository;
 import com.trading.simulator.entity.Stock;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface StockRepository extends JpaRepository<Stock, Long> {
     Optional<Stock> findBySymbol(String symbol);
     boolean existsBySymbol(String symbol);
+    List<Stock> findBySymbolIn(Collection<String> symbols);
 }
\ No newline at end of file
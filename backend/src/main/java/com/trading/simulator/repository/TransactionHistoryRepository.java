@@ -0,0 +1,144 @@
+package com.trading.simulator.repository;
+
+import com.trading.simulator.dto.TransactionFilter;
+import com.trading.simulator.entity.Transaction;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Reads transaction history newest first by {@code (transaction_date, id)}
+ * with plain JDBC. Pages continue from a key rather than an offset, so every
+ * page is a short range scan of {@code idx_transactions_user_date} (or the
+ * per-symbol index) however deep into the history it is. Only the filters
+ * that are set go into the SQL, so each combination gets its own plan.
+ */
+@Repository
+public class TransactionHistoryRepository {
+
+    private static final String COLUMNS =
+            "SELECT id, user_id, stock_symbol, transaction_type, quantity, price_per_share, total_amount, " +
+            "transaction_date FROM transactions";
+    private static final String ORDER = " ORDER BY transaction_date DESC, id DESC";
+
+    private static final RowMapper<Transaction> ROW_MAPPER = (rs, rowNum) -> {
+        Transaction transaction = new Transaction();
+        transaction.setId(rs.getLong(1));
+        transaction.setUserId(rs.getLong(2));
+        transaction.setStockSymbol(rs.getString(3));
+        transaction.setTransactionType(rs.getString(4));
+        transaction.setQuantity(rs.getInt(5));
+        transaction.setPricePerShare(rs.getBigDecimal(6));
+        transaction.setTotalAmount(rs.getBigDecimal(7));
+        transaction.setTransactionDate(rs.getTimestamp(8).toLocalDateTime());
+        return transaction;
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TransactionHistoryRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Up to {@code limit} transactions strictly older than the key
+     * {@code (beforeDate, beforeId)}, or the newest ones if it is {@code null}.
+     */
+    public List<Transaction> findPage(TransactionFilter filter, LocalDateTime beforeDate, Long beforeId, int limit) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = where(filter, args);
+        if (beforeDate != null) {
+            // A row comparison is a single index range bound, unlike the equivalent OR
+            sql.append(" AND (transaction_date, id) < (?, ?)");
+            args.add(Timestamp.valueOf(beforeDate));
+            args.add(beforeId);
+        }
+        sql.append(ORDER).append(" LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), ROW_MAPPER, args.toArray());
+    }
+
+    /**
+     * Hands every matching transaction to {@code action} as it is read,
+     * fetching {@code fetchSize} rows at a time. Run it inside a transaction:
+     * PostgreSQL only streams with auto-commit off, and otherwise loads the
+     * whole result before the first row.
+     */
+    public void forEach(TransactionFilter filter, int fetchSize, Consumer<Transaction> action) {
+        List<Object> args = new ArrayList<>();
+        String sql = where(filter, args).append(ORDER).toString();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setFetchSize(fetchSize);
+            for (int i = 0; i < args.size(); i++) {
+                statement.setObject(i + 1, args.get(i));
+            }
+            return statement;
+        }, (RowCallbackHandler) rs -> action.accept(ROW_MAPPER.mapRow(rs, rs.getRow())));
+    }
+
+    /**
+     * Hands each user's newest {@code perUser} transactions to {@code action},
+     * grouped by user and newest first within a user, in one statement.
+     */
+    public void forEachRecent(int perUser, Consumer<Transaction> action) {
+        String sql = "SELECT id, user_id, stock_symbol, transaction_type, quantity, price_per_share, total_amount, " +
+                "transaction_date FROM (SELECT t.*, ROW_NUMBER() OVER (PARTITION BY user_id " +
+                "ORDER BY transaction_date DESC, id DESC) AS rn FROM transactions t) ranked " +
+                "WHERE rn <= ? ORDER BY user_id, transaction_date DESC, id DESC";
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs -> action.accept(ROW_MAPPER.mapRow(rs, rs.getRow())), perUser);
+    }
+
+    /**
+     * Transactions per user, for users that have any.
+     */
+    public Map<Long, Long> countByUser() {
+        Map<Long, Long> counts = new HashMap<>();
+        jdbcTemplate.query("SELECT user_id, COUNT(*) FROM transactions GROUP BY user_id",
+                (RowCallbackHandler) rs -> counts.put(rs.getLong(1), rs.getLong(2)));
+        return counts;
+    }
+
+    /**
+     * Transactions of one user.
+     */
+    public long countForUser(Long userId) {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions WHERE user_id = ?", Long.class,
+                userId);
+        return count != null ? count : 0;
+    }
+
+    // ========== PRIVATE HELPERS ==========
+
+    private static StringBuilder where(TransactionFilter filter, List<Object> args) {
+        StringBuilder sql = new StringBuilder(COLUMNS).append(" WHERE user_id = ?");
+        args.add(filter.getUserId());
+        if (filter.getStockSymbol() != null) {
+            sql.append(" AND stock_symbol = ?");
+            args.add(filter.getStockSymbol());
+        }
+        if (filter.getTransactionType() != null) {
+            sql.append(" AND transaction_type = ?");
+            args.add(filter.getTransactionType());
+        }
+        if (filter.getFrom() != null) {
+            sql.append(" AND transaction_date >= ?");
+            args.add(Timestamp.valueOf(filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            sql.append(" AND transaction_date < ?");
+            args.add(Timestamp.valueOf(filter.getTo()));
+        }
+        return sql;
+    }
+}
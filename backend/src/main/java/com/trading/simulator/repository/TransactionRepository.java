@@ -8,8 +8,6 @@ import java.util.List;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
-    List<Transaction> findByUserIdOrderByTransactionDateDesc(Long userId);
-    
     List<Transaction> findByUserIdAndStockSymbolOrderByTransactionDateDesc(Long userId, String stockSymbol);
     
 }
\ No newline at end of file
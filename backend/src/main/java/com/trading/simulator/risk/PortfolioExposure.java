@@ -0,0 +1,29 @@
+package com.trading.simulator.risk;
+
+/**
+ * What the risk engine needs to know about a portfolio, one entry per
+ * position: its market value, the daily volatility of its log return, and
+ * the correlation of that return with the market factor.
+ */
+public record PortfolioExposure(double[] values, double[] volatilities, double[] loadings) {
+
+    public PortfolioExposure {
+        if (values.length != volatilities.length || values.length != loadings.length) {
+            throw new IllegalArgumentException("Values, volatilities and loadings must have one entry per position");
+        }
+        for (int i = 0; i < values.length; i++) {
+            if (volatilities[i] < 0) throw new IllegalArgumentException("Volatility must not be negative");
+            if (loadings[i] < -1 || loadings[i] > 1) throw new IllegalArgumentException("Loading must be in [-1, 1]");
+        }
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    public double totalValue() {
+        double total = 0;
+        for (double value : values) total += value;
+        return total;
+    }
+}
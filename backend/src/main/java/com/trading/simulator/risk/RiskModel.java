@@ -0,0 +1,106 @@
+package com.trading.simulator.risk;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Daily volatility and market correlation per symbol, estimated from a
+ * window of recent closes of every symbol at one interval.
+ *
+ * <p>The market factor is the equal-weighted mean log return of all symbols
+ * over each interval. A symbol's volatility is the standard deviation of its
+ * log returns scaled up by {@code sqrt(periodsPerDay)}, and its loading the
+ * correlation of those returns with the market's. Symbols with fewer than
+ * {@code minReturns} returns, or none at all, get the defaults.
+ */
+public final class RiskModel {
+
+    private final Map<String, double[]> estimates; // symbol -> {volatility, loading}
+    private final double defaultVolatility;
+    private final double defaultLoading;
+
+    private RiskModel(Map<String, double[]> estimates, double defaultVolatility, double defaultLoading) {
+        this.estimates = estimates;
+        this.defaultVolatility = defaultVolatility;
+        this.defaultLoading = defaultLoading;
+    }
+
+    public static RiskModel defaults(double volatility, double loading) {
+        return new RiskModel(Map.of(), volatility, loading);
+    }
+
+    /**
+     * @param closes closes by symbol, oldest first, all on the same interval
+     *               boundaries; a shorter series is taken to end where the
+     *               others do
+     */
+    public static RiskModel estimate(Map<String, long[]> closes, double periodsPerDay, int minReturns,
+                                     double defaultVolatility, double defaultLoading) {
+        int window = 0;
+        for (long[] series : closes.values()) window = Math.max(window, series.length - 1);
+
+        // Returns aligned to the end of the window; NaN where a symbol has none
+        Map<String, double[]> returns = new HashMap<>();
+        double[] marketSum = new double[window];
+        int[] marketCount = new int[window];
+        for (Map.Entry<String, long[]> entry : closes.entrySet()) {
+            long[] series = entry.getValue();
+            double[] aligned = new double[window];
+            int offset = window - (series.length - 1);
+            for (int t = 0; t < window; t++) {
+                int i = t - offset;
+                if (i < 0 || series[i] <= 0 || series[i + 1] <= 0) {
+                    aligned[t] = Double.NaN;
+                    continue;
+                }
+                aligned[t] = Math.log((double) series[i + 1] / series[i]);
+                marketSum[t] += aligned[t];
+                marketCount[t]++;
+            }
+            returns.put(entry.getKey(), aligned);
+        }
+
+        Map<String, double[]> estimates = new HashMap<>();
+        for (Map.Entry<String, double[]> entry : returns.entrySet()) {
+            double[] own = entry.getValue();
+            int n = 0;
+            double sumX = 0, sumY = 0, sumXX = 0, sumYY = 0, sumXY = 0;
+            for (int t = 0; t < window; t++) {
+                if (Double.isNaN(own[t])) continue;
+                double x = own[t];
+                double y = marketSum[t] / marketCount[t];
+                n++;
+                sumX += x;
+                sumY += y;
+                sumXX += x * x;
+                sumYY += y * y;
+                sumXY += x * y;
+            }
+            if (n < Math.max(2, minReturns)) continue;
+
+            double varianceX = (sumXX - sumX * sumX / n) / (n - 1);
+            double varianceY = (sumYY - sumY * sumY / n) / (n - 1);
+            double covariance = (sumXY - sumX * sumY / n) / (n - 1);
+            double volatility = Math.sqrt(Math.max(0, varianceX) * periodsPerDay);
+            double loading = varianceX > 0 && varianceY > 0
+                    ? Math.max(-1, Math.min(1, covariance / Math.sqrt(varianceX * varianceY)))
+                    : defaultLoading;
+            estimates.put(entry.getKey(), new double[]{volatility, loading});
+        }
+        return new RiskModel(estimates, defaultVolatility, defaultLoading);
+    }
+
+    public double volatility(String symbol) {
+        double[] estimate = estimates.get(symbol);
+        return estimate != null ? estimate[0] : defaultVolatility;
+    }
+
+    public double loading(String symbol) {
+        double[] estimate = estimates.get(symbol);
+        return estimate != null ? estimate[1] : defaultLoading;
+    }
+
+    public int getEstimatedSymbols() {
+        return estimates.size();
+    }
+}
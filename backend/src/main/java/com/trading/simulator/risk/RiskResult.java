@@ -0,0 +1,10 @@
+package com.trading.simulator.risk;
+
+/**
+ * Loss figures of one simulation, as positive amounts in the currency of
+ * the exposure values: value-at-risk is the loss not exceeded on 95% or 99%
+ * of paths, expected shortfall the mean loss beyond it.
+ */
+public record RiskResult(int paths, double meanProfitLoss, double valueAtRisk95, double valueAtRisk99,
+                         double expectedShortfall95, double expectedShortfall99) {
+}
@@ -0,0 +1,99 @@
+package com.trading.simulator.service;
+
+import com.trading.simulator.backtest.BacktestEngine;
+import com.trading.simulator.backtest.BacktestJob;
+import com.trading.simulator.backtest.BacktestResult;
+import com.trading.simulator.backtest.BarSeries;
+import com.trading.simulator.backtest.BuyAndHold;
+import com.trading.simulator.backtest.HistoricalBars;
+import com.trading.simulator.backtest.MovingAverageCrossover;
+import com.trading.simulator.backtest.StrategyFactory;
+import com.trading.simulator.dto.BacktestRequest;
+import com.trading.simulator.money.Money;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Path;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Replays the bar history under {@code simulator.backtest.data-directory}
+ * against the built-in strategies, running every parameter combination of a
+ * request in parallel.
+ */
+@Service
+public class BacktestService {
+
+    private static final Map<String, StrategyFactory> STRATEGIES = Map.of(
+            "buy-and-hold", parameters -> new BuyAndHold(),
+            "sma-crossover", MovingAverageCrossover::of);
+
+    private final HistoricalBars history;
+    private final BacktestEngine engine;
+    private final int maxJobs;
+
+    public BacktestService(@Value("${simulator.backtest.data-directory:data/history}") String dataDirectory,
+                           @Value("${simulator.backtest.parallelism:0}") int parallelism,
+                           @Value("${simulator.backtest.max-jobs:1000}") int maxJobs) {
+        this.history = new HistoricalBars(Path.of(dataDirectory));
+        this.engine = new BacktestEngine(parallelism);
+        this.maxJobs = maxJobs;
+    }
+
+    @PreDestroy
+    public void stop() {
+        engine.close();
+    }
+
+    public Set<String> getAvailableSymbols() {
+        return history.getSymbols();
+    }
+
+    public Set<String> getStrategies() {
+        return STRATEGIES.keySet();
+    }
+
+    /**
+     * Runs the request and returns one result per parameter combination, best
+     * return first.
+     *
+     * @throws IllegalArgumentException for an unknown strategy or symbol, bad
+     *                                  parameters or too many combinations
+     */
+    public List<BacktestResult> run(BacktestRequest request) {
+        StrategyFactory factory = STRATEGIES.get(request.getStrategy().toLowerCase());
+        if (factory == null) {
+            throw new IllegalArgumentException("Unknown strategy " + request.getStrategy()
+                    + ". Must be one of " + STRATEGIES.keySet());
+        }
+        List<BacktestJob> jobs = BacktestJob.grid(request.getStrategy().toLowerCase(), factory,
+                request.getParameters() != null ? request.getParameters() : Map.of());
+        if (jobs.size() > maxJobs) {
+            throw new IllegalArgumentException(jobs.size() + " parameter combinations; the limit is " + maxJobs);
+        }
+        for (BacktestJob job : jobs) {
+            factory.create(job.parameters()); // rejects bad parameters before anything runs
+        }
+
+        List<BarSeries> universe = new ArrayList<>(request.getSymbols().size());
+        for (String symbol : request.getSymbols()) {
+            universe.add(history.get(symbol));
+        }
+        long from = request.getFrom() != null ? request.getFrom().toEpochSecond(ZoneOffset.UTC) : Long.MIN_VALUE;
+        long to = request.getTo() != null ? request.getTo().toEpochSecond(ZoneOffset.UTC) : Long.MAX_VALUE;
+        if (from >= to) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+
+        List<BacktestResult> results = new ArrayList<>(
+                engine.run(universe, jobs, Money.of(request.getInitialCash()), from, to));
+        results.sort(Comparator.comparing(BacktestResult::returnPercent).reversed());
+        return results;
+    }
+}
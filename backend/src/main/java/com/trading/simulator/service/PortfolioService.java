@@ -1,110 +1,177 @@
 package com.trading.simulator.service;
 
+import com.trading.simulator.dto.PortfolioDashboard;
 import com.trading.simulator.dto.PortfolioSummary;
-import com.trading.simulator.dto.StockQuote;
 import com.trading.simulator.entity.Portfolio;
 import com.trading.simulator.entity.Stock;
-import com.trading.simulator.repository.PortfolioRepository;
-import com.trading.simulator.repository.StockRepository;
+import com.trading.simulator.entity.Transaction;
+import com.trading.simulator.metrics.HotPathMetrics;
+import com.trading.simulator.metrics.HotPathMetrics.Operation;
+import com.trading.simulator.money.Money;
+import com.trading.simulator.pricing.PriceEngine;
+import com.trading.simulator.pricing.PriceSnapshot;
+import com.trading.simulator.pricing.PriceTick;
+import com.trading.simulator.readmodel.AccountSnapshot;
+import com.trading.simulator.readmodel.Holding;
+import com.trading.simulator.readmodel.ReadModel;
+import com.trading.simulator.repository.StockCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
+/**
+ * Portfolio reads, served from the {@link ReadModel} and valued at the price
+ * engine's snapshot, so none of them touches the database. Each view is
+ * built from one {@link AccountSnapshot}, which callers can fetch once and
+ * reuse to report its version alongside.
+ */
 @Service
 public class PortfolioService {
 
     @Autowired
-    private PortfolioRepository portfolioRepository;
+    private ReadModel readModel;
 
     @Autowired
-    private StockRepository stockRepository;
+    private StockCache stockCache;
 
     @Autowired
-    private StockService stockService;
+    private PriceEngine priceEngine;
 
-    public List<PortfolioSummary> getUserPortfolio(Long userId) {
-        List<Portfolio> portfolios = portfolioRepository.findByUserIdAndQuantityGreaterThan(userId, 0);
-        List<PortfolioSummary> summaries = new ArrayList<>();
-
-        for (Portfolio portfolio : portfolios) {
-            stockRepository.findBySymbol(portfolio.getStockSymbol()).ifPresent(stock -> {
-                StockQuote quote = stockService.getStockQuote(stock.getSymbol());
-                PortfolioSummary summary = buildPortfolioSummary(portfolio, stock, quote);
-                summaries.add(summary);
-            });
+    @Autowired
+    private HotPathMetrics metrics;
+
+    /**
+     * The user's account, once the model has reached {@code minVersion} if it
+     * is given. A user the model does not hold has an empty account.
+     *
+     * @throws IllegalStateException if the version is not reached in time
+     */
+    public AccountSnapshot getAccount(Long userId, Long minVersion) {
+        return readModel.get(userId, minVersion).orElseGet(() -> AccountSnapshot.empty(userId));
+    }
+
+    public PortfolioDashboard getDashboard(Long userId) {
+        return getDashboard(getAccount(userId, null));
+    }
+
+    // One account snapshot for all positions, one price snapshot for all symbols, one pass for rows and totals.
+    // Math is in cents; BigDecimals are only built for the response.
+    public PortfolioDashboard getDashboard(AccountSnapshot account) {
+        List<Holding> positions = account.getPositions();
+        PriceSnapshot prices = priceEngine.getSnapshot();
+        List<PortfolioSummary> summaries = new ArrayList<>(positions.size());
+        long totalValue = 0;
+        long totalInvested = 0;
+
+        for (Holding position : positions) {
+            PriceTick tick = prices.get(position.getStockSymbol());
+            Stock stock = tick == null ? stockCache.findBySymbol(position.getStockSymbol()).orElse(null) : null;
+            long price = getCurrentPrice(tick, stock, position);
+            long currentValue = Money.times(price, position.getQuantity());
+            summaries.add(buildPortfolioSummary(position, tick != null ? tick.getCompanyName() : getCompanyName(stock),
+                    price, currentValue));
+            totalValue += currentValue;
+            totalInvested += position.getTotalInvested();
         }
 
-        return summaries;
+        long totalGainLoss = totalValue - totalInvested;
+
+        return new PortfolioDashboard(
+                account.getUserId(),
+                summaries,
+                Money.toBigDecimal(totalValue),
+                Money.toBigDecimal(totalInvested),
+                Money.toBigDecimal(totalGainLoss),
+                calculateGainLossPercent(totalInvested, totalGainLoss),
+                prices.getSequence()
+        );
+    }
+
+    public List<PortfolioSummary> getUserPortfolio(Long userId) {
+        return getUserPortfolio(getAccount(userId, null));
     }
 
-    public BigDecimal getTotalPortfolioValue(Long userId) {
-        return getUserPortfolio(userId).stream()
-                .map(PortfolioSummary::getCurrentValue)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    public List<PortfolioSummary> getUserPortfolio(AccountSnapshot account) {
+        return metrics.record(Operation.USER_PORTFOLIO, () -> getDashboard(account).getPositions());
     }
 
-    public BigDecimal getTotalGainLoss(Long userId) {
-        return getUserPortfolio(userId).stream()
-                .map(PortfolioSummary::getGainLoss)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    public BigDecimal getTotalPortfolioValue(AccountSnapshot account) {
+        return getDashboard(account).getTotalValue();
     }
 
-    public BigDecimal getTotalGainLossPercent(Long userId) {
-        BigDecimal totalInvested = getTotalInvested(userId);
-        BigDecimal totalGainLoss = getTotalGainLoss(userId);
+    public BigDecimal getTotalGainLoss(AccountSnapshot account) {
+        return getDashboard(account).getTotalGainLoss();
+    }
 
-        return calculateGainLossPercent(totalInvested, totalGainLoss);
+    public BigDecimal getTotalGainLossPercent(AccountSnapshot account) {
+        return getDashboard(account).getTotalGainLossPercent();
+    }
+
+    // Cost basis only; no prices needed
+    public BigDecimal getTotalInvested(AccountSnapshot account) {
+        long totalInvested = 0;
+        for (Holding position : account.getPositions()) {
+            totalInvested += position.getTotalInvested();
+        }
+        return Money.toBigDecimal(totalInvested);
     }
 
-    public BigDecimal getTotalInvested(Long userId) {
-        return portfolioRepository.findByUserId(userId).stream()
-                .map(Portfolio::getTotalInvested)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    public Optional<Portfolio> getPortfolioPosition(AccountSnapshot account, String stockSymbol) {
+        return account.getPosition(stockSymbol).map(position -> position.toPortfolio(account.getUserId()));
     }
 
-    public Optional<Portfolio> getPortfolioPosition(Long userId, String stockSymbol) {
-        return portfolioRepository.findByUserIdAndStockSymbol(userId, stockSymbol);
+    public boolean hasPosition(AccountSnapshot account, String stockSymbol) {
+        return account.getPosition(stockSymbol).isPresent();
     }
 
-    public boolean hasPosition(Long userId, String stockSymbol) {
-        return getPortfolioPosition(userId, stockSymbol)
-                .map(p -> p.getQuantity() > 0)
-                .orElse(false);
+    public Integer getAvailableShares(AccountSnapshot account, String stockSymbol) {
+        return account.getPosition(stockSymbol).map(Holding::getQuantity).orElse(0);
     }
 
-    public Integer getAvailableShares(Long userId, String stockSymbol) {
-        return getPortfolioPosition(userId, stockSymbol)
-                .map(Portfolio::getQuantity)
-                .orElse(0);
+    /**
+     * Up to {@code limit} of the user's newest transactions, newest first.
+     * Ones made since the model loaded have no id until they are written.
+     */
+    public List<Transaction> getRecentTransactions(AccountSnapshot account, int limit) {
+        List<Transaction> recent = account.getRecentTransactions();
+        return recent.subList(0, Math.min(limit, recent.size()));
     }
 
     // ========== PRIVATE HELPERS ==========
 
-    private PortfolioSummary buildPortfolioSummary(Portfolio portfolio, Stock stock, StockQuote quote) {
-        BigDecimal currentValue = quote.getPrice().multiply(BigDecimal.valueOf(portfolio.getQuantity()));
-        BigDecimal gainLoss = currentValue.subtract(portfolio.getTotalInvested());
-        BigDecimal gainLossPercent = calculateGainLossPercent(portfolio.getTotalInvested(), gainLoss);
+    // The engine's price, else the stock row's, else the position's cost
+    private long getCurrentPrice(PriceTick tick, Stock stock, Holding position) {
+        if (tick != null) return tick.getPrice();
+        return stock != null ? Money.of(stock.getCurrentPrice()) : position.getAveragePrice();
+    }
+
+    private String getCompanyName(Stock stock) {
+        return stock != null ? stock.getCompanyName() : null;
+    }
+
+    private PortfolioSummary buildPortfolioSummary(Holding position, String companyName, long price,
+                                                   long currentValue) {
+        long gainLoss = currentValue - position.getTotalInvested();
 
         return new PortfolioSummary(
-                stock.getSymbol(),
-                stock.getCompanyName(),
-                portfolio.getQuantity(),
-                portfolio.getAveragePrice(),
-                quote.getPrice(),
-                portfolio.getTotalInvested(),
-                currentValue,
-                gainLoss,
-                gainLossPercent
+                position.getStockSymbol(),
+                companyName,
+                position.getQuantity(),
+                Money.toBigDecimal(position.getAveragePrice()),
+                Money.toBigDecimal(price),
+                Money.toBigDecimal(position.getTotalInvested()),
+                Money.toBigDecimal(currentValue),
+                Money.toBigDecimal(gainLoss),
+                calculateGainLossPercent(position.getTotalInvested(), gainLoss)
         );
-    } 
+    }
 
-    private BigDecimal calculateGainLossPercent(BigDecimal totalInvested, BigDecimal gainLoss) {
-        if (totalInvested.compareTo(BigDecimal.ZERO) == 0) return BigDecimal.ZERO;
-        return gainLoss.divide(totalInvested, 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100));
+    private BigDecimal calculateGainLossPercent(long totalInvested, long gainLoss) {
+        if (totalInvested == 0) return BigDecimal.ZERO;
+        return Money.ratioAsPercent(Money.ratio(gainLoss, totalInvested));
     }
 }
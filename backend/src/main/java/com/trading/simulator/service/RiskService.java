@@ -0,0 +1,258 @@
+package com.trading.simulator.service;
+
+import com.trading.simulator.candles.CandleAggregator;
+import com.trading.simulator.candles.CandleInterval;
+import com.trading.simulator.dto.PortfolioPosition;
+import com.trading.simulator.dto.RiskReport;
+import com.trading.simulator.dto.StressResult;
+import com.trading.simulator.entity.Portfolio;
+import com.trading.simulator.money.Money;
+import com.trading.simulator.pricing.PriceEngine;
+import com.trading.simulator.pricing.PriceSnapshot;
+import com.trading.simulator.pricing.PriceTick;
+import com.trading.simulator.repository.PortfolioRepository;
+import com.trading.simulator.risk.PortfolioExposure;
+import com.trading.simulator.risk.RiskEngine;
+import com.trading.simulator.risk.RiskModel;
+import com.trading.simulator.risk.RiskResult;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One-day value-at-risk, expected shortfall and stress scenarios for user
+ * portfolios, on demand and for every user once a night.
+ *
+ * <p>Positions are valued at the engine's live prices. Volatilities and
+ * market correlations come from a {@link RiskModel} estimated over the
+ * one-minute candles held by the {@link CandleAggregator}, re-estimated at
+ * most every {@code model-refresh-ms}; symbols without enough candles yet use
+ * the configured defaults.
+ */
+@Service
+public class RiskService {
+
+    private static final Logger log = LoggerFactory.getLogger(RiskService.class);
+    private static final double MINUTES_PER_DAY = 24 * 60; // simulated prices move around the clock
+    private static final int MIN_RETURNS = 30;
+
+    private final PortfolioRepository portfolioRepository;
+    private final PriceEngine priceEngine;
+    private final CandleAggregator candleAggregator;
+    private final RiskEngine engine;
+    private final int defaultPaths;
+    private final int maxPaths;
+    private final double defaultVolatility;
+    private final double defaultLoading;
+    private final long modelRefreshMs;
+    private final String nightlyAt;
+
+    private final Object modelLock = new Object();
+    private RiskModel model;
+    private long modelEstimatedAt;
+
+    private final Map<Long, RiskReport> nightlyReports = new ConcurrentHashMap<>();
+    private ScheduledExecutorService nightly;
+
+    public RiskService(PortfolioRepository portfolioRepository,
+                       PriceEngine priceEngine,
+                       CandleAggregator candleAggregator,
+                       @Value("${simulator.risk.parallelism:0}") int parallelism,
+                       @Value("${simulator.risk.paths:100000}") int defaultPaths,
+                       @Value("${simulator.risk.max-paths:1000000}") int maxPaths,
+                       @Value("${simulator.risk.default-daily-volatility-percent:2}") double defaultVolatilityPercent,
+                       @Value("${simulator.risk.default-correlation:0.3}") double defaultLoading,
+                       @Value("${simulator.risk.model-refresh-ms:300000}") long modelRefreshMs,
+                       @Value("${simulator.risk.nightly-at:02:00}") String nightlyAt) {
+        this.portfolioRepository = portfolioRepository;
+        this.priceEngine = priceEngine;
+        this.candleAggregator = candleAggregator;
+        this.engine = new RiskEngine(parallelism);
+        this.defaultPaths = defaultPaths;
+        this.maxPaths = maxPaths;
+        this.defaultVolatility = defaultVolatilityPercent / 100;
+        this.defaultLoading = defaultLoading;
+        this.modelRefreshMs = modelRefreshMs;
+        this.nightlyAt = nightlyAt;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (nightlyAt == null || nightlyAt.isBlank()) return;
+
+        LocalTime at = LocalTime.parse(nightlyAt.trim());
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime next = now.toLocalDate().atTime(at);
+        if (!next.isAfter(now)) next = next.plusDays(1);
+
+        nightly = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread t = new Thread(runnable, "risk-nightly");
+            t.setDaemon(true);
+            return t;
+        });
+        nightly.scheduleAtFixedRate(this::safeRunNightly, Duration.between(now, next).toMillis(),
+                TimeUnit.DAYS.toMillis(1), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (nightly != null) nightly.shutdownNow();
+        engine.close();
+    }
+
+    /**
+     * Assesses {@code userId}'s open positions over {@code paths} simulated
+     * days, or the configured default when null.
+     *
+     * @throws IllegalArgumentException if {@code paths} is out of range
+     */
+    public RiskReport assess(Long userId, Integer paths) {
+        int pathCount = paths != null ? paths : defaultPaths;
+        if (pathCount < 100 || pathCount > maxPaths) {
+            throw new IllegalArgumentException("Paths must be between 100 and " + maxPaths);
+        }
+
+        PriceSnapshot prices = priceEngine.getSnapshot();
+        RiskModel riskModel = getModel(prices);
+        List<PortfolioPosition> positions = portfolioRepository.findOpenPositions(userId);
+        double[] values = new double[positions.size()];
+        String[] symbols = new String[positions.size()];
+        for (int i = 0; i < values.length; i++) {
+            PortfolioPosition position = positions.get(i);
+            PriceTick tick = prices.get(position.getStockSymbol());
+            long price = tick != null ? tick.getPrice() : Money.of(position.getStoredPrice());
+            values[i] = Money.times(price, position.getQuantity()) / 100.0;
+            symbols[i] = position.getStockSymbol();
+        }
+
+        PortfolioExposure exposure = toExposure(riskModel, symbols, values);
+        RiskResult result = engine.assess(exposure, pathCount, ThreadLocalRandom.current().nextLong());
+        return toReport(userId, exposure, result);
+    }
+
+    public Optional<RiskReport> getNightlyReport(Long userId) {
+        return Optional.ofNullable(nightlyReports.get(userId));
+    }
+
+    /**
+     * Assesses every user with open positions, one portfolio per risk worker,
+     * and replaces the nightly reports.
+     *
+     * @return the number of portfolios assessed
+     */
+    public int runNightly() {
+        long started = System.nanoTime();
+        PriceSnapshot prices = priceEngine.getSnapshot();
+        RiskModel riskModel = getModel(prices);
+
+        Map<Long, List<Portfolio>> byUser = new LinkedHashMap<>();
+        for (Portfolio position : portfolioRepository.findByQuantityGreaterThan(0)) {
+            byUser.computeIfAbsent(position.getUserId(), id -> new ArrayList<>()).add(position);
+        }
+
+        List<Long> userIds = new ArrayList<>(byUser.keySet());
+        List<PortfolioExposure> exposures = new ArrayList<>(userIds.size());
+        for (Long userId : userIds) {
+            List<Portfolio> positions = byUser.get(userId);
+            double[] values = new double[positions.size()];
+            String[] symbols = new String[positions.size()];
+            for (int i = 0; i < values.length; i++) {
+                Portfolio position = positions.get(i);
+                PriceTick tick = prices.get(position.getStockSymbol());
+                long price = tick != null ? tick.getPrice() : Money.of(position.getAveragePrice());
+                values[i] = Money.times(price, position.getQuantity()) / 100.0;
+                symbols[i] = position.getStockSymbol();
+            }
+            exposures.add(toExposure(riskModel, symbols, values));
+        }
+
+        List<RiskResult> results = engine.assessAll(exposures, defaultPaths, ThreadLocalRandom.current().nextLong());
+        Map<Long, RiskReport> reports = new HashMap<>();
+        for (int i = 0; i < userIds.size(); i++) {
+            reports.put(userIds.get(i), toReport(userIds.get(i), exposures.get(i), results.get(i)));
+        }
+        nightlyReports.keySet().retainAll(reports.keySet());
+        nightlyReports.putAll(reports);
+
+        log.info("Assessed risk of {} portfolios over {} paths in {} ms", userIds.size(), defaultPaths,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return userIds.size();
+    }
+
+    // ========== PRIVATE HELPERS ==========
+
+    private void safeRunNightly() {
+        try {
+            runNightly();
+        } catch (RuntimeException e) {
+            log.error("Nightly risk run failed", e);
+        }
+    }
+
+    private RiskModel getModel(PriceSnapshot prices) {
+        synchronized (modelLock) {
+            long now = System.currentTimeMillis();
+            if (model == null || now - modelEstimatedAt >= modelRefreshMs) {
+                Map<String, long[]> closes = new HashMap<>();
+                for (PriceTick tick : prices.getTicks()) {
+                    closes.put(tick.getSymbol(), candleAggregator.getCloses(tick.getSymbol(), CandleInterval.ONE_MINUTE));
+                }
+                model = RiskModel.estimate(closes, MINUTES_PER_DAY, MIN_RETURNS, defaultVolatility, defaultLoading);
+                modelEstimatedAt = now;
+            }
+            return model;
+        }
+    }
+
+    private static PortfolioExposure toExposure(RiskModel riskModel, String[] symbols, double[] values) {
+        double[] volatilities = new double[symbols.length];
+        double[] loadings = new double[symbols.length];
+        for (int i = 0; i < symbols.length; i++) {
+            volatilities[i] = riskModel.volatility(symbols[i]);
+            loadings[i] = riskModel.loading(symbols[i]);
+        }
+        return new PortfolioExposure(values, volatilities, loadings);
+    }
+
+    private static RiskReport toReport(Long userId, PortfolioExposure exposure, RiskResult result) {
+        List<StressResult> stress = new ArrayList<>();
+        RiskEngine.stressScenarios(exposure).forEach((name, profitLoss) ->
+                stress.add(new StressResult(name, toMoney(profitLoss))));
+
+        return new RiskReport(
+                userId,
+                toMoney(exposure.totalValue()),
+                result.paths(),
+                toMoney(result.valueAtRisk95()),
+                toMoney(result.valueAtRisk99()),
+                toMoney(result.expectedShortfall95()),
+                toMoney(result.expectedShortfall99()),
+                stress,
+                LocalDateTime.now()
+        );
+    }
+
+    private static BigDecimal toMoney(double amount) {
+        return BigDecimal.valueOf(amount).setScale(Money.SCALE, RoundingMode.HALF_UP);
+    }
+}
@@ -1,14 +1,25 @@
 package com.trading.simulator.service;
 
+import com.trading.simulator.candles.CandleAggregator;
+import com.trading.simulator.candles.CandleInterval;
+import com.trading.simulator.dto.Candle;
+import com.trading.simulator.dto.PriceBar;
 import com.trading.simulator.dto.StockQuote;
 import com.trading.simulator.entity.Stock;
+import com.trading.simulator.metrics.HotPathMetrics;
+import com.trading.simulator.metrics.HotPathMetrics.Operation;
+import com.trading.simulator.money.Money;
+import com.trading.simulator.pricing.PriceEngine;
+import com.trading.simulator.repository.StockCache;
 import com.trading.simulator.repository.StockRepository;
+import com.trading.simulator.tickstore.TickRecorder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +29,24 @@ public class StockService {
     @Autowired
     private StockRepository stockRepository;
 
+    @Autowired
+    private StockCache stockCache;
+
+    @Autowired
+    private PriceEngine priceEngine;
+
+    @Autowired
+    private HotPathMetrics metrics;
+
+    @Autowired
+    private TickRecorder tickRecorder;
+
+    @Autowired
+    private CandleAggregator candleAggregator;
+
+    @Value("${simulator.tickstore.max-bars:10000}")
+    private int maxHistoryBars;
+
     @Value("${alphavantage.api.key}")
     private String apiKey;
 
@@ -25,68 +54,97 @@ public class StockService {
     private String baseUrl;
 
     public List<Stock> getAllStocks() {
-        return stockRepository.findAll();
+        return stockCache.findAll().stream().map(this::withLivePrice).toList();
     }
 
     public Optional<Stock> getStockBySymbol(String symbol) {
-        return stockRepository.findBySymbol(symbol.toUpperCase());
+        return stockCache.findBySymbol(symbol.toUpperCase()).map(this::withLivePrice);
     }
 
     public StockQuote getStockQuote(String symbol) {
-        return stockRepository.findBySymbol(symbol.toUpperCase())
-                .map(this::buildSimulatedQuote)
-                .orElseGet(() -> createDefaultStockQuote(symbol));
+        return metrics.record(Operation.STOCK_QUOTE, () -> priceEngine.getTick(symbol)
+                .map(StockQuote::from)
+                .orElseGet(() -> createDefaultStockQuote(symbol)));
     }
 
     public StockQuote getRealTimeQuote(String symbol) {
         return getStockQuote(symbol); // For demo, just simulate
     }
 
+    /**
+     * Recorded prices of {@code symbol} between the two times, one bar per
+     * {@code resolution} ({@code 30s}, {@code 1m}, {@code 5m}, {@code 1h},
+     * {@code 1d}, ...), oldest first. Intervals without moves are left out.
+     */
+    public List<PriceBar> getPriceHistory(String symbol, LocalDateTime from, LocalDateTime to, String resolution) {
+        long widthMillis = parseResolution(resolution);
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        if (Duration.between(from, to).toMillis() / widthMillis > maxHistoryBars) {
+            throw new IllegalArgumentException("Range holds more than " + maxHistoryBars + " bars");
+        }
+        return tickRecorder.getBars(symbol, from, to, widthMillis).stream().map(PriceBar::from).toList();
+    }
+
+    /**
+     * The newest {@code limit} candles of {@code symbol} at {@code interval}
+     * (1s, 1m, 5m, 1h or 1d), oldest first, the last one still open.
+     */
+    public List<Candle> getCandles(String symbol, String interval, int limit) {
+        return candleAggregator.getCandles(symbol, CandleInterval.fromLabel(interval), limit);
+    }
+
     public Stock saveStock(Stock stock) {
-        return stockRepository.save(stock);
+        Stock saved = stockRepository.save(stock);
+        stockCache.invalidate(saved.getSymbol());
+        priceEngine.register(saved);
+        return saved;
     }
 
+    // Reads the row itself: the cached entity is shared and must not be modified
     public void updateStockPrice(String symbol, BigDecimal newPrice) {
         stockRepository.findBySymbol(symbol.toUpperCase())
                 .ifPresent(stock -> {
                     stock.setCurrentPrice(newPrice);
                     stockRepository.save(stock);
+                    stockCache.invalidate(stock.getSymbol());
+                    priceEngine.updatePrice(stock.getSymbol(), Money.of(newPrice));
                 });
     }
 
     public boolean stockExists(String symbol) {
-        return stockRepository.existsBySymbol(symbol.toUpperCase());
+        return stockCache.existsBySymbol(symbol.toUpperCase());
     }
 
     // ========== PRIVATE HELPERS ==========
 
-    private StockQuote buildSimulatedQuote(Stock stock) {
-        BigDecimal currentPrice = stock.getCurrentPrice();
-        BigDecimal change = generateRandomChange(currentPrice);
-        BigDecimal newPrice = currentPrice.add(change);
-        BigDecimal changePercent = calculateChangePercent(currentPrice, change);
-
-        stock.setCurrentPrice(newPrice);
-        stockRepository.save(stock);
-
-        return new StockQuote(
-                stock.getSymbol(),
-                stock.getCompanyName(),
-                newPrice,
-                change,
-                changePercent,
-                stock.getLastUpdated().toString()
-        );
-    }
-
-    private BigDecimal generateRandomChange(BigDecimal currentPrice) {
-        double randomPercent = (Math.random() - 0.5) * 0.04; // -2% to +2%
-        return currentPrice.multiply(BigDecimal.valueOf(randomPercent));
+    // Cached stocks are shared and keep the price they were loaded with, so hand out a copy at the live one
+    private Stock withLivePrice(Stock cached) {
+        Stock stock = new Stock();
+        stock.setId(cached.getId());
+        stock.setSymbol(cached.getSymbol());
+        stock.setCompanyName(cached.getCompanyName());
+        stock.setCurrentPrice(cached.getCurrentPrice());
+        stock.setLastUpdated(cached.getLastUpdated());
+        priceEngine.getTick(cached.getSymbol()).ifPresent(tick -> {
+            stock.setCurrentPrice(Money.toBigDecimal(tick.getPrice()));
+            stock.setLastUpdated(tick.getTimestamp());
+        });
+        return stock;
     }
 
-    private BigDecimal calculateChangePercent(BigDecimal originalPrice, BigDecimal change) {
-        if (originalPrice.compareTo(BigDecimal.ZERO) == 0) return BigDecimal.ZERO;
-        return change.divide(originalPrice, 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100));
+    private static long parseResolution(String resolution) {
+        if (resolution == null || !resolution.matches("[1-9][0-9]{0,5}[smhd]")) {
+            throw new IllegalArgumentException("Resolution must be a count and s, m, h or d, like 1m");
+        }
+        long count = Long.parseLong(resolution.substring(0, resolution.length() - 1));
+        return switch (resolution.charAt(resolution.length() - 1)) {
+            case 's' -> Duration.ofSeconds(count).toMillis();
+            case 'm' -> Duration.ofMinutes(count).toMillis();
+            case 'h' -> Duration.ofHours(count).toMillis();
+            default -> Duration.ofDays(count).toMillis();
+        };
     }
 
     private StockQuote createDefaultStockQuote(String symbol) {
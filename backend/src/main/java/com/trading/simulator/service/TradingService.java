@@ -1,146 +1,236 @@
 package com.trading.simulator.service;
 
+import com.trading.simulator.dto.BatchTradeResult;
+import com.trading.simulator.dto.OrderBookView;
+import com.trading.simulator.dto.OrderRequest;
+import com.trading.simulator.dto.OrderResult;
 import com.trading.simulator.dto.TradeRequest;
-import com.trading.simulator.entity.Portfolio;
 import com.trading.simulator.entity.Stock;
 import com.trading.simulator.entity.Transaction;
-import com.trading.simulator.entity.User;
-import com.trading.simulator.repository.PortfolioRepository;
-import com.trading.simulator.repository.StockRepository;
-import com.trading.simulator.repository.TransactionRepository;
-import com.trading.simulator.repository.UserRepository;
+import com.trading.simulator.execution.ShardedTradeExecutor;
+import com.trading.simulator.execution.TradeEffect;
+import com.trading.simulator.execution.TradeOrder;
+import com.trading.simulator.matching.MatchingEngine;
+import com.trading.simulator.matching.OrderSide;
+import com.trading.simulator.matching.OrderType;
+import com.trading.simulator.metrics.HotPathMetrics;
+import com.trading.simulator.metrics.HotPathMetrics.Operation;
+import com.trading.simulator.money.Money;
+import com.trading.simulator.pricing.PriceEngine;
+import com.trading.simulator.pricing.PriceSnapshot;
+import com.trading.simulator.pricing.PriceTick;
+import com.trading.simulator.repository.StockCache;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.util.Optional;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
 
 @Service
 public class TradingService {
 
     @Autowired
-    private UserRepository userRepository;
+    private StockCache stockCache;
 
     @Autowired
-    private StockRepository stockRepository;
+    private PriceEngine priceEngine;
 
     @Autowired
-    private TransactionRepository transactionRepository;
+    private ShardedTradeExecutor tradeExecutor;
 
     @Autowired
-    private PortfolioRepository portfolioRepository;
+    private MatchingEngine matchingEngine;
 
-    @Transactional
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private HotPathMetrics metrics;
+
+    // Balance and position updates run on the user's shard; the database write happens behind
     public Transaction executeTrade(TradeRequest tradeRequest) {
-        User user = getUserOrThrow(tradeRequest.getUserId());
-        Stock stock = getStockOrThrow(tradeRequest.getStockSymbol());
-        BigDecimal price = stock.getCurrentPrice();
-        BigDecimal totalAmount = price.multiply(BigDecimal.valueOf(tradeRequest.getQuantity()));
-        String type = tradeRequest.getTransactionType().toUpperCase();
+        return metrics.record(Operation.EXECUTE_TRADE, () -> {
+            PriceTick quote = getQuoteOrThrow(priceEngine.getSnapshot(), tradeRequest.getStockSymbol());
+            String type = getTradeTypeOrThrow(tradeRequest.getTransactionType());
+
+            TradeEffect effect = tradeExecutor.execute(
+                    tradeRequest.getUserId(), quote.getSymbol(), type, tradeRequest.getQuantity(), quote.getPrice());
+            return effect.toTransaction();
+        });
+    }
+
+    /**
+     * Validates and executes every request, loading the stocks involved in one
+     * query and pricing them all from one snapshot. Each item is filled or
+     * rejected on its own; a rejection never rolls back the rest of the batch.
+     */
+    public List<BatchTradeResult> executeBatch(List<TradeRequest> tradeRequests) {
+        BatchTradeResult[] results = new BatchTradeResult[tradeRequests.size()];
+        PriceSnapshot prices = priceEngine.getSnapshot();
+        Map<String, Stock> stocks = loadUnpricedStocks(tradeRequests, prices);
+
+        List<TradeOrder> orders = new ArrayList<>(tradeRequests.size());
+        List<Integer> orderIndexes = new ArrayList<>(tradeRequests.size());
+        for (int i = 0; i < tradeRequests.size(); i++) {
+            TradeRequest request = tradeRequests.get(i);
+            try {
+                orders.add(toTradeOrder(request, stocks, prices));
+                orderIndexes.add(i);
+            } catch (RuntimeException e) {
+                results[i] = BatchTradeResult.rejected(i, e.getMessage());
+            }
+        }
+
+        List<CompletableFuture<TradeEffect>> fills = tradeExecutor.submitAll(orders);
+        for (int j = 0; j < fills.size(); j++) {
+            int index = orderIndexes.get(j);
+            results[index] = fills.get(j)
+                    .handle((effect, error) -> error == null
+                            ? BatchTradeResult.filled(index, effect.toTransaction())
+                            : BatchTradeResult.rejected(index, unwrap(error).getMessage()))
+                    .join();
+        }
 
-        return switch (type) {
-            case "BUY" -> executeBuyOrder(user, stock, tradeRequest.getQuantity(), price, totalAmount);
-            case "SELL" -> executeSellOrder(user, stock, tradeRequest.getQuantity(), price, totalAmount);
-            default -> throw new RuntimeException("Invalid transaction type. Must be BUY or SELL");
-        };
+        return List.of(results);
     }
 
-    private User getUserOrThrow(Long userId) {
-        return userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    /**
+     * Places an order on the symbol's order book. Fills against other users'
+     * orders are settled and persisted like any other trade.
+     */
+    public OrderResult placeOrder(OrderRequest orderRequest) {
+        PriceTick quote = getQuoteOrThrow(priceEngine.getSnapshot(), orderRequest.getStockSymbol());
+        OrderSide side = OrderSide.valueOf(getTradeTypeOrThrow(orderRequest.getSide()));
+        OrderType type = getOrderTypeOrThrow(orderRequest.getOrderType());
+        long limitPrice = type == OrderType.MARKET ? 0 : getLimitPriceOrThrow(orderRequest.getLimitPrice());
+
+        return matchingEngine.placeOrder(orderRequest.getUserId(), quote.getSymbol(), side, type,
+                orderRequest.getQuantity(), limitPrice, quote.getPrice());
     }
 
-    private Stock getStockOrThrow(String symbol) {
-        return stockRepository.findBySymbol(symbol.toUpperCase())
-                .orElseThrow(() -> new RuntimeException("Stock not found"));
+    public int cancelOrder(long orderId, Long userId) {
+        return matchingEngine.cancelOrder(orderId, userId);
     }
 
-    private Transaction createAndSaveTransaction(Long userId, String symbol, String type,
-                                                 Integer quantity, BigDecimal price, BigDecimal totalAmount) {
-        return transactionRepository.save(new Transaction(userId, symbol, type, quantity, price, totalAmount));
+    public OrderBookView getOrderBook(String symbol, int depth) {
+        return matchingEngine.getBook(symbol.toUpperCase(), depth);
     }
 
-    private Transaction executeBuyOrder(User user, Stock stock, Integer quantity, BigDecimal price, BigDecimal totalAmount) {
-        if (user.getBalance().compareTo(totalAmount) < 0) {
-            throw new RuntimeException("Insufficient balance for this purchase");
+    private TradeOrder toTradeOrder(TradeRequest request, Map<String, Stock> stocks, PriceSnapshot prices) {
+        Set<ConstraintViolation<TradeRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw new RuntimeException(violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
         }
 
-        user.setBalance(user.getBalance().subtract(totalAmount));
-        userRepository.save(user);
-
-        Transaction transaction = createAndSaveTransaction(user.getId(), stock.getSymbol(), "BUY", quantity, price, totalAmount);
-        updatePortfolioForBuy(user.getId(), stock.getSymbol(), quantity, price, totalAmount);
+        String symbol;
+        long price;
+        PriceTick tick = prices.get(request.getStockSymbol());
+        if (tick != null) {
+            symbol = tick.getSymbol();
+            price = tick.getPrice();
+        } else {
+            Stock stock = stocks.get(request.getStockSymbol().toUpperCase());
+            if (stock == null) {
+                throw new RuntimeException("Stock not found");
+            }
+            symbol = stock.getSymbol();
+            price = Money.of(stock.getCurrentPrice());
+        }
 
-        return transaction;
+        String type = getTradeTypeOrThrow(request.getTransactionType());
+        return new TradeOrder(request.getUserId(), symbol, type, request.getQuantity(), price);
     }
 
-    private Transaction executeSellOrder(User user, Stock stock, Integer quantity, BigDecimal price, BigDecimal totalAmount) {
-        Portfolio portfolio = portfolioRepository.findByUserIdAndStockSymbol(user.getId(), stock.getSymbol())
-                .orElseThrow(() -> new RuntimeException("Insufficient shares to sell"));
-
-        if (portfolio.getQuantity() < quantity) {
-            throw new RuntimeException("Insufficient shares to sell");
+    // Only symbols the engine has no price for need their rows
+    private Map<String, Stock> loadUnpricedStocks(List<TradeRequest> tradeRequests, PriceSnapshot prices) {
+        Set<String> symbols = new HashSet<>();
+        for (TradeRequest request : tradeRequests) {
+            String symbol = request.getStockSymbol();
+            if (symbol != null && prices.get(symbol) == null) symbols.add(symbol.toUpperCase());
         }
 
-        user.setBalance(user.getBalance().add(totalAmount));
-        userRepository.save(user);
-
-        Transaction transaction = createAndSaveTransaction(user.getId(), stock.getSymbol(), "SELL", quantity, price, totalAmount);
-        updatePortfolioForSell(portfolio, quantity);
+        if (symbols.isEmpty()) return new HashMap<>();
+        return stockCache.findBySymbolIn(symbols);
+    }
 
-        return transaction;
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
     }
 
-    private void updatePortfolioForBuy(Long userId, String stockSymbol, Integer quantity, BigDecimal price, BigDecimal totalAmount) {
-        Optional<Portfolio> portfolioOpt = portfolioRepository.findByUserIdAndStockSymbol(userId, stockSymbol);
+    /**
+     * The engine's tick for {@code symbol}, found by symbol id in any letter
+     * case. The engine holds the live price; a stock it has no price for is
+     * priced from its row, which lags by up to one flush interval.
+     */
+    private PriceTick getQuoteOrThrow(PriceSnapshot prices, String symbol) {
+        PriceTick tick = prices.get(symbol);
+        if (tick != null) return tick;
 
-        if (portfolioOpt.isPresent()) {
-            Portfolio portfolio = portfolioOpt.get();
-            BigDecimal newTotalInvested = portfolio.getTotalInvested().add(totalAmount);
-            Integer newQuantity = portfolio.getQuantity() + quantity;
-            BigDecimal newAvgPrice = newTotalInvested.divide(BigDecimal.valueOf(newQuantity), 2, RoundingMode.HALF_UP);
+        Stock stock = stockCache.findBySymbol(symbol.toUpperCase())
+                .orElseThrow(() -> new RuntimeException("Stock not found"));
+        return new PriceTick(stock.getSymbol(), stock.getCompanyName(), Money.of(stock.getCurrentPrice()),
+                0, 0, LocalDateTime.now());
+    }
 
-            portfolio.setQuantity(newQuantity);
-            portfolio.setAveragePrice(newAvgPrice);
-            portfolio.setTotalInvested(newTotalInvested);
-            portfolioRepository.save(portfolio);
-        } else {
-            Portfolio portfolio = new Portfolio(userId, stockSymbol, quantity, price, totalAmount);
-            portfolioRepository.save(portfolio);
-        }
+    // Returns the constant, so mixed-case input costs no allocation
+    private String getTradeTypeOrThrow(String transactionType) {
+        if ("BUY".equalsIgnoreCase(transactionType)) return "BUY";
+        if ("SELL".equalsIgnoreCase(transactionType)) return "SELL";
+        throw new RuntimeException("Invalid transaction type. Must be BUY or SELL");
     }
 
-    private void updatePortfolioForSell(Portfolio portfolio, Integer quantity) {
-        Integer newQuantity = portfolio.getQuantity() - quantity;
+    private long getLimitPriceOrThrow(BigDecimal limitPrice) {
+        if (limitPrice == null) {
+            throw new RuntimeException("Limit price is required for LIMIT and IOC orders");
+        }
+        try {
+            return Money.ofExact(limitPrice);
+        } catch (ArithmeticException e) {
+            throw new RuntimeException("Limit price must be in whole cents");
+        }
+    }
 
-        if (newQuantity == 0) {
-            portfolioRepository.delete(portfolio);
-        } else {
-            BigDecimal soldInvestment = portfolio.getAveragePrice().multiply(BigDecimal.valueOf(quantity));
-            portfolio.setQuantity(newQuantity);
-            portfolio.setTotalInvested(portfolio.getTotalInvested().subtract(soldInvestment));
-            portfolioRepository.save(portfolio);
+    private OrderType getOrderTypeOrThrow(String orderType) {
+        try {
+            return OrderType.valueOf(orderType.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid order type. Must be LIMIT, MARKET or IOC");
         }
     }
 
     public boolean canExecuteTrade(TradeRequest tradeRequest) {
-        User user = userRepository.findById(tradeRequest.getUserId()).orElse(null);
-        if (user == null) return false;
-
-        Stock stock = stockRepository.findBySymbol(tradeRequest.getStockSymbol().toUpperCase()).orElse(null);
-        if (stock == null) return false;
+        PriceTick quote;
+        try {
+            quote = getQuoteOrThrow(priceEngine.getSnapshot(), tradeRequest.getStockSymbol());
+        } catch (RuntimeException e) {
+            return false;
+        }
 
-        BigDecimal totalAmount = stock.getCurrentPrice().multiply(BigDecimal.valueOf(tradeRequest.getQuantity()));
+        long totalAmount = Money.times(quote.getPrice(), tradeRequest.getQuantity());
         String type = tradeRequest.getTransactionType().toUpperCase();
 
-        return switch (type) {
-            case "BUY" -> user.getBalance().compareTo(totalAmount) >= 0;
-            case "SELL" -> portfolioRepository.findByUserIdAndStockSymbol(user.getId(), stock.getSymbol())
-                    .map(p -> p.getQuantity() >= tradeRequest.getQuantity())
-                    .orElse(false);
-            default -> false;
-        };
+        return tradeExecutor.query(tradeRequest.getUserId(), account -> {
+            if (account == null) return false;
+
+            return switch (type) {
+                case "BUY" -> account.getAvailableBalance() >= totalAmount;
+                case "SELL" -> account.getAvailableShares(quote.getSymbol()) >= tradeRequest.getQuantity();
+                default -> false;
+            };
+        });
     }
 }
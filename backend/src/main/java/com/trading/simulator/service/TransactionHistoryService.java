@@ -0,0 +1,127 @@
+package com.trading.simulator.service;
+
+import com.trading.simulator.dto.TransactionFilter;
+import com.trading.simulator.dto.TransactionPage;
+import com.trading.simulator.entity.Transaction;
+import com.trading.simulator.repository.TransactionHistoryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+@Service
+public class TransactionHistoryService {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+    private static final int EXPORT_FETCH_SIZE = 1000;
+    private static final String CSV_HEADER =
+            "id,transaction_date,stock_symbol,transaction_type,quantity,price_per_share,total_amount\n";
+
+    @Autowired
+    private TransactionHistoryRepository historyRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Validates and normalizes request parameters; everything but the user may be null.
+     */
+    public TransactionFilter buildFilter(Long userId, String stockSymbol, String transactionType,
+                                         LocalDateTime from, LocalDateTime to) {
+        String type = null;
+        if (transactionType != null) {
+            type = transactionType.toUpperCase();
+            if (!type.equals("BUY") && !type.equals("SELL")) {
+                throw new IllegalArgumentException("Transaction type must be BUY or SELL");
+            }
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        return new TransactionFilter(userId, stockSymbol != null ? stockSymbol.toUpperCase() : null, type, from, to);
+    }
+
+    // Fetches one row past the page to learn whether there is a next one, without a count query
+    public TransactionPage getHistory(TransactionFilter filter, String cursor, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        LocalDateTime beforeDate = null;
+        Long beforeId = null;
+        if (cursor != null) {
+            try {
+                String[] key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+                beforeDate = LocalDateTime.parse(key[0]);
+                beforeId = Long.parseLong(key[1]);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor", e);
+            }
+        }
+
+        List<Transaction> rows = historyRepository.findPage(filter, beforeDate, beforeId, limit + 1);
+
+        if (rows.size() <= limit) {
+            return new TransactionPage(rows, null);
+        }
+        List<Transaction> page = rows.subList(0, limit);
+        return new TransactionPage(page, encodeCursor(page.get(limit - 1)));
+    }
+
+    /**
+     * Writes every matching transaction to {@code out} as CSV, newest first,
+     * one row at a time as it is read from the database.
+     */
+    public void export(TransactionFilter filter, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    historyRepository.forEach(filter, EXPORT_FETCH_SIZE, transaction -> writeRow(writer, transaction)));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    // ========== PRIVATE HELPERS ==========
+
+    private static void writeRow(Writer writer, Transaction transaction) {
+        try {
+            writer.write(Long.toString(transaction.getId()));
+            writer.write(',');
+            writer.write(transaction.getTransactionDate().toString());
+            writer.write(',');
+            writer.write(transaction.getStockSymbol());
+            writer.write(',');
+            writer.write(transaction.getTransactionType());
+            writer.write(',');
+            writer.write(Integer.toString(transaction.getQuantity()));
+            writer.write(',');
+            writer.write(transaction.getPricePerShare().toPlainString());
+            writer.write(',');
+            writer.write(transaction.getTotalAmount().toPlainString());
+            writer.write('\n');
+        } catch (IOException e) {
+            // The client went away; abandon the query
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Opaque to clients: the (transaction_date, id) key of the last row on the page
+    private static String encodeCursor(Transaction last) {
+        String key = last.getTransactionDate() + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,161 @@
+package com.trading.simulator.service;
+
+import com.trading.simulator.dto.TradeRequest;
+import com.trading.simulator.dto.TriggerRequest;
+import com.trading.simulator.dto.TriggerView;
+import com.trading.simulator.entity.Transaction;
+import com.trading.simulator.money.Money;
+import com.trading.simulator.pricing.PriceEngine;
+import com.trading.simulator.pricing.PriceTick;
+import com.trading.simulator.triggers.Trigger;
+import com.trading.simulator.triggers.TriggerEngine;
+import com.trading.simulator.triggers.TriggerStatus;
+import com.trading.simulator.triggers.TriggerType;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Places stop-loss, take-profit, trailing stop and alert triggers, and sells
+ * through {@link TradingService#executeTrade} when an order trigger fires, at
+ * the price of the moment like any market trade. Sells run one at a time on
+ * their own thread, so the ticker never waits for a trade.
+ */
+@Service
+public class TriggerService {
+
+    private static final Logger log = LoggerFactory.getLogger(TriggerService.class);
+
+    @Autowired
+    private TriggerEngine triggerEngine;
+
+    @Autowired
+    private TradingService tradingService;
+
+    @Autowired
+    private PriceEngine priceEngine;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void start() {
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread t = new Thread(runnable, "triggers");
+            t.setDaemon(true);
+            return t;
+        });
+        triggerEngine.addListener(this::onTrigger);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) executor.shutdown();
+    }
+
+    /**
+     * @throws IllegalArgumentException for an invalid request, one that would
+     *                                  fire at once, or a sell the user could
+     *                                  not make now
+     */
+    public TriggerView placeTrigger(TriggerRequest request) {
+        TriggerType type = getTriggerTypeOrThrow(request.getTriggerType());
+        PriceTick quote = priceEngine.getSnapshot().get(request.getStockSymbol());
+        if (quote == null) {
+            throw new IllegalArgumentException("No live price for " + request.getStockSymbol());
+        }
+
+        int quantity = 0;
+        if (type.placesOrder()) {
+            if (request.getQuantity() == null) {
+                throw new IllegalArgumentException("Quantity is required for stop and take-profit orders");
+            }
+            quantity = request.getQuantity();
+            TradeRequest sell = new TradeRequest(request.getUserId(), quote.getSymbol(), "SELL", quantity);
+            if (!tradingService.canExecuteTrade(sell)) {
+                throw new IllegalArgumentException("Insufficient shares for this trigger");
+            }
+        }
+
+        long triggerPrice = 0;
+        long trailAmount = 0;
+        if (type == TriggerType.TRAILING_STOP) {
+            trailAmount = getCentsOrThrow(request.getTrailAmount(), "Trail amount");
+        } else {
+            triggerPrice = getCentsOrThrow(request.getTriggerPrice(), "Trigger price");
+        }
+
+        Trigger trigger = triggerEngine.add(request.getUserId(), quote, type, quantity, triggerPrice, trailAmount);
+        return toView(trigger);
+    }
+
+    public boolean cancelTrigger(long triggerId, Long userId) {
+        return triggerEngine.cancel(triggerId, userId);
+    }
+
+    public List<TriggerView> getTriggers(Long userId) {
+        return triggerEngine.getTriggers(userId).stream().map(this::toView).toList();
+    }
+
+    // ========== PRIVATE HELPERS ==========
+
+    private void onTrigger(Trigger trigger) {
+        if (!trigger.getType().placesOrder() || executor.isShutdown()) return;
+        executor.execute(() -> sell(trigger));
+    }
+
+    private void sell(Trigger trigger) {
+        try {
+            Transaction transaction = tradingService.executeTrade(new TradeRequest(
+                    trigger.getUserId(), trigger.getSymbol(), "SELL", trigger.getQuantity()));
+            trigger.complete(true, Money.of(transaction.getPricePerShare()), null);
+        } catch (RuntimeException e) {
+            log.warn("Trigger {} fired but its sell failed: {}", trigger.getId(), e.getMessage());
+            trigger.complete(false, 0, e.getMessage());
+        }
+    }
+
+    private TriggerView toView(Trigger trigger) {
+        boolean trailing = trigger.getType() == TriggerType.TRAILING_STOP;
+        boolean fired = trigger.getFiredAt() != null;
+        return new TriggerView(trigger.getId(), trigger.getUserId(), trigger.getSymbol(), trigger.getType().name(),
+                trigger.getType().placesOrder() ? trigger.getQuantity() : null,
+                trailing ? null : Money.toBigDecimal(trigger.getTriggerPrice()),
+                trailing ? Money.toBigDecimal(trigger.getTrailAmount()) : null,
+                Money.toBigDecimal(triggerEngine.getStopPrice(trigger)),
+                trigger.getStatus().name(), trigger.getCreatedAt(), trigger.getFiredAt(),
+                fired ? Money.toBigDecimal(trigger.getFiredPrice()) : null,
+                trigger.getStatus() == TriggerStatus.FILLED ? Money.toBigDecimal(trigger.getExecutedPrice()) : null,
+                trigger.getMessage());
+    }
+
+    private TriggerType getTriggerTypeOrThrow(String triggerType) {
+        if (triggerType != null) {
+            try {
+                return TriggerType.valueOf(triggerType.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                // Reported below, the same as a missing type
+            }
+        }
+        throw new IllegalArgumentException(
+                "Invalid trigger type. Must be STOP_LOSS, TAKE_PROFIT, TRAILING_STOP, ALERT_ABOVE or ALERT_BELOW");
+    }
+
+    private long getCentsOrThrow(BigDecimal amount, String name) {
+        if (amount == null) {
+            throw new IllegalArgumentException(name + " is required for this trigger type");
+        }
+        try {
+            return Money.ofExact(amount);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException(name + " must be in whole cents");
+        }
+    }
+}
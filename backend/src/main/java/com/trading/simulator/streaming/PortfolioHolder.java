@@ -0,0 +1,221 @@
+package com.trading.simulator.streaming;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trading.simulator.dto.PortfolioDashboard;
+import com.trading.simulator.dto.PortfolioSummary;
+import com.trading.simulator.execution.Position;
+import com.trading.simulator.execution.TradeEffect;
+import com.trading.simulator.money.Money;
+import com.trading.simulator.pricing.PriceSnapshot;
+import com.trading.simulator.pricing.PriceTick;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Live valuation of one subscribed user's positions, kept in cents and
+ * updated in place: a tick reprices one holding and adjusts the totals, a
+ * fill replaces one holding with the position the trade left behind. Neither
+ * builds a response; they only mark the symbol as changed on the
+ * {@link StreamSubscriber}, and the {@link PortfolioSummary} rows are built
+ * from the latest state when the client is next written to.
+ *
+ * <p>Ticks arrive on the price ticker, fills on the account's shard and
+ * drains on the dispatcher, so every method locks the holder.
+ */
+final class PortfolioHolder {
+
+    private static final class Holding {
+        String companyName;
+        int quantity;
+        long averagePrice;
+        long totalInvested;
+        long price;
+        long priceSequence;
+
+        long currentValue() {
+            return Money.times(price, quantity);
+        }
+    }
+
+    private final Long userId;
+    private final ObjectMapper objectMapper;
+    private final StreamSubscriber<String> subscriber;
+    private final Map<String, Holding> holdings = new HashMap<>();
+    private long totalValue;
+    private long totalInvested;
+    private long priceSequence;
+
+    PortfolioHolder(Long userId, ObjectMapper objectMapper, StreamSubscriber.Sink sink, StreamDispatcher dispatcher,
+                    Consumer<PortfolioHolder> onClose) {
+        this.userId = userId;
+        this.objectMapper = objectMapper;
+        this.subscriber = new StreamSubscriber<>(sink, this::encode, dispatcher, closed -> onClose.accept(this));
+    }
+
+    Long getUserId() {
+        return userId;
+    }
+
+    boolean isClosed() {
+        return subscriber.isClosed();
+    }
+
+    void close() {
+        subscriber.close();
+    }
+
+    synchronized List<String> getSymbols() {
+        return new ArrayList<>(holdings.keySet());
+    }
+
+    /**
+     * Starts from the account's positions valued at {@code prices}, and
+     * queues every one of them for the first event.
+     */
+    synchronized void load(Collection<Position> positions, PriceSnapshot prices) {
+        for (Position position : positions) {
+            Holding holding = new Holding();
+            holding.quantity = position.getQuantity();
+            holding.averagePrice = position.getAveragePrice();
+            holding.totalInvested = position.getTotalInvested();
+            price(holding, position.getStockSymbol(), prices);
+            put(position.getStockSymbol(), holding);
+        }
+        priceSequence = Math.max(priceSequence, prices.getSequence());
+        if (holdings.isEmpty()) {
+            // Nothing held still gets an event, so the client sees its (empty) portfolio
+            subscriber.offer("", "");
+        }
+    }
+
+    /**
+     * Catches up on moves published between {@link #load} and the holder
+     * becoming visible to ticks.
+     */
+    synchronized void reprice(PriceSnapshot prices) {
+        for (String symbol : new ArrayList<>(holdings.keySet())) {
+            PriceTick tick = prices.get(symbol);
+            if (tick != null) reprice(tick, prices.getSequence());
+        }
+    }
+
+    /**
+     * Moves one holding to {@code tick}'s price, unless it has already seen a
+     * later snapshot or is no longer held.
+     */
+    synchronized void reprice(PriceTick tick, long sequence) {
+        Holding holding = holdings.get(tick.getSymbol());
+        if (holding == null || sequence <= holding.priceSequence) return;
+
+        totalValue -= holding.currentValue();
+        holding.price = tick.getPrice();
+        holding.priceSequence = sequence;
+        totalValue += holding.currentValue();
+        priceSequence = Math.max(priceSequence, sequence);
+        subscriber.offer(tick.getSymbol(), tick.getSymbol());
+    }
+
+    /**
+     * Replaces the traded symbol's holding with the position after the fill.
+     */
+    synchronized void apply(TradeEffect effect, PriceSnapshot prices) {
+        String symbol = effect.getStockSymbol();
+        Holding previous = holdings.remove(symbol);
+        if (previous != null) {
+            totalValue -= previous.currentValue();
+            totalInvested -= previous.totalInvested;
+        }
+
+        if (effect.getPositionQuantityAfter() > 0) {
+            Holding holding = new Holding();
+            holding.quantity = effect.getPositionQuantityAfter();
+            holding.averagePrice = effect.getPositionAveragePriceAfter();
+            holding.totalInvested = effect.getPositionTotalInvestedAfter();
+            if (previous != null) {
+                holding.companyName = previous.companyName;
+                holding.price = previous.price;
+                holding.priceSequence = previous.priceSequence;
+            } else {
+                price(holding, symbol, prices);
+            }
+            put(symbol, holding);
+        }
+        subscriber.offer(symbol, symbol);
+    }
+
+    // ========== PRIVATE HELPERS ==========
+
+    private void put(String symbol, Holding holding) {
+        holdings.put(symbol, holding);
+        totalValue += holding.currentValue();
+        totalInvested += holding.totalInvested;
+        subscriber.offer(symbol, symbol);
+    }
+
+    private void price(Holding holding, String symbol, PriceSnapshot prices) {
+        PriceTick tick = prices.get(symbol);
+        holding.companyName = tick != null ? tick.getCompanyName() : symbol;
+        holding.price = tick != null ? tick.getPrice() : holding.averagePrice;
+        holding.priceSequence = prices.getSequence();
+    }
+
+    // Runs on the dispatcher with the symbols that changed since the last event
+    private synchronized String encode(List<String> symbols) {
+        List<PortfolioSummary> changed = new ArrayList<>(symbols.size());
+        for (String symbol : symbols) {
+            if (symbol.isEmpty()) continue;
+            Holding holding = holdings.get(symbol);
+            changed.add(holding != null ? summary(symbol, holding) : closed(symbol));
+        }
+
+        long totalGainLoss = totalValue - totalInvested;
+        PortfolioDashboard delta = new PortfolioDashboard(
+                userId,
+                changed,
+                Money.toBigDecimal(totalValue),
+                Money.toBigDecimal(totalInvested),
+                Money.toBigDecimal(totalGainLoss),
+                gainLossPercent(totalInvested, totalGainLoss),
+                priceSequence
+        );
+        try {
+            return objectMapper.writeValueAsString(delta);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize portfolio of user " + userId, e);
+        }
+    }
+
+    private static PortfolioSummary summary(String symbol, Holding holding) {
+        long currentValue = holding.currentValue();
+        long gainLoss = currentValue - holding.totalInvested;
+        return new PortfolioSummary(
+                symbol,
+                holding.companyName,
+                holding.quantity,
+                Money.toBigDecimal(holding.averagePrice),
+                Money.toBigDecimal(holding.price),
+                Money.toBigDecimal(holding.totalInvested),
+                Money.toBigDecimal(currentValue),
+                Money.toBigDecimal(gainLoss),
+                gainLossPercent(holding.totalInvested, gainLoss)
+        );
+    }
+
+    // A position sold down to zero goes out once with quantity 0, so the client can drop the row
+    private static PortfolioSummary closed(String symbol) {
+        BigDecimal zero = Money.toBigDecimal(0);
+        return new PortfolioSummary(symbol, null, 0, zero, zero, zero, zero, zero, BigDecimal.ZERO);
+    }
+
+    private static BigDecimal gainLossPercent(long totalInvested, long gainLoss) {
+        if (totalInvested == 0) return BigDecimal.ZERO;
+        return Money.ratioAsPercent(Money.ratio(gainLoss, totalInvested));
+    }
+}
@@ -0,0 +1,181 @@
+package com.trading.simulator.streaming;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trading.simulator.execution.ShardedTradeExecutor;
+import com.trading.simulator.execution.TradeEffect;
+import com.trading.simulator.pricing.PriceEngine;
+import com.trading.simulator.pricing.PriceSnapshot;
+import com.trading.simulator.pricing.PriceTick;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pushes live portfolio valuations to subscribed users as server-sent
+ * events. Each subscription holds a {@link PortfolioHolder} seeded from the
+ * user's in-memory account on its trade shard, so neither subscribing to an
+ * account already in memory nor any later update touches the database.
+ *
+ * <p>Two indexes route updates: symbol to the holders that hold it, so a tick
+ * only reprices the portfolios it affects, and user to holders, for fills.
+ * Each event is a {@link com.trading.simulator.dto.PortfolioDashboard} whose
+ * positions are only the rows that changed since the previous event, with
+ * totals for the whole portfolio; the first event carries every row.
+ */
+@Component
+public class PortfolioStream {
+
+    static final String EVENT_NAME = "portfolio";
+
+    private final PriceEngine priceEngine;
+    private final ShardedTradeExecutor tradeExecutor;
+    private final ObjectMapper objectMapper;
+    private final int dispatchThreads;
+    private final long timeoutMs;
+    private final long sendTimeoutMs;
+
+    private final Map<String, Set<PortfolioHolder>> holdersBySymbol = new ConcurrentHashMap<>();
+    private final Map<Long, Set<PortfolioHolder>> holdersByUser = new ConcurrentHashMap<>();
+
+    private StreamDispatcher dispatcher;
+
+    public PortfolioStream(PriceEngine priceEngine,
+                           ShardedTradeExecutor tradeExecutor,
+                           ObjectMapper objectMapper,
+                           @Value("${simulator.streaming.dispatch-threads:0}") int dispatchThreads,
+                           @Value("${simulator.streaming.timeout-ms:1800000}") long timeoutMs,
+                           @Value("${simulator.streaming.send-timeout-ms:5000}") long sendTimeoutMs) {
+        this.priceEngine = priceEngine;
+        this.tradeExecutor = tradeExecutor;
+        this.objectMapper = objectMapper;
+        this.dispatchThreads = dispatchThreads > 0 ? dispatchThreads : Runtime.getRuntime().availableProcessors();
+        this.timeoutMs = timeoutMs;
+        this.sendTimeoutMs = sendTimeoutMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        dispatcher = new StreamDispatcher("portfolio", dispatchThreads, sendTimeoutMs);
+        priceEngine.addListener(this::onSnapshot);
+        tradeExecutor.addFillListener(this::onFill);
+    }
+
+    @PreDestroy
+    public void stop() {
+        holdersByUser.values().forEach(holders -> holders.forEach(PortfolioHolder::close));
+        if (dispatcher != null) dispatcher.shutdown();
+    }
+
+    /**
+     * Opens an event stream of {@code userId}'s portfolio.
+     *
+     * @throws RuntimeException if the user does not exist
+     */
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        PortfolioHolder holder = subscribe(userId,
+                StreamSubscriber.Sink.of(emitter, EVENT_NAME));
+        if (holder == null) {
+            throw new RuntimeException("User not found");
+        }
+
+        emitter.onCompletion(holder::close);
+        emitter.onTimeout(holder::close);
+        emitter.onError(error -> holder.close());
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return holdersByUser.values().stream().mapToInt(Set::size).sum();
+    }
+
+    /**
+     * Subscribes {@code sink} directly, without an HTTP response behind it.
+     *
+     * @return the holder, or {@code null} if the user does not exist
+     */
+    PortfolioHolder subscribe(Long userId, StreamSubscriber.Sink sink) {
+        PortfolioHolder holder = new PortfolioHolder(userId, objectMapper, sink, dispatcher, this::unsubscribe);
+
+        // Loaded and indexed on the account's shard, so no fill can slip in between
+        boolean found = tradeExecutor.query(userId, account -> {
+            if (account == null) return false;
+            holder.load(account.getPositions(), priceEngine.getSnapshot());
+            holdersByUser.compute(userId, (key, holders) -> {
+                Set<PortfolioHolder> updated = holders != null ? holders : ConcurrentHashMap.newKeySet();
+                updated.add(holder);
+                return updated;
+            });
+            holder.getSymbols().forEach(symbol -> index(symbol, holder));
+            return true;
+        });
+        if (!found) return null;
+
+        holder.reprice(priceEngine.getSnapshot());
+        return holder;
+    }
+
+    void onSnapshot(PriceSnapshot previous, PriceSnapshot current) {
+        for (PriceTick tick : current.getTicks()) {
+            if (previous.get(tick.getSymbolId()) == tick) continue;
+
+            Set<PortfolioHolder> holders = holdersBySymbol.get(tick.getSymbol());
+            if (holders == null || holders.isEmpty()) continue;
+
+            for (PortfolioHolder holder : holders) {
+                if (holder.isClosed()) {
+                    // A fill may have indexed it while it was closing
+                    holders.remove(holder);
+                } else {
+                    holder.reprice(tick, current.getSequence());
+                }
+            }
+        }
+    }
+
+    void onFill(TradeEffect effect) {
+        Set<PortfolioHolder> holders = holdersByUser.get(effect.getUserId());
+        if (holders == null || holders.isEmpty()) return;
+
+        PriceSnapshot prices = priceEngine.getSnapshot();
+        for (PortfolioHolder holder : holders) {
+            if (holder.isClosed()) {
+                holders.remove(holder);
+                continue;
+            }
+            holder.apply(effect, prices);
+            if (effect.getPositionQuantityAfter() > 0) {
+                index(effect.getStockSymbol(), holder);
+            } else {
+                unindex(effect.getStockSymbol(), holder);
+            }
+        }
+    }
+
+    // ========== PRIVATE HELPERS ==========
+
+    private void index(String symbol, PortfolioHolder holder) {
+        holdersBySymbol.computeIfAbsent(symbol, key -> ConcurrentHashMap.newKeySet()).add(holder);
+    }
+
+    private void unindex(String symbol, PortfolioHolder holder) {
+        Set<PortfolioHolder> holders = holdersBySymbol.get(symbol);
+        if (holders != null) {
+            holders.remove(holder);
+        }
+    }
+
+    private void unsubscribe(PortfolioHolder holder) {
+        holdersByUser.computeIfPresent(holder.getUserId(), (userId, holders) -> {
+            holders.remove(holder);
+            return holders.isEmpty() ? null : holders;
+        });
+        holder.getSymbols().forEach(symbol -> unindex(symbol, holder));
+    }
+}
@@ -0,0 +1,186 @@
+package com.trading.simulator.streaming;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trading.simulator.dto.StockQuote;
+import com.trading.simulator.pricing.PriceEngine;
+import com.trading.simulator.pricing.PriceSnapshot;
+import com.trading.simulator.pricing.PriceTick;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes quotes to subscribed clients as server-sent events, fed by the one
+ * tick stream of the {@link PriceEngine}. For every published snapshot, each
+ * symbol that moved and has subscribers is serialized to JSON once, and the
+ * same string is offered to every {@link StreamSubscriber} of that symbol; the
+ * ticker thread only does map puts, and a small dispatcher pool does the
+ * writes. Slow clients are conflated to the latest price per symbol, and a
+ * client whose send blocks for longer than {@code send-timeout-ms} is dropped
+ * (see {@link StreamDispatcher}).
+ */
+@Component
+public class QuoteStream {
+
+    static final String EVENT_NAME = "quotes";
+
+    private final PriceEngine priceEngine;
+    private final ObjectMapper objectMapper;
+    private final int dispatchThreads;
+    private final long timeoutMs;
+    private final long sendTimeoutMs;
+
+    private final Map<String, Set<StreamSubscriber<String>>> subscribersBySymbol = new ConcurrentHashMap<>();
+    private final Map<StreamSubscriber<String>, Set<String>> subscribers = new ConcurrentHashMap<>();
+
+    // The ticker fans out under this; subscribing takes it to read the last snapshot fanned out
+    private final Object fanOutLock = new Object();
+    private PriceSnapshot delivered;
+
+    private StreamDispatcher dispatcher;
+
+    public QuoteStream(PriceEngine priceEngine,
+                       ObjectMapper objectMapper,
+                       @Value("${simulator.streaming.dispatch-threads:0}") int dispatchThreads,
+                       @Value("${simulator.streaming.timeout-ms:1800000}") long timeoutMs,
+                       @Value("${simulator.streaming.send-timeout-ms:5000}") long sendTimeoutMs) {
+        this.priceEngine = priceEngine;
+        this.objectMapper = objectMapper;
+        this.dispatchThreads = dispatchThreads > 0 ? dispatchThreads : Runtime.getRuntime().availableProcessors();
+        this.timeoutMs = timeoutMs;
+        this.sendTimeoutMs = sendTimeoutMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        dispatcher = new StreamDispatcher("quote", dispatchThreads, sendTimeoutMs);
+        priceEngine.addListener(this::onSnapshot);
+        synchronized (fanOutLock) {
+            if (delivered == null) delivered = priceEngine.getSnapshot();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        subscribers.keySet().forEach(StreamSubscriber::close);
+        if (dispatcher != null) dispatcher.shutdown();
+    }
+
+    /**
+     * Opens an event stream of {@code symbols}. The current quote of each is
+     * sent straight away, then every move after it.
+     */
+    public SseEmitter subscribe(Collection<String> symbols) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        StreamSubscriber<String> subscriber = subscribe(symbols,
+                StreamSubscriber.Sink.of(emitter, EVENT_NAME));
+
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Subscribes {@code sink} directly, without an HTTP response behind it.
+     */
+    StreamSubscriber<String> subscribe(Collection<String> symbols, StreamSubscriber.Sink sink) {
+        Set<String> normalized = new LinkedHashSet<>();
+        symbols.forEach(symbol -> normalized.add(symbol.trim().toUpperCase()));
+
+        StreamSubscriber<String> subscriber = new StreamSubscriber<>(sink, QuoteStream::toJsonArray,
+                dispatcher, this::unsubscribe);
+
+        // Under the fan-out lock, so the initial quotes can never overwrite a newer move
+        synchronized (fanOutLock) {
+            subscribers.put(subscriber, normalized);
+            for (String symbol : normalized) {
+                subscribersBySymbol.computeIfAbsent(symbol, key -> ConcurrentHashMap.newKeySet()).add(subscriber);
+                PriceTick tick = delivered.get(symbol);
+                if (tick != null) {
+                    subscriber.offer(symbol, serialize(tick));
+                }
+            }
+        }
+        return subscriber;
+    }
+
+    void onSnapshot(PriceSnapshot previous, PriceSnapshot current) {
+        synchronized (fanOutLock) {
+            delivered = current;
+            fanOut(previous, current);
+        }
+    }
+
+    // ========== PRIVATE HELPERS ==========
+
+    private void fanOut(PriceSnapshot previous, PriceSnapshot current) {
+        for (PriceTick tick : current.getTicks()) {
+            if (previous.get(tick.getSymbolId()) == tick) continue;
+
+            Set<StreamSubscriber<String>> listening = subscribersBySymbol.get(tick.getSymbol());
+            if (listening == null || listening.isEmpty()) continue;
+
+            String frame = serialize(tick);
+            for (StreamSubscriber<String> subscriber : listening) {
+                subscriber.offer(tick.getSymbol(), frame);
+            }
+        }
+    }
+
+    private void unsubscribe(StreamSubscriber<String> subscriber) {
+        Set<String> symbols = subscribers.remove(subscriber);
+        if (symbols == null) return;
+        for (String symbol : symbols) {
+            Set<StreamSubscriber<String>> listening = subscribersBySymbol.get(symbol);
+            if (listening != null) {
+                listening.remove(subscriber);
+            }
+        }
+    }
+
+    private String serialize(PriceTick tick) {
+        try {
+            return objectMapper.writeValueAsString(StockQuote.from(tick));
+        } catch (JsonProcessingException e) {
+            // StockQuote is plain strings and numbers, so this means a broken mapper
+            throw new IllegalStateException("Could not serialize quote for " + tick.getSymbol(), e);
+        }
+    }
+
+    // Frames are already JSON, so the payload is just the array around them
+    private static String toJsonArray(List<String> frames) {
+        StringBuilder payload = new StringBuilder(frames.get(0).length() * frames.size() + frames.size() + 1);
+        payload.append('[');
+        for (int i = 0; i < frames.size(); i++) {
+            if (i > 0) payload.append(',');
+            payload.append(frames.get(i));
+        }
+        return payload.append(']').toString();
+    }
+
+    static ThreadFactory daemon(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + count.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,90 @@
+package com.trading.simulator.streaming;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The workers that write stream payloads to clients, and a watchdog for
+ * clients that stop reading.
+ *
+ * <p>A write to an event stream blocks once the client's socket buffer is
+ * full, and only the container's write timeout ends it. A send still running
+ * after {@code sendTimeoutMs} marks its subscriber stalled: the subscriber is
+ * closed, so nothing more is scheduled for it, and the pool gets one extra
+ * worker for as long as that send stays blocked. Healthy clients always have
+ * {@code threads} workers, however many sockets have stalled.
+ */
+final class StreamDispatcher implements Executor {
+
+    private final int threads;
+    private final long sendTimeoutNanos;
+    private final ThreadPoolExecutor workers;
+    private final ScheduledExecutorService watchdog;
+
+    // Subscriber to the nanoTime its current send started
+    private final Map<StreamSubscriber<?>, Long> sending = new ConcurrentHashMap<>();
+    private int stalled;
+
+    StreamDispatcher(String name, int threads, long sendTimeoutMs) {
+        this.threads = threads;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        // The queue is unbounded, so the pool only ever runs its core threads
+        this.workers = new ThreadPoolExecutor(threads, Integer.MAX_VALUE, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), QuoteStream.daemon(name + "-dispatch-"));
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(QuoteStream.daemon(name + "-watchdog-"));
+        long period = Math.max(1, sendTimeoutMs / 2);
+        watchdog.scheduleWithFixedDelay(this::dropStalled, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        workers.execute(task);
+    }
+
+    void shutdown() {
+        watchdog.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    /**
+     * Called by a worker just before it writes for {@code subscriber}.
+     */
+    void sending(StreamSubscriber<?> subscriber) {
+        sending.put(subscriber, System.nanoTime());
+    }
+
+    /**
+     * Called by the worker once the write has returned or thrown.
+     *
+     * @return false if the watchdog dropped the subscriber meanwhile
+     */
+    boolean sent(StreamSubscriber<?> subscriber) {
+        if (sending.remove(subscriber) != null) return true;
+        resize(-1);
+        return false;
+    }
+
+    // ========== PRIVATE HELPERS ==========
+
+    private void dropStalled() {
+        long now = System.nanoTime();
+        for (Map.Entry<StreamSubscriber<?>, Long> entry : sending.entrySet()) {
+            // Removing the entry claims it; a send that returns first removes it itself
+            if (now - entry.getValue() > sendTimeoutNanos && sending.remove(entry.getKey(), entry.getValue())) {
+                resize(1);
+                entry.getKey().close();
+            }
+        }
+    }
+
+    private synchronized void resize(int delta) {
+        stalled += delta;
+        workers.setCorePoolSize(threads + stalled);
+    }
+}
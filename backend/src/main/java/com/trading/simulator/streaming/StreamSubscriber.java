@@ -0,0 +1,146 @@
+package com.trading.simulator.streaming;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * One client of a stream. Updates land in a map holding the latest value per
+ * key (a symbol), so a client that falls behind skips straight to the current
+ * state instead of queuing every change in between; memory per client is
+ * bounded by the keys it follows. At most one drain per client is scheduled
+ * at a time, and each drain encodes everything pending into one payload.
+ * A client whose send blocks past the dispatcher's send timeout is closed.
+ *
+ * @param <V> what is pending per key
+ */
+final class StreamSubscriber<V> {
+
+    /**
+     * Writes one payload to the client; throws when the client has gone away.
+     */
+    @FunctionalInterface
+    interface Sink {
+        void send(String payload) throws IOException;
+
+        /**
+         * Ends the client's stream once a send that timed out has returned.
+         */
+        default void abort() {
+        }
+
+        /**
+         * Sends each payload as one {@code eventName} event on {@code emitter}.
+         */
+        static Sink of(SseEmitter emitter, String eventName) {
+            return new Sink() {
+                @Override
+                public void send(String payload) throws IOException {
+                    emitter.send(SseEmitter.event().name(eventName).data(payload));
+                }
+
+                @Override
+                public void abort() {
+                    emitter.complete();
+                }
+            };
+        }
+    }
+
+    private final Sink sink;
+    private final Function<List<V>, String> encoder;
+    private final StreamDispatcher dispatcher;
+    private final Consumer<StreamSubscriber<V>> onClose;
+
+    private final Map<String, V> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    StreamSubscriber(Sink sink, Function<List<V>, String> encoder, StreamDispatcher dispatcher,
+                     Consumer<StreamSubscriber<V>> onClose) {
+        this.sink = sink;
+        this.encoder = encoder;
+        this.dispatcher = dispatcher;
+        this.onClose = onClose;
+    }
+
+    /**
+     * Replaces whatever is pending for {@code key} with {@code value}.
+     * Called from publishing threads; never blocks.
+     */
+    void offer(String key, V value) {
+        if (closed.get()) return;
+
+        pending.put(key, value);
+        schedule();
+    }
+
+    boolean isClosed() {
+        return closed.get();
+    }
+
+    void close() {
+        if (closed.compareAndSet(false, true)) {
+            pending.clear();
+            onClose.accept(this);
+        }
+    }
+
+    // ========== PRIVATE HELPERS ==========
+
+    private void drain() {
+        try {
+            List<V> values = takePending();
+            if (!values.isEmpty() && !closed.get()) {
+                send(encoder.apply(values));
+            }
+        } catch (IOException | RuntimeException e) {
+            close();
+        } finally {
+            scheduled.set(false);
+        }
+        // An offer that lost the race with the reset above would otherwise sit until the next change
+        if (!pending.isEmpty()) {
+            schedule();
+        }
+    }
+
+    private void send(String payload) throws IOException {
+        dispatcher.sending(this);
+        try {
+            sink.send(payload);
+        } finally {
+            if (!dispatcher.sent(this)) {
+                sink.abort();
+            }
+        }
+    }
+
+    private void schedule() {
+        if (closed.get() || !scheduled.compareAndSet(false, true)) return;
+        try {
+            dispatcher.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            close();
+        }
+    }
+
+    private List<V> takePending() {
+        List<V> values = new ArrayList<>(pending.size());
+        for (Map.Entry<String, V> entry : pending.entrySet()) {
+            // Only drop the value we send; a newer one stays pending
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                values.add(entry.getValue());
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,121 @@
+package com.trading.simulator.symbol;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Open-addressing map from non-negative int keys (symbol ids) to objects,
+ * with linear probing and backward-shift deletion. Grows when half full, so
+ * lookups never box the key. A negative key is never present. Not thread-safe.
+ */
+public final class IntObjectMap<V> {
+
+    private static final int EMPTY = -1;
+
+    private int[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+
+    public IntObjectMap() {
+        this(8);
+    }
+
+    public IntObjectMap(int expectedSize) {
+        allocate(Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        for (int i = slot(key); ; i = (i + 1) & mask) {
+            int k = keys[i];
+            if (k == key) return (V) values[i];
+            if (k == EMPTY) return null;
+        }
+    }
+
+    public void put(int key, V value) {
+        for (int i = slot(key); ; i = (i + 1) & mask) {
+            int k = keys[i];
+            if (k == key) {
+                values[i] = value;
+                return;
+            }
+            if (k == EMPTY) {
+                keys[i] = key;
+                values[i] = value;
+                if (++size * 2 > keys.length) rehash();
+                return;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        int i = slot(key);
+        while (keys[i] != key) {
+            if (keys[i] == EMPTY) return null;
+            i = (i + 1) & mask;
+        }
+        V removed = (V) values[i];
+        size--;
+
+        // Shift later entries of the same probe run back into the hole
+        int hole = i;
+        for (int j = (hole + 1) & mask; keys[j] != EMPTY; j = (j + 1) & mask) {
+            int home = slot(keys[j]);
+            if (((j - home) & mask) >= ((j - hole) & mask)) {
+                keys[hole] = keys[j];
+                values[hole] = values[j];
+                hole = j;
+            }
+        }
+        keys[hole] = EMPTY;
+        values[hole] = null;
+        return removed;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * A copy of the values, in no particular order.
+     */
+    @SuppressWarnings("unchecked")
+    public List<V> values() {
+        List<V> copy = new ArrayList<>(size);
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) copy.add((V) values[i]);
+        }
+        return copy;
+    }
+
+    // ========== PRIVATE HELPERS ==========
+
+    private void rehash() {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(oldKeys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == EMPTY) continue;
+            int j = slot(oldKeys[i]);
+            while (keys[j] != EMPTY) j = (j + 1) & mask;
+            keys[j] = oldKeys[i];
+            values[j] = oldValues[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        Arrays.fill(keys, EMPTY);
+    }
+
+    private int slot(int key) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,134 @@
+package com.trading.simulator.symbol;
+
+import java.util.Locale;
+
+/**
+ * Process-wide dictionary from ticker symbols to dense int ids, so state kept
+ * per symbol can live in arrays and primitive-keyed maps instead of maps
+ * keyed by {@code String}.
+ *
+ * <p>Ids start at 0, are handed out in interning order and never change or
+ * get reused while the process runs; they are not persisted anywhere.
+ * Lookups are case-insensitive over ASCII, lock-free and allocation-free, so
+ * request symbols can be resolved as they arrive without upper-casing them
+ * first. Interning takes a lock, which only matters while stocks are being
+ * registered.
+ */
+public final class SymbolRegistry {
+
+    public static final int UNKNOWN = -1;
+
+    private static final Object lock = new Object();
+    private static volatile Table table = new Table(64);
+
+    private SymbolRegistry() {}
+
+    /**
+     * The id of {@code symbol}, assigning the next one if it is new. The
+     * stored symbol is the trimmed, upper-cased form.
+     */
+    public static int intern(String symbol) {
+        int id = idOf(symbol);
+        if (id != UNKNOWN) return id;
+
+        String canonical = symbol.trim().toUpperCase(Locale.ROOT);
+        synchronized (lock) {
+            id = idOf(canonical);
+            if (id != UNKNOWN) return id;
+
+            Table current = table;
+            if (current.size == current.symbols.length) {
+                current = current.grow();
+            }
+            id = current.size;
+            current.add(canonical, id);
+            current.size = id + 1;
+            table = current; // publishes the new entry along with a grown table
+            return id;
+        }
+    }
+
+    /**
+     * The id of {@code symbol} in any letter case, or {@link #UNKNOWN}.
+     */
+    public static int idOf(CharSequence symbol) {
+        if (symbol == null) return UNKNOWN;
+        Table current = table;
+        int mask = current.slots.length - 1;
+        for (int i = hash(symbol) & mask; ; i = (i + 1) & mask) {
+            int entry = current.slots[i];
+            if (entry == 0) return UNKNOWN;
+            // An entry being added concurrently may not be visible yet; that reads as a miss
+            String candidate = current.symbols[entry - 1];
+            if (candidate != null && equalsIgnoreCase(candidate, symbol)) return entry - 1;
+        }
+    }
+
+    /**
+     * The canonical symbol for an id handed out by {@link #intern}.
+     */
+    public static String symbolOf(int id) {
+        return table.symbols[id];
+    }
+
+    /**
+     * One past the highest id handed out so far, for sizing arrays indexed by id.
+     */
+    public static int size() {
+        return table.size;
+    }
+
+    // ========== PRIVATE HELPERS ==========
+
+    private static int hash(CharSequence symbol) {
+        int h = 0;
+        for (int i = 0; i < symbol.length(); i++) {
+            h = 31 * h + upper(symbol.charAt(i));
+        }
+        // Tickers differ in their last few characters only, so spread those over the whole table
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean equalsIgnoreCase(String canonical, CharSequence symbol) {
+        if (canonical.length() != symbol.length()) return false;
+        for (int i = 0; i < canonical.length(); i++) {
+            if (canonical.charAt(i) != upper(symbol.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    private static char upper(char c) {
+        return c >= 'a' && c <= 'z' ? (char) (c - ('a' - 'A')) : c;
+    }
+
+    // Open-addressing index of id + 1 (0 is empty) over the symbols array, at most half full.
+    // Only written under the lock.
+    private static final class Table {
+        final int[] slots;
+        final String[] symbols;
+        int size;
+
+        Table(int capacity) {
+            slots = new int[capacity * 2];
+            symbols = new String[capacity];
+        }
+
+        Table grow() {
+            Table grown = new Table(symbols.length * 2);
+            for (int id = 0; id < size; id++) {
+                grown.add(symbols[id], id);
+            }
+            grown.size = size;
+            return grown;
+        }
+
+        void add(String symbol, int id) {
+            int mask = slots.length - 1;
+            int i = hash(symbol) & mask;
+            while (slots[i] != 0) i = (i + 1) & mask;
+            symbols[id] = symbol;
+            slots[i] = id + 1;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.trading.simulator.tickstore;
+
+/**
+ * Ticks of one downsampling bucket {@code [startMillis, startMillis + width)}
+ * reduced to open, high, low and close, in cents.
+ */
+public record TickBar(long startMillis, long open, long high, long low, long close, int ticks) {}
@@ -0,0 +1,129 @@
+package com.trading.simulator.tickstore;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The payload of one sealed block: up to {@code blockSize} consecutive ticks
+ * of one symbol, stored as two columns after a fixed header.
+ *
+ * <pre>
+ * [short symbol length][symbol][int count][long first time][long first price][long last time][int time bytes]
+ * [time column: zigzag varint of each delta-of-delta]
+ * [price column: zigzag varint of each delta]
+ * </pre>
+ *
+ * Ticks arrive on a fixed interval, so time deltas-of-deltas are nearly always
+ * 0 and take one byte; prices move a few cents at a time and take one or two.
+ */
+final class TickBlockCodec {
+
+    // Upper bound of one encoded tick: a 10-byte varint per column
+    static final int MAX_BYTES_PER_TICK = 20;
+
+    private TickBlockCodec() {}
+
+    static int maxPayloadBytes(String symbol, int count) {
+        return 2 + symbol.length() + 4 + 8 + 8 + 8 + 4 + count * MAX_BYTES_PER_TICK;
+    }
+
+    static void encode(String symbol, long[] times, long[] prices, int count, ByteBuffer out) {
+        byte[] symbolBytes = symbol.getBytes(StandardCharsets.US_ASCII);
+        out.putShort((short) symbolBytes.length);
+        out.put(symbolBytes);
+        out.putInt(count);
+        out.putLong(times[0]);
+        out.putLong(prices[0]);
+        out.putLong(times[count - 1]);
+        int timeBytesAt = out.position();
+        out.putInt(0);
+
+        int timeStart = out.position();
+        long previousDelta = 0;
+        for (int i = 1; i < count; i++) {
+            long delta = times[i] - times[i - 1];
+            putVarLong(out, zigzag(delta - previousDelta));
+            previousDelta = delta;
+        }
+        out.putInt(timeBytesAt, out.position() - timeStart);
+        for (int i = 1; i < count; i++) {
+            putVarLong(out, zigzag(prices[i] - prices[i - 1]));
+        }
+    }
+
+    /**
+     * The header of the block whose payload starts at {@code offset}.
+     */
+    static Header header(ByteBuffer segment, int offset) {
+        int symbolLength = segment.getShort(offset);
+        byte[] symbol = new byte[symbolLength];
+        segment.get(offset + 2, symbol);
+        int at = offset + 2 + symbolLength;
+        int count = segment.getInt(at);
+        long firstTime = segment.getLong(at + 4);
+        long firstPrice = segment.getLong(at + 12);
+        long lastTime = segment.getLong(at + 20);
+        int timeBytes = segment.getInt(at + 28);
+        int timeColumn = at + 32;
+        return new Header(new String(symbol, StandardCharsets.US_ASCII), count, firstTime, firstPrice, lastTime,
+                timeColumn, timeColumn + timeBytes);
+    }
+
+    /**
+     * Decodes the block and passes each tick in {@code [from, to)} to the
+     * consumer. Stops early once past {@code to}.
+     */
+    static void scan(ByteBuffer segment, Header header, long from, long to, TickConsumer consumer) {
+        long time = header.firstTime();
+        long price = header.firstPrice();
+        long delta = 0;
+        int timeAt = header.timeColumn();
+        int priceAt = header.priceColumn();
+        for (int i = 0; ; i++) {
+            if (time >= to) return;
+            if (time >= from) consumer.accept(time, price);
+            if (i + 1 == header.count()) return;
+
+            long timeBits = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = segment.get(timeAt++);
+                timeBits |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            delta += unzigzag(timeBits);
+            time += delta;
+
+            long priceBits = 0;
+            shift = 0;
+            do {
+                b = segment.get(priceAt++);
+                priceBits |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            price += unzigzag(priceBits);
+        }
+    }
+
+    record Header(String symbol, int count, long firstTime, long firstPrice, long lastTime,
+                  int timeColumn, int priceColumn) {}
+
+    // ========== PRIVATE HELPERS ==========
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long bits) {
+        return (bits >>> 1) ^ -(bits & 1);
+    }
+
+    private static void putVarLong(ByteBuffer out, long bits) {
+        while ((bits & ~0x7FL) != 0) {
+            out.put((byte) ((bits & 0x7F) | 0x80));
+            bits >>>= 7;
+        }
+        out.put((byte) bits);
+    }
+}
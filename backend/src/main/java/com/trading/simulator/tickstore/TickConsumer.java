@@ -0,0 +1,10 @@
+package com.trading.simulator.tickstore;
+
+/**
+ * Receives ticks from a {@link TickStore} scan, oldest first.
+ */
+@FunctionalInterface
+public interface TickConsumer {
+
+    void accept(long epochMillis, long price);
+}
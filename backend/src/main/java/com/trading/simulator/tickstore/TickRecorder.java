@@ -0,0 +1,118 @@
+package com.trading.simulator.tickstore;
+
+import com.trading.simulator.pricing.PriceEngine;
+import com.trading.simulator.pricing.PriceSnapshot;
+import com.trading.simulator.pricing.PriceTick;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records every price move the {@link PriceEngine} publishes into a
+ * {@link TickStore}. The ticker thread only hands each snapshot pair to a
+ * single recorder thread, which appends the ticks that moved, so the store
+ * keeps its one writer. Times are stored as epoch milliseconds of the tick
+ * timestamps in the system zone, the zone they were taken in.
+ */
+@Component
+public class TickRecorder {
+
+    private static final Logger log = LoggerFactory.getLogger(TickRecorder.class);
+
+    private final PriceEngine priceEngine;
+    private final boolean enabled;
+    private final Path directory;
+    private final int segmentSize;
+    private final int blockSize;
+
+    private TickStore store;
+    private ExecutorService recorder;
+
+    public TickRecorder(PriceEngine priceEngine,
+                        @Value("${simulator.tickstore.enabled:true}") boolean enabled,
+                        @Value("${simulator.tickstore.directory:data/ticks}") String directory,
+                        @Value("${simulator.tickstore.segment-size-mb:64}") int segmentSizeMb,
+                        @Value("${simulator.tickstore.block-size:1024}") int blockSize) {
+        this.priceEngine = priceEngine;
+        this.enabled = enabled;
+        this.directory = Path.of(directory);
+        this.segmentSize = segmentSizeMb << 20;
+        this.blockSize = blockSize;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) return;
+
+        store = TickStore.open(directory, segmentSize, blockSize);
+        log.info("Tick store at {} holds {} ticks in {} bytes", directory, store.getTickCount(), store.getStoredBytes());
+
+        recorder = Executors.newSingleThreadExecutor(runnable -> {
+            Thread t = new Thread(runnable, "tick-recorder");
+            t.setDaemon(true);
+            return t;
+        });
+        priceEngine.addListener(this::onSnapshot);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (store == null) return;
+
+        recorder.shutdown();
+        recorder.awaitTermination(5, TimeUnit.SECONDS);
+        store.close();
+    }
+
+    public boolean isEnabled() {
+        return store != null;
+    }
+
+    /**
+     * One bar per {@code widthMillis} of {@code symbol} between the two times,
+     * oldest first.
+     */
+    public List<TickBar> getBars(String symbol, LocalDateTime from, LocalDateTime to, long widthMillis) {
+        if (store == null) throw new IllegalStateException("Price history is not being recorded");
+        return store.downsample(symbol, toEpochMillis(from), toEpochMillis(to), widthMillis);
+    }
+
+    public static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    public static LocalDateTime fromEpochMillis(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    // ========== PRIVATE HELPERS ==========
+
+    private void onSnapshot(PriceSnapshot previous, PriceSnapshot current) {
+        if (!recorder.isShutdown()) {
+            recorder.execute(() -> record(previous, current));
+        }
+    }
+
+    private void record(PriceSnapshot previous, PriceSnapshot current) {
+        try {
+            for (PriceTick tick : current.getTicks()) {
+                if (previous.get(tick.getSymbolId()) == tick) continue;
+                store.append(tick.getSymbol(), toEpochMillis(tick.getTimestamp()), tick.getPrice());
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to record ticks", e);
+        }
+    }
+}
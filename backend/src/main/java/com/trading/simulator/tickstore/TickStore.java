@@ -0,0 +1,373 @@
+package com.trading.simulator.tickstore;
+
+import com.trading.simulator.symbol.SymbolRegistry;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Embedded, append-only price history: every tick of every symbol, in
+ * compressed columnar blocks in memory-mapped segment files.
+ *
+ * <p>Ticks collect per symbol in an open block of {@code blockSize} ticks on
+ * the heap. A full block is encoded by {@link TickBlockCodec} (delta-of-delta
+ * times, delta prices, zigzag varints: about three bytes a tick) and appended
+ * to the current segment as {@code [int length][int crc32][payload]}, in the
+ * same framing as the trade journal: the length is written last, and
+ * {@link #open} drops a torn record at the tail. Only the block index is kept
+ * in memory; it is rebuilt from the segments on open. Open blocks are only on
+ * the heap, so a crash loses at most one block per symbol; {@link #close}
+ * seals them.
+ *
+ * <p>One thread appends. Scans may run on any thread concurrently with it.
+ */
+public final class TickStore implements AutoCloseable {
+
+    private static final int HEADER_BYTES = 8;
+    private static final String SEGMENT_SUFFIX = ".ticks";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int blockSize;
+    private final ByteBuffer scratch;
+    private final CRC32 crc = new CRC32();
+
+    // Index is the segment number; earlier segments are complete and never written again
+    private final List<ByteBuffer> segments = new CopyOnWriteArrayList<>();
+    private volatile Series[] bySymbolId = new Series[0];
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private int segmentIndex;
+    private int writePosition;
+    private volatile long storedBytes;
+    private volatile long tickCount;
+
+    private TickStore(Path directory, int segmentSize, int blockSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.blockSize = blockSize;
+        this.scratch = ByteBuffer.allocate(TickBlockCodec.maxPayloadBytes("", blockSize) + 256);
+    }
+
+    /**
+     * Opens or creates the store in {@code directory}, rebuilding the block
+     * index from its segments.
+     */
+    public static TickStore open(Path directory, int segmentSize, int blockSize) {
+        if (blockSize < 2) throw new IllegalArgumentException("Block size must be at least 2");
+        if (segmentSize < HEADER_BYTES + TickBlockCodec.maxPayloadBytes("", blockSize) + 256) {
+            throw new IllegalArgumentException("Segment size too small for blocks of " + blockSize);
+        }
+        TickStore store = new TickStore(directory, segmentSize, blockSize);
+        try {
+            Files.createDirectories(directory);
+            store.recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open tick store in " + directory, e);
+        }
+        return store;
+    }
+
+    // ========== WRITES (one thread) ==========
+
+    /**
+     * Records a tick. A time earlier than the symbol's last tick is recorded as
+     * that time, so every series stays ordered when the clock steps back.
+     */
+    public void append(String symbol, long epochMillis, long price) {
+        int symbolId = SymbolRegistry.intern(symbol);
+        Series series = seriesFor(symbolId);
+        synchronized (series) {
+            long time = Math.max(epochMillis, series.lastTime);
+            series.times[series.open] = time;
+            series.prices[series.open] = price;
+            series.open++;
+            series.lastTime = time;
+            if (series.open == blockSize) seal(series);
+        }
+        tickCount++;
+    }
+
+    /**
+     * Writes every open block out as a (short) sealed block.
+     */
+    public void sealAll() {
+        for (Series series : bySymbolId) {
+            if (series == null) continue;
+            synchronized (series) {
+                if (series.open > 0) seal(series);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            sealAll();
+            segment.force();
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ========== READS (any thread) ==========
+
+    /**
+     * Passes every tick of {@code symbol} in {@code [from, to)}, epoch
+     * milliseconds, to the consumer, oldest first.
+     */
+    public void scan(String symbol, long from, long to, TickConsumer consumer) {
+        Series series = find(symbol);
+        if (series == null || from >= to) return;
+
+        int blockCount;
+        int[] blockSegments;
+        int[] blockOffsets;
+        long[] blockLastTimes;
+        long[] openTimes;
+        long[] openPrices;
+        synchronized (series) {
+            blockCount = series.blockCount;
+            blockSegments = series.blockSegments;
+            blockOffsets = series.blockOffsets;
+            blockLastTimes = series.blockLastTimes;
+            openTimes = Arrays.copyOf(series.times, series.open);
+            openPrices = Arrays.copyOf(series.prices, series.open);
+        }
+
+        // Blocks are in time order, so skip straight to the first that can overlap
+        for (int block = firstBlockEndingAtOrAfter(blockLastTimes, blockCount, from); block < blockCount; block++) {
+            ByteBuffer data = segments.get(blockSegments[block]);
+            TickBlockCodec.Header header = TickBlockCodec.header(data, blockOffsets[block]);
+            if (header.firstTime() >= to) return;
+            TickBlockCodec.scan(data, header, from, to, consumer);
+        }
+        for (int i = 0; i < openTimes.length && openTimes[i] < to; i++) {
+            if (openTimes[i] >= from) consumer.accept(openTimes[i], openPrices[i]);
+        }
+    }
+
+    /**
+     * The ticks of {@code symbol} in {@code [from, to)} reduced to one bar per
+     * {@code widthMillis} bucket, buckets aligned to multiples of the width
+     * since the epoch. Buckets without ticks are left out.
+     */
+    public List<TickBar> downsample(String symbol, long from, long to, long widthMillis) {
+        if (widthMillis <= 0) throw new IllegalArgumentException("Width must be positive");
+        Downsampler downsampler = new Downsampler(widthMillis);
+        scan(symbol, from, to, downsampler);
+        return downsampler.finish();
+    }
+
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    // Bytes of sealed blocks on disk, framing included
+    public long getStoredBytes() {
+        return storedBytes;
+    }
+
+    // ========== PRIVATE HELPERS ==========
+
+    private void seal(Series series) {
+        scratch.clear();
+        TickBlockCodec.encode(series.symbol, series.times, series.prices, series.open, scratch);
+        int length = scratch.position();
+        if (writePosition + HEADER_BYTES + length > segmentSize) {
+            roll();
+        }
+
+        crc.reset();
+        crc.update(scratch.array(), 0, length);
+        segment.put(writePosition + HEADER_BYTES, scratch.array(), 0, length);
+        segment.putInt(writePosition + 4, (int) crc.getValue());
+        segment.putInt(writePosition, length); // publishes the record
+
+        series.addBlock(segmentIndex, writePosition + HEADER_BYTES, series.lastTime);
+        series.open = 0;
+        writePosition += HEADER_BYTES + length;
+        storedBytes += HEADER_BYTES + length;
+    }
+
+    private Series seriesFor(int symbolId) {
+        Series[] current = bySymbolId;
+        if (symbolId < current.length && current[symbolId] != null) return current[symbolId];
+
+        Series[] grown = symbolId < current.length ? current.clone()
+                : Arrays.copyOf(current, Math.max(symbolId + 1, SymbolRegistry.size()));
+        Series series = new Series(SymbolRegistry.symbolOf(symbolId), blockSize);
+        grown[symbolId] = series;
+        bySymbolId = grown;
+        return series;
+    }
+
+    private Series find(String symbol) {
+        int symbolId = SymbolRegistry.idOf(symbol);
+        Series[] current = bySymbolId;
+        return symbolId >= 0 && symbolId < current.length ? current[symbolId] : null;
+    }
+
+    private static int firstBlockEndingAtOrAfter(long[] lastTimes, int count, long time) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (lastTimes[middle] < time) low = middle + 1; else high = middle;
+        }
+        return low;
+    }
+
+    // ========== SEGMENTS ==========
+
+    private void recover() throws IOException {
+        List<Path> files = segmentFiles();
+        if (files.isEmpty()) {
+            map(0);
+            return;
+        }
+
+        for (int i = 0; i < files.size() - 1; i++) {
+            try (FileChannel in = FileChannel.open(files.get(i), StandardOpenOption.READ)) {
+                MappedByteBuffer data = in.map(FileChannel.MapMode.READ_ONLY, 0, in.size());
+                segments.add(data);
+                index(data, i);
+            }
+        }
+        map(files.size() - 1);
+        writePosition = index(segment, segmentIndex);
+        for (int i = writePosition; i < segmentSize; i++) {
+            if (segment.get(i) != 0) segment.put(i, (byte) 0);
+        }
+    }
+
+    // Adds every complete block in the segment to the index and returns the offset just past the last one
+    private int index(ByteBuffer data, int index) {
+        int position = 0;
+        while (position + HEADER_BYTES <= data.limit()) {
+            int length = data.getInt(position);
+            if (length <= 0 || position + HEADER_BYTES + length > data.limit()) break;
+            crc.reset();
+            crc.update(data.slice(position + HEADER_BYTES, length));
+            if ((int) crc.getValue() != data.getInt(position + 4)) break;
+
+            TickBlockCodec.Header header = TickBlockCodec.header(data, position + HEADER_BYTES);
+            Series series = seriesFor(SymbolRegistry.intern(header.symbol()));
+            series.addBlock(index, position + HEADER_BYTES, header.lastTime());
+            series.lastTime = header.lastTime();
+            tickCount += header.count();
+            storedBytes += HEADER_BYTES + length;
+            position += HEADER_BYTES + length;
+        }
+        return position;
+    }
+
+    private void roll() {
+        segment.force();
+        try {
+            channel.close();
+            map(segmentIndex + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot roll tick store segment", e);
+        }
+    }
+
+    private void map(int index) throws IOException {
+        segmentIndex = index;
+        writePosition = 0;
+        channel = FileChannel.open(directory.resolve(String.format("ticks-%08d%s", index, SEGMENT_SUFFIX)),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        segments.add(segment);
+    }
+
+    private List<Path> segmentFiles() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list tick store in " + directory, e);
+        }
+    }
+
+    // Sealed block locations (grown by copy, so a reader's copy of the arrays stays valid) and the open block
+    private static final class Series {
+        final String symbol;
+        final long[] times;
+        final long[] prices;
+        int open;
+        long lastTime = Long.MIN_VALUE;
+        int[] blockSegments = new int[16];
+        int[] blockOffsets = new int[16];
+        long[] blockLastTimes = new long[16];
+        int blockCount;
+
+        Series(String symbol, int blockSize) {
+            this.symbol = symbol;
+            this.times = new long[blockSize];
+            this.prices = new long[blockSize];
+        }
+
+        void addBlock(int segment, int offset, long lastTime) {
+            if (blockCount == blockOffsets.length) {
+                blockSegments = Arrays.copyOf(blockSegments, blockCount * 2);
+                blockOffsets = Arrays.copyOf(blockOffsets, blockCount * 2);
+                blockLastTimes = Arrays.copyOf(blockLastTimes, blockCount * 2);
+            }
+            blockSegments[blockCount] = segment;
+            blockOffsets[blockCount] = offset;
+            blockLastTimes[blockCount] = lastTime;
+            blockCount++;
+        }
+    }
+
+    private static final class Downsampler implements TickConsumer {
+        private final long width;
+        private final List<TickBar> bars = new ArrayList<>();
+        private long start = Long.MIN_VALUE;
+        private long open;
+        private long high;
+        private long low;
+        private long close;
+        private int ticks;
+
+        Downsampler(long width) {
+            this.width = width;
+        }
+
+        @Override
+        public void accept(long epochMillis, long price) {
+            long bucket = Math.floorDiv(epochMillis, width) * width;
+            if (bucket != start) {
+                if (ticks > 0) bars.add(new TickBar(start, open, high, low, close, ticks));
+                start = bucket;
+                open = high = low = price;
+                ticks = 0;
+            }
+            high = Math.max(high, price);
+            low = Math.min(low, price);
+            close = price;
+            ticks++;
+        }
+
+        List<TickBar> finish() {
+            if (ticks > 0) bars.add(new TickBar(start, open, high, low, close, ticks));
+            return bars;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.trading.simulator.triggers;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of values by {@code long} key, in parallel arrays. Callers
+ * wanting the largest key first store it negated. Removal is lazy: callers
+ * skip values that are no longer live as they reach the top.
+ */
+final class LevelHeap<T> {
+
+    private long[] keys;
+    private Object[] values;
+    private int size;
+
+    LevelHeap(int capacity) {
+        keys = new long[Math.max(4, capacity)];
+        values = new Object[keys.length];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    long topKey() {
+        return keys[0];
+    }
+
+    @SuppressWarnings("unchecked")
+    T top() {
+        return (T) values[0];
+    }
+
+    void push(long key, T value) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (keys[parent] <= key) break;
+            keys[i] = keys[parent];
+            values[i] = values[parent];
+            i = parent;
+        }
+        keys[i] = key;
+        values[i] = value;
+    }
+
+    @SuppressWarnings("unchecked")
+    T pop() {
+        T top = (T) values[0];
+        int last = --size;
+        long key = keys[last];
+        Object value = values[last];
+        values[last] = null;
+        if (last > 0) {
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= last) break;
+                if (child + 1 < last && keys[child + 1] < keys[child]) child++;
+                if (keys[child] >= key) break;
+                keys[i] = keys[child];
+                values[i] = values[child];
+                i = child;
+            }
+            keys[i] = key;
+            values[i] = value;
+        }
+        return top;
+    }
+}
@@ -0,0 +1,82 @@
+package com.trading.simulator.triggers;
+
+import java.time.LocalDateTime;
+
+/**
+ * A resting stop, take-profit, trailing stop or alert on one symbol. Prices
+ * are in cents. Status moves from {@link TriggerStatus#ACTIVE} to cancelled or
+ * triggered exactly once, under the lock of the symbol's {@link TriggerBook};
+ * an order then ends filled or rejected.
+ */
+public final class Trigger {
+
+    private final long id;
+    private final Long userId;
+    private final String symbol;
+    private final int symbolId;
+    private final TriggerType type;
+    private final int quantity;
+    private final long triggerPrice;   // 0 for trailing stops
+    private final long trailAmount;    // trailing stops only
+    private final LocalDateTime createdAt;
+
+    // Trailing stops only; confined to the book's lock
+    TriggerBook.TrailGroup group;
+
+    private volatile TriggerStatus status = TriggerStatus.ACTIVE;
+    private volatile long firedPrice;
+    private volatile LocalDateTime firedAt;
+    private volatile long executedPrice;
+    private volatile String message;
+
+    public Trigger(long id, Long userId, String symbol, int symbolId, TriggerType type, int quantity,
+                   long triggerPrice, long trailAmount, LocalDateTime createdAt) {
+        this.id = id;
+        this.userId = userId;
+        this.symbol = symbol;
+        this.symbolId = symbolId;
+        this.type = type;
+        this.quantity = quantity;
+        this.triggerPrice = triggerPrice;
+        this.trailAmount = trailAmount;
+        this.createdAt = createdAt;
+    }
+
+    public long getId() { return id; }
+    public Long getUserId() { return userId; }
+    public String getSymbol() { return symbol; }
+    public int getSymbolId() { return symbolId; }
+    public TriggerType getType() { return type; }
+    public int getQuantity() { return quantity; }
+    public long getTriggerPrice() { return triggerPrice; }
+    public long getTrailAmount() { return trailAmount; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public TriggerStatus getStatus() { return status; }
+    public long getFiredPrice() { return firedPrice; }
+    public LocalDateTime getFiredAt() { return firedAt; }
+    public long getExecutedPrice() { return executedPrice; }
+    public String getMessage() { return message; }
+
+    public boolean isActive() {
+        return status == TriggerStatus.ACTIVE;
+    }
+
+    /**
+     * Records the outcome of a fired order's trade.
+     */
+    public void complete(boolean filled, long executedPrice, String message) {
+        this.executedPrice = executedPrice;
+        this.message = message;
+        this.status = filled ? TriggerStatus.FILLED : TriggerStatus.REJECTED;
+    }
+
+    void cancel() {
+        status = TriggerStatus.CANCELLED;
+    }
+
+    void fire(long price, LocalDateTime at) {
+        firedPrice = price;
+        firedAt = at;
+        status = TriggerStatus.TRIGGERED;
+    }
+}
@@ -0,0 +1,249 @@
+package com.trading.simulator.triggers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The active triggers of one symbol, kept so that a price only touches the
+ * triggers it crosses.
+ *
+ * <p>Fixed-price triggers sit in two heaps by trigger price: one fired from
+ * the highest price down as the price falls, one from the lowest up as it
+ * rises. A tick pops what it crosses and looks at one more.
+ *
+ * <p>A trailing stop fires at its peak minus its trail, and the peak moves up
+ * with the price, so stops are grouped by peak and each group holds its
+ * stops by trail, smallest (first to fire) on top. A group made later never
+ * has a higher peak than one made earlier, since the earlier peak is at
+ * least every price seen after it. So a rising price lifts only the newest
+ * groups, and it merges them all into one at the new peak. Each group is
+ * merged away at most once and merges move the smaller group into the
+ * larger, so peaks cost amortized O(log n) per stop, not work per stop per
+ * tick. A third heap orders the groups by stop level for firing.
+ *
+ * <p>Cancelling is lazy: a cancelled trigger stays in its heap until it
+ * reaches the top or cancelled triggers outnumber active ones. Not
+ * thread-safe.
+ */
+public final class TriggerBook {
+
+    private static final int MIN_COMPACT = 64;
+
+    private LevelHeap<Trigger> falling = new LevelHeap<>(16);    // by -trigger price
+    private LevelHeap<Trigger> rising = new LevelHeap<>(16);     // by trigger price
+    private LevelHeap<TrailGroup> trailing = new LevelHeap<>(16); // by -stop level, at least one entry per group
+    private final List<TrailGroup> peaks = new ArrayList<>();    // oldest first, peaks never increasing
+    private long lastPrice;
+    private int active;
+    private int cancelled;
+
+    public TriggerBook(long price) {
+        this.lastPrice = price;
+    }
+
+    public long getLastPrice() {
+        return lastPrice;
+    }
+
+    /**
+     * Active triggers.
+     */
+    public int size() {
+        return active;
+    }
+
+    /**
+     * Adds an active trigger. A trailing stop starts trailing from the last
+     * price.
+     *
+     * @throws IllegalArgumentException if the trigger would fire at the last price
+     */
+    public void add(Trigger trigger) {
+        TriggerType type = trigger.getType();
+        if (type == TriggerType.TRAILING_STOP) {
+            if (trigger.getTrailAmount() >= lastPrice) {
+                throw new IllegalArgumentException("Trail amount must be below the current price");
+            }
+            TrailGroup group = newestGroup();
+            group.add(trigger);
+            trailing.push(-group.stopLevel(), group);
+        } else if (type.isFalling()) {
+            if (trigger.getTriggerPrice() >= lastPrice) {
+                throw new IllegalArgumentException("Trigger price must be below the current price");
+            }
+            falling.push(-trigger.getTriggerPrice(), trigger);
+        } else {
+            if (trigger.getTriggerPrice() <= lastPrice) {
+                throw new IllegalArgumentException("Trigger price must be above the current price");
+            }
+            rising.push(trigger.getTriggerPrice(), trigger);
+        }
+        active++;
+    }
+
+    /**
+     * Cancels an active trigger of this book.
+     *
+     * @return false if it was no longer active
+     */
+    public boolean cancel(Trigger trigger) {
+        if (!trigger.isActive()) return false;
+        trigger.cancel();
+        active--;
+        cancelled++;
+        if (cancelled >= MIN_COMPACT && cancelled > active) compact();
+        return true;
+    }
+
+    /**
+     * The price a trailing stop currently fires at, or its trigger price for
+     * any other trigger.
+     */
+    public long stopPriceOf(Trigger trigger) {
+        return trigger.group != null ? trigger.group.peak - trigger.getTrailAmount() : trigger.getTriggerPrice();
+    }
+
+    /**
+     * Moves to {@code price}, firing every active trigger it reaches or
+     * crosses and adding them to {@code fired}.
+     */
+    public void onPrice(long price, LocalDateTime at, List<Trigger> fired) {
+        lastPrice = price;
+        while (!falling.isEmpty() && -falling.topKey() >= price) {
+            fire(falling.pop(), price, at, fired);
+        }
+        while (!rising.isEmpty() && rising.topKey() <= price) {
+            fire(rising.pop(), price, at, fired);
+        }
+
+        raisePeaks(price);
+        while (!trailing.isEmpty() && -trailing.topKey() >= price) {
+            long level = -trailing.topKey();
+            TrailGroup group = trailing.pop();
+            // A cancel may have lowered the group's level since this entry; it goes back in at the current one
+            while (group.stopLevel() >= price) {
+                fire(group.pop(), price, at, fired);
+            }
+            if (!group.isEmpty() && group.stopLevel() != level) trailing.push(-group.stopLevel(), group);
+        }
+    }
+
+    // ========== PRIVATE HELPERS ==========
+
+    private void fire(Trigger trigger, long price, LocalDateTime at, List<Trigger> fired) {
+        if (!trigger.isActive()) {
+            cancelled--;
+            return;
+        }
+        trigger.fire(price, at);
+        active--;
+        fired.add(trigger);
+    }
+
+    // Every group whose peak is below the price is among the newest; they become one group at the price
+    private void raisePeaks(long price) {
+        TrailGroup merged = null;
+        while (!peaks.isEmpty() && peaks.get(peaks.size() - 1).peak < price) {
+            TrailGroup group = peaks.remove(peaks.size() - 1);
+            merged = merged == null ? group : merged.absorb(group);
+        }
+        if (merged == null) return;
+        merged.peak = price;
+        peaks.add(merged);
+        if (!merged.isEmpty()) trailing.push(-merged.stopLevel(), merged);
+    }
+
+    // The group at the last price, reusing the newest one when it is there or empty
+    private TrailGroup newestGroup() {
+        if (!peaks.isEmpty()) {
+            TrailGroup newest = peaks.get(peaks.size() - 1);
+            if (newest.peak == lastPrice) return newest;
+            if (newest.isEmpty()) {
+                newest.peak = lastPrice;
+                return newest;
+            }
+        }
+        TrailGroup group = new TrailGroup(lastPrice);
+        peaks.add(group);
+        return group;
+    }
+
+    private void compact() {
+        falling = activeOnly(falling);
+        rising = activeOnly(rising);
+        peaks.removeIf(TrailGroup::isEmptyAfterCompacting);
+        trailing = new LevelHeap<>(peaks.size());
+        for (TrailGroup group : peaks) {
+            trailing.push(-group.stopLevel(), group);
+        }
+        cancelled = 0;
+    }
+
+    private static <T extends Trigger> LevelHeap<T> activeOnly(LevelHeap<T> heap) {
+        LevelHeap<T> kept = new LevelHeap<>(heap.size());
+        while (!heap.isEmpty()) {
+            long key = heap.topKey();
+            T trigger = heap.pop();
+            if (trigger.isActive()) kept.push(key, trigger);
+        }
+        return kept;
+    }
+
+    // Trailing stops sharing one peak, by trail amount
+    final class TrailGroup {
+        long peak;
+        private LevelHeap<Trigger> stops = new LevelHeap<>(4);
+
+        TrailGroup(long peak) {
+            this.peak = peak;
+        }
+
+        void add(Trigger trigger) {
+            trigger.group = this;
+            stops.push(trigger.getTrailAmount(), trigger);
+        }
+
+        boolean isEmpty() {
+            prune();
+            return stops.isEmpty();
+        }
+
+        // Where the next stop fires, or Long.MIN_VALUE when none is left
+        long stopLevel() {
+            prune();
+            return stops.isEmpty() ? Long.MIN_VALUE : peak - stops.topKey();
+        }
+
+        Trigger pop() {
+            return stops.pop();
+        }
+
+        // Moves the smaller group's stops into the larger and returns the larger
+        TrailGroup absorb(TrailGroup other) {
+            TrailGroup larger = stops.size() >= other.stops.size() ? this : other;
+            TrailGroup smaller = larger == this ? other : this;
+            while (!smaller.stops.isEmpty()) {
+                Trigger trigger = smaller.stops.pop();
+                if (trigger.isActive()) {
+                    larger.add(trigger);
+                } else {
+                    cancelled--;
+                }
+            }
+            return larger;
+        }
+
+        boolean isEmptyAfterCompacting() {
+            stops = activeOnly(stops);
+            return stops.isEmpty();
+        }
+
+        private void prune() {
+            while (!stops.isEmpty() && !stops.top().isActive()) {
+                stops.pop();
+                cancelled--;
+            }
+        }
+    }
+}
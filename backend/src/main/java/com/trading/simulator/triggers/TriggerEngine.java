@@ -0,0 +1,202 @@
+package com.trading.simulator.triggers;
+
+import com.trading.simulator.pricing.PriceEngine;
+import com.trading.simulator.pricing.PriceSnapshot;
+import com.trading.simulator.pricing.PriceTick;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resting stops, take-profits, trailing stops and price alerts, one
+ * {@link TriggerBook} per symbol.
+ *
+ * <p>Each snapshot is checked on the ticker thread: a symbol that moved
+ * costs one look at its book plus the triggers the move crosses, however
+ * many triggers rest. Fired triggers go to the {@link TriggerListener}s,
+ * which place any order through the normal trade path. Triggers live in
+ * memory only; a user keeps up to {@code max-active-per-user} active ones
+ * and the last {@code history-per-user} finished ones.
+ */
+@Component
+public class TriggerEngine {
+
+    private final PriceEngine priceEngine;
+    private final int maxActivePerUser;
+    private final int historyPerUser;
+    private final AtomicLong nextTriggerId = new AtomicLong();
+    private final List<TriggerListener> listeners = new CopyOnWriteArrayList<>();
+
+    // Grown under growLock; each book is guarded by itself
+    private final Object growLock = new Object();
+    private volatile TriggerBook[] booksBySymbolId = new TriggerBook[0];
+
+    private final Map<Long, UserTriggers> byUser = new ConcurrentHashMap<>();
+    private final Map<Long, Trigger> activeById = new ConcurrentHashMap<>();
+
+    public TriggerEngine(PriceEngine priceEngine,
+                         @Value("${simulator.triggers.max-active-per-user:100}") int maxActivePerUser,
+                         @Value("${simulator.triggers.history-per-user:100}") int historyPerUser) {
+        this.priceEngine = priceEngine;
+        this.maxActivePerUser = maxActivePerUser;
+        this.historyPerUser = historyPerUser;
+    }
+
+    @PostConstruct
+    public void start() {
+        priceEngine.addListener(this::onSnapshot);
+    }
+
+    public void addListener(TriggerListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Rests a trigger on the quoted symbol, checked against the book's last
+     * price, which is the quote's or newer.
+     *
+     * @param triggerPrice cents; ignored for trailing stops
+     * @param trailAmount  cents; trailing stops only
+     * @throws IllegalArgumentException if the trigger would fire at once or
+     *                                  the user has too many active
+     */
+    public Trigger add(Long userId, PriceTick quote, TriggerType type, int quantity,
+                       long triggerPrice, long trailAmount) {
+        UserTriggers own = byUser.computeIfAbsent(userId, id -> new UserTriggers());
+        Trigger trigger = new Trigger(nextTriggerId.incrementAndGet(), userId, quote.getSymbol(),
+                quote.getSymbolId(), type, quantity, type == TriggerType.TRAILING_STOP ? 0 : triggerPrice,
+                type == TriggerType.TRAILING_STOP ? trailAmount : 0, LocalDateTime.now());
+
+        TriggerBook book = bookFor(quote.getSymbolId(), quote.getPrice());
+        synchronized (own) {
+            if (own.active.size() >= maxActivePerUser) {
+                throw new IllegalArgumentException("At most " + maxActivePerUser + " active triggers per user");
+            }
+            // Indexed first: the next tick may fire it as soon as the book lock is released
+            own.active.put(trigger.getId(), trigger);
+            activeById.put(trigger.getId(), trigger);
+            try {
+                synchronized (book) {
+                    book.add(trigger);
+                }
+            } catch (IllegalArgumentException e) {
+                own.active.remove(trigger.getId());
+                activeById.remove(trigger.getId());
+                throw e;
+            }
+        }
+        return trigger;
+    }
+
+    /**
+     * Cancels an active trigger owned by {@code userId}.
+     *
+     * @return false if there is no such active trigger
+     */
+    public boolean cancel(long triggerId, Long userId) {
+        Trigger trigger = activeById.get(triggerId);
+        if (trigger == null || !trigger.getUserId().equals(userId)) return false;
+
+        TriggerBook book = booksBySymbolId[trigger.getSymbolId()];
+        boolean cancelled;
+        synchronized (book) {
+            cancelled = book.cancel(trigger);
+        }
+        if (cancelled) finished(trigger);
+        return cancelled;
+    }
+
+    /**
+     * The user's active triggers oldest first, then finished ones newest first.
+     */
+    public List<Trigger> getTriggers(Long userId) {
+        UserTriggers own = byUser.get(userId);
+        if (own == null) return Collections.emptyList();
+        synchronized (own) {
+            List<Trigger> triggers = new ArrayList<>(own.active.size() + own.history.size());
+            triggers.addAll(own.active.values());
+            triggers.addAll(own.history);
+            return triggers;
+        }
+    }
+
+    /**
+     * Where the trigger fires now; a trailing stop's follows the price up.
+     */
+    public long getStopPrice(Trigger trigger) {
+        TriggerBook book = booksBySymbolId[trigger.getSymbolId()];
+        synchronized (book) {
+            return book.stopPriceOf(trigger);
+        }
+    }
+
+    // ========== PRIVATE HELPERS ==========
+
+    private void onSnapshot(PriceSnapshot previous, PriceSnapshot current) {
+        TriggerBook[] books = booksBySymbolId;
+        List<Trigger> fired = null;
+        for (PriceTick tick : current.getTicks()) {
+            int symbolId = tick.getSymbolId();
+            if (symbolId >= books.length || books[symbolId] == null || previous.get(symbolId) == tick) continue;
+
+            TriggerBook book = books[symbolId];
+            if (fired == null) fired = new ArrayList<>();
+            synchronized (book) {
+                book.onPrice(tick.getPrice(), tick.getTimestamp(), fired);
+            }
+        }
+        if (fired == null) return;
+
+        for (Trigger trigger : fired) {
+            finished(trigger);
+            for (TriggerListener listener : listeners) {
+                listener.onTrigger(trigger);
+            }
+        }
+    }
+
+    private void finished(Trigger trigger) {
+        activeById.remove(trigger.getId());
+        UserTriggers own = byUser.get(trigger.getUserId());
+        synchronized (own) {
+            own.active.remove(trigger.getId());
+            own.history.addFirst(trigger);
+            if (own.history.size() > historyPerUser) own.history.removeLast();
+        }
+    }
+
+    // A new book starts at the quote's price
+    private TriggerBook bookFor(int symbolId, long price) {
+        TriggerBook[] books = booksBySymbolId;
+        if (symbolId < books.length && books[symbolId] != null) return books[symbolId];
+
+        synchronized (growLock) {
+            books = booksBySymbolId;
+            if (symbolId < books.length && books[symbolId] != null) return books[symbolId];
+
+            // Filled in on a copy, so the ticker only ever sees the book through the volatile write
+            books = Arrays.copyOf(books, Math.max(books.length, symbolId + 1));
+            books[symbolId] = new TriggerBook(price);
+            booksBySymbolId = books;
+            return books[symbolId];
+        }
+    }
+
+    private static final class UserTriggers {
+        final Map<Long, Trigger> active = new LinkedHashMap<>();
+        final Deque<Trigger> history = new ArrayDeque<>();
+    }
+}
@@ -0,0 +1,9 @@
+package com.trading.simulator.triggers;
+
+/**
+ * Receives each trigger as it fires. Called on the price engine's ticker
+ * thread, so implementations must not block.
+ */
+public interface TriggerListener {
+    void onTrigger(Trigger trigger);
+}
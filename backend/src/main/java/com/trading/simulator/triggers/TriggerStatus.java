@@ -0,0 +1,9 @@
+package com.trading.simulator.triggers;
+
+public enum TriggerStatus {
+    ACTIVE,     // waiting for its price
+    CANCELLED,
+    TRIGGERED,  // fired; final for alerts, orders move on once their trade is done
+    FILLED,
+    REJECTED    // fired, but the trade failed
+}
@@ -0,0 +1,25 @@
+package com.trading.simulator.triggers;
+
+public enum TriggerType {
+    STOP_LOSS(true, true),      // sell once the price falls to the trigger price
+    TAKE_PROFIT(false, true),   // sell once the price rises to the trigger price
+    TRAILING_STOP(true, true),  // sell once the price falls the trail amount below its high since placing
+    ALERT_ABOVE(false, false),  // notify once the price rises to the trigger price
+    ALERT_BELOW(true, false);   // notify once the price falls to the trigger price
+
+    private final boolean falling;
+    private final boolean placesOrder;
+
+    TriggerType(boolean falling, boolean placesOrder) {
+        this.falling = falling;
+        this.placesOrder = placesOrder;
+    }
+
+    public boolean isFalling() {
+        return falling;
+    }
+
+    public boolean placesOrder() {
+        return placesOrder;
+    }
+}
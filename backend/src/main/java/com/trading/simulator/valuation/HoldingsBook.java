@@ -0,0 +1,261 @@
+package com.trading.simulator.valuation;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Every account's cash and positions in columns, for revaluing all of them
+ * in one pass.
+ *
+ * <p>Users get dense slots. Each user owns a block of consecutive entries in
+ * two parallel arrays, symbol ids and quantities, so marking a user to market
+ * is one loop over its block reading prices from an array indexed by symbol
+ * id, and {@link #revalue} is that loop over every block in slot order, split
+ * over a fork-join pool by slot range. A block that fills up moves to the end
+ * of the arena at twice the size; once the blocks left behind take up half
+ * the arena it is compacted back into slot order. Each symbol's total
+ * quantity and holder count are kept as positions change, so per-symbol
+ * exposure costs one multiply per symbol. Not thread-safe.
+ */
+public final class HoldingsBook {
+
+    static final int CHUNK_USERS = 8_192;
+    private static final int INITIAL_BLOCK = 4;
+
+    private final Map<Long, Integer> slotsByUser = new HashMap<>();
+    private long[] userIds;
+    private long[] cash;
+    private int[] starts;
+    private int[] counts;
+    private int[] capacities;
+    private int users;
+
+    private int[] symbols;       // by arena entry
+    private int[] quantities;
+    private int arenaEnd;
+    private int abandoned;       // entries in blocks that have moved
+    private int positions;
+
+    private long[] marks = new long[0];          // by symbol id
+    private long[] totalQuantities = new long[0];
+    private int[] holders = new int[0];
+
+    public HoldingsBook(int expectedUsers, int expectedPositions) {
+        int userCapacity = Math.max(16, expectedUsers);
+        userIds = new long[userCapacity];
+        cash = new long[userCapacity];
+        starts = new int[userCapacity];
+        counts = new int[userCapacity];
+        capacities = new int[userCapacity];
+        int arenaCapacity = Math.max(64, expectedPositions);
+        symbols = new int[arenaCapacity];
+        quantities = new int[arenaCapacity];
+    }
+
+    // ========== UPDATES ==========
+
+    /**
+     * Adds the user, or sets the cash of one already held.
+     */
+    public void setCash(long userId, long cashCents) {
+        int user = slotFor(userId); // before reading the field, which adding a user may replace
+        cash[user] = cashCents;
+    }
+
+    /**
+     * Sets the user's quantity of a symbol, 0 closing the position, and marks
+     * the symbol at {@code priceIfUnmarked} when it has no price yet.
+     */
+    public void setPosition(long userId, int symbolId, int quantity, long priceIfUnmarked) {
+        if (quantity < 0) throw new IllegalArgumentException("Quantity must not be negative");
+        int user = slotFor(userId);
+        ensureSymbol(symbolId);
+        if (marks[symbolId] == 0) marks[symbolId] = priceIfUnmarked;
+
+        int start = starts[user];
+        int end = start + counts[user];
+        for (int i = start; i < end; i++) {
+            if (symbols[i] != symbolId) continue;
+            totalQuantities[symbolId] += quantity - quantities[i];
+            if (quantity != 0) {
+                quantities[i] = quantity;
+                return;
+            }
+            // Closed: the block's last entry fills the gap
+            symbols[i] = symbols[end - 1];
+            quantities[i] = quantities[end - 1];
+            counts[user]--;
+            holders[symbolId]--;
+            positions--;
+            return;
+        }
+        if (quantity == 0) return;
+
+        if (counts[user] == capacities[user]) relocate(user);
+        int at = starts[user] + counts[user]++;
+        symbols[at] = symbolId;
+        quantities[at] = quantity;
+        totalQuantities[symbolId] += quantity;
+        holders[symbolId]++;
+        positions++;
+    }
+
+    public void setPrice(int symbolId, long price) {
+        ensureSymbol(symbolId);
+        marks[symbolId] = price;
+    }
+
+    // ========== QUERIES ==========
+
+    public int users() {
+        return users;
+    }
+
+    public int positions() {
+        return positions;
+    }
+
+    /**
+     * The user's slot in every {@link Revaluation} taken since it was added,
+     * or -1. Slots are never reused.
+     */
+    public int slotOf(long userId) {
+        Integer slot = slotsByUser.get(userId);
+        return slot == null ? -1 : slot;
+    }
+
+    /**
+     * Marks every position at the current prices, one slot range per task.
+     */
+    public Revaluation revalue(ForkJoinPool pool) {
+        long started = System.nanoTime();
+        long[] marketValues = new long[users];
+        pool.invoke(new UserSplit(starts, counts, symbols, quantities, marks, marketValues, 0, users));
+
+        long[] symbolValues = new long[marks.length];
+        for (int symbolId = 0; symbolId < marks.length; symbolId++) {
+            symbolValues[symbolId] = totalQuantities[symbolId] * marks[symbolId];
+        }
+        return new Revaluation(Arrays.copyOf(userIds, users), Arrays.copyOf(cash, users), marketValues,
+                marks.clone(), totalQuantities.clone(), holders.clone(), symbolValues, positions,
+                System.nanoTime() - started);
+    }
+
+    // ========== PRIVATE HELPERS ==========
+
+    private int slotFor(long userId) {
+        Integer slot = slotsByUser.get(userId);
+        if (slot != null) return slot;
+
+        int added = users++;
+        if (added == userIds.length) {
+            int grown = added * 2;
+            userIds = Arrays.copyOf(userIds, grown);
+            cash = Arrays.copyOf(cash, grown);
+            starts = Arrays.copyOf(starts, grown);
+            counts = Arrays.copyOf(counts, grown);
+            capacities = Arrays.copyOf(capacities, grown);
+        }
+        userIds[added] = userId;
+        starts[added] = arenaEnd; // empty until its first position
+        slotsByUser.put(userId, added);
+        return added;
+    }
+
+    // Moves a full block to the end of the arena at twice its size
+    private void relocate(int user) {
+        int capacity = Math.max(INITIAL_BLOCK, capacities[user] * 2);
+        reserve(capacity);
+        if (counts[user] < capacities[user]) return; // compacting left the block room
+        int from = starts[user];
+        System.arraycopy(symbols, from, symbols, arenaEnd, counts[user]);
+        System.arraycopy(quantities, from, quantities, arenaEnd, counts[user]);
+        abandoned += capacities[user];
+        starts[user] = arenaEnd;
+        capacities[user] = capacity;
+        arenaEnd += capacity;
+    }
+
+    private void reserve(int entries) {
+        if (arenaEnd + entries <= symbols.length) return;
+        if (abandoned * 2 >= arenaEnd) compact();
+        if (arenaEnd + entries <= symbols.length) return;
+
+        int grown = Math.max(symbols.length * 2, arenaEnd + entries);
+        symbols = Arrays.copyOf(symbols, grown);
+        quantities = Arrays.copyOf(quantities, grown);
+    }
+
+    // Rewrites every block in slot order with a quarter of its size spare
+    private void compact() {
+        int[] packedSymbols = new int[symbols.length];
+        int[] packedQuantities = new int[quantities.length];
+        int end = 0;
+        for (int user = 0; user < users; user++) {
+            int count = counts[user];
+            System.arraycopy(symbols, starts[user], packedSymbols, end, count);
+            System.arraycopy(quantities, starts[user], packedQuantities, end, count);
+            starts[user] = end;
+            capacities[user] = count == 0 ? 0 : Math.max(INITIAL_BLOCK, count + count / 4);
+            end += capacities[user];
+        }
+        symbols = packedSymbols;
+        quantities = packedQuantities;
+        arenaEnd = end;
+        abandoned = 0;
+    }
+
+    private void ensureSymbol(int symbolId) {
+        if (symbolId < marks.length) return;
+        int grown = Math.max(symbolId + 1, marks.length * 2);
+        marks = Arrays.copyOf(marks, grown);
+        totalQuantities = Arrays.copyOf(totalQuantities, grown);
+        holders = Arrays.copyOf(holders, grown);
+    }
+
+    // Market value of every user in [from, to); ranges never share a user, so workers write without contention
+    private static final class UserSplit extends RecursiveAction {
+        private final int[] starts;
+        private final int[] counts;
+        private final int[] symbols;
+        private final int[] quantities;
+        private final long[] prices;
+        private final long[] marketValues;
+        private final int from;
+        private final int to;
+
+        UserSplit(int[] starts, int[] counts, int[] symbols, int[] quantities, long[] prices,
+                  long[] marketValues, int from, int to) {
+            this.starts = starts;
+            this.counts = counts;
+            this.symbols = symbols;
+            this.quantities = quantities;
+            this.prices = prices;
+            this.marketValues = marketValues;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > CHUNK_USERS) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new UserSplit(starts, counts, symbols, quantities, prices, marketValues, from, middle),
+                        new UserSplit(starts, counts, symbols, quantities, prices, marketValues, middle, to));
+                return;
+            }
+            for (int user = from; user < to; user++) {
+                int start = starts[user];
+                int end = start + counts[user];
+                long value = 0;
+                for (int i = start; i < end; i++) {
+                    value += quantities[i] * prices[symbols[i]];
+                }
+                marketValues[user] = value;
+            }
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.trading.simulator.valuation;
+
+import com.trading.simulator.dto.AccountValuation;
+import com.trading.simulator.dto.FirmExposure;
+import com.trading.simulator.dto.SymbolExposure;
+import com.trading.simulator.entity.Portfolio;
+import com.trading.simulator.entity.User;
+import com.trading.simulator.execution.ShardedTradeExecutor;
+import com.trading.simulator.execution.TradeEffect;
+import com.trading.simulator.money.Money;
+import com.trading.simulator.pricing.PriceEngine;
+import com.trading.simulator.pricing.PriceSnapshot;
+import com.trading.simulator.pricing.PriceTick;
+import com.trading.simulator.readmodel.AccountFeed;
+import com.trading.simulator.repository.PortfolioRepository;
+import com.trading.simulator.repository.UserRepository;
+import com.trading.simulator.symbol.SymbolRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Revalues every account in a {@link HoldingsBook} on each price snapshot and
+ * publishes the result for exposure queries.
+ *
+ * <p>An {@link AccountFeed} loads every account at startup and then applies
+ * fills to the book in order on the revaluation thread. For each snapshot it
+ * marks the book at the new prices and revalues every account over a
+ * fork-join pool. Snapshots are conflated, so a pass that outlasts the tick
+ * interval skips to the latest prices instead of falling behind. A fill shows
+ * in the next revaluation. Queries read the last published revaluation and
+ * never touch the database.
+ */
+@Component
+public class LiveRevaluation implements AccountFeed.Listener {
+
+    private static final Logger log = LoggerFactory.getLogger(LiveRevaluation.class);
+
+    private final AccountFeed feed;
+    private final int parallelism;
+
+    // Guards user slots only; the book's columns are touched by the revaluation thread alone
+    private final Object lock = new Object();
+    private final HoldingsBook book;
+    private volatile Published latest;
+    private ForkJoinPool pool;
+
+    public LiveRevaluation(PriceEngine priceEngine,
+                           ShardedTradeExecutor tradeExecutor,
+                           UserRepository userRepository,
+                           PortfolioRepository portfolioRepository,
+                           @Value("${simulator.revaluation.expected-users:10000}") int expectedUsers,
+                           @Value("${simulator.revaluation.expected-positions:100000}") int expectedPositions,
+                           @Value("${simulator.revaluation.parallelism:0}") int parallelism) {
+        this.feed = new AccountFeed("revaluation", priceEngine, tradeExecutor, userRepository, portfolioRepository);
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.book = new HoldingsBook(expectedUsers, expectedPositions);
+    }
+
+    @PostConstruct
+    public void start() {
+        pool = new ForkJoinPool(parallelism);
+        feed.start(this);
+    }
+
+    @PreDestroy
+    public void stop() {
+        feed.stop();
+        if (pool != null) pool.shutdownNow();
+    }
+
+    /**
+     * Firm-wide cash, market value and per-symbol exposure, largest first.
+     *
+     * @throws IllegalStateException before the first revaluation
+     */
+    public FirmExposure getExposure() {
+        Published published = requireLatest();
+        Revaluation revaluation = published.revaluation();
+        List<SymbolExposure> symbols = new ArrayList<>();
+        for (int symbolId = 0; symbolId < revaluation.symbols(); symbolId++) {
+            if (revaluation.quantityOf(symbolId) == 0) continue;
+            symbols.add(new SymbolExposure(SymbolRegistry.symbolOf(symbolId),
+                    Money.toBigDecimal(revaluation.priceOf(symbolId)), revaluation.quantityOf(symbolId),
+                    revaluation.holdersOf(symbolId), Money.toBigDecimal(revaluation.marketValueOfSymbol(symbolId))));
+        }
+        symbols.sort(Comparator.comparing(SymbolExposure::getMarketValue).reversed());
+
+        return new FirmExposure(revaluation.users(), revaluation.positions(),
+                Money.toBigDecimal(revaluation.totalCash()), Money.toBigDecimal(revaluation.totalMarketValue()),
+                Money.toBigDecimal(revaluation.totalCash() + revaluation.totalMarketValue()), symbols,
+                published.revaluedAt(), revaluation.elapsedNanos() / 1e6);
+    }
+
+    /**
+     * The user's account as of the last revaluation; empty for a user it has
+     * not reached yet.
+     */
+    public Optional<AccountValuation> getAccount(long userId) {
+        Published published = latest;
+        if (published == null) return Optional.empty();
+        int slot;
+        synchronized (lock) {
+            slot = book.slotOf(userId);
+        }
+        Revaluation revaluation = published.revaluation();
+        if (slot < 0 || slot >= revaluation.users()) return Optional.empty();
+
+        return Optional.of(new AccountValuation(userId, Money.toBigDecimal(revaluation.cashOf(slot)),
+                Money.toBigDecimal(revaluation.marketValueOf(slot)), Money.toBigDecimal(revaluation.netWorthOf(slot)),
+                published.revaluedAt()));
+    }
+
+    @Override
+    public void load(PriceSnapshot prices, List<User> users, List<Portfolio> positions) {
+        for (PriceTick tick : prices.getTicks()) {
+            book.setPrice(tick.getSymbolId(), tick.getPrice());
+        }
+        synchronized (lock) {
+            for (User user : users) {
+                book.setCash(user.getId(), Money.of(user.getBalance()));
+            }
+            for (Portfolio position : positions) {
+                book.setPosition(position.getUserId(), SymbolRegistry.intern(position.getStockSymbol()),
+                        position.getQuantity(), Money.of(position.getAveragePrice()));
+            }
+        }
+        revalue();
+    }
+
+    @Override
+    public void applyPrices(PriceSnapshot prices) {
+        for (PriceTick tick : prices.getTicks()) {
+            book.setPrice(tick.getSymbolId(), tick.getPrice());
+        }
+        revalue();
+    }
+
+    @Override
+    public void applyFill(TradeEffect effect) {
+        synchronized (lock) {
+            book.setCash(effect.getUserId(), effect.getBalanceAfter());
+            book.setPosition(effect.getUserId(), SymbolRegistry.intern(effect.getStockSymbol()),
+                    effect.getPositionQuantityAfter(), effect.getPricePerShare());
+        }
+    }
+
+    // ========== PRIVATE HELPERS ==========
+
+    private void revalue() {
+        try {
+            latest = new Published(book.revalue(pool), LocalDateTime.now());
+        } catch (RuntimeException e) {
+            log.error("Failed to revalue accounts", e);
+        }
+    }
+
+    private Published requireLatest() {
+        Published published = latest;
+        if (published == null) throw new IllegalStateException("Accounts have not been revalued yet");
+        return published;
+    }
+
+    private record Published(Revaluation revaluation, LocalDateTime revaluedAt) {}
+}
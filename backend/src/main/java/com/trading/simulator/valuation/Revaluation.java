@@ -0,0 +1,104 @@
+package com.trading.simulator.valuation;
+
+/**
+ * Every account and symbol marked to market at one set of prices, in cents.
+ * Users are indexed by their {@link HoldingsBook} slot and symbols by symbol
+ * id; both are copies, so a revaluation never changes once taken.
+ */
+public final class Revaluation {
+
+    private final long[] userIds;
+    private final long[] cash;
+    private final long[] marketValues;
+    private final long[] prices;
+    private final long[] symbolQuantities;
+    private final int[] symbolHolders;
+    private final long[] symbolValues;
+    private final int positions;
+    private final long totalCash;
+    private final long totalMarketValue;
+    private final long elapsedNanos;
+
+    Revaluation(long[] userIds, long[] cash, long[] marketValues, long[] prices, long[] symbolQuantities,
+                int[] symbolHolders, long[] symbolValues, int positions, long elapsedNanos) {
+        this.userIds = userIds;
+        this.cash = cash;
+        this.marketValues = marketValues;
+        this.prices = prices;
+        this.symbolQuantities = symbolQuantities;
+        this.symbolHolders = symbolHolders;
+        this.symbolValues = symbolValues;
+        this.positions = positions;
+        this.totalCash = sum(cash);
+        this.totalMarketValue = sum(symbolValues);
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public int users() {
+        return userIds.length;
+    }
+
+    public int positions() {
+        return positions;
+    }
+
+    public long userIdOf(int slot) {
+        return userIds[slot];
+    }
+
+    public long cashOf(int slot) {
+        return cash[slot];
+    }
+
+    public long marketValueOf(int slot) {
+        return marketValues[slot];
+    }
+
+    public long netWorthOf(int slot) {
+        return cash[slot] + marketValues[slot];
+    }
+
+    /**
+     * One past the highest symbol id with a price or position.
+     */
+    public int symbols() {
+        return prices.length;
+    }
+
+    public long priceOf(int symbolId) {
+        return prices[symbolId];
+    }
+
+    public long quantityOf(int symbolId) {
+        return symbolQuantities[symbolId];
+    }
+
+    public int holdersOf(int symbolId) {
+        return symbolHolders[symbolId];
+    }
+
+    public long marketValueOfSymbol(int symbolId) {
+        return symbolValues[symbolId];
+    }
+
+    public long totalCash() {
+        return totalCash;
+    }
+
+    public long totalMarketValue() {
+        return totalMarketValue;
+    }
+
+    /**
+     * How long the pass took, copies included.
+     */
+    public long elapsedNanos() {
+        return elapsedNanos;
+    }
+
+    private static long sum(long[] values) {
+        long total = 0;
+        for (long value : values) total += value;
+        return total;
+    }
+}
@@ -0,0 +1,166 @@
+package com.trading.simulator.backtest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BacktestEngineTests {
+
+    private static final long T0 = 1_704_187_800L; // 2024-01-02 09:30:00 UTC
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void importsAlphaVantageCsvNewestFirst() throws IOException {
+        Files.writeString(directory.resolve("AAPL.csv"), """
+                timestamp,open,high,low,close,volume
+                2024-01-02 09:32:00,185.5000,186.0000,185.2500,185.9950,12000
+                2024-01-02 09:31:00,185.0000,185.7500,184.9000,185.5049,9000\r
+                2024-01-02 09:30:00,184.2200,185.1000,184.0000,185.0000,15000
+                """);
+
+        BarSeries bars = new HistoricalBars(directory).get("aapl");
+
+        assertThat(bars.getSymbol()).isEqualTo("AAPL");
+        assertThat(bars.size()).isEqualTo(3);
+        assertThat(bars.time(0)).isEqualTo(T0);
+        assertThat(bars.time(2)).isEqualTo(T0 + 120);
+        assertThat(bars.open(0)).isEqualTo(18_422);
+        assertThat(bars.close(1)).isEqualTo(18_550); // 185.5049 rounds half-up on the third decimal
+        assertThat(bars.close(2)).isEqualTo(18_600);
+        assertThat(bars.volume(1)).isEqualTo(9_000);
+        assertThat(bars.indexAtOrAfter(T0 + 1)).isEqualTo(1);
+        assertThat(Files.exists(directory.resolve("AAPL.bars"))).isTrue();
+    }
+
+    @Test
+    void reopensASeriesOnceItsCsvIsReplaced() throws IOException {
+        Path csv = directory.resolve("AAPL.csv");
+        Files.writeString(csv, "timestamp,open,high,low,close,volume\n2024-01-02 09:30:00,1,1,1,1.0000,1\n");
+        HistoricalBars history = new HistoricalBars(directory);
+        BarSeries first = history.get("AAPL");
+        assertThat(history.get("AAPL")).isSameAs(first);
+
+        Files.writeString(csv, "timestamp,open,high,low,close,volume\n2024-01-02 09:30:00,2,2,2,2.0000,1\n");
+        Files.setLastModifiedTime(csv, FileTime.fromMillis(Files.getLastModifiedTime(csv).toMillis() + 60_000));
+
+        assertThat(history.get("AAPL").close(0)).isEqualTo(200);
+    }
+
+    @Test
+    void rejectsSymbolsThatAreNotFileNames() {
+        HistoricalBars history = new HistoricalBars(directory.resolve("data"));
+
+        assertThatThrownBy(() -> history.get("../AAPL")).isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid symbol: ../AAPL");
+        assertThatThrownBy(() -> history.get("AAPL/../../x")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> history.get("BRK.B")).isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("No history for BRK.B");
+    }
+
+    @Test
+    void buyAndHoldSettlesLikeAnAccount() throws IOException {
+        write("AAA", 10_000, 11_000, 12_000);
+        write("BBB", 5_000, 4_000, 6_000);
+        HistoricalBars history = new HistoricalBars(directory);
+        List<BarSeries> universe = List.of(history.get("AAA"), history.get("BBB"));
+
+        try (BacktestEngine engine = new BacktestEngine(2)) {
+            BacktestResult result = engine.run(universe,
+                    List.of(new BacktestJob("buy-and-hold", Map.of(), parameters -> new BuyAndHold())),
+                    1_000_000, Long.MIN_VALUE, Long.MAX_VALUE).get(0);
+
+            // 50 AAA at 100.00 and 100 BBB at 50.00, worth 95% of cost after the second bar
+            assertThat(result.trades()).isEqualTo(2);
+            assertThat(result.finalEquity()).isEqualByComparingTo("12000.00");
+            assertThat(result.returnPercent()).isEqualByComparingTo("20");
+            assertThat(result.maxDrawdownPercent()).isEqualByComparingTo("5");
+            assertThat(result.bars()).isEqualTo(6);
+        }
+    }
+
+    @Test
+    void rejectedOrdersChangeNothing() throws IOException {
+        write("AAA", 10_000, 10_000);
+        BarSeries series = new HistoricalBars(directory).get("AAA");
+        Strategy greedy = (context, symbol, bar) -> {
+            assertThat(context.buy(symbol, 1_000)).isFalse(); // 100,000.00 against 1,000.00 of cash
+            assertThat(context.sell(symbol, 1)).isFalse();
+            assertThat(context.cash()).isEqualTo(100_000);
+            assertThat(context.position(symbol)).isZero();
+        };
+
+        try (BacktestEngine engine = new BacktestEngine(1)) {
+            BacktestResult result = engine.run(List.of(series),
+                    List.of(new BacktestJob("greedy", Map.of(), parameters -> greedy)),
+                    100_000, Long.MIN_VALUE, Long.MAX_VALUE).get(0);
+
+            assertThat(result.rejectedOrders()).isEqualTo(4);
+            assertThat(result.trades()).isZero();
+            assertThat(result.finalEquity()).isEqualByComparingTo(BigDecimal.valueOf(1_000));
+        }
+    }
+
+    @Test
+    void parallelSweepMatchesSequentialRuns() throws IOException {
+        Random random = new Random(42);
+        for (String symbol : List.of("AAA", "BBB", "CCC", "DDD")) {
+            long[] closes = new long[5_000];
+            long price = 10_000;
+            for (int i = 0; i < closes.length; i++) {
+                price = Math.max(100, price + random.nextInt(201) - 100);
+                closes[i] = price;
+            }
+            write(symbol, closes);
+        }
+        HistoricalBars history = new HistoricalBars(directory);
+        List<BarSeries> universe = List.of(history.get("AAA"), history.get("BBB"), history.get("CCC"),
+                history.get("DDD"));
+        List<BacktestJob> jobs = BacktestJob.grid("sma-crossover", MovingAverageCrossover::of,
+                Map.of("fast", List.of(5.0, 10.0, 20.0), "slow", List.of(50.0, 100.0)));
+        long from = T0 + 60 * 100;
+
+        List<BacktestResult> parallel;
+        List<BacktestResult> sequential;
+        try (BacktestEngine engine = new BacktestEngine(4)) {
+            parallel = engine.run(universe, jobs, 10_000_000, from, Long.MAX_VALUE);
+        }
+        try (BacktestEngine engine = new BacktestEngine(1)) {
+            sequential = engine.run(universe, jobs, 10_000_000, from, Long.MAX_VALUE);
+        }
+
+        assertThat(parallel).hasSize(6);
+        assertThat(parallel).usingRecursiveFieldByFieldElementComparatorIgnoringFields("elapsedMillis")
+                .containsExactlyElementsOf(sequential);
+        assertThat(parallel).allSatisfy(result -> {
+            assertThat(result.bars()).isEqualTo(4 * 4_900);
+            assertThat(result.trades()).isPositive();
+        });
+    }
+
+    // ========== HELPERS ==========
+
+    private void write(String symbol, long... closes) throws IOException {
+        int n = closes.length;
+        long[] times = new long[n];
+        long[] volumes = new long[n];
+        for (int i = 0; i < n; i++) {
+            times[i] = T0 + 60L * i;
+            volumes[i] = 100;
+        }
+        BarFileWriter.write(directory.resolve(symbol + ".bars"), symbol, n, times, closes, closes, closes, closes,
+                volumes);
+    }
+}
@@ -0,0 +1,86 @@
+package com.trading.simulator.candles;
+
+import com.trading.simulator.dto.Candle;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CandleAggregatorTests {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 2, 9, 30);
+
+    private final CandleAggregator aggregator = new CandleAggregator(null, null, 3);
+
+    @Test
+    void foldsMovesIntoEveryInterval() {
+        aggregator.onPrice("CNDL", T0, 10_000);
+        aggregator.onPrice("CNDL", T0.plusSeconds(20), 10_250);
+        aggregator.onPrice("CNDL", T0.plusSeconds(40), 9_900);
+        aggregator.onPrice("CNDL", T0.plusSeconds(61), 10_100);
+
+        List<Candle> minutes = aggregator.getCandles("cndl", CandleInterval.ONE_MINUTE, 10);
+        assertThat(minutes).hasSize(2);
+        assertCandle(minutes.get(0), T0, "100.00", "102.50", "99.00", "99.00", 3);
+        assertCandle(minutes.get(1), T0.plusMinutes(1), "101.00", "101.00", "101.00", "101.00", 1);
+
+        List<Candle> days = aggregator.getCandles("CNDL", CandleInterval.ONE_DAY, 10);
+        assertThat(days).hasSize(1);
+        assertCandle(days.get(0), T0.toLocalDate().atStartOfDay(), "100.00", "102.50", "99.00", "101.00", 4);
+    }
+
+    @Test
+    void keepsTheNewestCandlesOnly() {
+        for (int i = 0; i < 5; i++) {
+            aggregator.onPrice("RING", T0.plusSeconds(i), 100 + i);
+        }
+
+        List<Candle> seconds = aggregator.getCandles("RING", CandleInterval.ONE_SECOND, 10);
+        assertThat(seconds).extracting(Candle::getTime)
+                .containsExactly(T0.plusSeconds(2), T0.plusSeconds(3), T0.plusSeconds(4));
+        assertThat(aggregator.getCandles("RING", CandleInterval.ONE_SECOND, 1))
+                .extracting(Candle::getTime).containsExactly(T0.plusSeconds(4));
+    }
+
+    @Test
+    void addsFilledSharesAsVolume() {
+        aggregator.onVolume("VOL", T0, 50, 2_000);
+        aggregator.onPrice("VOL", T0.plusSeconds(30), 2_010);
+        aggregator.onVolume("VOL", T0.plusSeconds(31), 25, 2_010);
+
+        Candle candle = aggregator.getCandles("VOL", CandleInterval.ONE_MINUTE, 1).get(0);
+        assertCandle(candle, T0, "20.00", "20.10", "20.00", "20.10", 1);
+        assertThat(candle.getVolume()).isEqualTo(75);
+    }
+
+    @Test
+    void countsMovesBehindTheNewestCandleTowardIt() {
+        aggregator.onPrice("BACK", T0.plusMinutes(1), 500);
+        aggregator.onPrice("BACK", T0, 400);
+
+        List<Candle> minutes = aggregator.getCandles("BACK", CandleInterval.ONE_MINUTE, 10);
+        assertThat(minutes).hasSize(1);
+        assertCandle(minutes.get(0), T0.plusMinutes(1), "5.00", "5.00", "4.00", "4.00", 2);
+    }
+
+    @Test
+    void rejectsUnknownIntervalsAndEmptyLimits() {
+        assertThat(aggregator.getCandles("NEVER", CandleInterval.ONE_MINUTE, 10)).isEmpty();
+        assertThatThrownBy(() -> CandleInterval.fromLabel("2m")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> aggregator.getCandles("NEVER", CandleInterval.ONE_MINUTE, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void assertCandle(Candle candle, LocalDateTime time, String open, String high, String low,
+                                     String close, int ticks) {
+        assertThat(candle.getTime()).isEqualTo(time);
+        assertThat(candle.getOpen()).isEqualByComparingTo(open);
+        assertThat(candle.getHigh()).isEqualByComparingTo(high);
+        assertThat(candle.getLow()).isEqualByComparingTo(low);
+        assertThat(candle.getClose()).isEqualByComparingTo(close);
+        assertThat(candle.getTicks()).isEqualTo(ticks);
+    }
+}
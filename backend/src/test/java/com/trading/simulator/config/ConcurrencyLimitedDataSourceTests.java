@@ -0,0 +1,107 @@
+package com.trading.simulator.config;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ConcurrencyLimitedDataSourceTests {
+
+    @Test
+    void boundsHoldersAndWaitersAndReleasesOnClose() throws Exception {
+        DataSource target = mock(DataSource.class);
+        Connection raw = mock(Connection.class);
+        when(target.getConnection()).thenReturn(raw);
+        ConcurrencyLimitedDataSource limited = new ConcurrencyLimitedDataSource(target, 2, 1, 5_000);
+
+        Connection first = limited.getConnection();
+        Connection second = limited.getConnection();
+        assertThat(limited.getInUse()).isEqualTo(2);
+
+        CompletableFuture<Connection> waiter = CompletableFuture.supplyAsync(() -> {
+            try {
+                return limited.getConnection();
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (limited.getWaiting() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(limited.getWaiting()).isEqualTo(1);
+
+        // The queue is full, so the next caller fails without waiting
+        assertThatThrownBy(limited::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        assertThat(limited.getRejected()).isEqualTo(1);
+
+        first.close();
+        first.close(); // a second close must not hand out a second permit
+        Connection third = waiter.get(5, TimeUnit.SECONDS);
+        assertThat(limited.getInUse()).isEqualTo(2);
+        verify(raw, times(2)).close();
+
+        second.close();
+        third.close();
+        assertThat(limited.getInUse()).isZero();
+    }
+
+    @Test
+    void waitersGiveUpAfterTheTimeout() throws Exception {
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenReturn(mock(Connection.class));
+        ConcurrencyLimitedDataSource limited = new ConcurrencyLimitedDataSource(target, 1, 10, 50);
+
+        Connection held = limited.getConnection();
+        assertThatThrownBy(limited::getConnection)
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("50ms");
+        assertThat(limited.getWaiting()).isZero();
+
+        held.close();
+        limited.getConnection().close();
+        assertThat(limited.getInUse()).isZero();
+    }
+
+    @Test
+    void reservedCallersGetAConnectionWhileRequestsHoldTheRest() throws Exception {
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenReturn(mock(Connection.class));
+        ConcurrencyLimitedDataSource limited = new ConcurrencyLimitedDataSource(target, 2, 0, 50, 1);
+
+        Connection request = limited.getConnection();
+        // The unreserved permit is taken and nobody may queue, so requests fail
+        assertThatThrownBy(limited::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        assertThat(limited.getRejected()).isEqualTo(1);
+
+        AtomicReference<Connection> background = new AtomicReference<>();
+        ConcurrencyLimitedDataSource.runReserved(() -> {
+            try {
+                background.set(limited.getConnection());
+                // The reserved permit is taken too; this one waits out the timeout without counting as rejected
+                assertThatThrownBy(limited::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        assertThat(limited.getInUse()).isEqualTo(2);
+        assertThat(limited.getRejected()).isEqualTo(1);
+
+        background.get().close();
+        assertThatThrownBy(limited::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        request.close();
+        limited.getConnection().close();
+        assertThat(limited.getInUse()).isZero();
+    }
+}
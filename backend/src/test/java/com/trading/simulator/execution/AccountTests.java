@@ -0,0 +1,118 @@
+package com.trading.simulator.execution;
+
+import com.trading.simulator.money.Money;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccountTests {
+
+    private static final String[] SYMBOLS = {"AAPL", "GOOGL", "MSFT", "TSLA"};
+
+    /**
+     * Runs random trades through an Account and through the BigDecimal
+     * arithmetic it replaced, and requires every effect to match to the cent.
+     */
+    @Test
+    void matchesTheBigDecimalModelOverRandomTrades() {
+        Random random = new Random(42L);
+        for (int run = 0; run < 200; run++) {
+            BigDecimal startingBalance = BigDecimal.valueOf(random.nextLong(1_000_000_00L, 100_000_000_00L), 2);
+            Account account = new Account(1L, Money.of(startingBalance));
+            ReferenceAccount reference = new ReferenceAccount(startingBalance);
+
+            for (int i = 0; i < 2_000; i++) {
+                String symbol = SYMBOLS[random.nextInt(SYMBOLS.length)];
+                int quantity = 1 + random.nextInt(300);
+                BigDecimal price = BigDecimal.valueOf(1 + random.nextInt(500_000), 2);
+                boolean buy = random.nextInt(100) < 55;
+
+                TradeEffect effect;
+                try {
+                    effect = buy
+                            ? account.executeBuyOrder(symbol, quantity, Money.of(price))
+                            : account.executeSellOrder(symbol, quantity, Money.of(price));
+                } catch (RuntimeException e) {
+                    assertThat(buy ? reference.canBuy(quantity, price) : reference.canSell(symbol, quantity)).isFalse();
+                    continue;
+                }
+                if (buy) reference.buy(symbol, quantity, price); else reference.sell(symbol, quantity, price);
+
+                assertThat(Money.toBigDecimal(effect.getBalanceAfter())).isEqualByComparingTo(reference.balance);
+                ReferencePosition position = reference.positions.get(symbol);
+                if (position == null) {
+                    assertThat(effect.getPositionQuantityAfter()).isZero();
+                } else {
+                    assertThat(effect.getPositionQuantityAfter()).isEqualTo(position.quantity);
+                    assertThat(Money.toBigDecimal(effect.getPositionAveragePriceAfter()))
+                            .isEqualByComparingTo(position.averagePrice);
+                    assertThat(Money.toBigDecimal(effect.getPositionTotalInvestedAfter()))
+                            .isEqualByComparingTo(position.totalInvested);
+                }
+            }
+        }
+    }
+
+    // The BigDecimal trade logic Account used before amounts moved to cents
+    private static class ReferenceAccount {
+        BigDecimal balance;
+        final Map<String, ReferencePosition> positions = new HashMap<>();
+
+        ReferenceAccount(BigDecimal balance) {
+            this.balance = balance;
+        }
+
+        boolean canBuy(int quantity, BigDecimal price) {
+            return balance.compareTo(price.multiply(BigDecimal.valueOf(quantity))) >= 0;
+        }
+
+        boolean canSell(String symbol, int quantity) {
+            ReferencePosition position = positions.get(symbol);
+            return position != null && position.quantity >= quantity;
+        }
+
+        void buy(String symbol, int quantity, BigDecimal price) {
+            BigDecimal totalAmount = price.multiply(BigDecimal.valueOf(quantity));
+            balance = balance.subtract(totalAmount);
+            ReferencePosition position = positions.get(symbol);
+            if (position == null) {
+                positions.put(symbol, new ReferencePosition(quantity, price, totalAmount));
+            } else {
+                position.totalInvested = position.totalInvested.add(totalAmount);
+                position.quantity += quantity;
+                position.averagePrice = position.totalInvested
+                        .divide(BigDecimal.valueOf(position.quantity), 2, RoundingMode.HALF_UP);
+            }
+        }
+
+        void sell(String symbol, int quantity, BigDecimal price) {
+            balance = balance.add(price.multiply(BigDecimal.valueOf(quantity)));
+            ReferencePosition position = positions.get(symbol);
+            position.quantity -= quantity;
+            if (position.quantity == 0) {
+                positions.remove(symbol);
+            } else {
+                position.totalInvested = position.totalInvested
+                        .subtract(position.averagePrice.multiply(BigDecimal.valueOf(quantity)));
+            }
+        }
+    }
+
+    private static class ReferencePosition {
+        int quantity;
+        BigDecimal averagePrice;
+        BigDecimal totalInvested;
+
+        ReferencePosition(int quantity, BigDecimal averagePrice, BigDecimal totalInvested) {
+            this.quantity = quantity;
+            this.averagePrice = averagePrice;
+            this.totalInvested = totalInvested;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.trading.simulator.execution;
+
+import com.trading.simulator.money.Money;
+
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Child process for {@link TradeJournalTests}: rebuilds one account from the
+ * journal, appends random trades until it is killed, and prints the sequence
+ * of its {@code CONFIRM_AFTER}th record once that has been appended.
+ */
+public class JournalCrashWriter {
+
+    static final Long USER_ID = 1L;
+    static final long STARTING_BALANCE = Money.parse("1000000.00");
+    static final int CONFIRM_AFTER = 100;
+
+    public static void main(String[] args) {
+        TradeJournal journal = TradeJournal.open(Path.of(args[0]), Integer.parseInt(args[1]));
+        Account account = TradeJournalTests.rebuild(journal);
+
+        Random random = new Random();
+        int appended = 0;
+        while (true) {
+            long price = 1000 + random.nextInt(9000);
+            int quantity = 1 + random.nextInt(10);
+            try {
+                TradeEffect effect = random.nextBoolean()
+                        ? account.executeBuyOrder("AAPL", quantity, price)
+                        : account.executeSellOrder("AAPL", quantity, price);
+                long sequence = journal.append(effect);
+                if (++appended == CONFIRM_AFTER) {
+                    System.out.println(sequence);
+                    System.out.flush();
+                }
+            } catch (RuntimeException e) {
+                // Insufficient shares; try another trade
+            }
+        }
+    }
+}
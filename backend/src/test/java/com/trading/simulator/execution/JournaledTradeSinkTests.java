@@ -0,0 +1,109 @@
+package com.trading.simulator.execution;
+
+import com.trading.simulator.entity.User;
+import com.trading.simulator.metrics.HotPathMetrics;
+import com.trading.simulator.money.Money;
+import com.trading.simulator.repository.JournalCheckpointRepository;
+import com.trading.simulator.repository.PortfolioRepository;
+import com.trading.simulator.repository.TransactionRepository;
+import com.trading.simulator.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import({TradePersister.class, HotPathMetrics.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // the persister commits on its own thread
+class JournaledTradeSinkTests {
+
+    @TempDir
+    Path directory;
+
+    @Autowired
+    private TradePersister persister;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PortfolioRepository portfolioRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JournalCheckpointRepository checkpointRepository;
+
+    @AfterEach
+    void tearDown() {
+        checkpointRepository.deleteAll();
+        transactionRepository.deleteAll();
+        portfolioRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void rebuildsTheDatabaseFromRecordsPastTheCheckpoint() throws InterruptedException {
+        User user = createUser("journal");
+        Account account = new Account(user.getId(), Money.of(user.getBalance()));
+
+        // Journaled but never projected, as if the process died before the persister ran
+        try (TradeJournal journal = TradeJournal.open(directory, 1 << 20)) {
+            journal.append(account.executeBuyOrder("AAPL", 10, Money.parse("100.00")));
+            journal.append(account.executeBuyOrder("MSFT", 5, Money.parse("200.00")));
+            journal.append(account.executeSellOrder("AAPL", 4, Money.parse("110.00")));
+        }
+
+        JournaledTradeSink sink = newSink();
+        sink.start();
+
+        assertThat(transactionRepository.count()).isEqualTo(3);
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getBalance())
+                .isEqualByComparingTo(Money.toBigDecimal(account.getBalance()));
+        assertThat(portfolioRepository.findByUserIdAndStockSymbol(user.getId(), "AAPL"))
+                .hasValueSatisfying(position -> assertThat(position.getQuantity()).isEqualTo(6));
+        assertThat(persister.getCheckpoint()).isEqualTo(3);
+
+        // New fills go through the journal and advance the checkpoint
+        sink.accept(account.executeSellOrder("MSFT", 5, Money.parse("210.00")));
+        awaitCheckpoint(4);
+        sink.stop();
+        assertThat(portfolioRepository.findByUserIdAndStockSymbol(user.getId(), "MSFT")).isEmpty();
+
+        // A restart with the database caught up replays nothing
+        JournaledTradeSink restarted = newSink();
+        restarted.start();
+        assertThat(restarted.getLastSequence()).isEqualTo(4);
+        assertThat(transactionRepository.count()).isEqualTo(4);
+        restarted.stop();
+    }
+
+    private JournaledTradeSink newSink() {
+        return new JournaledTradeSink(persister, directory.toString(), 1, 10, 1000, 2, 10);
+    }
+
+    private User createUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@trading.com");
+        return userRepository.save(user);
+    }
+
+    private void awaitCheckpoint(long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (persister.getCheckpoint() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(persister.getCheckpoint()).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,173 @@
+package com.trading.simulator.execution;
+
+import com.trading.simulator.money.Money;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShardedTradeExecutorStressTests {
+
+    private static final int USERS = 500;
+    private static final String[] SYMBOLS = {"AAPL", "GOOGL", "MSFT", "TSLA", "AMZN", "NVDA", "META", "NFLX"};
+    private static final long STARTING_BALANCE = Money.parse("50000.00");
+
+    @Test
+    void balancesAndPositionsReconcileAfterMillionsOfRandomTrades() throws Exception {
+        int producers = 8;
+        int tradesPerProducer = 250_000;
+
+        ReconcilingSink sink = new ReconcilingSink();
+        ShardedTradeExecutor executor = new ShardedTradeExecutor(
+                userId -> new Account(userId, STARTING_BALANCE), sink, 0);
+
+        AtomicLong accepted = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        List<Future<?>> done = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            done.add(pool.submit(() -> submitRandomTrades(executor, tradesPerProducer, accepted, rejected)));
+        }
+        for (Future<?> f : done) f.get();
+        pool.shutdown();
+
+        assertThat(accepted.get() + rejected.get()).isEqualTo((long) producers * tradesPerProducer);
+        assertThat(sink.effects.get()).isEqualTo(accepted.get());
+        assertThat(sink.violations).isEmpty();
+        assertThat(accepted.get()).isGreaterThan(producers * tradesPerProducer / 2L);
+
+        // Every account's in-memory state equals an independent sequential replay of its fills
+        long totalCash = 0;
+        long netCashFlow = 0;
+        for (long userId = 1; userId <= USERS; userId++) {
+            Ledger ledger = sink.ledgers.get(userId);
+            Map<String, Integer> actualShares = new HashMap<>();
+            long balance = executor.query(userId, account -> {
+                account.getPositions().forEach(p -> actualShares.put(p.getStockSymbol(), p.getQuantity()));
+                return account.getBalance();
+            });
+
+            assertThat(balance).isEqualTo(ledger.balance);
+            assertThat(actualShares).isEqualTo(ledger.nonZeroShares());
+            assertThat(balance).isGreaterThanOrEqualTo(0);
+
+            totalCash += balance;
+            netCashFlow += ledger.netCashFlow;
+        }
+        assertThat(totalCash).isEqualTo(STARTING_BALANCE * USERS + netCashFlow);
+
+        executor.shutdown();
+    }
+
+    @Test
+    void concurrentBuysForOneUserNeverOverdraw() throws Exception {
+        ShardedTradeExecutor executor = new ShardedTradeExecutor(
+                userId -> new Account(userId, Money.parse("1000.00")), effect -> {}, 4);
+        long price = Money.parse("1.00");
+
+        List<CompletableFuture<TradeEffect>> futures = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            futures.add(executor.submit(7L, "AAPL", "BUY", 1, price));
+        }
+        long filled = futures.stream().filter(f -> !f.handle((e, t) -> t != null).join()).count();
+
+        assertThat(filled).isEqualTo(1000);
+        long balance = executor.query(7L, Account::getBalance);
+        assertThat(balance).isZero();
+        int shares = executor.query(7L, account -> account.getAvailableShares("AAPL"));
+        assertThat(shares).isEqualTo(1000);
+
+        executor.shutdown();
+    }
+
+    private static void submitRandomTrades(ShardedTradeExecutor executor, int count,
+                                           AtomicLong accepted, AtomicLong rejected) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<CompletableFuture<TradeEffect>> window = new ArrayList<>(1000);
+
+        for (int i = 0; i < count; i++) {
+            long userId = 1 + random.nextInt(USERS);
+            String symbol = SYMBOLS[random.nextInt(SYMBOLS.length)];
+            String type = random.nextInt(100) < 55 ? "BUY" : "SELL";
+            int quantity = 1 + random.nextInt(20);
+            long price = 1000 + random.nextInt(49_000);
+            window.add(executor.submit(userId, symbol, type, quantity, price));
+
+            if (window.size() == 1000 || i == count - 1) {
+                for (CompletableFuture<TradeEffect> future : window) {
+                    try {
+                        future.join();
+                        accepted.incrementAndGet();
+                    } catch (CompletionException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                window.clear();
+            }
+        }
+    }
+
+    /**
+     * Replays every fill sequentially per user and records any effect whose
+     * post-trade state does not follow from the previous one.
+     */
+    private static class ReconcilingSink implements TradeEffectSink {
+        final Map<Long, Ledger> ledgers = new ConcurrentHashMap<>();
+        final List<String> violations = Collections.synchronizedList(new ArrayList<>());
+        final AtomicLong effects = new AtomicLong();
+
+        @Override
+        public void accept(TradeEffect effect) {
+            effects.incrementAndGet();
+            Ledger ledger = ledgers.computeIfAbsent(effect.getUserId(), id -> new Ledger());
+            long amount = Money.times(effect.getPricePerShare(), effect.getQuantity());
+            int held = ledger.shares.getOrDefault(effect.getStockSymbol(), 0);
+
+            if (effect.getTransactionType().equals("BUY")) {
+                ledger.balance -= amount;
+                ledger.netCashFlow -= amount;
+                held += effect.getQuantity();
+            } else {
+                ledger.balance += amount;
+                ledger.netCashFlow += amount;
+                held -= effect.getQuantity();
+            }
+            ledger.shares.put(effect.getStockSymbol(), held);
+
+            if (ledger.balance != effect.getBalanceAfter()
+                    || held != effect.getPositionQuantityAfter()
+                    || ledger.balance < 0 || held < 0) {
+                violations.add("user " + effect.getUserId() + " diverged at " + effect.getTransactionType()
+                        + " " + effect.getQuantity() + " " + effect.getStockSymbol());
+            }
+        }
+    }
+
+    private static class Ledger {
+        long balance = STARTING_BALANCE;
+        long netCashFlow = 0;
+        final Map<String, Integer> shares = new HashMap<>();
+
+        Map<String, Integer> nonZeroShares() {
+            Map<String, Integer> result = new HashMap<>();
+            shares.forEach((symbol, quantity) -> {
+                if (quantity != 0) result.put(symbol, quantity);
+            });
+            return result;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.trading.simulator.execution;
+
+import com.trading.simulator.money.Money;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TradeJournalTests {
+
+    private static final int SEGMENT_SIZE = 1 << 20;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysEveryRecordInOrderAcrossSegments() {
+        Account account = new Account(7L, Money.parse("100000.00"));
+        List<TradeEffect> written = new ArrayList<>();
+        try (TradeJournal journal = TradeJournal.open(directory, 4096)) {
+            for (int i = 0; i < 500; i++) {
+                TradeEffect effect = i % 3 == 2
+                        ? account.executeSellOrder("MSFT", 1, Money.parse("101.50"))
+                        : account.executeBuyOrder("MSFT", 2, Money.parse("100.25"));
+                assertThat(journal.append(effect)).isEqualTo(i + 1);
+                written.add(effect);
+            }
+        }
+
+        try (TradeJournal journal = TradeJournal.open(directory, 4096)) {
+            assertThat(journal.getLastSequence()).isEqualTo(500);
+            assertThat(segments()).hasSizeGreaterThan(1);
+
+            List<TradeJournal.Entry> entries = replayAll(journal, 0);
+            assertThat(entries).extracting(TradeJournal.Entry::sequence)
+                    .containsExactlyElementsOf(LongStream.rangeClosed(1, 500).boxed().toList());
+            for (int i = 0; i < written.size(); i++) {
+                assertThat(entries.get(i).effect()).usingRecursiveComparison().isEqualTo(written.get(i));
+            }
+            assertThat(replayAll(journal, 450)).hasSize(50);
+        }
+    }
+
+    @Test
+    void deletesSegmentsThatEndAtOrBeforeASequence() {
+        Account account = new Account(7L, Money.parse("100000.00"));
+        try (TradeJournal journal = TradeJournal.open(directory, 4096)) {
+            for (int i = 0; i < 500; i++) {
+                journal.append(account.executeBuyOrder("MSFT", 1, Money.parse("100.25")));
+            }
+            int before = segments().size();
+
+            assertThat(journal.deleteThrough(0)).isZero();
+            int deleted = journal.deleteThrough(450);
+            assertThat(deleted).isPositive();
+            assertThat(segments()).hasSize(before - deleted);
+            assertThat(replayAll(journal, 450)).extracting(TradeJournal.Entry::sequence)
+                    .containsExactlyElementsOf(LongStream.rangeClosed(451, 500).boxed().toList());
+
+            // The segment being written is never deleted
+            int closed = segments().size() - 1;
+            assertThat(journal.deleteThrough(500)).isEqualTo(closed);
+            assertThat(segments()).hasSize(1);
+        }
+
+        try (TradeJournal journal = TradeJournal.open(directory, 4096)) {
+            assertThat(journal.getLastSequence()).isEqualTo(500);
+            assertThat(journal.append(account.executeBuyOrder("MSFT", 1, Money.parse("100.25")))).isEqualTo(501);
+            assertThat(replayAll(journal, 0)).first().extracting(TradeJournal.Entry::sequence)
+                    .isNotEqualTo(1L);
+        }
+    }
+
+    @Test
+    void truncatesACorruptTailAndAppendsAfterIt() throws IOException {
+        Account account = new Account(7L, Money.parse("100000.00"));
+        try (TradeJournal journal = TradeJournal.open(directory, SEGMENT_SIZE)) {
+            for (int i = 0; i < 10; i++) {
+                journal.append(account.executeBuyOrder("AAPL", 1, Money.parse("150.00")));
+            }
+        }
+
+        // Flip one byte inside the last record, as a torn write would leave it
+        Path segment = segments().get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            int position = 0;
+            int last = 0;
+            while (buffer.getInt(position) > 0) {
+                last = position;
+                position += 8 + buffer.getInt(position);
+            }
+            buffer.put(last + 20, (byte) (buffer.get(last + 20) ^ 0xFF));
+        }
+
+        try (TradeJournal journal = TradeJournal.open(directory, SEGMENT_SIZE)) {
+            assertThat(journal.getLastSequence()).isEqualTo(9);
+            assertThat(journal.append(account.executeBuyOrder("AAPL", 1, Money.parse("150.00")))).isEqualTo(10);
+        }
+        try (TradeJournal journal = TradeJournal.open(directory, SEGMENT_SIZE)) {
+            assertThat(replayAll(journal, 0)).hasSize(10);
+        }
+    }
+
+    @Test
+    void recoversAConsistentTailAfterTheWriterIsKilled() throws Exception {
+        long previous = 0;
+        for (int round = 0; round < 3; round++) {
+            Process writer = new ProcessBuilder(
+                    Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                    "-cp", System.getProperty("java.class.path"),
+                    JournalCrashWriter.class.getName(), directory.toString(), String.valueOf(SEGMENT_SIZE))
+                    .redirectErrorStream(true)
+                    .start();
+            long confirmed;
+            try (BufferedReader out = new BufferedReader(new InputStreamReader(writer.getInputStream()))) {
+                // Only kill once the writer has appended records, and is still appending more
+                confirmed = Long.parseLong(out.readLine());
+                writer.destroyForcibly(); // SIGKILL, no shutdown hooks or final sync
+                assertThat(writer.waitFor(10, TimeUnit.SECONDS)).isTrue();
+            }
+
+            try (TradeJournal journal = TradeJournal.open(directory, SEGMENT_SIZE)) {
+                assertThat(confirmed).isEqualTo(previous + JournalCrashWriter.CONFIRM_AFTER);
+                assertThat(journal.getLastSequence()).isGreaterThanOrEqualTo(confirmed);
+                previous = journal.getLastSequence();
+                assertConsistent(replayAll(journal, 0), previous);
+            }
+        }
+    }
+
+    /**
+     * Rebuilds the crash writer's account from the last journaled effect.
+     */
+    static Account rebuild(TradeJournal journal) {
+        TradeEffect[] last = new TradeEffect[1];
+        journal.replay(0, entry -> last[0] = entry.effect());
+        if (last[0] == null) {
+            return new Account(JournalCrashWriter.USER_ID, JournalCrashWriter.STARTING_BALANCE);
+        }
+
+        Account account = new Account(JournalCrashWriter.USER_ID, last[0].getBalanceAfter());
+        if (last[0].getPositionQuantityAfter() > 0) {
+            account.addPosition(last[0].getStockSymbol(), last[0].getPositionQuantityAfter(),
+                    last[0].getPositionAveragePriceAfter(), last[0].getPositionTotalInvestedAfter());
+        }
+        return account;
+    }
+
+    // Every record follows from the one before it, with no gaps in the sequence
+    private static void assertConsistent(List<TradeJournal.Entry> entries, long lastSequence) {
+        assertThat(entries).hasSize((int) lastSequence);
+        long balance = JournalCrashWriter.STARTING_BALANCE;
+        int shares = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            TradeJournal.Entry entry = entries.get(i);
+            TradeEffect effect = entry.effect();
+            assertThat(entry.sequence()).isEqualTo(i + 1);
+
+            if (effect.getTransactionType().equals("BUY")) {
+                balance -= effect.getTotalAmount();
+                shares += effect.getQuantity();
+            } else {
+                balance += effect.getTotalAmount();
+                shares -= effect.getQuantity();
+            }
+            assertThat(effect.getBalanceAfter()).isEqualTo(balance);
+            assertThat(effect.getPositionQuantityAfter()).isEqualTo(shares);
+        }
+    }
+
+    private static List<TradeJournal.Entry> replayAll(TradeJournal journal, long afterSequence) {
+        List<TradeJournal.Entry> entries = new ArrayList<>();
+        journal.replay(afterSequence, entries::add);
+        return entries;
+    }
+
+    private List<Path> segments() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
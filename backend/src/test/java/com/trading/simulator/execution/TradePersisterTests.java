@@ -0,0 +1,132 @@
+package com.trading.simulator.execution;
+
+import com.trading.simulator.entity.Portfolio;
+import com.trading.simulator.entity.Transaction;
+import com.trading.simulator.entity.User;
+import com.trading.simulator.metrics.HotPathMetrics;
+import com.trading.simulator.money.Money;
+import com.trading.simulator.repository.PortfolioRepository;
+import com.trading.simulator.repository.TransactionRepository;
+import com.trading.simulator.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "simulator.execution.persist-retry-delay-ms=10",
+        "simulator.execution.persist-max-attempts=2"
+})
+@Import({TradePersister.class, HotPathMetrics.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // the persister commits on its own thread
+class TradePersisterTests {
+
+    @Autowired
+    private TradePersister persister;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PortfolioRepository portfolioRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @AfterEach
+    void tearDown() {
+        transactionRepository.deleteAll();
+        portfolioRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void writesFinalAccountStateAndEveryTransaction() throws InterruptedException {
+        User user = new User();
+        user.setUsername("persister");
+        user.setEmail("persister@trading.com");
+        user = userRepository.save(user);
+
+        Account account = new Account(user.getId(), Money.of(user.getBalance()));
+        persister.accept(account.executeBuyOrder("AAPL", 10, Money.parse("100.00")));
+        persister.accept(account.executeBuyOrder("MSFT", 5, Money.parse("200.00")));
+        persister.accept(account.executeSellOrder("MSFT", 5, Money.parse("210.00")));
+        persister.accept(account.executeSellOrder("AAPL", 4, Money.parse("110.00")));
+
+        awaitTransactions(4);
+
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getBalance())
+                .isEqualByComparingTo(Money.toBigDecimal(account.getBalance()));
+
+        List<Portfolio> positions = portfolioRepository.findByUserId(user.getId());
+        assertThat(positions).singleElement().satisfies(position -> {
+            assertThat(position.getStockSymbol()).isEqualTo("AAPL");
+            assertThat(position.getQuantity()).isEqualTo(6);
+            assertThat(position.getTotalInvested()).isEqualByComparingTo("600.00");
+        });
+    }
+
+    @Test
+    void awaitWrittenReturnsOnceEveryEnqueuedEffectIsCommitted() throws InterruptedException {
+        User user = new User();
+        user.setUsername("awaiter");
+        user.setEmail("awaiter@trading.com");
+        user = userRepository.save(user);
+
+        Account account = new Account(user.getId(), Money.of(user.getBalance()));
+        long before = persister.getEnqueuedCount();
+        for (int i = 0; i < 3; i++) {
+            persister.accept(account.executeBuyOrder("AAPL", 1, Money.parse("100.00")));
+        }
+        long enqueued = persister.getEnqueuedCount();
+
+        assertThat(enqueued - before).isEqualTo(3);
+        assertThat(persister.awaitWritten(enqueued, 10_000)).isTrue();
+        assertThat(transactionRepository.count()).isEqualTo(3);
+        assertThat(persister.awaitWritten(enqueued + 1, 50)).isFalse();
+    }
+
+    @Test
+    void dropsAnEffectTheDatabaseRejectsAndWritesTheRest() throws InterruptedException {
+        User user = new User();
+        user.setUsername("rejected");
+        user.setEmail("rejected@trading.com");
+        user = userRepository.save(user);
+
+        Account account = new Account(user.getId(), Money.of(user.getBalance()));
+        TradeEffect first = account.executeBuyOrder("AAPL", 1, Money.parse("100.00"));
+        // Too large for price_per_share, so every attempt fails the same way
+        long price = Money.parse("100000000000.00");
+        TradeEffect rejected = new TradeEffect(user.getId(), "AAPL", "BUY", 1, price, price, LocalDateTime.now(),
+                first.getBalanceAfter(), new Position("AAPL", 1, Money.parse("100.00"), Money.parse("100.00")));
+        TradeEffect last = account.executeBuyOrder("AAPL", 1, Money.parse("100.00"));
+
+        persister.accept(first);
+        persister.accept(rejected);
+        persister.accept(last);
+
+        assertThat(persister.awaitWritten(persister.getEnqueuedCount(), 10_000)).isTrue();
+        assertThat(transactionRepository.findAll()).extracting(Transaction::getPricePerShare)
+                .containsExactly(new BigDecimal("100.00"), new BigDecimal("100.00"));
+        assertThat(portfolioRepository.findByUserId(user.getId()))
+                .singleElement().satisfies(position -> assertThat(position.getQuantity()).isEqualTo(2));
+    }
+
+    private void awaitTransactions(long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (transactionRepository.count() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(transactionRepository.count()).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,134 @@
+package com.trading.simulator.leaderboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LeaderboardTests {
+
+    private static final int AAA = 0;
+    private static final int BBB = 1;
+
+    @Test
+    void ranksByCashPlusMarkedPositions() {
+        Leaderboard board = new Leaderboard(4);
+        board.setPrice(AAA, 10_000);
+        board.setPrice(BBB, 2_000);
+        board.setUser(1, "ann", 100_000);
+        board.setUser(2, "bob", 50_000);
+        board.setUser(3, "cat", 100_000);
+        board.setPosition(2, AAA, 10, 0);  // 50,000 + 100,000
+        board.setPosition(3, BBB, 10, 0);  // 100,000 + 20,000
+
+        assertThat(top(board, 0, 3)).containsExactly(2L, 3L, 1L);
+        assertThat(board.netWorthOf(2)).isEqualTo(150_000);
+        assertThat(board.rankOf(1)).isEqualTo(3);
+        assertThat(board.rankOf(99)).isZero();
+
+        // Only holders of the symbol move
+        assertThat(board.setPrice(BBB, 6_000)).isEqualTo(1);
+        assertThat(top(board, 0, 3)).containsExactly(3L, 2L, 1L);
+        assertThat(board.netWorthOf(3)).isEqualTo(160_000);
+
+        // Ties go to the lower user id
+        board.setUser(1, null, 150_000);
+        assertThat(top(board, 1, 2)).containsExactly(1L, 2L);
+        assertThat(board.nameOf(1)).isEqualTo("ann");
+    }
+
+    @Test
+    void closedPositionsStopMoving() {
+        Leaderboard board = new Leaderboard(4);
+        board.setPrice(AAA, 100);
+        for (long user = 1; user <= 3; user++) {
+            board.setUser(user, "u" + user, 0);
+            board.setPosition(user, AAA, user * 10, 0);
+        }
+
+        board.setPosition(1, AAA, 0, 0);
+        assertThat(board.setPrice(AAA, 200)).isEqualTo(2);
+        assertThat(board.netWorthOf(1)).isZero();
+        assertThat(board.netWorthOf(2)).isEqualTo(4_000);
+        assertThat(board.netWorthOf(3)).isEqualTo(6_000);
+
+        // The holder moved into the closed slot is still tracked
+        board.setPosition(3, AAA, 1, 0);
+        board.setPrice(AAA, 300);
+        assertThat(board.netWorthOf(3)).isEqualTo(300);
+        assertThat(board.netWorthOf(2)).isEqualTo(6_000);
+    }
+
+    @Test
+    void marksUnpricedSymbolsAtTheFillPrice() {
+        Leaderboard board = new Leaderboard(4);
+        board.setPosition(7, BBB, 5, 1_000);
+
+        assertThat(board.netWorthOf(7)).isEqualTo(5_000);
+        assertThat(board.rankOf(7)).isEqualTo(1);
+    }
+
+    @Test
+    void agreesWithSortingAfterRandomUpdates() {
+        Random random = new Random(13);
+        Leaderboard board = new Leaderboard(16);
+        Map<Long, Long> cash = new HashMap<>();
+        Map<Long, long[]> quantities = new HashMap<>();
+        long[] prices = {1_000, 2_000, 3_000};
+        for (int symbol = 0; symbol < prices.length; symbol++) board.setPrice(symbol, prices[symbol]);
+
+        for (int step = 0; step < 20_000; step++) {
+            long user = 1 + random.nextInt(500);
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    long amount = random.nextInt(1_000_000);
+                    board.setUser(user, "u" + user, amount);
+                    cash.put(user, amount);
+                    quantities.putIfAbsent(user, new long[prices.length]);
+                }
+                case 1 -> {
+                    int symbol = random.nextInt(prices.length);
+                    long quantity = random.nextInt(4) == 0 ? 0 : random.nextInt(100);
+                    board.setPosition(user, symbol, quantity, 0);
+                    cash.putIfAbsent(user, 0L);
+                    quantities.computeIfAbsent(user, id -> new long[prices.length])[symbol] = quantity;
+                }
+                default -> {
+                    int symbol = random.nextInt(prices.length);
+                    prices[symbol] = 500 + random.nextInt(5_000);
+                    board.setPrice(symbol, prices[symbol]);
+                }
+            }
+        }
+
+        Map<Long, Long> worth = new HashMap<>();
+        cash.forEach((user, amount) -> {
+            long total = amount;
+            for (int symbol = 0; symbol < prices.length; symbol++) total += quantities.get(user)[symbol] * prices[symbol];
+            worth.put(user, total);
+        });
+        List<Long> expected = new ArrayList<>(worth.keySet());
+        expected.sort(Comparator.comparing((Long user) -> -worth.get(user)).thenComparing(user -> user));
+
+        assertThat(board.size()).isEqualTo(expected.size());
+        assertThat(top(board, 0, expected.size())).containsExactlyElementsOf(expected);
+        for (int i = 0; i < expected.size(); i += 37) {
+            assertThat(board.rankOf(expected.get(i))).isEqualTo(i + 1);
+            assertThat(board.netWorthOf(expected.get(i))).isEqualTo(worth.get(expected.get(i)));
+        }
+    }
+
+    private static List<Long> top(Leaderboard board, int offset, int limit) {
+        long[] out = new long[limit];
+        int count = board.top(offset, out);
+        List<Long> users = new ArrayList<>();
+        for (int i = 0; i < count; i++) users.add(out[i]);
+        return users;
+    }
+}
@@ -0,0 +1,117 @@
+package com.trading.simulator.matching;
+
+import com.trading.simulator.dto.OrderResult;
+import com.trading.simulator.execution.Account;
+import com.trading.simulator.execution.ShardedTradeExecutor;
+import com.trading.simulator.execution.TradeEffect;
+import com.trading.simulator.money.Money;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MatchingEngineTests {
+
+    private static final long SELLER = 1L;
+    private static final long BUYER = 2L;
+
+    private final List<TradeEffect> effects = new CopyOnWriteArrayList<>();
+    private final ShardedTradeExecutor executor = new ShardedTradeExecutor(userId -> {
+        Account account = new Account(userId, Money.parse("10000.00"));
+        if (userId == SELLER) {
+            account.addPosition("AAPL", 10, Money.parse("90.00"), Money.parse("900.00"));
+        }
+        return account;
+    }, effects::add, 2);
+    private final MatchingEngine engine = new MatchingEngine(executor, 65_536, 1024, 5);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        engine.shutdown();
+        executor.shutdown();
+    }
+
+    @Test
+    void settlesFillsOnBothSidesAndHoldsTheRestingRemainder() {
+        OrderResult ask = engine.placeOrder(SELLER, "AAPL", OrderSide.SELL, OrderType.LIMIT, 10,
+                Money.parse("101.00"), Money.parse("100.00"));
+        assertThat(ask.getStatus()).isEqualTo("RESTING");
+        int sellerShares = executor.query(SELLER, account -> account.getAvailableShares("AAPL"));
+        assertThat(sellerShares).isZero();
+
+        OrderResult bid = engine.placeOrder(BUYER, "AAPL", OrderSide.BUY, OrderType.LIMIT, 15,
+                Money.parse("102.00"), Money.parse("100.00"));
+
+        assertThat(bid.getStatus()).isEqualTo("RESTING");
+        assertThat(bid.getFilledQuantity()).isEqualTo(10);
+        assertThat(bid.getRestingQuantity()).isEqualTo(5);
+        assertThat(bid.getFills()).singleElement().satisfies(fill -> {
+            assertThat(fill.getPricePerShare()).isEqualByComparingTo("101.00");
+            assertThat(fill.getQuantity()).isEqualTo(10);
+        });
+
+        assertThat(executor.query(SELLER, Account::getBalance)).isEqualTo(Money.parse("11010.00"));
+        boolean sellerHolds = executor.query(SELLER, account -> account.getPosition("AAPL") != null);
+        assertThat(sellerHolds).isFalse();
+        assertThat(executor.query(BUYER, Account::getBalance)).isEqualTo(Money.parse("8990.00"));
+        assertThat(executor.query(BUYER, Account::getReservedCash)).isEqualTo(Money.parse("510.00"));
+        assertThat(effects).hasSize(2);
+
+        assertThat(engine.cancelOrder(bid.getOrderId(), BUYER)).isEqualTo(5);
+        assertThat(executor.query(BUYER, Account::getReservedCash)).isEqualTo(Money.parse("0.00"));
+        assertThatThrownBy(() -> engine.cancelOrder(bid.getOrderId(), BUYER)).hasMessage("Order not found");
+    }
+
+    @Test
+    void marketBuyIsCollaredAndReleasesWhatItDoesNotUse() {
+        engine.placeOrder(SELLER, "AAPL", OrderSide.SELL, OrderType.LIMIT, 4,
+                Money.parse("104.00"), Money.parse("100.00"));
+        engine.placeOrder(SELLER, "AAPL", OrderSide.SELL, OrderType.LIMIT, 4,
+                Money.parse("106.00"), Money.parse("100.00"));
+
+        OrderResult result = engine.placeOrder(BUYER, "AAPL", OrderSide.BUY, OrderType.MARKET, 8,
+                0, Money.parse("100.00"));
+
+        assertThat(result.getStatus()).isEqualTo("EXPIRED");
+        assertThat(result.getFilledQuantity()).isEqualTo(4);
+        assertThat(executor.query(BUYER, Account::getBalance)).isEqualTo(Money.parse("9584.00"));
+        assertThat(executor.query(BUYER, Account::getReservedCash)).isEqualTo(Money.parse("0.00"));
+        assertThat(engine.getBook("AAPL", 5).getAsks()).singleElement()
+                .satisfies(level -> assertThat(level.getPrice()).isEqualByComparingTo("106.00"));
+    }
+
+    @Test
+    void marketBuyFillsAfterThePriceDriftsPastHalfTheWindow() {
+        // The book opens centred on 1000.00, 327.68 either side; the price then runs to 2000.00
+        engine.placeOrder(SELLER, "AAPL", OrderSide.SELL, OrderType.LIMIT, 1,
+                Money.parse("1001.00"), Money.parse("1000.00"));
+        engine.placeOrder(BUYER, "AAPL", OrderSide.BUY, OrderType.MARKET, 1, 0, Money.parse("1000.00"));
+
+        OrderResult ask = engine.placeOrder(SELLER, "AAPL", OrderSide.SELL, OrderType.LIMIT, 2,
+                Money.parse("2001.00"), Money.parse("2000.00"));
+        assertThat(ask.getStatus()).isEqualTo("RESTING");
+
+        OrderResult buy = engine.placeOrder(BUYER, "AAPL", OrderSide.BUY, OrderType.MARKET, 2,
+                0, Money.parse("2000.00"));
+
+        assertThat(buy.getStatus()).isEqualTo("FILLED");
+        assertThat(buy.getFills()).singleElement()
+                .satisfies(fill -> assertThat(fill.getPricePerShare()).isEqualByComparingTo("2001.00"));
+        assertThat(executor.query(BUYER, Account::getReservedCash)).isEqualTo(Money.parse("0.00"));
+    }
+
+    @Test
+    void rejectsOrdersTheAccountCannotCover() {
+        assertThatThrownBy(() -> engine.placeOrder(BUYER, "AAPL", OrderSide.SELL, OrderType.LIMIT, 1,
+                Money.parse("100.00"), Money.parse("100.00")))
+                .hasMessage("Insufficient shares to sell");
+        assertThatThrownBy(() -> engine.placeOrder(BUYER, "AAPL", OrderSide.BUY, OrderType.LIMIT, 101,
+                Money.parse("100.00"), Money.parse("100.00")))
+                .hasMessage("Insufficient balance for this purchase");
+        assertThat(engine.getBook("AAPL", 5).getBids()).isEmpty();
+    }
+}
@@ -0,0 +1,163 @@
+package com.trading.simulator.matching;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderBookTests {
+
+    private final OrderBook book = new OrderBook("AAPL", 10_000, 10_000, 16);
+    private final List<long[]> fills = new ArrayList<>(); // {makerOrderId, priceTicks, quantity, makerRemaining}
+    private final FillListener recorder = (makerOrderId, makerUserId, takerOrderId, takerUserId, takerSide,
+                                           priceTicks, quantity, makerRemaining) ->
+            fills.add(new long[]{makerOrderId, priceTicks, quantity, makerRemaining});
+
+    @Test
+    void matchesBestPriceFirstThenTimePriority() {
+        book.submit(1, 100, OrderSide.SELL, OrderType.LIMIT, 15_010, 5, recorder);
+        book.submit(2, 101, OrderSide.SELL, OrderType.LIMIT, 15_000, 5, recorder);
+        book.submit(3, 102, OrderSide.SELL, OrderType.LIMIT, 15_000, 5, recorder);
+
+        int filled = book.submit(4, 200, OrderSide.BUY, OrderType.LIMIT, 15_010, 12, recorder);
+
+        assertThat(filled).isEqualTo(12);
+        assertThat(fills).extracting(f -> f[0]).containsExactly(2L, 3L, 1L);
+        assertThat(fills).extracting(f -> f[1]).containsExactly(15_000L, 15_000L, 15_010L);
+        assertThat(fills).extracting(f -> f[3]).containsExactly(0L, 0L, 3L);
+        assertThat(book.getBestAsk()).isEqualTo(15_010);
+        assertThat(book.getRestingCount()).isEqualTo(1);
+    }
+
+    @Test
+    void limitRemainderRestsAndDoesNotCrossItsOwnPrice() {
+        book.submit(1, 100, OrderSide.SELL, OrderType.LIMIT, 15_005, 5, recorder);
+
+        int filled = book.submit(2, 200, OrderSide.BUY, OrderType.LIMIT, 15_000, 10, recorder);
+
+        assertThat(filled).isZero();
+        assertThat(book.getBestBid()).isEqualTo(15_000);
+        assertThat(book.getBestAsk()).isEqualTo(15_005);
+        assertThat(book.contains(2)).isTrue();
+    }
+
+    @Test
+    void iocAndMarketNeverRest() {
+        book.submit(1, 100, OrderSide.BUY, OrderType.LIMIT, 14_990, 5, recorder);
+        book.submit(2, 100, OrderSide.BUY, OrderType.LIMIT, 14_980, 5, recorder);
+
+        assertThat(book.submit(3, 200, OrderSide.SELL, OrderType.IOC, 14_990, 8, recorder)).isEqualTo(5);
+        assertThat(book.contains(3)).isFalse();
+
+        assertThat(book.submit(4, 200, OrderSide.SELL, OrderType.MARKET, 0, 8, recorder)).isEqualTo(5);
+        assertThat(book.contains(4)).isFalse();
+        assertThat(book.getBestBid()).isEqualTo(-1);
+        assertThat(book.getRestingCount()).isZero();
+    }
+
+    @Test
+    void cancelRemovesOrderAndUpdatesBestPrice() {
+        book.submit(1, 100, OrderSide.BUY, OrderType.LIMIT, 15_000, 5, recorder);
+        book.submit(2, 100, OrderSide.BUY, OrderType.LIMIT, 14_990, 7, recorder);
+        book.submit(3, 100, OrderSide.BUY, OrderType.LIMIT, 14_990, 3, recorder);
+
+        assertThat(book.cancel(1)).isEqualTo(5);
+        assertThat(book.cancel(1)).isZero();
+        assertThat(book.getBestBid()).isEqualTo(14_990);
+
+        assertThat(book.cancel(2)).isEqualTo(7);
+        book.submit(4, 200, OrderSide.SELL, OrderType.MARKET, 0, 10, recorder);
+        assertThat(fills).singleElement().satisfies(f -> assertThat(f[0]).isEqualTo(3L));
+    }
+
+    @Test
+    void depthAggregatesLevelsBestFirst() {
+        book.submit(1, 100, OrderSide.SELL, OrderType.LIMIT, 15_020, 4, recorder);
+        book.submit(2, 100, OrderSide.SELL, OrderType.LIMIT, 15_010, 5, recorder);
+        book.submit(3, 101, OrderSide.SELL, OrderType.LIMIT, 15_010, 6, recorder);
+
+        long[] prices = new long[5];
+        long[] volumes = new long[5];
+        int count = book.depth(OrderSide.SELL, prices, volumes);
+
+        assertThat(count).isEqualTo(2);
+        assertThat(prices).startsWith(15_010, 15_020);
+        assertThat(volumes).startsWith(11, 4);
+    }
+
+    @Test
+    void reusesOrderSlotsAndRejectsWhenFull() {
+        for (int round = 0; round < 100; round++) {
+            for (int i = 0; i < 16; i++) {
+                book.submit(round * 100L + i, 100, OrderSide.SELL, OrderType.LIMIT, 15_000 + i, 1, recorder);
+            }
+            assertThatThrownBy(() -> book.submit(-1, 100, OrderSide.SELL, OrderType.LIMIT, 15_000, 1, recorder))
+                    .isInstanceOf(IllegalStateException.class);
+            assertThat(book.submit(-2, 200, OrderSide.BUY, OrderType.MARKET, 0, 16, recorder)).isEqualTo(16);
+            assertThat(book.getRestingCount()).isZero();
+        }
+    }
+
+    @Test
+    void windowFollowsLimitPricesAsFarAsRestingOrdersAllow() {
+        book.submit(1, 100, OrderSide.SELL, OrderType.LIMIT, 10_000, 2, recorder);
+
+        // The resting ask pins the window's low end at 10_000
+        assertThatThrownBy(() -> book.submit(2, 100, OrderSide.SELL, OrderType.LIMIT, 20_000, 1, recorder))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Price outside book range for AAPL");
+
+        assertThat(book.submit(3, 200, OrderSide.BUY, OrderType.LIMIT, 9_999, 1, recorder)).isZero();
+        assertThat(book.getBestBid()).isEqualTo(9_999);
+        assertThat(book.getBestAsk()).isEqualTo(10_000);
+
+        // A limit beyond the window that fills in full never needs to rest there
+        assertThat(book.submit(4, 200, OrderSide.BUY, OrderType.LIMIT, 20_000, 1, recorder)).isEqualTo(1);
+        assertThat(fills).singleElement().satisfies(fill -> assertThat(fill[1]).isEqualTo(10_000));
+
+        // Its remainder would, and the bid at 9_999 keeps 20_000 out of reach, so nothing fills
+        assertThatThrownBy(() -> book.submit(5, 200, OrderSide.BUY, OrderType.LIMIT, 20_000, 2, recorder))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Price outside book range for AAPL");
+        assertThat(fills).hasSize(1);
+
+        // An IOC limit far above the window still matches everything in it
+        assertThat(book.submit(6, 200, OrderSide.BUY, OrderType.IOC, 50_000, 1, recorder)).isEqualTo(1);
+        assertThat(fills.get(1)[1]).isEqualTo(10_000);
+        assertThat(book.cancel(3)).isEqualTo(1);
+
+        // Empty again, so the book moves wherever the price went
+        book.submit(7, 100, OrderSide.SELL, OrderType.LIMIT, 30_000, 2, recorder);
+        assertThat(book.getBestAsk()).isEqualTo(30_000);
+        assertThat(book.submit(8, 200, OrderSide.BUY, OrderType.MARKET, 0, 1, recorder)).isEqualTo(1);
+        assertThat(fills.get(2)[1]).isEqualTo(30_000);
+    }
+
+    @Test
+    void limitSweepingTheBookRestsItsRemainderBeyondTheWindow() {
+        book.submit(1, 100, OrderSide.BUY, OrderType.LIMIT, 10_000, 2, recorder);
+
+        assertThat(book.submit(2, 200, OrderSide.SELL, OrderType.LIMIT, 9_000, 3, recorder)).isEqualTo(2);
+        assertThat(fills).singleElement().satisfies(fill -> assertThat(fill[1]).isEqualTo(10_000));
+        assertThat(book.getBestBid()).isEqualTo(-1);
+        assertThat(book.getBestAsk()).isEqualTo(9_000);
+        assertThat(book.contains(2)).isTrue();
+    }
+
+    @Test
+    void poolGrowsUpToCapacity() {
+        OrderBook large = new OrderBook("AAPL", 10_000, 10_000, 3_000);
+        for (int i = 0; i < 3_000; i++) {
+            large.submit(i, 100, OrderSide.SELL, OrderType.LIMIT, 15_000 + i, 1, recorder);
+        }
+        assertThat(large.getRestingCount()).isEqualTo(3_000);
+        assertThatThrownBy(() -> large.submit(-1, 100, OrderSide.SELL, OrderType.LIMIT, 15_000, 1, recorder))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(large.cancel(2_999)).isEqualTo(1);
+        assertThat(large.submit(-2, 200, OrderSide.BUY, OrderType.MARKET, 0, 3_000, recorder)).isEqualTo(2_999);
+        assertThat(large.getRestingCount()).isZero();
+    }
+}
@@ -0,0 +1,83 @@
+package com.trading.simulator.metrics;
+
+import com.trading.simulator.metrics.HotPathMetrics.Operation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HotPathMetricsTests {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SqlStatementCounter inspector = new SqlStatementCounter();
+
+    @Test
+    void recordsLatencyPercentilesAndStatementsPerCall() {
+        HotPathMetrics metrics = new HotPathMetrics(registry, true, 60_000);
+
+        for (int i = 0; i < 100; i++) {
+            String result = metrics.record(Operation.USER_PORTFOLIO, () -> {
+                inspector.inspect("select 1");
+                inspector.inspect("select 2");
+                return "ok";
+            });
+            assertThat(result).isEqualTo("ok");
+        }
+        assertThatThrownBy(() -> metrics.record(Operation.USER_PORTFOLIO, () -> {
+            throw new IllegalStateException("failed");
+        })).hasMessage("failed");
+
+        assertThat(counter("simulator.request.calls", "portfolio.user")).isEqualTo(101);
+        assertThat(counter("simulator.request.sql.statements.total", "portfolio.user")).isEqualTo(200);
+        assertThat(quantile("simulator.request.sql.statements", "0.5")).isEqualTo(2);
+        assertThat(quantile("simulator.request.latency", "0.5")).isPositive();
+        assertThat(quantile("simulator.request.latency", "0.999"))
+                .isGreaterThanOrEqualTo(quantile("simulator.request.latency", "0.99"));
+        assertThat(registry.get("simulator.request.latency.max").tag("operation", "portfolio.user").gauge().value())
+                .isGreaterThanOrEqualTo(quantile("simulator.request.latency", "0.999"));
+        assertThat(counter("simulator.request.calls", "trade.execute")).isZero();
+    }
+
+    @Test
+    void countsStatementsOfWorkCarriedToAnotherThread() {
+        HotPathMetrics metrics = new HotPathMetrics(registry, true, 60_000);
+        ExecutorService other = Executors.newSingleThreadExecutor();
+        try {
+            metrics.record(Operation.USER_PORTFOLIO, () -> CompletableFuture.supplyAsync(
+                    SqlStatementCounter.carry(() -> inspector.inspect("select 1")), other).join());
+            // Not carried: counts on the other thread only
+            metrics.record(Operation.USER_PORTFOLIO, () -> CompletableFuture.supplyAsync(
+                    () -> inspector.inspect("select 1"), other).join());
+        } finally {
+            other.shutdown();
+        }
+
+        assertThat(counter("simulator.request.calls", "portfolio.user")).isEqualTo(2);
+        assertThat(counter("simulator.request.sql.statements.total", "portfolio.user")).isEqualTo(1);
+    }
+
+    @Test
+    void recordsNothingWhenDisabled() {
+        HotPathMetrics metrics = new HotPathMetrics(registry, false, 60_000);
+
+        int result = metrics.record(Operation.STOCK_QUOTE, () -> 42);
+        metrics.recordPersistedBatch(10, 30);
+
+        assertThat(result).isEqualTo(42);
+        assertThat(counter("simulator.request.calls", "stock.quote")).isZero();
+        assertThat(registry.get("simulator.persister.statements.per.trade").summary().count()).isZero();
+    }
+
+    private double counter(String name, String operation) {
+        return registry.get(name).tag("operation", operation).functionCounter().count();
+    }
+
+    private double quantile(String name, String quantile) {
+        return registry.get(name).tag("operation", "portfolio.user").tag("quantile", quantile).gauge().value();
+    }
+}
@@ -0,0 +1,109 @@
+package com.trading.simulator.money;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks every operation against the BigDecimal expression it replaces, over
+ * seeded random inputs that cover the range of the money columns.
+ */
+class MoneyTests {
+
+    private static final int SAMPLES = 200_000;
+    // Largest amount a precision-12, scale-2 column holds, in cents
+    private static final long MAX_AMOUNT = 99_999_999_999_99L;
+
+    private final Random random = new Random(20240601L);
+
+    @Test
+    void convertsLikeSetScaleHalfUp() {
+        for (int i = 0; i < SAMPLES; i++) {
+            BigDecimal value = BigDecimal.valueOf(random.nextLong() % 1_000_000_000_000L, random.nextInt(6));
+
+            long cents = Money.of(value);
+
+            assertThat(Money.toBigDecimal(cents)).isEqualTo(value.setScale(2, RoundingMode.HALF_UP));
+        }
+        assertThat(Money.parse("150.25")).isEqualTo(15_025);
+        assertThat(Money.toBigDecimal(15_025)).hasToString("150.25");
+        assertThatThrownBy(() -> Money.ofExact(new BigDecimal("1.005"))).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void timesMatchesMultiply() {
+        for (int i = 0; i < SAMPLES; i++) {
+            long price = random.nextLong(1_000_000_00L);
+            int quantity = random.nextInt(100_000);
+
+            BigDecimal expected = Money.toBigDecimal(price).multiply(BigDecimal.valueOf(quantity));
+
+            assertThat(Money.toBigDecimal(Money.times(price, quantity))).isEqualByComparingTo(expected);
+        }
+        assertThatThrownBy(() -> Money.times(Long.MAX_VALUE / 2, 3)).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void divideHalfUpMatchesBigDecimalDivide() {
+        for (int i = 0; i < SAMPLES; i++) {
+            long amount = random.nextLong(-MAX_AMOUNT, MAX_AMOUNT);
+            long divisor = random.nextBoolean() ? 1 + random.nextInt(1_000) : random.nextLong(-MAX_AMOUNT, MAX_AMOUNT);
+            if (divisor == 0) continue;
+
+            BigDecimal expected = BigDecimal.valueOf(amount)
+                    .divide(BigDecimal.valueOf(divisor), 0, RoundingMode.HALF_UP);
+
+            assertThat(Money.divideHalfUp(amount, divisor)).isEqualTo(expected.longValueExact());
+        }
+        assertThat(Money.divideHalfUp(5, 2)).isEqualTo(3);
+        assertThat(Money.divideHalfUp(-5, 2)).isEqualTo(-3);
+        assertThat(Money.divideHalfUp(5, -2)).isEqualTo(-3);
+    }
+
+    @Test
+    void averagePriceMatchesBigDecimalDivide() {
+        for (int i = 0; i < SAMPLES; i++) {
+            long invested = random.nextLong(MAX_AMOUNT);
+            int quantity = 1 + random.nextInt(1_000_000);
+
+            BigDecimal expected = Money.toBigDecimal(invested)
+                    .divide(BigDecimal.valueOf(quantity), 2, RoundingMode.HALF_UP);
+
+            assertThat(Money.toBigDecimal(Money.divideHalfUp(invested, quantity))).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void multiplyMatchesBigDecimalMultiplyRoundedToCents() {
+        for (int i = 0; i < SAMPLES; i++) {
+            long price = 1 + random.nextLong(1_000_000_00L);
+            long factor = random.nextLong(-100_000, 100_001);
+            int scale = 4 + random.nextInt(3);
+
+            BigDecimal expected = Money.toBigDecimal(price)
+                    .multiply(BigDecimal.valueOf(factor, scale))
+                    .setScale(2, RoundingMode.HALF_UP);
+
+            assertThat(Money.toBigDecimal(Money.multiply(price, factor, scale))).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void ratioMatchesGainLossPercent() {
+        for (int i = 0; i < SAMPLES; i++) {
+            long invested = 1 + random.nextLong(MAX_AMOUNT / 10_000);
+            long gainLoss = random.nextLong(-invested, 3 * invested);
+
+            BigDecimal expected = Money.toBigDecimal(gainLoss)
+                    .divide(Money.toBigDecimal(invested), 4, RoundingMode.HALF_UP)
+                    .multiply(BigDecimal.valueOf(100));
+
+            assertThat(Money.ratioAsPercent(Money.ratio(gainLoss, invested))).isEqualTo(expected);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.trading.simulator.pricing;
+
+import com.trading.simulator.entity.Stock;
+import com.trading.simulator.money.Money;
+import com.trading.simulator.repository.StockRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class PriceEngineTests {
+
+    private final List<List<PriceTick>> writes = new ArrayList<>();
+    private PriceEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        StockPriceWriter writer = new StockPriceWriter(null) {
+            @Override
+            public void writePrices(List<PriceTick> ticks) {
+                writes.add(List.copyOf(ticks));
+            }
+        };
+        engine = new PriceEngine(mock(StockRepository.class), writer, 1000, 5000, 2);
+        engine.register(stock("AAPL", "150.25"));
+        engine.register(stock("MSFT", "280.00"));
+    }
+
+    @Test
+    void tickPublishesNewSnapshotWithoutMutatingOldOne() {
+        PriceSnapshot before = engine.getSnapshot();
+        long aaplBefore = before.get("AAPL").getPrice();
+
+        engine.tick();
+
+        PriceSnapshot after = engine.getSnapshot();
+        assertThat(after).isNotSameAs(before);
+        assertThat(after.getSequence()).isEqualTo(before.getSequence() + 1);
+        assertThat(before.get("AAPL").getPrice()).isEqualTo(aaplBefore);
+        assertThat(after.size()).isEqualTo(2);
+    }
+
+    @Test
+    void tickStaysWithinMaxMove() {
+        for (int i = 0; i < 1000; i++) {
+            long previous = engine.getSnapshot().get("MSFT").getPrice();
+            engine.tick();
+            PriceTick tick = engine.getSnapshot().get("MSFT");
+
+            assertThat(tick.getChange()).isEqualTo(tick.getPrice() - previous);
+            assertThat(tick.getChangeRatio()).isEqualTo(Money.ratio(tick.getChange(), previous));
+            // 2% of the previous price, plus the half cent the move can round up by
+            assertThat(Math.abs(tick.getChange()) * 1_000_000)
+                    .isLessThanOrEqualTo(previous * 20_000 + 500_000);
+        }
+    }
+
+    @Test
+    void flushWritesOnlyChangedPricesInOneBatch() {
+        assertThat(engine.flush()).isEqualTo(2);
+        assertThat(engine.flush()).isZero();
+
+        engine.updatePrice("AAPL", Money.parse("151.00"));
+        assertThat(engine.flush()).isEqualTo(1);
+
+        assertThat(writes).hasSize(2);
+        assertThat(writes.get(1)).singleElement()
+                .satisfies(tick -> assertThat(tick.getPrice()).isEqualTo(15_100));
+    }
+
+    @Test
+    void unknownSymbolHasNoTick() {
+        assertThat(engine.getTick("NOPE")).isEmpty();
+    }
+
+    private static Stock stock(String symbol, String price) {
+        Stock stock = new Stock();
+        stock.setSymbol(symbol);
+        stock.setCompanyName(symbol + " Inc.");
+        stock.setCurrentPrice(new BigDecimal(price));
+        return stock;
+    }
+}
@@ -0,0 +1,270 @@
+package com.trading.simulator.readmodel;
+
+import com.trading.simulator.dto.ReadModelMismatch;
+import com.trading.simulator.dto.ReadModelReport;
+import com.trading.simulator.entity.Portfolio;
+import com.trading.simulator.entity.Transaction;
+import com.trading.simulator.entity.User;
+import com.trading.simulator.execution.Account;
+import com.trading.simulator.execution.AccountLoader;
+import com.trading.simulator.execution.ShardedTradeExecutor;
+import com.trading.simulator.execution.TradePersister;
+import com.trading.simulator.money.Money;
+import com.trading.simulator.repository.PortfolioRepository;
+import com.trading.simulator.repository.TransactionHistoryRepository;
+import com.trading.simulator.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReadModelTests {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final PortfolioRepository portfolioRepository = mock(PortfolioRepository.class);
+    private final TransactionHistoryRepository historyRepository = mock(TransactionHistoryRepository.class);
+    private final TradePersister persister = mock(TradePersister.class);
+
+    @Test
+    void fillsReplaceTheSnapshotAndAdvanceTheVersion() {
+        Portfolio stored = position(1L, "AAA", 5, "100.00");
+        stored.setId(42L);
+        stubDatabase(List.of(user(1L, "1000.00")), List.of(stored), Map.of(1L, 3L));
+        ReadModel model = model(50, 1000);
+        Account account = account(1L, "1000.00", stored);
+
+        AccountSnapshot loaded = model.findByUsername("user1", null).orElseThrow();
+        assertThat(loaded.getVersion()).isEqualTo(3);
+
+        model.onFill(account.executeBuyOrder("AAA", 2, Money.parse("110.00")));
+
+        AccountSnapshot bought = model.get(1L).orElseThrow();
+        assertThat(bought.getVersion()).isEqualTo(4);
+        assertThat(bought.getBalance()).isEqualTo(account.getBalance());
+        assertThat(bought.getPosition("AAA")).hasValueSatisfying(holding -> {
+            assertThat(holding.getId()).isEqualTo(42L);
+            assertThat(holding.getQuantity()).isEqualTo(7);
+            assertThat(holding.getTotalInvested()).isEqualTo(Money.parse("720.00"));
+        });
+        assertThat(bought.getRecentTransactions()).singleElement().satisfies(transaction -> {
+            assertThat(transaction.getId()).isNull();
+            assertThat(transaction.getQuantity()).isEqualTo(2);
+        });
+        // Snapshots are immutable; the one read before the fill still shows the loaded account
+        assertThat(loaded.getPosition("AAA").orElseThrow().getQuantity()).isEqualTo(5);
+
+        model.onFill(account.executeSellOrder("AAA", 7, Money.parse("120.00")));
+
+        AccountSnapshot sold = model.get(1L).orElseThrow();
+        assertThat(sold.getVersion()).isEqualTo(5);
+        assertThat(sold.getPositions()).isEmpty();
+        assertThat(sold.toUser().getBalance()).isEqualByComparingTo(Money.toBigDecimal(account.getBalance()));
+    }
+
+    @Test
+    void keepsOnlyTheNewestTransactions() {
+        stubDatabase(List.of(user(1L, "1000.00")), List.of(), Map.of());
+        ReadModel model = model(2, 1000);
+        Account account = account(1L, "1000.00");
+
+        for (int quantity = 1; quantity <= 3; quantity++) {
+            model.onFill(account.executeBuyOrder("AAA", quantity, Money.parse("10.00")));
+        }
+
+        assertThat(model.get(1L).orElseThrow().getRecentTransactions())
+                .extracting(Transaction::getQuantity).containsExactly(3, 2);
+    }
+
+    @Test
+    void minVersionWaitsForTheWriteOrGivesUp() {
+        stubDatabase(List.of(user(1L, "1000.00")), List.of(), Map.of());
+        ReadModel model = model(50, 500);
+        Account account = account(1L, "1000.00");
+
+        CompletableFuture<Void> fill = CompletableFuture.runAsync(() -> {
+            sleep(50);
+            model.onFill(account.executeBuyOrder("AAA", 1, Money.parse("10.00")));
+        });
+
+        assertThat(model.get(1L, 1L)).hasValueSatisfying(read -> assertThat(read.getVersion()).isEqualTo(1));
+        fill.join();
+        assertThatThrownBy(() -> model.get(1L, 2L)).isInstanceOf(IllegalStateException.class);
+        assertThat(model.get(1L, null)).isPresent();
+    }
+
+    @Test
+    void loadsUsersItDoesNotHoldOnTheirFirstFill() throws InterruptedException {
+        stubDatabase(List.of(), List.of(), Map.of());
+        ReadModel model = model(50, 1000);
+        Account account = account(2L, "1000.00");
+        when(persister.awaitWritten(anyLong(), anyLong())).thenReturn(true);
+        // What the database holds once the write-behind has caught up with the first fill
+        stubUser(user(2L, "990.00"), List.of(position(2L, "AAA", 1, "10.00")), 1);
+
+        model.onFill(account.executeBuyOrder("AAA", 1, Money.parse("10.00")));
+
+        AccountSnapshot loaded = model.get(2L).orElseThrow();
+        assertThat(loaded.getVersion()).isEqualTo(1);
+        assertThat(loaded.getBalance()).isEqualTo(Money.parse("990.00"));
+        assertThat(loaded.getPosition("AAA").orElseThrow().getQuantity()).isEqualTo(1);
+        assertThat(model.copyMissedFills()).isEmpty();
+
+        model.onFill(account.executeBuyOrder("AAA", 1, Money.parse("10.00")));
+        assertThat(model.get(2L).orElseThrow().getVersion()).isEqualTo(2);
+        assertThat(model.get(2L).orElseThrow().getPosition("AAA").orElseThrow().getQuantity()).isEqualTo(2);
+    }
+
+    @Test
+    void fillsWaitForARepairWhileTheWriteBehindIsBehind() throws InterruptedException {
+        stubDatabase(List.of(), List.of(), Map.of());
+        ReadModel model = model(50, 1000);
+        Account account = account(2L, "1000.00");
+        when(persister.awaitWritten(anyLong(), anyLong())).thenReturn(false);
+
+        model.onFill(account.executeBuyOrder("AAA", 1, Money.parse("10.00")));
+        assertThat(model.get(2L)).isEmpty();
+        assertThat(model.copyMissedFills()).containsEntry(2L, 1L);
+
+        // Restored from a read that predates the missed fill: refused
+        AccountSnapshot fromDatabase = AccountSnapshot.of(user(2L, "990.00"),
+                List.of(position(2L, "AAA", 1, "10.00")), List.of(), 1);
+        assertThat(model.restore(fromDatabase, 0)).isFalse();
+        assertThat(model.restore(fromDatabase, 1)).isTrue();
+        assertThat(model.copyMissedFills()).isEmpty();
+
+        model.onFill(account.executeBuyOrder("AAA", 1, Money.parse("10.00")));
+        assertThat(model.get(2L).orElseThrow().getVersion()).isEqualTo(2);
+    }
+
+    @Test
+    void readsLoadUsersItDoesNotHold() throws InterruptedException {
+        stubDatabase(List.of(), List.of(), Map.of());
+        AccountLoader loader = mock(AccountLoader.class);
+        when(loader.load(3L)).thenReturn(new Account(3L, Money.parse("100.00")));
+        ShardedTradeExecutor executor = new ShardedTradeExecutor(loader, effect -> {}, 1);
+        ReadModel model = model(executor, 50, 1000);
+        when(persister.awaitWritten(anyLong(), anyLong())).thenReturn(true);
+        stubUser(user(3L, "100.00"), List.of(), 0);
+
+        try {
+            assertThat(model.get(3L, null)).hasValueSatisfying(
+                    account -> assertThat(account.getBalance()).isEqualTo(Money.parse("100.00")));
+            assertThat(model.findByUsername("user3", 0L)).isPresent();
+            assertThat(model.get(4L, null)).isEmpty();
+            verify(userRepository, never()).findById(4L);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void checkerReportsAndRepairsWhatDiffersFromTheDatabase() throws InterruptedException {
+        stubDatabase(List.of(user(1L, "1000.00"), user(2L, "500.00")),
+                List.of(position(1L, "AAA", 5, "100.00")), Map.of(1L, 1L));
+        ReadModel model = model(50, 1000);
+        when(persister.awaitWritten(anyLong(), anyLong())).thenReturn(true);
+        ReadModelChecker checker = new ReadModelChecker(model, persister, userRepository, portfolioRepository,
+                historyRepository, 1000, 100);
+
+        assertThat(checker.check(false).getMismatchedUsers()).isZero();
+
+        // Behind the model's back: user 1 changed, user 2 went, user 3 arrived
+        stubDatabase(List.of(user(1L, "900.00"), user(3L, "100.00")),
+                List.of(position(1L, "AAA", 5, "100.00"), position(1L, "BBB", 1, "50.00")), Map.of(1L, 2L));
+
+        ReadModelReport report = checker.check(false);
+        assertThat(report.getCheckedUsers()).isEqualTo(3);
+        assertThat(report.getMismatchedUsers()).isEqualTo(3);
+        assertThat(report.getRepairedUsers()).isZero();
+        assertThat(report.getMismatches()).extracting(ReadModelMismatch::getUserId, ReadModelMismatch::getField,
+                        ReadModelMismatch::getDatabase, ReadModelMismatch::getModel)
+                .containsExactlyInAnyOrder(
+                        tuple(1L, "balance", "900.00", "1000.00"),
+                        tuple(1L, "version", "2", "1"),
+                        tuple(1L, "position BBB", "1 @ 50.00, invested 50.00", "none"),
+                        tuple(3L, "user", "present", "missing"),
+                        tuple(2L, "user", "missing", "present"));
+
+        assertThat(checker.check(true).getRepairedUsers()).isEqualTo(3);
+        assertThat(checker.check(false).getMismatchedUsers()).isZero();
+        assertThat(model.get(1L).orElseThrow().getBalance()).isEqualTo(Money.parse("900.00"));
+        assertThat(model.get(2L)).isEmpty();
+        assertThat(model.findByUsername("user3", null)).isPresent();
+
+        when(persister.awaitWritten(anyLong(), anyLong())).thenReturn(false);
+        assertThatThrownBy(() -> checker.check(false)).isInstanceOf(IllegalStateException.class);
+    }
+
+    // ========== HELPERS ==========
+
+    private ReadModel model(int recentPerUser, long maxWaitMs) {
+        return model(null, recentPerUser, maxWaitMs);
+    }
+
+    private ReadModel model(ShardedTradeExecutor executor, int recentPerUser, long maxWaitMs) {
+        ReadModel model = new ReadModel(executor, persister, userRepository, portfolioRepository, historyRepository,
+                recentPerUser, maxWaitMs);
+        model.load();
+        return model;
+    }
+
+    private void stubDatabase(List<User> users, List<Portfolio> positions, Map<Long, Long> transactionCounts) {
+        when(userRepository.findAll()).thenReturn(users);
+        when(portfolioRepository.findByQuantityGreaterThan(0)).thenReturn(positions);
+        when(historyRepository.countByUser()).thenReturn(transactionCounts);
+    }
+
+    private void stubUser(User user, List<Portfolio> positions, long transactionCount) {
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(userRepository.findByUsername(user.getUsername())).thenReturn(Optional.of(user));
+        when(portfolioRepository.findByUserIdAndQuantityGreaterThan(user.getId(), 0)).thenReturn(positions);
+        when(historyRepository.findPage(any(), isNull(), isNull(), anyInt())).thenReturn(List.of());
+        when(historyRepository.countForUser(user.getId())).thenReturn(transactionCount);
+    }
+
+    private static User user(Long id, String balance) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername("user" + id);
+        user.setBalance(new BigDecimal(balance));
+        return user;
+    }
+
+    private static Portfolio position(Long userId, String symbol, int quantity, String averagePrice) {
+        BigDecimal average = new BigDecimal(averagePrice);
+        return new Portfolio(userId, symbol, quantity, average, average.multiply(BigDecimal.valueOf(quantity)));
+    }
+
+    // The shard's view of the same account, to produce fills from
+    private static Account account(Long userId, String balance, Portfolio... positions) {
+        Account account = new Account(userId, Money.parse(balance));
+        for (Portfolio position : positions) {
+            account.addPosition(position.getStockSymbol(), position.getQuantity(),
+                    Money.of(position.getAveragePrice()), Money.of(position.getTotalInvested()));
+        }
+        return account;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.trading.simulator.repository;
+
+import com.trading.simulator.entity.Stock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StockCacheTests {
+
+    private final StockRepository repository = mock(StockRepository.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private StockCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new StockCache(repository, registry, 100, 60_000);
+        when(repository.findBySymbol(anyString())).thenReturn(Optional.empty());
+        when(repository.findBySymbol("AAPL")).thenReturn(Optional.of(stock("AAPL")));
+    }
+
+    @Test
+    void repeatedLookupsIncludingMissesHitTheDatabaseOnce() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(cache.findBySymbol("AAPL")).isPresent();
+            assertThat(cache.existsBySymbol("ZZZZ")).isFalse();
+        }
+
+        verify(repository, times(1)).findBySymbol("AAPL");
+        verify(repository, times(1)).findBySymbol("ZZZZ");
+        assertThat(cache.getSymbolStats().missCount()).isEqualTo(2);
+        assertThat(cache.getSymbolStats().hitCount()).isEqualTo(4);
+        assertThat(registry.get("cache.gets").tag("cache", "stocks.symbol").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(4);
+    }
+
+    @Test
+    void invalidationReloadsTheSymbolAndTheList() {
+        when(repository.findAll()).thenReturn(List.of(stock("AAPL")));
+        assertThat(cache.findAll()).hasSize(1);
+        assertThat(cache.findBySymbol("AAPL")).isPresent();
+        verify(repository, never()).findBySymbol("AAPL"); // warmed by the list
+
+        assertThat(cache.findBySymbol("MSFT")).isEmpty();
+        when(repository.findAll()).thenReturn(List.of(stock("AAPL"), stock("MSFT")));
+        when(repository.findBySymbol("MSFT")).thenReturn(Optional.of(stock("MSFT")));
+        cache.invalidate("MSFT");
+
+        assertThat(cache.findBySymbol("MSFT")).isPresent();
+        assertThat(cache.findAll()).hasSize(2);
+        verify(repository, times(2)).findAll();
+    }
+
+    @Test
+    void batchLookupQueriesOnlyUncachedSymbolsOnce() {
+        when(repository.findBySymbolIn(any())).thenAnswer(invocation -> {
+            Collection<String> symbols = invocation.getArgument(0);
+            assertThat(symbols).containsExactlyInAnyOrder("MSFT", "ZZZZ");
+            return List.of(stock("MSFT"));
+        });
+        cache.findBySymbol("AAPL");
+
+        assertThat(cache.findBySymbolIn(List.of("AAPL", "MSFT", "ZZZZ"))).containsOnlyKeys("AAPL", "MSFT");
+        assertThat(cache.findBySymbolIn(List.of("AAPL", "MSFT", "ZZZZ"))).containsOnlyKeys("AAPL", "MSFT");
+
+        verify(repository, times(1)).findBySymbolIn(any());
+    }
+
+    @Test
+    void staysWithinItsBoundAndCountsEvictions() {
+        StockCache cache = new StockCache(repository, registry, 2, 60_000);
+        for (String symbol : List.of("A", "B", "C", "D", "E")) {
+            cache.findBySymbol(symbol);
+        }
+        cache.cleanUp();
+
+        assertThat(cache.getSymbolStats().evictionCount()).isEqualTo(3);
+    }
+
+    private static Stock stock(String symbol) {
+        Stock stock = new Stock();
+        stock.setSymbol(symbol);
+        stock.setCompanyName(symbol + " Inc.");
+        stock.setCurrentPrice(new BigDecimal("100.00"));
+        return stock;
+    }
+}
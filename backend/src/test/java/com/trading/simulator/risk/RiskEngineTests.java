@@ -0,0 +1,127 @@
+package com.trading.simulator.risk;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class RiskEngineTests {
+
+    private static final double Z99 = 2.3263;
+    private static final double Z95 = 1.6449;
+
+    @Test
+    void matchesTheLognormalQuantilesOfOnePosition() {
+        PortfolioExposure exposure = new PortfolioExposure(new double[]{100_000}, new double[]{0.02}, new double[]{0.5});
+
+        try (RiskEngine engine = new RiskEngine(2)) {
+            RiskResult result = engine.assess(exposure, 200_000, 1);
+
+            assertThat(result.valueAtRisk99()).isCloseTo(lognormalLoss(100_000, 0.02, Z99), within(60.0));
+            assertThat(result.valueAtRisk95()).isCloseTo(lognormalLoss(100_000, 0.02, Z95), within(60.0));
+            assertThat(result.expectedShortfall99()).isGreaterThan(result.valueAtRisk99());
+            assertThat(result.expectedShortfall95()).isGreaterThan(result.valueAtRisk95());
+            assertThat(result.meanProfitLoss()).isCloseTo(0, within(5.0));
+        }
+    }
+
+    @Test
+    void correlationAddsRisk() {
+        double[] values = {50_000, 50_000};
+        double[] volatilities = {0.02, 0.02};
+
+        try (RiskEngine engine = new RiskEngine(2)) {
+            double independent = engine.assess(
+                    new PortfolioExposure(values, volatilities, new double[]{0, 0}), 100_000, 7).valueAtRisk99();
+            double comoving = engine.assess(
+                    new PortfolioExposure(values, volatilities, new double[]{1, 1}), 100_000, 7).valueAtRisk99();
+
+            assertThat(comoving / independent).isCloseTo(Math.sqrt(2), within(0.05));
+        }
+    }
+
+    @Test
+    void aSeedGivesTheSameFiguresOnAnyNumberOfWorkers() {
+        PortfolioExposure exposure = randomExposure(50, new Random(3));
+
+        try (RiskEngine one = new RiskEngine(1); RiskEngine three = new RiskEngine(3)) {
+            RiskResult split = three.assess(exposure, 30_001, 99);
+
+            assertThat(one.assess(exposure, 30_001, 99)).isEqualTo(split);
+            assertThat(three.assessAll(List.of(exposure, exposure), 30_001, 99)).containsExactly(split, split);
+        }
+    }
+
+    @Test
+    void seriesExpm1MatchesTheLibrary() {
+        for (double x = -0.3; x <= 0.3; x += 0.0007) {
+            assertThat(RiskEngine.expm1(x)).isCloseTo(Math.expm1(x), within(Math.abs(Math.expm1(x)) * 2e-8 + 1e-15));
+        }
+    }
+
+    @Test
+    void stressesEveryPosition() {
+        PortfolioExposure exposure = new PortfolioExposure(
+                new double[]{1_000, 3_000}, new double[]{0.01, 0.02}, new double[]{0.3, 0.3});
+
+        Map<String, Double> scenarios = RiskEngine.stressScenarios(exposure);
+
+        assertThat(scenarios.get("All prices -10%")).isCloseTo(-400, within(1e-9));
+        assertThat(scenarios.get("All prices +5%")).isCloseTo(200, within(1e-9));
+        assertThat(scenarios.get("Largest position -50%")).isCloseTo(-1_500, within(1e-9));
+        assertThat(scenarios.get("Every position down 3 standard deviations"))
+                .isCloseTo(1_000 * Math.expm1(-0.03) + 3_000 * Math.expm1(-0.06), within(1e-6));
+    }
+
+    @Test
+    void estimatesVolatilityAndCorrelationFromCloses() {
+        // Twenty names that follow the market closely and one that ignores it
+        Random random = new Random(5);
+        int minutes = 2_000;
+        Map<String, long[]> closes = new HashMap<>();
+        double[] logPrices = new double[21];
+        for (int s = 0; s < 21; s++) closes.put("S" + s, new long[minutes]);
+        for (int t = 0; t < minutes; t++) {
+            double market = random.nextGaussian();
+            for (int s = 0; s < 21; s++) {
+                double shock = s < 20 ? 0.8 * market + 0.6 * random.nextGaussian() : random.nextGaussian();
+                logPrices[s] += (s < 20 ? 0.001 : 0.002) * shock;
+                closes.get("S" + s)[t] = Math.round(1_000_000 * Math.exp(logPrices[s]));
+            }
+        }
+        closes.put("NEW", new long[]{100, 101});
+
+        RiskModel model = RiskModel.estimate(closes, 1_440, 30, 0.05, 0.3);
+
+        assertThat(model.volatility("S0")).isCloseTo(0.001 * Math.sqrt(1_440), within(0.003));
+        assertThat(model.volatility("S20")).isCloseTo(0.002 * Math.sqrt(1_440), within(0.006));
+        assertThat(model.loading("S0")).isCloseTo(0.8, within(0.1));
+        assertThat(model.loading("S20")).isLessThan(0.3);
+        assertThat(model.volatility("NEW")).isEqualTo(0.05);
+        assertThat(model.loading("UNKNOWN")).isEqualTo(0.3);
+        assertThat(model.getEstimatedSymbols()).isEqualTo(21);
+    }
+
+    // ========== PRIVATE HELPERS ==========
+
+    private static double lognormalLoss(double value, double sigma, double z) {
+        return -value * Math.expm1(-sigma * sigma / 2 - z * sigma);
+    }
+
+    private static PortfolioExposure randomExposure(int positions, Random random) {
+        double[] values = new double[positions];
+        double[] volatilities = new double[positions];
+        double[] loadings = new double[positions];
+        for (int i = 0; i < positions; i++) {
+            values[i] = 1_000 + random.nextInt(10_000);
+            volatilities[i] = 0.01 + random.nextDouble() * 0.03;
+            loadings[i] = random.nextDouble();
+        }
+        return new PortfolioExposure(values, volatilities, loadings);
+    }
+}
@@ -0,0 +1,167 @@
+package com.trading.simulator.service;
+
+import com.trading.simulator.dto.PortfolioDashboard;
+import com.trading.simulator.dto.PortfolioSummary;
+import com.trading.simulator.entity.Portfolio;
+import com.trading.simulator.entity.Stock;
+import com.trading.simulator.entity.Transaction;
+import com.trading.simulator.entity.User;
+import com.trading.simulator.execution.ShardedTradeExecutor;
+import com.trading.simulator.execution.TradePersister;
+import com.trading.simulator.metrics.HotPathMetrics;
+import com.trading.simulator.metrics.SqlStatementCounter;
+import com.trading.simulator.money.Money;
+import com.trading.simulator.pricing.PriceEngine;
+import com.trading.simulator.pricing.StockPriceWriter;
+import com.trading.simulator.readmodel.AccountSnapshot;
+import com.trading.simulator.readmodel.ReadModel;
+import com.trading.simulator.repository.StockCache;
+import com.trading.simulator.repository.TransactionHistoryRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "simulator.pricing.tick-interval-ms=3600000",
+        "simulator.pricing.flush-interval-ms=3600000"
+})
+@Import({PortfolioService.class, PriceEngine.class, StockPriceWriter.class, HotPathMetrics.class, ReadModel.class,
+        TradePersister.class, TransactionHistoryRepository.class, StockCache.class,
+        PortfolioServiceQueryCountTests.NoShards.class})
+class PortfolioServiceQueryCountTests {
+
+    // The read model only registers a fill listener; no trade runs here
+    @TestConfiguration
+    static class NoShards {
+        @Bean
+        ShardedTradeExecutor tradeExecutor() {
+            return new ShardedTradeExecutor(userId -> null, effect -> {}, 1);
+        }
+    }
+
+    @Autowired
+    private PortfolioService portfolioService;
+
+    @Autowired
+    private ReadModel readModel;
+
+    @Autowired
+    private PriceEngine priceEngine;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 200})
+    void valuationRunsNoStatementsRegardlessOfPositionCount(int positions) {
+        seedPositions("S", positions);
+        statistics.clear();
+        long counted = SqlStatementCounter.current();
+
+        List<PortfolioSummary> portfolio = portfolioService.getUserPortfolio(userId);
+
+        assertThat(portfolio).hasSize(positions);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(SqlStatementCounter.current() - counted).isZero();
+    }
+
+    @Test
+    void valuationUsesEnginePriceWhenAvailable() {
+        Stock stock = seedPositions("E", 1).get(0);
+        priceEngine.updatePrice(stock.getSymbol(), Money.parse("12.00"));
+
+        PortfolioSummary summary = portfolioService.getUserPortfolio(userId).get(0);
+
+        assertThat(summary.getCurrentPrice()).isEqualByComparingTo("12.00");
+        assertThat(summary.getCurrentValue()).isEqualByComparingTo("120.00");
+        assertThat(summary.getGainLoss()).isEqualByComparingTo("20.00");
+    }
+
+    @Test
+    void dashboardComputesRowsAndTotalsWithoutStatements() {
+        seedPositions("D", 50);
+        statistics.clear();
+
+        PortfolioDashboard dashboard = portfolioService.getDashboard(userId);
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(dashboard.getPositions()).hasSize(50);
+        assertThat(dashboard.getTotalInvested()).isEqualByComparingTo("5000.00");
+        assertThat(dashboard.getTotalValue()).isEqualByComparingTo("5500.00");
+        assertThat(dashboard.getTotalGainLoss()).isEqualByComparingTo("500.00");
+        assertThat(dashboard.getTotalGainLossPercent()).isEqualByComparingTo("10.00");
+    }
+
+    @Test
+    void loadCarriesNewestTransactionsAndCountsThemAsTheVersion() {
+        seedPositions("V", 1);
+        for (int i = 0; i < 3; i++) {
+            entityManager.persist(new Transaction(userId, "V0", "BUY", 1 + i,
+                    new BigDecimal("10.00"), new BigDecimal("10.00").multiply(BigDecimal.valueOf(1 + i))));
+        }
+        entityManager.flush();
+        readModel.load();
+        statistics.clear();
+
+        AccountSnapshot account = portfolioService.getAccount(userId, 3L);
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(account.getVersion()).isEqualTo(3);
+        assertThat(account.getRecentTransactions()).extracting(Transaction::getQuantity).containsExactly(3, 2, 1);
+        assertThat(portfolioService.getAvailableShares(account, "V0")).isEqualTo(10);
+    }
+
+    // Engine registrations outlive each test's rollback, so each test uses its own symbols.
+    // Every stock is priced by the engine, as at runtime, so nothing falls back to a stock row.
+    private List<Stock> seedPositions(String prefix, int count) {
+        User user = new User();
+        user.setUsername("portfolio-" + prefix + count);
+        user.setEmail(prefix + count + "@trading.com");
+        userId = entityManager.persist(user).getId();
+
+        List<Stock> stocks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Stock stock = new Stock();
+            stock.setSymbol(prefix + i);
+            stock.setCompanyName("Company " + i);
+            stock.setCurrentPrice(new BigDecimal("11.00"));
+            stocks.add(entityManager.persist(stock));
+            priceEngine.register(stock);
+            entityManager.persist(new Portfolio(userId, stock.getSymbol(), 10,
+                    new BigDecimal("10.00"), new BigDecimal("100.00")));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        readModel.load();
+        return stocks;
+    }
+}
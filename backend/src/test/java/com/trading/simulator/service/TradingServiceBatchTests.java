@@ -0,0 +1,162 @@
+package com.trading.simulator.service;
+
+import com.trading.simulator.dto.BatchTradeResult;
+import com.trading.simulator.dto.TradeRequest;
+import com.trading.simulator.entity.Stock;
+import com.trading.simulator.entity.User;
+import com.trading.simulator.execution.JpaAccountLoader;
+import com.trading.simulator.execution.ShardedTradeExecutor;
+import com.trading.simulator.execution.TradePersister;
+import com.trading.simulator.matching.MatchingEngine;
+import com.trading.simulator.metrics.HotPathMetrics;
+import com.trading.simulator.metrics.SqlStatementCounter;
+import com.trading.simulator.pricing.PriceEngine;
+import com.trading.simulator.pricing.StockPriceWriter;
+import com.trading.simulator.repository.PortfolioRepository;
+import com.trading.simulator.repository.StockCache;
+import com.trading.simulator.repository.StockRepository;
+import com.trading.simulator.repository.TransactionRepository;
+import com.trading.simulator.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "simulator.pricing.tick-interval-ms=3600000",
+        "simulator.pricing.flush-interval-ms=3600000"
+})
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@Import({TradingService.class, PriceEngine.class, StockPriceWriter.class,
+        ShardedTradeExecutor.class, JpaAccountLoader.class, TradePersister.class, MatchingEngine.class,
+        HotPathMetrics.class, StockCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // trades are persisted on another thread
+class TradingServiceBatchTests {
+
+    @Autowired
+    private TradingService tradingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private PortfolioRepository portfolioRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private StockCache stockCache;
+
+    @AfterEach
+    void tearDown() {
+        transactionRepository.deleteAll();
+        portfolioRepository.deleteAll();
+        userRepository.deleteAll();
+        stockRepository.deleteAll();
+        stockCache.invalidateAll();
+    }
+
+    @Test
+    void reportsEachItemAndKeepsFillsWhenOthersFail() throws InterruptedException {
+        Long userId = createUser("batch").getId();
+        createStock("AAPL", "100.00");
+
+        List<BatchTradeResult> results = tradingService.executeBatch(List.of(
+                new TradeRequest(userId, "aapl", "BUY", 10),
+                new TradeRequest(userId, "AAPL", "BUY", -1),
+                new TradeRequest(userId, "ZZZZ", "BUY", 1),
+                new TradeRequest(userId, "AAPL", "HOLD", 1),
+                new TradeRequest(999_999L, "AAPL", "BUY", 1),
+                new TradeRequest(userId, "AAPL", "SELL", 4),
+                new TradeRequest(userId, "AAPL", "SELL", 100)
+        ));
+
+        assertThat(results).extracting(BatchTradeResult::getStatus).containsExactly(
+                "FILLED", "REJECTED", "REJECTED", "REJECTED", "REJECTED", "FILLED", "REJECTED");
+        assertThat(results).extracting(BatchTradeResult::getError).containsExactly(
+                null,
+                "Quantity must be positive",
+                "Stock not found",
+                "Invalid transaction type. Must be BUY or SELL",
+                "User not found",
+                null,
+                "Insufficient shares to sell");
+        assertThat(results).extracting(BatchTradeResult::getIndex).containsExactly(0, 1, 2, 3, 4, 5, 6);
+
+        awaitTransactions(2);
+        assertThat(portfolioRepository.findByUserIdAndStockSymbol(userId, "AAPL"))
+                .hasValueSatisfying(position -> assertThat(position.getQuantity()).isEqualTo(6));
+        assertThat(userRepository.findById(userId).orElseThrow().getBalance())
+                .isEqualByComparingTo("49400.00");
+    }
+
+    @Test
+    void accountLoadsOnTheShardCountTowardsTheCaller() throws InterruptedException {
+        Long first = createUser("first").getId();
+        Long second = createUser("second").getId();
+        createStock("MSFT", "300.00");
+        tradingService.executeTrade(new TradeRequest(first, "MSFT", "BUY", 1));
+
+        // The stock is cached now; only the second user's account load runs SQL, on its trade shard
+        long counted = SqlStatementCounter.current();
+        tradingService.executeTrade(new TradeRequest(second, "MSFT", "BUY", 1));
+        assertThat(SqlStatementCounter.current() - counted).isPositive();
+        awaitTransactions(2);
+    }
+
+    @Test
+    void repeatTradesLookUpTheStockFromTheCache() throws InterruptedException {
+        Long userId = createUser("cached").getId();
+        createStock("MSFT", "300.00");
+        tradingService.executeTrade(new TradeRequest(userId, "MSFT", "BUY", 1));
+
+        long hits = stockCache.getSymbolStats().hitCount();
+        long counted = SqlStatementCounter.current();
+        for (int i = 0; i < 5; i++) {
+            tradingService.executeTrade(new TradeRequest(userId, "msft", "BUY", 1));
+        }
+
+        // The account lives on its shard and fills are written behind, so the caller runs no SQL at all
+        assertThat(SqlStatementCounter.current() - counted).isZero();
+        assertThat(stockCache.getSymbolStats().hitCount() - hits).isEqualTo(5);
+        awaitTransactions(6);
+    }
+
+    private User createUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@trading.com");
+        return userRepository.save(user);
+    }
+
+    private void createStock(String symbol, String price) {
+        Stock stock = new Stock();
+        stock.setSymbol(symbol);
+        stock.setCompanyName(symbol + " Inc.");
+        stock.setCurrentPrice(new BigDecimal(price));
+        stockRepository.save(stock);
+    }
+
+    private void awaitTransactions(long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (transactionRepository.count() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(transactionRepository.count()).isEqualTo(expected);
+    }
+}
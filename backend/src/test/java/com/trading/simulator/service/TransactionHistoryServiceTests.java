@@ -0,0 +1,210 @@
+package com.trading.simulator.service;
+
+import com.trading.simulator.dto.TransactionFilter;
+import com.trading.simulator.dto.TransactionPage;
+import com.trading.simulator.entity.Transaction;
+import com.trading.simulator.repository.TransactionHistoryRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import({TransactionHistoryService.class, TransactionHistoryRepository.class})
+class TransactionHistoryServiceTests {
+
+    // CI seeds a few hundred thousand rows; run with -Dsimulator.test.history-rows=10000000 (and a heap
+    // to match, e.g. -DargLine=-Xmx4g) for the full-size check
+    private static final int SCALE_ROWS = Integer.getInteger("simulator.test.history-rows", 300_000);
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 9, 30);
+    private static final String[] SYMBOLS = {"AAPL", "GOOGL", "MSFT", "TSLA", "AMZN"};
+
+    @Autowired
+    private TransactionHistoryService historyService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void pagesWalkTheWholeHistoryNewestFirstWithoutGapsOrDuplicates() {
+        List<Transaction> seeded = seed(1L, 1_000, 0);
+        seed(2L, 100, 1_000);
+
+        List<Long> walked = new ArrayList<>();
+        TransactionFilter filter = historyService.buildFilter(1L, null, null, null, null);
+        String cursor = null;
+        do {
+            TransactionPage page = historyService.getHistory(filter, cursor, 37);
+            assertThat(page.getTransactions()).hasSizeLessThanOrEqualTo(37);
+            page.getTransactions().forEach(transaction -> walked.add(transaction.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(walked).containsExactlyElementsOf(newestFirst(seeded));
+    }
+
+    @Test
+    void filtersBySymbolTypeAndDateRange() {
+        List<Transaction> seeded = seed(1L, 500, 0);
+        LocalDateTime from = START.plusMinutes(20);
+        LocalDateTime to = START.plusMinutes(60);
+
+        TransactionFilter filter = historyService.buildFilter(1L, "msft", "sell", from, to);
+        List<Long> walked = new ArrayList<>();
+        String cursor = null;
+        do {
+            TransactionPage page = historyService.getHistory(filter, cursor, 5);
+            page.getTransactions().forEach(transaction -> walked.add(transaction.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        List<Transaction> expected = seeded.stream()
+                .filter(t -> t.getStockSymbol().equals("MSFT") && t.getTransactionType().equals("SELL"))
+                .filter(t -> !t.getTransactionDate().isBefore(from) && t.getTransactionDate().isBefore(to))
+                .toList();
+        assertThat(expected).isNotEmpty();
+        assertThat(walked).containsExactlyElementsOf(newestFirst(expected));
+    }
+
+    @Test
+    void rejectsBadRequests() {
+        TransactionFilter filter = historyService.buildFilter(1L, null, null, null, null);
+
+        assertThatThrownBy(() -> historyService.getHistory(filter, "not a cursor", 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> historyService.getHistory(filter, null, TransactionHistoryService.MAX_PAGE_SIZE + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> historyService.buildFilter(1L, null, "HOLD", null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> historyService.buildFilter(1L, null, null, START, START))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void exportWritesEveryMatchingRowAsCsv() throws Exception {
+        List<Transaction> seeded = seed(1L, 250, 0);
+        seed(2L, 10, 250);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        historyService.export(historyService.buildFilter(1L, null, null, null, null), out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(1 + seeded.size());
+        assertThat(lines[0]).startsWith("id,transaction_date");
+        Transaction newest = seeded.stream().filter(t -> t.getId() == newestFirst(seeded).get(0)).findFirst().orElseThrow();
+        assertThat(lines[1]).isEqualTo(newest.getId() + "," + newest.getTransactionDate() + "," + newest.getStockSymbol()
+                + "," + newest.getTransactionType() + "," + newest.getQuantity() + ","
+                + newest.getPricePerShare().toPlainString() + "," + newest.getTotalAmount().toPlainString());
+    }
+
+    @Test
+    void deepPagesReadOnlyThePageAtScale() throws Exception {
+        seedQuickly(1L, SCALE_ROWS);
+        seedQuickly(2L, 1_000);
+        TransactionFilter filter = historyService.buildFilter(1L, null, null, null, null);
+
+        // A cursor most of the way back through the user's history
+        String deepCursor = cursorAt(SCALE_ROWS / 10);
+        TransactionPage deep = historyService.getHistory(filter, deepCursor, 100);
+        assertThat(deep.getTransactions()).hasSize(100);
+        assertThat(deep.getTransactions().get(0).getId()).isEqualTo(SCALE_ROWS / 10 - 1);
+
+        // The page comes from a range scan of the composite index bounded by the cursor. H2 sorts the
+        // range instead of stopping at the limit; PostgreSQL walks the index backwards and reads one page
+        String plan = jdbcTemplate.queryForObject(
+                "EXPLAIN ANALYZE SELECT id FROM transactions WHERE user_id = 1 " +
+                "AND (transaction_date, id) < (?, ?) ORDER BY transaction_date DESC, id DESC LIMIT 101",
+                String.class, Timestamp.valueOf(START.plusSeconds(SCALE_ROWS / 10)), (long) SCALE_ROWS / 10);
+        assertThat(plan).containsIgnoringCase("IDX_TRANSACTIONS_USER_DATE");
+        assertThat(plan).containsIgnoringCase("TRANSACTION_DATE <=");
+
+        CountingStream counted = new CountingStream();
+        historyService.export(filter, counted);
+        assertThat(counted.lines).isEqualTo(SCALE_ROWS + 1);
+    }
+
+    // ========== HELPERS ==========
+
+    // Several rows share each timestamp, so ties on transaction_date are exercised
+    private List<Transaction> seed(Long userId, int count, long firstId) {
+        List<Transaction> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String symbol = SYMBOLS[i % SYMBOLS.length];
+            String type = i % 3 == 0 ? "SELL" : "BUY";
+            int quantity = 1 + i % 7;
+            BigDecimal price = new BigDecimal("100.00").add(BigDecimal.valueOf(i % 50));
+            Transaction transaction = new Transaction(userId, symbol, type, quantity, price,
+                    price.multiply(BigDecimal.valueOf(quantity)));
+            transaction.setId(firstId + i);
+            transaction.setTransactionDate(START.plusSeconds(i / 3 * 20L));
+            rows.add(transaction);
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO transactions (id, user_id, stock_symbol, transaction_type, quantity, " +
+                "price_per_share, total_amount, transaction_date) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                rows, 1_000, (ps, t) -> {
+                    ps.setLong(1, t.getId());
+                    ps.setLong(2, t.getUserId());
+                    ps.setString(3, t.getStockSymbol());
+                    ps.setString(4, t.getTransactionType());
+                    ps.setInt(5, t.getQuantity());
+                    ps.setBigDecimal(6, t.getPricePerShare());
+                    ps.setBigDecimal(7, t.getTotalAmount());
+                    ps.setTimestamp(8, Timestamp.valueOf(t.getTransactionDate()));
+                });
+        return rows;
+    }
+
+    // One row per second with id = offset, generated in the database so millions of rows load fast
+    private void seedQuickly(Long userId, int count) {
+        long firstId = userId == 1L ? 0 : 1_000_000_000L;
+        jdbcTemplate.update(
+                "INSERT INTO transactions (id, user_id, stock_symbol, transaction_type, quantity, " +
+                "price_per_share, total_amount, transaction_date) " +
+                "SELECT CAST(? AS BIGINT) + X, CAST(? AS BIGINT), 'AAPL', 'BUY', 1, 100.00, 100.00, " +
+                "DATEADD(SECOND, X, CAST(? AS TIMESTAMP)) FROM SYSTEM_RANGE(0, CAST(? AS BIGINT) - 1)",
+                firstId, userId, Timestamp.valueOf(START), count);
+    }
+
+    private static String cursorAt(long id) {
+        String key = START.plusSeconds(id) + "|" + id;
+        return java.util.Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<Long> newestFirst(List<Transaction> rows) {
+        return rows.stream()
+                .sorted(Comparator.comparing(Transaction::getTransactionDate).thenComparing(Transaction::getId).reversed())
+                .map(Transaction::getId)
+                .toList();
+    }
+
+    private static final class CountingStream extends OutputStream {
+        long lines;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') lines++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') lines++;
+            }
+        }
+    }
+}
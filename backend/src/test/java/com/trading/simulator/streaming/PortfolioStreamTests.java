@@ -0,0 +1,121 @@
+package com.trading.simulator.streaming;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trading.simulator.entity.Stock;
+import com.trading.simulator.execution.Account;
+import com.trading.simulator.execution.ShardedTradeExecutor;
+import com.trading.simulator.money.Money;
+import com.trading.simulator.pricing.PriceEngine;
+import com.trading.simulator.pricing.StockPriceWriter;
+import com.trading.simulator.repository.StockRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class PortfolioStreamTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private PriceEngine engine;
+    private ShardedTradeExecutor executor;
+    private PortfolioStream stream;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        engine = new PriceEngine(mock(StockRepository.class), mock(StockPriceWriter.class), 1000, 5000, 2);
+        engine.register(stock("AAPL", "150.00"));
+        engine.register(stock("MSFT", "280.00"));
+        engine.register(stock("TSLA", "700.00"));
+
+        // User 1 holds 10 AAPL bought at 100.00; user 2 holds nothing; there is no user 3
+        executor = new ShardedTradeExecutor(userId -> {
+            if (userId > 2) return null;
+            Account account = new Account(userId, Money.parse("10000.00"));
+            if (userId == 1) account.addPosition("AAPL", 10, Money.parse("100.00"), Money.parse("1000.00"));
+            return account;
+        }, effect -> { }, 2);
+
+        stream = new PortfolioStream(engine, executor, objectMapper, 2, 60_000, 5_000);
+        stream.start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        stream.stop();
+        executor.shutdown();
+    }
+
+    @Test
+    void firstEventCarriesEveryPositionThenOnlyTicksOfHeldSymbols() throws Exception {
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        stream.subscribe(1L, received::add);
+
+        JsonNode first = next(received);
+        assertThat(first.get("positions")).hasSize(1);
+        assertThat(first.get("totalValue").decimalValue()).isEqualByComparingTo("1500.00");
+        assertThat(first.get("totalGainLoss").decimalValue()).isEqualByComparingTo("500.00");
+
+        engine.updatePrice("MSFT", 29_000);
+        engine.updatePrice("AAPL", 16_000);
+
+        JsonNode delta = next(received);
+        assertThat(delta.get("positions")).hasSize(1);
+        JsonNode aapl = delta.get("positions").get(0);
+        assertThat(aapl.get("stockSymbol").asText()).isEqualTo("AAPL");
+        assertThat(aapl.get("currentValue").decimalValue()).isEqualByComparingTo("1600.00");
+        assertThat(aapl.get("gainLossPercent").decimalValue()).isEqualByComparingTo("60.00");
+        assertThat(delta.get("totalValue").decimalValue()).isEqualByComparingTo("1600.00");
+        assertThat(received.poll(200, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void fillsAddAndCloseRowsAndMoveTheIndex() throws Exception {
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        stream.subscribe(2L, received::add);
+        assertThat(next(received).get("positions")).isEmpty();
+
+        executor.execute(2L, "TSLA", "BUY", 2, Money.parse("700.00"));
+        JsonNode bought = next(received);
+        assertThat(bought.get("positions").get(0).get("quantity").asInt()).isEqualTo(2);
+        assertThat(bought.get("totalInvested").decimalValue()).isEqualByComparingTo("1400.00");
+
+        engine.updatePrice("TSLA", 71_000);
+        assertThat(next(received).get("totalValue").decimalValue()).isEqualByComparingTo("1420.00");
+
+        executor.execute(2L, "TSLA", "SELL", 2, Money.parse("710.00"));
+        JsonNode sold = next(received);
+        assertThat(sold.get("positions").get(0).get("quantity").asInt()).isZero();
+        assertThat(sold.get("totalValue").decimalValue()).isEqualByComparingTo("0.00");
+
+        engine.updatePrice("TSLA", 72_000);
+        assertThat(received.poll(200, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void unknownUserIsNotSubscribed() {
+        assertThat(stream.subscribe(3L, payload -> { })).isNull();
+        assertThat(stream.getSubscriberCount()).isZero();
+    }
+
+    private JsonNode next(BlockingQueue<String> received) throws Exception {
+        String payload = received.poll(5, TimeUnit.SECONDS);
+        assertThat(payload).isNotNull();
+        return objectMapper.readTree(payload);
+    }
+
+    private static Stock stock(String symbol, String price) {
+        Stock stock = new Stock();
+        stock.setSymbol(symbol);
+        stock.setCompanyName(symbol + " Inc.");
+        stock.setCurrentPrice(new BigDecimal(price));
+        return stock;
+    }
+}
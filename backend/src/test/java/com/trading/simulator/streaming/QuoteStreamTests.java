@@ -0,0 +1,201 @@
+package com.trading.simulator.streaming;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trading.simulator.entity.Stock;
+import com.trading.simulator.money.Money;
+import com.trading.simulator.pricing.PriceEngine;
+import com.trading.simulator.pricing.StockPriceWriter;
+import com.trading.simulator.repository.StockRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class QuoteStreamTests {
+
+    private final AtomicInteger serialized = new AtomicInteger();
+    private final ObjectMapper objectMapper = new ObjectMapper() {
+        @Override
+        public String writeValueAsString(Object value) throws JsonProcessingException {
+            serialized.incrementAndGet();
+            return super.writeValueAsString(value);
+        }
+    };
+    private PriceEngine engine;
+    private QuoteStream stream;
+
+    @BeforeEach
+    void setUp() {
+        engine = new PriceEngine(mock(StockRepository.class), mock(StockPriceWriter.class), 1000, 5000, 2);
+        engine.register(stock("AAPL", "150.25"));
+        engine.register(stock("MSFT", "280.00"));
+        engine.register(stock("TSLA", "700.00"));
+        stream = new QuoteStream(engine, objectMapper, 2, 60_000, 5_000);
+        stream.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stream.stop();
+    }
+
+    @Test
+    void sendsCurrentQuoteOnSubscribeThenEveryMoveOfSubscribedSymbols() throws Exception {
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        stream.subscribe(List.of("aapl", " MSFT"), received::add);
+
+        // The two initial quotes may go out in one event or two
+        List<String> initial = new ArrayList<>(symbolsIn(received.poll(5, TimeUnit.SECONDS)));
+        if (initial.size() < 2) initial.addAll(symbolsIn(received.poll(5, TimeUnit.SECONDS)));
+        assertThat(initial).containsExactlyInAnyOrder("AAPL", "MSFT");
+
+        engine.updatePrice("TSLA", 70_100);
+        engine.updatePrice("AAPL", 15_100);
+
+        JsonNode quotes = objectMapper.readTree(received.poll(5, TimeUnit.SECONDS));
+        assertThat(quotes).hasSize(1);
+        assertThat(quotes.get(0).get("symbol").asText()).isEqualTo("AAPL");
+        assertThat(quotes.get(0).get("price").decimalValue()).isEqualByComparingTo("151.00");
+    }
+
+    @Test
+    void serializesEachMoveOnceForAllSubscribers() throws Exception {
+        List<BlockingQueue<String>> clients = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            BlockingQueue<String> received = new LinkedBlockingQueue<>();
+            stream.subscribe(List.of("MSFT"), received::add);
+            received.poll(5, TimeUnit.SECONDS);
+            clients.add(received);
+        }
+
+        serialized.set(0);
+        engine.updatePrice("MSFT", 28_100);
+
+        String first = clients.get(0).poll(5, TimeUnit.SECONDS);
+        for (BlockingQueue<String> client : clients.subList(1, clients.size())) {
+            assertThat(client.poll(5, TimeUnit.SECONDS)).isEqualTo(first);
+        }
+        assertThat(first).contains("\"price\":281.00");
+        assertThat(serialized).hasValue(1);
+    }
+
+    @Test
+    void conflatesSlowConsumerToLatestPrice() throws Exception {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        stream.subscribe(List.of("AAPL"), payload -> {
+            received.add(payload);
+            blocked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertThat(blocked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // The client is stuck sending its first payload while 1000 moves arrive
+        for (int i = 1; i <= 1000; i++) {
+            engine.updatePrice("AAPL", 15_000 + i);
+        }
+        release.countDown();
+
+        assertThat(received.poll(5, TimeUnit.SECONDS)).contains("150.25");
+        JsonNode latest = objectMapper.readTree(received.poll(5, TimeUnit.SECONDS));
+        assertThat(latest).hasSize(1);
+        assertThat(Money.of(latest.get(0).get("price").decimalValue())).isEqualTo(16_000);
+        assertThat(received.poll(200, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void dropsSubscriberWhoseSendFails() throws Exception {
+        CountDownLatch failed = new CountDownLatch(1);
+        stream.subscribe(List.of("AAPL"), payload -> {
+            failed.countDown();
+            throw new IOException("Broken pipe");
+        });
+        assertThat(failed.await(5, TimeUnit.SECONDS)).isTrue();
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (stream.getSubscriberCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(stream.getSubscriberCount()).isZero();
+    }
+
+    @Test
+    void dropsStalledSubscriberWithoutHoldingUpTheOthers() throws Exception {
+        QuoteStream narrow = new QuoteStream(engine, objectMapper, 1, 60_000, 100);
+        narrow.start();
+        CountDownLatch stalled = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch aborted = new CountDownLatch(1);
+        try {
+            narrow.subscribe(List.of("AAPL"), new StreamSubscriber.Sink() {
+                @Override
+                public void send(String payload) {
+                    stalled.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+
+                @Override
+                public void abort() {
+                    aborted.countDown();
+                }
+            });
+            assertThat(stalled.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // The only dispatch thread is stuck on the first client's socket
+            BlockingQueue<String> received = new LinkedBlockingQueue<>();
+            narrow.subscribe(List.of("AAPL"), received::add);
+            assertThat(received.poll(5, TimeUnit.SECONDS)).contains("150.25");
+            engine.updatePrice("AAPL", 15_100);
+            assertThat(received.poll(5, TimeUnit.SECONDS)).contains("AAPL");
+
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (narrow.getSubscriberCount() > 1 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(narrow.getSubscriberCount()).isEqualTo(1);
+
+            // Once the stuck write returns, the dropped client's stream is ended
+            release.countDown();
+            assertThat(aborted.await(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            release.countDown();
+            narrow.stop();
+        }
+    }
+
+    private List<String> symbolsIn(String payload) throws IOException {
+        return objectMapper.readTree(payload).findValuesAsText("symbol");
+    }
+
+    private static Stock stock(String symbol, String price) {
+        Stock stock = new Stock();
+        stock.setSymbol(symbol);
+        stock.setCompanyName(symbol + " Inc.");
+        stock.setCurrentPrice(new BigDecimal(price));
+        return stock;
+    }
+}
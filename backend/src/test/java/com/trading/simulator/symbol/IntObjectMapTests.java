@@ -0,0 +1,37 @@
+package com.trading.simulator.symbol;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IntObjectMapTests {
+
+    @Test
+    void matchesAHashMapThroughRandomPutsAndRemoves() {
+        IntObjectMap<String> map = new IntObjectMap<>(2);
+        Map<Integer, String> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200_000; i++) {
+            int key = random.nextInt(3_000);
+            if (random.nextInt(3) == 0) {
+                assertThat(map.remove(key)).isEqualTo(expected.remove(key));
+            } else {
+                String value = "v" + i;
+                map.put(key, value);
+                expected.put(key, value);
+            }
+            assertThat(map.size()).isEqualTo(expected.size());
+        }
+
+        for (int key = 0; key < 3_000; key++) {
+            assertThat(map.get(key)).isEqualTo(expected.get(key));
+        }
+        assertThat(map.values()).containsExactlyInAnyOrderElementsOf(expected.values());
+        assertThat(map.get(SymbolRegistry.UNKNOWN)).isNull();
+    }
+}
@@ -0,0 +1,79 @@
+package com.trading.simulator.symbol;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SymbolRegistryTests {
+
+    @Test
+    void internsOnceAndResolvesInAnyCase() {
+        int id = SymbolRegistry.intern("regtest");
+
+        assertThat(SymbolRegistry.intern("REGTEST")).isEqualTo(id);
+        assertThat(SymbolRegistry.intern(" RegTest ")).isEqualTo(id);
+        assertThat(SymbolRegistry.idOf("rEgTeSt")).isEqualTo(id);
+        assertThat(SymbolRegistry.idOf(new StringBuilder("REGTEST"))).isEqualTo(id);
+        assertThat(SymbolRegistry.symbolOf(id)).isEqualTo("REGTEST");
+        assertThat(SymbolRegistry.size()).isGreaterThan(id);
+
+        assertThat(SymbolRegistry.idOf("REGTES")).isEqualTo(SymbolRegistry.UNKNOWN);
+        assertThat(SymbolRegistry.idOf(null)).isEqualTo(SymbolRegistry.UNKNOWN);
+    }
+
+    @Test
+    void idsStayDenseAndStableAcrossGrowth() {
+        Map<String, Integer> ids = new HashMap<>();
+        for (int i = 0; i < 5_000; i++) {
+            String symbol = "GROW" + i;
+            ids.put(symbol, SymbolRegistry.intern(symbol));
+        }
+
+        ids.forEach((symbol, id) -> {
+            assertThat(SymbolRegistry.idOf(symbol.toLowerCase())).isEqualTo(id);
+            assertThat(SymbolRegistry.symbolOf(id)).isEqualTo(symbol);
+        });
+        assertThat(ids.values()).doesNotHaveDuplicates().allMatch(id -> id < SymbolRegistry.size());
+    }
+
+    @Test
+    void concurrentInternsAgreeOnEveryId() throws Exception {
+        int threads = 4;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        Map<String, Integer> agreed = new ConcurrentHashMap<>();
+        List<Future<Boolean>> results = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                long seed = t;
+                results.add(pool.submit(() -> {
+                    Random random = new Random(seed);
+                    start.await();
+                    for (int i = 0; i < 20_000; i++) {
+                        String symbol = "RACE" + random.nextInt(2_000);
+                        int id = SymbolRegistry.intern(symbol);
+                        if (agreed.computeIfAbsent(symbol, s -> id) != id) return false;
+                    }
+                    return true;
+                }));
+            }
+            start.countDown();
+            for (Future<Boolean> result : results) {
+                assertThat(result.get()).isTrue();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
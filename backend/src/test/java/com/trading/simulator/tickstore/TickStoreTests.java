@@ -0,0 +1,139 @@
+package com.trading.simulator.tickstore;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TickStoreTests {
+
+    private static final long T0 = 1_704_187_800_000L; // 2024-01-02 09:30:00 UTC
+    private static final int SEGMENT_SIZE = 1 << 16;
+    private static final int SMALL_SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void scansSealedAndOpenBlocksAcrossReopen() throws IOException {
+        List<long[]> written = new ArrayList<>();
+        Random random = new Random(7);
+        try (TickStore store = TickStore.open(directory, SMALL_SEGMENT_SIZE, 64)) {
+            long price = 15_000;
+            for (int i = 0; i < 1_000; i++) {
+                long time = T0 + i * 1_000L + random.nextInt(3); // jitter, like a scheduled ticker
+                price += random.nextInt(41) - 20;
+                store.append("aapl", time, price);
+                store.append("MSFT", time, 30_000 + i);
+                written.add(new long[]{time, price});
+            }
+            assertThat(read(store, "AAPL", Long.MIN_VALUE, Long.MAX_VALUE)).containsExactlyElementsOf(written);
+        }
+
+        try (TickStore reopened = TickStore.open(directory, SMALL_SEGMENT_SIZE, 64)) {
+            assertThat(reopened.getTickCount()).isEqualTo(2_000);
+            assertThat(read(reopened, "AAPL", Long.MIN_VALUE, Long.MAX_VALUE)).containsExactlyElementsOf(written);
+            // Blocks span several segments at this size
+            assertThat(segments()).hasSizeGreaterThan(1);
+
+            List<long[]> range = read(reopened, "AAPL", written.get(100)[0], written.get(200)[0]);
+            assertThat(range).containsExactlyElementsOf(written.subList(100, 200));
+            assertThat(read(reopened, "MSFT", written.get(999)[0], Long.MAX_VALUE))
+                    .containsExactly(new long[]{written.get(999)[0], 30_999});
+        }
+    }
+
+    @Test
+    void downsamplesIntoAlignedBars() {
+        try (TickStore store = TickStore.open(directory, SEGMENT_SIZE, 16)) {
+            // One tick every 10 s for 3 minutes, price rising a cent a tick
+            for (int i = 0; i < 18; i++) {
+                store.append("AAPL", T0 + i * 10_000L, 100 + i);
+            }
+
+            List<TickBar> bars = store.downsample("AAPL", T0, T0 + 180_000, 60_000);
+
+            assertThat(bars).containsExactly(
+                    new TickBar(T0, 100, 105, 100, 105, 6),
+                    new TickBar(T0 + 60_000, 106, 111, 106, 111, 6),
+                    new TickBar(T0 + 120_000, 112, 117, 112, 117, 6));
+            assertThat(store.downsample("UNKNOWN", T0, T0 + 180_000, 60_000)).isEmpty();
+        }
+    }
+
+    @Test
+    void clampsTimesThatStepBack() {
+        try (TickStore store = TickStore.open(directory, SEGMENT_SIZE, 16)) {
+            store.append("AAPL", T0 + 5_000, 100);
+            store.append("AAPL", T0, 101);
+
+            assertThat(read(store, "AAPL", T0, T0 + 10_000))
+                    .containsExactly(new long[]{T0 + 5_000, 100}, new long[]{T0 + 5_000, 101});
+        }
+    }
+
+    @Test
+    void dropsTornBlockOnOpen() throws IOException {
+        try (TickStore store = TickStore.open(directory, SEGMENT_SIZE, 16)) {
+            for (int i = 0; i < 32; i++) {
+                store.append("AAPL", T0 + i * 1_000L, 100 + i);
+            }
+        }
+        // Corrupt the last byte of the second block's payload
+        Path segment = segments().get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer data = channel.map(FileChannel.MapMode.READ_WRITE, 0, SEGMENT_SIZE);
+            int second = 8 + data.getInt(0);
+            int end = second + 8 + data.getInt(second);
+            data.put(end - 1, (byte) (data.get(end - 1) + 1));
+        }
+
+        try (TickStore reopened = TickStore.open(directory, SEGMENT_SIZE, 16)) {
+            assertThat(reopened.getTickCount()).isEqualTo(16);
+            reopened.append("AAPL", T0 + 100_000, 500);
+            assertThat(read(reopened, "AAPL", T0 + 15_000, Long.MAX_VALUE))
+                    .containsExactly(new long[]{T0 + 15_000, 115}, new long[]{T0 + 100_000, 500});
+        }
+    }
+
+    @Test
+    void storesAFewBytesPerTick() {
+        Random random = new Random(11);
+        try (TickStore store = TickStore.open(directory, 1 << 24, 1024)) {
+            long price = 15_000;
+            for (int i = 0; i < 100_000; i++) {
+                price = Math.max(1, price + random.nextInt(61) - 30); // up to 2% of 150.00
+                store.append("AAPL", T0 + i * 1_000L, price);
+            }
+            store.sealAll();
+
+            // A JPA row of (id, symbol, price, timestamp) with its index entries runs to about 100 bytes
+            assertThat(store.getStoredBytes()).isLessThan(100_000L * 4);
+        }
+    }
+
+    // ========== PRIVATE HELPERS ==========
+
+    private static List<long[]> read(TickStore store, String symbol, long from, long to) {
+        List<long[]> ticks = new ArrayList<>();
+        store.scan(symbol, from, to, (time, price) -> ticks.add(new long[]{time, price}));
+        return ticks;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.trading.simulator.triggers;
+
+import com.trading.simulator.entity.Stock;
+import com.trading.simulator.pricing.PriceEngine;
+import com.trading.simulator.pricing.StockPriceWriter;
+import com.trading.simulator.repository.StockRepository;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class TriggerBookTests {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 2, 10, 0);
+
+    private long nextId;
+
+    @Test
+    void firesFixedTriggersOnlyWhenTheirPriceIsReached() {
+        TriggerBook book = new TriggerBook(10_000);
+        Trigger stop = fixed(TriggerType.STOP_LOSS, 9_500);
+        Trigger below = fixed(TriggerType.ALERT_BELOW, 9_000);
+        Trigger profit = fixed(TriggerType.TAKE_PROFIT, 11_000);
+        Trigger above = fixed(TriggerType.ALERT_ABOVE, 10_500);
+        for (Trigger trigger : List.of(stop, below, profit, above)) book.add(trigger);
+
+        assertThat(move(book, 9_600)).isEmpty();
+        assertThat(move(book, 9_500)).containsExactly(stop);
+        assertThat(move(book, 10_600)).containsExactly(above);
+        assertThat(move(book, 8_000)).containsExactly(below);
+        assertThat(move(book, 12_000)).containsExactly(profit);
+
+        assertThat(book.size()).isZero();
+        assertThat(stop.getStatus()).isEqualTo(TriggerStatus.TRIGGERED);
+        assertThat(stop.getFiredPrice()).isEqualTo(9_500);
+        assertThat(below.getFiredPrice()).isEqualTo(8_000);
+    }
+
+    @Test
+    void rejectsTriggersThatWouldFireAtOnce() {
+        TriggerBook book = new TriggerBook(10_000);
+
+        assertThatThrownBy(() -> book.add(fixed(TriggerType.STOP_LOSS, 10_000)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> book.add(fixed(TriggerType.TAKE_PROFIT, 9_000)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> book.add(trailing(10_000)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(book.size()).isZero();
+    }
+
+    @Test
+    void trailingStopsFollowTheirOwnPeak() {
+        TriggerBook book = new TriggerBook(10_000);
+        Trigger wide = trailing(1_000);
+        book.add(wide);
+
+        move(book, 9_500);
+        Trigger tight = trailing(300);   // placed after the drop, so it trails from 95.00
+        book.add(tight);
+        assertThat(book.stopPriceOf(wide)).isEqualTo(9_000);
+        assertThat(book.stopPriceOf(tight)).isEqualTo(9_200);
+
+        assertThat(move(book, 9_300)).isEmpty();
+        move(book, 9_800);
+        assertThat(book.stopPriceOf(tight)).isEqualTo(9_500);
+        assertThat(book.stopPriceOf(wide)).isEqualTo(9_000);
+        assertThat(move(book, 9_400)).containsExactly(tight);
+
+        // Past the old peak both would share one, but only one is left
+        move(book, 12_000);
+        assertThat(book.stopPriceOf(wide)).isEqualTo(11_000);
+        assertThat(move(book, 11_001)).isEmpty();
+        assertThat(move(book, 11_000)).containsExactly(wide);
+    }
+
+    @Test
+    void cancelledTriggersNeverFire() {
+        TriggerBook book = new TriggerBook(10_000);
+        List<Trigger> stops = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Trigger trigger = i % 2 == 0 ? fixed(TriggerType.STOP_LOSS, 9_000 + i) : trailing(500 + i);
+            book.add(trigger);
+            stops.add(trigger);
+        }
+        for (int i = 0; i < 150; i++) {
+            assertThat(book.cancel(stops.get(i))).isTrue();
+        }
+        assertThat(book.cancel(stops.get(0))).isFalse();
+
+        List<Trigger> fired = move(book, 1_000);
+        assertThat(fired).containsExactlyInAnyOrderElementsOf(stops.subList(150, 200));
+        assertThat(stops.get(0).getStatus()).isEqualTo(TriggerStatus.CANCELLED);
+    }
+
+    @Test
+    void agreesWithCheckingEveryTriggerOnEveryTick() {
+        Random random = new Random(5);
+        long price = 10_000;
+        TriggerBook book = new TriggerBook(price);
+        Map<Trigger, Long> peaks = new HashMap<>();
+
+        for (int step = 0; step < 20_000; step++) {
+            int action = random.nextInt(10);
+            if (action < 3) {
+                Trigger trigger = switch (random.nextInt(4)) {
+                    case 0 -> fixed(TriggerType.STOP_LOSS, price - 1 - random.nextInt(500));
+                    case 1 -> fixed(TriggerType.ALERT_BELOW, price - 1 - random.nextInt(500));
+                    case 2 -> fixed(TriggerType.TAKE_PROFIT, price + 1 + random.nextInt(500));
+                    default -> trailing(1 + random.nextInt(500));
+                };
+                book.add(trigger);
+                peaks.put(trigger, price);
+            } else if (action == 3 && !peaks.isEmpty()) {
+                Trigger trigger = peaks.keySet().iterator().next();
+                book.cancel(trigger);
+                peaks.remove(trigger);
+            } else {
+                price = Math.max(600, price + random.nextInt(201) - 100);
+                Set<Trigger> expected = new HashSet<>();
+                for (Map.Entry<Trigger, Long> entry : peaks.entrySet()) {
+                    Trigger trigger = entry.getKey();
+                    long peak = Math.max(entry.getValue(), price);
+                    entry.setValue(peak);
+                    boolean crossed = switch (trigger.getType()) {
+                        case TRAILING_STOP -> price <= peak - trigger.getTrailAmount();
+                        case TAKE_PROFIT, ALERT_ABOVE -> price >= trigger.getTriggerPrice();
+                        default -> price <= trigger.getTriggerPrice();
+                    };
+                    if (crossed) expected.add(trigger);
+                }
+                assertThat(move(book, price)).containsExactlyInAnyOrderElementsOf(expected);
+                peaks.keySet().removeAll(expected);
+            }
+        }
+        assertThat(book.size()).isEqualTo(peaks.size());
+    }
+
+    @Test
+    void engineFiresOnPriceMovesAndKeepsHistory() {
+        PriceEngine prices = new PriceEngine(mock(StockRepository.class), mock(StockPriceWriter.class), 1000, 5000, 2);
+        prices.register(stock("AAPL", "150.00"));
+        TriggerEngine engine = new TriggerEngine(prices, 2, 10);
+        engine.start();
+        List<Trigger> fired = new ArrayList<>();
+        engine.addListener(fired::add);
+
+        Trigger stop = engine.add(1L, prices.getSnapshot().get("AAPL"), TriggerType.STOP_LOSS, 5, 14_000, 0);
+        Trigger alert = engine.add(1L, prices.getSnapshot().get("AAPL"), TriggerType.ALERT_ABOVE, 0, 16_000, 0);
+        assertThatThrownBy(() -> engine.add(1L, prices.getSnapshot().get("AAPL"), TriggerType.ALERT_BELOW, 0, 100, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        prices.updatePrice("AAPL", 13_900);
+        assertThat(fired).containsExactly(stop);
+        assertThat(engine.cancel(stop.getId(), 1L)).isFalse();
+        assertThat(engine.cancel(alert.getId(), 2L)).isFalse();
+        assertThat(engine.cancel(alert.getId(), 1L)).isTrue();
+
+        prices.updatePrice("AAPL", 17_000);
+        assertThat(fired).containsExactly(stop);
+        assertThat(engine.getTriggers(1L)).containsExactly(alert, stop);
+        assertThat(alert.getStatus()).isEqualTo(TriggerStatus.CANCELLED);
+    }
+
+    private List<Trigger> move(TriggerBook book, long price) {
+        List<Trigger> fired = new ArrayList<>();
+        book.onPrice(price, NOW, fired);
+        return fired;
+    }
+
+    private Trigger fixed(TriggerType type, long triggerPrice) {
+        return new Trigger(++nextId, 1L, "AAPL", 0, type, 1, triggerPrice, 0, NOW);
+    }
+
+    private Trigger trailing(long trailAmount) {
+        return new Trigger(++nextId, 1L, "AAPL", 0, TriggerType.TRAILING_STOP, 1, 0, trailAmount, NOW);
+    }
+
+    private static Stock stock(String symbol, String price) {
+        Stock stock = new Stock();
+        stock.setSymbol(symbol);
+        stock.setCompanyName(symbol + " Inc.");
+        stock.setCurrentPrice(new BigDecimal(price));
+        return stock;
+    }
+}
@@ -0,0 +1,130 @@
+package com.trading.simulator.valuation;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HoldingsBookTests {
+
+    private static final int AAA = 0;
+    private static final int BBB = 1;
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void marksAccountsAndSymbolsAtCurrentPrices() {
+        HoldingsBook book = new HoldingsBook(4, 16);
+        book.setPrice(AAA, 10_000);
+        book.setPrice(BBB, 2_500);
+        book.setCash(1, 50_000);
+        book.setCash(2, 70_000);
+        book.setPosition(1, AAA, 3, 0);
+        book.setPosition(1, BBB, 4, 0);
+        book.setPosition(2, BBB, 10, 0);
+
+        Revaluation first = book.revalue(pool);
+        int ann = book.slotOf(1);
+        assertThat(first.marketValueOf(ann)).isEqualTo(40_000);
+        assertThat(first.netWorthOf(ann)).isEqualTo(90_000);
+        assertThat(first.quantityOf(BBB)).isEqualTo(14);
+        assertThat(first.holdersOf(BBB)).isEqualTo(2);
+        assertThat(first.marketValueOfSymbol(BBB)).isEqualTo(35_000);
+        assertThat(first.totalMarketValue()).isEqualTo(65_000);
+        assertThat(first.totalCash()).isEqualTo(120_000);
+
+        book.setPrice(BBB, 3_000);
+        book.setPosition(1, AAA, 0, 0);
+        Revaluation second = book.revalue(pool);
+        assertThat(second.marketValueOf(ann)).isEqualTo(12_000);
+        assertThat(second.holdersOf(AAA)).isZero();
+        assertThat(second.positions()).isEqualTo(2);
+
+        // Taken revaluations keep their figures
+        assertThat(first.marketValueOf(ann)).isEqualTo(40_000);
+        assertThat(book.slotOf(99)).isEqualTo(-1);
+    }
+
+    @Test
+    void marksUnpricedSymbolsAtTheFillPrice() {
+        HoldingsBook book = new HoldingsBook(4, 16);
+        book.setPosition(7, BBB, 5, 1_000);
+        book.setPosition(8, BBB, 1, 9_999);
+
+        Revaluation revaluation = book.revalue(pool);
+        assertThat(revaluation.priceOf(BBB)).isEqualTo(1_000);
+        assertThat(revaluation.marketValueOf(book.slotOf(8))).isEqualTo(1_000);
+    }
+
+    @Test
+    void rejectsNegativeQuantities() {
+        HoldingsBook book = new HoldingsBook(4, 16);
+
+        assertThatThrownBy(() -> book.setPosition(1, AAA, -1, 100))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void agreesWithAPerAccountWalkAfterRandomUpdates() {
+        Random random = new Random(17);
+        int users = 3 * HoldingsBook.CHUNK_USERS;
+        int symbols = 40;
+        // Small arena, so blocks move and the arena compacts and grows along the way
+        HoldingsBook book = new HoldingsBook(16, 64);
+        Map<Long, Map<Integer, Integer>> held = new HashMap<>();
+        Map<Long, Long> cash = new HashMap<>();
+        long[] prices = new long[symbols];
+        for (int symbol = 0; symbol < symbols; symbol++) {
+            prices[symbol] = 100 + random.nextInt(10_000);
+            book.setPrice(symbol, prices[symbol]);
+        }
+
+        for (int step = 0; step < 300_000; step++) {
+            long user = 1 + random.nextInt(users);
+            if (random.nextInt(10) == 0) {
+                long amount = random.nextInt(1_000_000);
+                book.setCash(user, amount);
+                cash.put(user, amount);
+                held.putIfAbsent(user, new HashMap<>());
+            } else {
+                int symbol = random.nextInt(symbols);
+                int quantity = random.nextInt(3) == 0 ? 0 : 1 + random.nextInt(500);
+                book.setPosition(user, symbol, quantity, 0);
+                cash.putIfAbsent(user, 0L);
+                held.computeIfAbsent(user, id -> new HashMap<>()).put(symbol, quantity);
+            }
+        }
+
+        Revaluation revaluation = book.revalue(pool);
+        long[] symbolQuantities = new long[symbols];
+        long total = 0;
+        for (Map.Entry<Long, Map<Integer, Integer>> account : held.entrySet()) {
+            long value = 0;
+            for (Map.Entry<Integer, Integer> position : account.getValue().entrySet()) {
+                value += position.getValue() * prices[position.getKey()];
+                symbolQuantities[position.getKey()] += position.getValue();
+            }
+            int slot = book.slotOf(account.getKey());
+            assertThat(revaluation.userIdOf(slot)).isEqualTo(account.getKey());
+            assertThat(revaluation.marketValueOf(slot)).isEqualTo(value);
+            assertThat(revaluation.cashOf(slot)).isEqualTo(cash.get(account.getKey()));
+            total += value;
+        }
+        for (int symbol = 0; symbol < symbols; symbol++) {
+            assertThat(revaluation.quantityOf(symbol)).isEqualTo(symbolQuantities[symbol]);
+        }
+        assertThat(revaluation.users()).isEqualTo(held.size());
+        assertThat(revaluation.totalMarketValue()).isEqualTo(total);
+    }
+}
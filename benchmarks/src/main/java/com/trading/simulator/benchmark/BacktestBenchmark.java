@@ -0,0 +1,103 @@
+package com.trading.simulator.benchmark;
+
+import com.trading.simulator.backtest.BacktestEngine;
+import com.trading.simulator.backtest.BacktestJob;
+import com.trading.simulator.backtest.BacktestResult;
+import com.trading.simulator.backtest.BarFileWriter;
+import com.trading.simulator.backtest.BarSeries;
+import com.trading.simulator.backtest.HistoricalBars;
+import com.trading.simulator.backtest.MovingAverageCrossover;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * A moving-average crossover sweep over memory-mapped minute bars written to
+ * a temporary directory: {@code symbols} random walks of {@code bars} bars,
+ * eight parameter combinations, one fork-join worker per core. Bars replayed
+ * per second is {@code symbols * bars * 8} divided by the score.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BacktestBenchmark {
+
+    @Param({"50"})
+    int symbols;
+
+    @Param({"100000"})
+    int bars;
+
+    private Path directory;
+    private List<BarSeries> universe;
+    private List<BacktestJob> jobs;
+    private BacktestEngine engine;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("backtest-benchmark");
+        Random random = new Random(42);
+        long[] times = new long[bars];
+        long[] prices = new long[bars];
+        long[] volumes = new long[bars];
+        HistoricalBars history = new HistoricalBars(directory);
+        universe = new ArrayList<>(symbols);
+        for (int s = 0; s < symbols; s++) {
+            long price = 10_000;
+            for (int i = 0; i < bars; i++) {
+                times[i] = 1_262_304_000L + 60L * i;
+                price = Math.max(100, price + random.nextInt(41) - 20);
+                prices[i] = price;
+                volumes[i] = 1_000;
+            }
+            String symbol = "BT" + s;
+            BarFileWriter.write(directory.resolve(symbol + ".bars"), symbol, bars, times, prices, prices, prices,
+                    prices, volumes);
+            universe.add(history.get(symbol));
+        }
+
+        jobs = BacktestJob.grid("sma-crossover", MovingAverageCrossover::of,
+                Map.of("fast", List.of(5.0, 10.0, 20.0, 50.0), "slow", List.of(100.0, 200.0)));
+        engine = new BacktestEngine(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        engine.close();
+        universe = null;
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<BacktestResult> smaCrossoverSweep() {
+        return engine.run(universe, jobs, 100_000_000_00L, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+}
@@ -0,0 +1,151 @@
+package com.trading.simulator.benchmark;
+
+import com.trading.simulator.entity.Portfolio;
+import com.trading.simulator.entity.Stock;
+import com.trading.simulator.entity.Transaction;
+import com.trading.simulator.entity.User;
+import com.trading.simulator.pricing.PriceEngine;
+import com.trading.simulator.readmodel.ReadModel;
+import com.trading.simulator.repository.PortfolioRepository;
+import com.trading.simulator.repository.StockCache;
+import com.trading.simulator.repository.StockRepository;
+import com.trading.simulator.repository.TransactionHistoryRepository;
+import com.trading.simulator.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * In-memory stand-ins for the database and helpers to wire services without
+ * a Spring context, so benchmarks measure the service code and nothing else.
+ */
+final class Fixtures {
+
+    private Fixtures() {}
+
+    static List<Stock> stocks(int count) {
+        List<Stock> stocks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Stock stock = new Stock();
+            stock.setId((long) i + 1);
+            stock.setSymbol("SYM" + i);
+            stock.setCompanyName("Company " + i);
+            stock.setCurrentPrice(BigDecimal.valueOf(10_000 + 37L * i, 2));
+            stocks.add(stock);
+        }
+        return stocks;
+    }
+
+    // Never started, so it only ticks when a benchmark calls tick()
+    static PriceEngine priceEngine(List<Stock> stocks) {
+        PriceEngine engine = new PriceEngine(null, null, 1, 1, 2);
+        stocks.forEach(engine::register);
+        return engine;
+    }
+
+    // Warms up like the real one: the first lookup of each symbol goes to the repository
+    static StockCache stockCache(List<Stock> stocks) {
+        return new StockCache(stockRepository(stocks), new SimpleMeterRegistry(), 10_000, 600_000);
+    }
+
+    /**
+     * A StockRepository that answers the finders the services use from a map.
+     */
+    static StockRepository stockRepository(List<Stock> stocks) {
+        Map<String, Stock> bySymbol = new HashMap<>();
+        stocks.forEach(stock -> bySymbol.put(stock.getSymbol(), stock));
+
+        return repository(StockRepository.class, (method, args) -> switch (method) {
+            case "findBySymbol" -> Optional.ofNullable(bySymbol.get((String) args[0]));
+            case "existsBySymbol" -> bySymbol.containsKey((String) args[0]);
+            case "findBySymbolIn" -> {
+                List<Stock> found = new ArrayList<>();
+                for (Object symbol : (Collection<?>) args[0]) {
+                    Stock stock = bySymbol.get((String) symbol);
+                    if (stock != null) found.add(stock);
+                }
+                yield found;
+            }
+            case "findAll" -> List.copyOf(stocks);
+            default -> null;
+        });
+    }
+
+    /**
+     * A ReadModel loaded with the given open positions, one user per key and
+     * no transactions, as the service reads it at runtime.
+     */
+    static ReadModel readModel(Map<Long, List<Portfolio>> positionsByUser) {
+        List<User> users = new ArrayList<>();
+        List<Portfolio> positions = new ArrayList<>();
+        positionsByUser.forEach((userId, rows) -> {
+            User user = new User();
+            user.setId(userId);
+            user.setUsername("user" + userId);
+            users.add(user);
+            positions.addAll(rows);
+        });
+
+        UserRepository userRepository = repository(UserRepository.class,
+                (method, args) -> method.equals("findAll") ? users : null);
+        PortfolioRepository portfolioRepository = repository(PortfolioRepository.class,
+                (method, args) -> method.equals("findByQuantityGreaterThan") ? positions : null);
+        TransactionHistoryRepository historyRepository = new TransactionHistoryRepository(null) {
+            @Override
+            public void forEachRecent(int perUser, Consumer<Transaction> action) {}
+
+            @Override
+            public Map<Long, Long> countByUser() {
+                return Map.of();
+            }
+        };
+
+        ReadModel model = new ReadModel(null, null, userRepository, portfolioRepository, historyRepository, 50, 1000);
+        model.load();
+        return model;
+    }
+
+    /**
+     * Sets an {@code @Autowired} field the way Spring would.
+     */
+    static <T> T inject(T target, String fieldName, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), fieldName);
+        if (field == null) {
+            throw new IllegalArgumentException("No field " + fieldName + " on " + target.getClass());
+        }
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+        return target;
+    }
+
+    private interface Finder {
+        Object find(String method, Object[] args);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <R> R repository(Class<R> type, Finder finder) {
+        return (R) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "toString": return type.getSimpleName() + " stand-in";
+                case "hashCode": return System.identityHashCode(proxy);
+                case "equals": return proxy == args[0];
+                default:
+                    Object result = finder.find(method.getName(), args);
+                    if (result == null) {
+                        throw new UnsupportedOperationException(method.getName() + " is not stubbed");
+                    }
+                    return result;
+            }
+        });
+    }
+}
@@ -0,0 +1,80 @@
+package com.trading.simulator.benchmark;
+
+import com.trading.simulator.leaderboard.Leaderboard;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Leaderboard queries and updates over {@code users} users, each holding
+ * three of {@code symbols} symbols: rank of a random user, a top-10 page, a
+ * fill that moves one user, and a tick that re-ranks every holder of one
+ * symbol (about {@code 3 * users / symbols} of them).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LeaderboardBenchmark {
+
+    @Param({"1000000"})
+    int users;
+
+    @Param({"500"})
+    int symbols;
+
+    private final SplittableRandom random = new SplittableRandom(7);
+    private final long[] page = new long[10];
+    private Leaderboard board;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        board = new Leaderboard(users);
+        for (int symbol = 0; symbol < symbols; symbol++) {
+            board.setPrice(symbol, 1_000 + random.nextInt(100_000));
+        }
+        for (int user = 1; user <= users; user++) {
+            board.setUser(user, "user" + user, random.nextInt(10_000_000));
+            for (int i = 0; i < 3; i++) {
+                board.setPosition(user, random.nextInt(symbols), 1 + random.nextInt(100), 0);
+            }
+        }
+    }
+
+    @Benchmark
+    public int rankOf() {
+        return board.rankOf(1 + random.nextInt(users));
+    }
+
+    @Benchmark
+    public int top10() {
+        return board.top(0, page);
+    }
+
+    @Benchmark
+    public long fill() {
+        long user = 1 + random.nextInt(users);
+        board.setUser(user, null, random.nextInt(10_000_000));
+        board.setPosition(user, random.nextInt(symbols), random.nextInt(100), 0);
+        return board.netWorthOf(user);
+    }
+
+    @Benchmark
+    public int tick() {
+        return board.setPrice(random.nextInt(symbols), 1_000 + random.nextInt(100_000));
+    }
+}
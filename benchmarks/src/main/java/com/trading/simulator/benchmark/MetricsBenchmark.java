@@ -0,0 +1,106 @@
+package com.trading.simulator.benchmark;
+
+import com.trading.simulator.dto.PortfolioSummary;
+import com.trading.simulator.dto.StockQuote;
+import com.trading.simulator.entity.Portfolio;
+import com.trading.simulator.entity.Stock;
+import com.trading.simulator.metrics.HotPathMetrics;
+import com.trading.simulator.money.Money;
+import com.trading.simulator.service.PortfolioService;
+import com.trading.simulator.service.StockService;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link HotPathMetrics} on the two cheapest instrumented calls,
+ * where it would show most. Compare {@code recording=true} with
+ * {@code recording=false}, single-threaded and with every core recording
+ * into the same histograms of a Prometheus registry.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetricsBenchmark {
+
+    private static final int SYMBOLS = 500;
+    private static final int POSITIONS = 10;
+
+    @State(Scope.Benchmark)
+    public static class Services {
+        @Param({"true", "false"})
+        boolean recording;
+
+        StockService stockService;
+        PortfolioService portfolioService;
+        String[] tickers;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            List<Stock> stocks = Fixtures.stocks(SYMBOLS);
+            HotPathMetrics metrics = new HotPathMetrics(new PrometheusMeterRegistry(PrometheusConfig.DEFAULT), recording, 10_000);
+
+            stockService = new StockService();
+            Fixtures.inject(stockService, "stockRepository", Fixtures.stockRepository(stocks));
+            Fixtures.inject(stockService, "priceEngine", Fixtures.priceEngine(stocks));
+            Fixtures.inject(stockService, "metrics", metrics);
+
+            List<Portfolio> rows = new ArrayList<>(POSITIONS);
+            for (int i = 0; i < POSITIONS; i++) {
+                Stock stock = stocks.get(i);
+                long averagePrice = Money.of(stock.getCurrentPrice());
+                rows.add(new Portfolio(1L, stock.getSymbol(), 10,
+                        stock.getCurrentPrice(), Money.toBigDecimal(Money.times(averagePrice, 10))));
+            }
+            portfolioService = new PortfolioService();
+            Fixtures.inject(portfolioService, "readModel", Fixtures.readModel(Map.of(1L, rows)));
+            Fixtures.inject(portfolioService, "priceEngine", Fixtures.priceEngine(stocks));
+            Fixtures.inject(portfolioService, "metrics", metrics);
+
+            tickers = stocks.stream().map(Stock::getSymbol).toArray(String[]::new);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next = ThreadLocalRandom.current().nextInt(SYMBOLS);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public StockQuote quote(Services services, Cursor cursor) {
+        return services.stockService.getStockQuote(services.tickers[cursor.next++ % SYMBOLS]);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public StockQuote quoteAllCores(Services services, Cursor cursor) {
+        return services.stockService.getStockQuote(services.tickers[cursor.next++ % SYMBOLS]);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public List<PortfolioSummary> portfolio(Services services) {
+        return services.portfolioService.getUserPortfolio(1L);
+    }
+}
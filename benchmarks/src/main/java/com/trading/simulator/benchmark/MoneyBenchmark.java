@@ -0,0 +1,113 @@
+package com.trading.simulator.benchmark;
+
+import com.trading.simulator.money.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The arithmetic of one buy and of one portfolio valuation, in the
+ * BigDecimal form the services used and in {@link Money} cents. Compare
+ * {@code gc.alloc.rate.norm}: the cents variants should allocate nothing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class MoneyBenchmark {
+
+    @Param({"50"})
+    int positions;
+
+    private BigDecimal[] prices;
+    private BigDecimal[] invested;
+    private long[] priceCents;
+    private long[] investedCents;
+    private int[] quantities;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(7);
+        prices = new BigDecimal[positions];
+        invested = new BigDecimal[positions];
+        priceCents = new long[positions];
+        investedCents = new long[positions];
+        quantities = new int[positions];
+        for (int i = 0; i < positions; i++) {
+            priceCents[i] = 1_000 + random.nextInt(50_000);
+            investedCents[i] = 100_000 + random.nextInt(5_000_000);
+            quantities[i] = 1 + random.nextInt(500);
+            prices[i] = Money.toBigDecimal(priceCents[i]);
+            invested[i] = Money.toBigDecimal(investedCents[i]);
+        }
+    }
+
+    // Balance check, debit and new average price for one buy
+    @Benchmark
+    public void tradeBigDecimal(Blackhole bh) {
+        int i = next++ % positions;
+        BigDecimal balance = invested[i];
+        BigDecimal total = prices[i].multiply(BigDecimal.valueOf(quantities[i]));
+        bh.consume(balance.compareTo(total) >= 0);
+        bh.consume(balance.subtract(total));
+        BigDecimal newInvested = invested[i].add(total);
+        bh.consume(newInvested.divide(BigDecimal.valueOf(quantities[i] * 2L), 2, RoundingMode.HALF_UP));
+    }
+
+    @Benchmark
+    public void tradeCents(Blackhole bh) {
+        int i = next++ % positions;
+        long balance = investedCents[i];
+        long total = Money.times(priceCents[i], quantities[i]);
+        bh.consume(balance >= total);
+        bh.consume(balance - total);
+        long newInvested = investedCents[i] + total;
+        bh.consume(Money.divideHalfUp(newInvested, quantities[i] * 2L));
+    }
+
+    // Value, gain/loss and gain/loss percent for every position, plus totals
+    @Benchmark
+    public void valuationBigDecimal(Blackhole bh) {
+        BigDecimal totalValue = BigDecimal.ZERO;
+        BigDecimal totalInvested = BigDecimal.ZERO;
+        for (int i = 0; i < positions; i++) {
+            BigDecimal value = prices[i].multiply(BigDecimal.valueOf(quantities[i]));
+            BigDecimal gainLoss = value.subtract(invested[i]);
+            bh.consume(gainLoss.divide(invested[i], 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100)));
+            totalValue = totalValue.add(value);
+            totalInvested = totalInvested.add(invested[i]);
+        }
+        bh.consume(totalValue.subtract(totalInvested));
+    }
+
+    @Benchmark
+    public void valuationCents(Blackhole bh) {
+        long totalValue = 0;
+        long totalInvested = 0;
+        for (int i = 0; i < positions; i++) {
+            long value = Money.times(priceCents[i], quantities[i]);
+            bh.consume(Money.ratio(value - investedCents[i], investedCents[i]));
+            totalValue += value;
+            totalInvested += investedCents[i];
+        }
+        bh.consume(totalValue - totalInvested);
+    }
+}
@@ -0,0 +1,130 @@
+package com.trading.simulator.benchmark;
+
+import com.trading.simulator.matching.FillListener;
+import com.trading.simulator.matching.OrderBook;
+import com.trading.simulator.matching.OrderSide;
+import com.trading.simulator.matching.OrderType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-threaded order book throughput over a pregenerated stream of limit,
+ * IOC, market and cancel operations around a fixed mid price. The stream ends
+ * by cancelling whatever it left resting, so it can be replayed on the same
+ * book indefinitely and the measured loop allocates nothing.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class OrderBookBenchmark {
+
+    private static final int LIMIT = 0;
+    private static final int IOC = 1;
+    private static final int MARKET = 2;
+    private static final int CANCEL = 3;
+
+    private static final long MID = 15_000;
+    private static final int STREAM = 1 << 18;
+
+    /** Half-width in ticks of the band limit prices are drawn from */
+    @Param({"10", "100"})
+    int spread;
+
+    private OrderBook book;
+    private int[] ops;
+    private long[] ids;
+    private boolean[] buys;
+    private long[] prices;
+    private int[] quantities;
+    private int cursor;
+    private long filledQuantity;
+
+    private final FillListener listener = (makerOrderId, makerUserId, takerOrderId, takerUserId, takerSide,
+                                           priceTicks, quantity, makerRemaining) -> filledQuantity += quantity;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        int limitCount = 0;
+        long[] limitIds = new long[STREAM];
+
+        ops = new int[STREAM];
+        ids = new long[STREAM];
+        buys = new boolean[STREAM];
+        prices = new long[STREAM];
+        quantities = new int[STREAM];
+        for (int i = 0; i < STREAM; i++) {
+            int roll = random.nextInt(100);
+            ops[i] = roll < 50 ? LIMIT : roll < 55 ? IOC : roll < 60 ? MARKET : CANCEL;
+            ids[i] = i + 1;
+            buys[i] = random.nextBoolean();
+            prices[i] = MID + random.nextInt(2 * spread + 1) - spread;
+            quantities[i] = 1 + random.nextInt(100);
+            if (ops[i] == LIMIT) {
+                limitIds[limitCount++] = ids[i];
+            } else if (ops[i] == CANCEL && limitCount > 0) {
+                ids[i] = limitIds[Math.max(0, limitCount - 1 - random.nextInt(2048))];
+            }
+        }
+
+        // Replay once to find what stays resting, then append cancels that empty the book
+        book = new OrderBook("BENCH", 1, 1 << 16, STREAM);
+        for (int i = 0; i < STREAM; i++) {
+            apply(i);
+        }
+        int resting = 0;
+        long[] leftovers = new long[book.getRestingCount()];
+        for (int i = 0; i < limitCount; i++) {
+            if (book.contains(limitIds[i])) leftovers[resting++] = limitIds[i];
+        }
+        for (long id : leftovers) {
+            book.cancel(id);
+        }
+
+        int length = STREAM + resting;
+        ops = Arrays.copyOf(ops, length);
+        ids = Arrays.copyOf(ids, length);
+        buys = Arrays.copyOf(buys, length);
+        prices = Arrays.copyOf(prices, length);
+        quantities = Arrays.copyOf(quantities, length);
+        for (int i = 0; i < resting; i++) {
+            ops[STREAM + i] = CANCEL;
+            ids[STREAM + i] = leftovers[i];
+        }
+        cursor = 0;
+    }
+
+    @Benchmark
+    public long mixedOrderFlow() {
+        apply(cursor);
+        if (++cursor == ops.length) cursor = 0;
+        return filledQuantity;
+    }
+
+    private void apply(int i) {
+        OrderSide side = buys[i] ? OrderSide.BUY : OrderSide.SELL;
+        switch (ops[i]) {
+            case LIMIT -> book.submit(ids[i], i, side, OrderType.LIMIT, prices[i], quantities[i], listener);
+            case IOC -> book.submit(ids[i], i, side, OrderType.IOC, prices[i], quantities[i], listener);
+            case MARKET -> book.submit(ids[i], i, side, OrderType.MARKET, 0, quantities[i], listener);
+            default -> book.cancel(ids[i]);
+        }
+    }
+}
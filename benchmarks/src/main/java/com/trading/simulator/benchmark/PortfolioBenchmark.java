@@ -0,0 +1,69 @@
+package com.trading.simulator.benchmark;
+
+import com.trading.simulator.dto.PortfolioDashboard;
+import com.trading.simulator.entity.Portfolio;
+import com.trading.simulator.entity.Stock;
+import com.trading.simulator.metrics.HotPathMetrics;
+import com.trading.simulator.money.Money;
+import com.trading.simulator.service.PortfolioService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Portfolio valuation through {@link PortfolioService#getDashboard} for one
+ * user holding {@code positions} stocks, all priced by the engine. Positions
+ * come from the read model, as at runtime, so nothing stands in for a query.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PortfolioBenchmark {
+
+    private static final Long USER_ID = 1L;
+
+    @Param({"10", "100", "1000"})
+    int positions;
+
+    private PortfolioService portfolioService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Stock> stocks = Fixtures.stocks(positions);
+        List<Portfolio> rows = new ArrayList<>(positions);
+        for (int i = 0; i < positions; i++) {
+            Stock stock = stocks.get(i);
+            int quantity = 10 + i % 90;
+            long averagePrice = Money.of(stock.getCurrentPrice()) - 250 + i % 500;
+            rows.add(new Portfolio(USER_ID, stock.getSymbol(), quantity,
+                    Money.toBigDecimal(averagePrice), Money.toBigDecimal(Money.times(averagePrice, quantity))));
+        }
+
+        portfolioService = new PortfolioService();
+        Fixtures.inject(portfolioService, "readModel", Fixtures.readModel(Map.of(USER_ID, rows)));
+        Fixtures.inject(portfolioService, "priceEngine", Fixtures.priceEngine(stocks));
+        Fixtures.inject(portfolioService, "metrics", HotPathMetrics.disabled());
+    }
+
+    @Benchmark
+    public PortfolioDashboard dashboard() {
+        return portfolioService.getDashboard(USER_ID);
+    }
+}
@@ -0,0 +1,102 @@
+package com.trading.simulator.benchmark;
+
+import com.trading.simulator.entity.Stock;
+import com.trading.simulator.pricing.PriceEngine;
+import com.trading.simulator.pricing.PriceTick;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Quote read latency against a live ticking engine. Compare the per-read
+ * percentiles of {@code singleReader} and {@code manyReaders}: with lock-free
+ * snapshot reads they should stay flat as reader threads are added.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PriceEngineBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Engine {
+        @Param({"500"})
+        int symbols;
+
+        PriceEngine engine;
+        String[] tickers;
+        private Thread ticker;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            engine = new PriceEngine(null, null, 1, 1, 2);
+            tickers = new String[symbols];
+            for (int i = 0; i < symbols; i++) {
+                tickers[i] = "SYM" + i;
+                Stock stock = new Stock();
+                stock.setSymbol(tickers[i]);
+                stock.setCompanyName("Company " + i);
+                stock.setCurrentPrice(BigDecimal.valueOf(100 + i));
+                engine.register(stock);
+            }
+
+            // Publish a new snapshot every millisecond so readers race a busy writer
+            ticker = new Thread(() -> {
+                while (!Thread.currentThread().isInterrupted()) {
+                    engine.tick();
+                    try {
+                        Thread.sleep(1);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }, "benchmark-ticker");
+            ticker.setDaemon(true);
+            ticker.start();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws InterruptedException {
+            ticker.interrupt();
+            ticker.join();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Reader {
+        String symbol;
+
+        @Setup(Level.Iteration)
+        public void pick(Engine state) {
+            symbol = state.tickers[ThreadLocalRandom.current().nextInt(state.tickers.length)];
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public PriceTick singleReader(Engine state, Reader reader) {
+        return state.engine.getTick(reader.symbol).orElseThrow();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public PriceTick manyReaders(Engine state, Reader reader) {
+        return state.engine.getTick(reader.symbol).orElseThrow();
+    }
+}
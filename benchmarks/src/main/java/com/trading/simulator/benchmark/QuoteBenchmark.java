@@ -0,0 +1,68 @@
+package com.trading.simulator.benchmark;
+
+import com.trading.simulator.dto.StockQuote;
+import com.trading.simulator.entity.Stock;
+import com.trading.simulator.metrics.HotPathMetrics;
+import com.trading.simulator.pricing.PriceEngine;
+import com.trading.simulator.service.StockService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Quote generation: {@link StockService#getStockQuote} for a random symbol,
+ * and one {@link PriceEngine#tick} that moves every symbol and publishes a
+ * new snapshot.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QuoteBenchmark {
+
+    @Param({"500"})
+    int symbols;
+
+    private PriceEngine engine;
+    private StockService stockService;
+    private String[] tickers;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Stock> stocks = Fixtures.stocks(symbols);
+        engine = Fixtures.priceEngine(stocks);
+        stockService = new StockService();
+        Fixtures.inject(stockService, "stockRepository", Fixtures.stockRepository(stocks));
+        Fixtures.inject(stockService, "priceEngine", engine);
+        Fixtures.inject(stockService, "metrics", HotPathMetrics.disabled());
+
+        // Lower case, as symbols arrive from the URL
+        tickers = stocks.stream().map(stock -> stock.getSymbol().toLowerCase()).toArray(String[]::new);
+    }
+
+    @Benchmark
+    public StockQuote quote() {
+        return stockService.getStockQuote(tickers[next++ % tickers.length]);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void tick() {
+        engine.tick();
+    }
+}
@@ -0,0 +1,78 @@
+package com.trading.simulator.benchmark;
+
+import com.trading.simulator.valuation.HoldingsBook;
+import com.trading.simulator.valuation.Revaluation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full mark-to-market of {@code users} accounts holding {@code positions}
+ * of {@code symbols} symbols each, after every symbol has moved, one
+ * fork-join worker per core. It has to fit in the one-second tick interval.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Benchmark)
+public class RevaluationBenchmark {
+
+    @Param({"1000000"})
+    int users;
+
+    @Param({"20"})
+    int positions;
+
+    @Param({"500"})
+    int symbols;
+
+    private final SplittableRandom random = new SplittableRandom(11);
+    private HoldingsBook book;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        book = new HoldingsBook(users, users * positions * 5 / 4);
+        for (int symbol = 0; symbol < symbols; symbol++) {
+            book.setPrice(symbol, 1_000 + random.nextInt(100_000));
+        }
+        for (int user = 1; user <= users; user++) {
+            book.setCash(user, random.nextInt(10_000_000));
+            int first = random.nextInt(symbols);
+            for (int i = 0; i < positions; i++) {
+                // Distinct symbols per user, spread over the whole range
+                book.setPosition(user, (first + i * 23) % symbols, 1 + random.nextInt(1_000), 0);
+            }
+        }
+        pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Benchmark
+    public Revaluation revalueAll() {
+        for (int symbol = 0; symbol < symbols; symbol++) {
+            book.setPrice(symbol, 1_000 + random.nextInt(100_000));
+        }
+        return book.revalue(pool);
+    }
+}
@@ -0,0 +1,70 @@
+package com.trading.simulator.benchmark;
+
+import com.trading.simulator.risk.PortfolioExposure;
+import com.trading.simulator.risk.RiskEngine;
+import com.trading.simulator.risk.RiskResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One-day Monte Carlo value-at-risk of a {@code positions}-position portfolio
+ * over {@code paths} paths, one fork-join worker per core. Position-paths
+ * revalued per second is {@code positions * paths} divided by the score.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RiskBenchmark {
+
+    @Param({"500"})
+    int positions;
+
+    @Param({"100000"})
+    int paths;
+
+    private PortfolioExposure exposure;
+    private RiskEngine engine;
+    private long seed;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        double[] values = new double[positions];
+        double[] volatilities = new double[positions];
+        double[] loadings = new double[positions];
+        for (int i = 0; i < positions; i++) {
+            values[i] = 1_000 + random.nextInt(100_000);
+            volatilities[i] = 0.01 + random.nextDouble() * 0.03;
+            loadings[i] = 0.2 + random.nextDouble() * 0.6;
+        }
+        exposure = new PortfolioExposure(values, volatilities, loadings);
+        engine = new RiskEngine(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        engine.close();
+    }
+
+    @Benchmark
+    public RiskResult monteCarloVar() {
+        return engine.assess(exposure, paths, seed++);
+    }
+}
@@ -0,0 +1,67 @@
+package com.trading.simulator.benchmark;
+
+import com.trading.simulator.symbol.SymbolRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolving a request symbol to per-symbol state: upper-casing it and looking
+ * it up in a {@code HashMap<String, ?>} versus resolving its
+ * {@link SymbolRegistry} id and indexing an array.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SymbolLookupBenchmark {
+
+    @Param({"500"})
+    int symbols;
+
+    private final Map<String, Long> pricesBySymbol = new HashMap<>();
+    private long[] pricesById;
+    private String[] tickers;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tickers = new String[symbols];
+        pricesById = new long[0];
+        for (int i = 0; i < symbols; i++) {
+            String symbol = "LOOK" + i;
+            int id = SymbolRegistry.intern(symbol);
+            if (id >= pricesById.length) pricesById = Arrays.copyOf(pricesById, SymbolRegistry.size());
+            pricesById[id] = 10_000 + i;
+            pricesBySymbol.put(symbol, 10_000L + i);
+            // Lower case, as symbols arrive from the URL
+            tickers[i] = symbol.toLowerCase();
+        }
+    }
+
+    @Benchmark
+    public long stringKeyed() {
+        return pricesBySymbol.get(tickers[next++ % tickers.length].toUpperCase());
+    }
+
+    @Benchmark
+    public long idKeyed() {
+        return pricesById[SymbolRegistry.idOf(tickers[next++ % tickers.length])];
+    }
+}
@@ -0,0 +1,102 @@
+package com.trading.simulator.benchmark;
+
+import com.trading.simulator.tickstore.TickBar;
+import com.trading.simulator.tickstore.TickStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * The tick store filled with one day of one-second ticks for {@code symbols}
+ * random walks: the last day of one symbol at one-minute resolution, and
+ * appending ticks round-robin over the symbols, as the recorder does.
+ */
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TickStoreBenchmark {
+
+    private static final long DAY_START = 1_704_153_600_000L; // 2024-01-02 00:00:00 UTC
+    private static final long DAY_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+    @Param({"50"})
+    int symbols;
+
+    private Path directory;
+    private TickStore store;
+    private String[] names;
+    private long[] prices;
+    private long time;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("tickstore-benchmark");
+        store = TickStore.open(directory, 64 << 20, 1024);
+        names = new String[symbols];
+        prices = new long[symbols];
+        Random random = new Random(42);
+        for (int s = 0; s < symbols; s++) {
+            names[s] = "TS" + s;
+            prices[s] = 10_000;
+        }
+        for (time = DAY_START; time < DAY_START + DAY_MILLIS; time += 1_000) {
+            for (int s = 0; s < symbols; s++) {
+                prices[s] = Math.max(100, prices[s] + random.nextInt(41) - 20);
+                store.append(names[s], time, prices[s]);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        store.close();
+        store = null;
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<TickBar> lastDayAtOneMinute() {
+        String symbol = names[ThreadLocalRandom.current().nextInt(symbols)];
+        return store.downsample(symbol, DAY_START, DAY_START + DAY_MILLIS, 60_000);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void append() {
+        int s = next;
+        store.append(names[s], time, prices[s] + (time & 15));
+        if (++next == symbols) {
+            next = 0;
+            time += 1_000;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.trading.simulator.benchmark;
+
+import com.trading.simulator.dto.TradeRequest;
+import com.trading.simulator.entity.Stock;
+import com.trading.simulator.entity.Transaction;
+import com.trading.simulator.execution.Account;
+import com.trading.simulator.execution.ShardedTradeExecutor;
+import com.trading.simulator.metrics.HotPathMetrics;
+import com.trading.simulator.money.Money;
+import com.trading.simulator.service.TradingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link TradingService#executeTrade} end to end (cached symbol lookup, pricing,
+ * the shard hop and the fill) with the repositories and the persister
+ * replaced by in-memory stand-ins.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TradingBenchmark {
+
+    private static final int USERS = 1_000;
+    private static final int SYMBOLS = 20;
+
+    private final AtomicLong effects = new AtomicLong();
+    private ShardedTradeExecutor executor;
+    private TradingService tradingService;
+    private TradeRequest[] buys;
+    private TradeRequest[] sells;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Stock> stocks = Fixtures.stocks(SYMBOLS);
+        executor = new ShardedTradeExecutor(
+                userId -> new Account(userId, Money.parse("100000000.00")), effect -> effects.incrementAndGet(), 4);
+
+        tradingService = new TradingService();
+        Fixtures.inject(tradingService, "stockCache", Fixtures.stockCache(stocks));
+        Fixtures.inject(tradingService, "priceEngine", Fixtures.priceEngine(stocks));
+        Fixtures.inject(tradingService, "tradeExecutor", executor);
+        Fixtures.inject(tradingService, "metrics", HotPathMetrics.disabled());
+
+        // Each user buys a share and sells it back, so accounts stay the same size throughout
+        buys = new TradeRequest[USERS];
+        sells = new TradeRequest[USERS];
+        for (int i = 0; i < USERS; i++) {
+            String symbol = stocks.get(i % SYMBOLS).getSymbol();
+            buys[i] = new TradeRequest((long) i + 1, symbol, "BUY", 1);
+            sells[i] = new TradeRequest((long) i + 1, symbol, "SELL", 1);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public Transaction buyThenSell(Cursor cursor) {
+        int user = cursor.next++ % USERS;
+        tradingService.executeTrade(buys[user]);
+        return tradingService.executeTrade(sells[user]);
+    }
+}
@@ -0,0 +1,88 @@
+package com.trading.simulator.benchmark;
+
+import com.trading.simulator.triggers.Trigger;
+import com.trading.simulator.triggers.TriggerBook;
+import com.trading.simulator.triggers.TriggerType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One price move of a symbol with {@code triggers} resting triggers, a mix of
+ * stops, take-profits, alerts and trailing stops spread up to 20% either side
+ * of the price. The price walks a few cents a tick, and every trigger a tick
+ * fires is replaced by a new one, so the book stays the same size. The score
+ * should stay flat as {@code triggers} grows.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TriggerBenchmark {
+
+    private static final long START_PRICE = 100_000;
+    private static final LocalDateTime AT = LocalDateTime.of(2024, 1, 2, 10, 0);
+
+    @Param({"1000", "1000000"})
+    int triggers;
+
+    private final SplittableRandom random = new SplittableRandom(3);
+    private final List<Trigger> fired = new ArrayList<>();
+    private TriggerBook book;
+    private long price;
+    private long nextId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        price = START_PRICE;
+        book = new TriggerBook(price);
+        for (int i = 0; i < triggers; i++) {
+            book.add(next());
+        }
+    }
+
+    @Benchmark
+    public int tick() {
+        // Mean-reverting walk, so the price stays inside the band the triggers are spread over
+        long step = random.nextInt(21) - 10 + (START_PRICE - price) / 1_000;
+        price += step;
+        fired.clear();
+        book.onPrice(price, AT, fired);
+        for (int i = 0; i < fired.size(); i++) {
+            book.add(next());
+        }
+        return fired.size();
+    }
+
+    private Trigger next() {
+        long distance = 1 + random.nextLong(price / 5);
+        return switch (random.nextInt(5)) {
+            case 0 -> trigger(TriggerType.STOP_LOSS, price - distance, 0);
+            case 1 -> trigger(TriggerType.ALERT_BELOW, price - distance, 0);
+            case 2 -> trigger(TriggerType.TAKE_PROFIT, price + distance, 0);
+            case 3 -> trigger(TriggerType.ALERT_ABOVE, price + distance, 0);
+            default -> trigger(TriggerType.TRAILING_STOP, 0, distance);
+        };
+    }
+
+    private Trigger trigger(TriggerType type, long triggerPrice, long trailAmount) {
+        return new Trigger(++nextId, 1L, "AAPL", 0, type, 1, triggerPrice, trailAmount, AT);
+    }
+}
@@ -31,6 +31,15 @@ CREATE TABLE portfolio (
     last_updated TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     UNIQUE(user_id, stock_symbol)
 );
+
+-- Portfolio ids are allocated by Hibernate's pooled optimizer in blocks of 50
+ALTER SEQUENCE portfolio_id_seq INCREMENT BY 50;
+
+-- Last trade journal sequence projected into users/portfolio/transactions (single row)
+CREATE TABLE journal_checkpoint (
+    id INTEGER PRIMARY KEY,
+    last_sequence BIGINT NOT NULL
+);
      
 -- Insert sample data
 INSERT INTO users (username, email, balance) VALUES 
@@ -0,0 +1,9 @@
+-- Run once against databases created before Portfolio and Transaction ids
+-- moved from IDENTITY to pooled sequences (allocation size 50).
+-- New databases get this from init.sql and Hibernate schema update.
+
+ALTER SEQUENCE portfolio_id_seq INCREMENT BY 50;
+
+-- transactions was created by Hibernate as an identity column; its backing
+-- sequence keeps the same name, so the entity can keep using it
+ALTER SEQUENCE transactions_id_seq INCREMENT BY 50;
@@ -0,0 +1,9 @@
+-- Run once against databases created before the trade journal. Holds the
+-- last journal sequence projected into users/portfolio/transactions; the
+-- backend replays everything after it on startup.
+-- New databases get this from init.sql and Hibernate schema update.
+
+CREATE TABLE IF NOT EXISTS journal_checkpoint (
+    id INTEGER PRIMARY KEY,
+    last_sequence BIGINT NOT NULL
+);
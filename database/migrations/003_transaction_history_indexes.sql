@@ -0,0 +1,12 @@
+-- Run once against databases created before keyset-paginated transaction
+-- history. Pages are read newest first by (transaction_date, id) within a
+-- user, optionally for one symbol; without these every page sorts all of
+-- the user's rows. CONCURRENTLY keeps trades flowing while large tables are
+-- indexed, so run each statement on its own, outside a transaction.
+-- New databases get these from Hibernate schema update.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transactions_user_date
+    ON transactions (user_id, transaction_date DESC, id DESC);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transactions_user_symbol_date
+    ON transactions (user_id, stock_symbol, transaction_date DESC, id DESC);
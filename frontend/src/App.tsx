@@ -42,10 +42,29 @@ function App() {
     loadStockQuote();
   }, [selectedStock]);
 
-  // Refresh stock quotes every 30 seconds
+  // Stream live P&L; each update replaces the positions it names and all totals
   useEffect(() => {
-    const interval = setInterval(loadStockQuote, 30000);
-    return () => clearInterval(interval);
+    return apiService.subscribeToPortfolio(1, (update) => {
+      setPortfolio((current) => {
+        const bySymbol = new Map(current.map((position) => [position.stockSymbol, position]));
+        update.positions.forEach((position) => {
+          if (position.quantity > 0) {
+            bySymbol.set(position.stockSymbol, position);
+          } else {
+            bySymbol.delete(position.stockSymbol);
+          }
+        });
+        return Array.from(bySymbol.values());
+      });
+      setTotalPortfolioValue(update.totalValue);
+      setTotalGainLoss(update.totalGainLoss);
+      setTotalGainLossPercent(update.totalGainLossPercent);
+    });
+  }, []);
+
+  // Stream live quotes for the selected stock
+  useEffect(() => {
+    return apiService.subscribeToQuotes([selectedStock], setStockQuote);
   }, [selectedStock]);
 
   const loadUserData = async () => {
@@ -72,17 +91,12 @@ function App() {
   const loadPortfolioData = async () => {
     try {
       setIsLoadingPortfolio(true);
-      const [portfolioData, totalValue, gainLoss, gainLossPercent] = await Promise.all([
-        apiService.getUserPortfolio(1),
-        apiService.getTotalPortfolioValue(1),
-        apiService.getTotalGainLoss(1),
-        apiService.getTotalGainLossPercent(1)
-      ]);
+      const dashboard = await apiService.getPortfolioDashboard(1);
       
-      setPortfolio(portfolioData);
-      setTotalPortfolioValue(totalValue);
-      setTotalGainLoss(gainLoss);
-      setTotalGainLossPercent(gainLossPercent);
+      setPortfolio(dashboard.positions);
+      setTotalPortfolioValue(dashboard.totalValue);
+      setTotalGainLoss(dashboard.totalGainLoss);
+      setTotalGainLossPercent(dashboard.totalGainLossPercent);
     } catch (error) {
       console.error('Failed to load portfolio data:', error);
       setPortfolio([]);
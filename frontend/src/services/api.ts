@@ -67,6 +67,16 @@ export interface PortfolioSummary {
   gainLossPercent: number;
 }
 
+export interface PortfolioDashboard {
+  userId: number;
+  positions: PortfolioSummary[];
+  totalValue: number;
+  totalInvested: number;
+  totalGainLoss: number;
+  totalGainLossPercent: number;
+  priceSequence: number;
+}
+
 // API Functions
 export const apiService = {
   // User APIs
@@ -106,6 +116,16 @@ export const apiService = {
     return response.data;
   },
 
+  // Pushes the current quote of each symbol, then every move; returns a function that closes the stream
+  subscribeToQuotes: (symbols: string[], onQuote: (quote: StockQuote) => void): (() => void) => {
+    const source = new EventSource(`${API_BASE_URL}/stocks/stream?symbols=${symbols.join(',')}`);
+    source.addEventListener('quotes', (event) => {
+      const quotes: StockQuote[] = JSON.parse((event as MessageEvent).data);
+      quotes.forEach(onQuote);
+    });
+    return () => source.close();
+  },
+
   // Trading APIs
   executeTrade: async (tradeRequest: TradeRequest): Promise<Transaction> => {
     const response = await api.post('/trades', tradeRequest);
@@ -123,6 +143,20 @@ export const apiService = {
     return response.data;
   },
 
+  getPortfolioDashboard: async (userId: number): Promise<PortfolioDashboard> => {
+    const response = await api.get(`/portfolio/user/${userId}/dashboard`);
+    return response.data;
+  },
+
+  // Pushes the whole portfolio, then only the positions that changed with fresh totals; quantity 0 means closed
+  subscribeToPortfolio: (userId: number, onUpdate: (update: PortfolioDashboard) => void): (() => void) => {
+    const source = new EventSource(`${API_BASE_URL}/portfolio/user/${userId}/stream`);
+    source.addEventListener('portfolio', (event) => {
+      onUpdate(JSON.parse((event as MessageEvent).data));
+    });
+    return () => source.close();
+  },
+
   getTotalPortfolioValue: async (userId: number): Promise<number> => {
     const response = await api.get(`/portfolio/user/${userId}/value`);
     return response.data;
@@ -138,9 +172,10 @@ export const apiService = {
     return response.data;
   },
 
+  // Newest page only; the response also carries nextCursor for older ones
   getUserTransactions: async (userId: number): Promise<Transaction[]> => {
     const response = await api.get(`/portfolio/user/${userId}/transactions`);
-    return response.data;
+    return response.data.transactions;
   },
 
   getAvailableShares: async (userId: number, stockSymbol: string): Promise<number> => {
@@ -0,0 +1,47 @@
+#!/usr/bin/env bash
+# Runs the backend once on platform threads and once on virtual threads, and
+# drives each with 1k, 5k and 10k closed-loop clients. Results go to one CSV.
+#
+# Needs JDK 21+ for the virtual run, the database from docker-compose, and
+# `ulimit -n` well above the largest client count (see README.md).
+set -euo pipefail
+
+cd "$(dirname "$0")"
+BACKEND_JAR=${BACKEND_JAR:-../backend/target/simulator-0.0.1-SNAPSHOT-exec.jar}
+PORT=${PORT:-8090}
+URL=${URL:-http://localhost:$PORT/api/portfolio/user/1/dashboard}
+CLIENTS=${CLIENTS:-1000,5000,10000}
+SECONDS_PER_RUN=${SECONDS_PER_RUN:-30}
+CSV=${CSV:-target/thread-modes.csv}
+
+[ -f target/loadgen.jar ] || mvn -B -q package
+rm -f "$CSV"
+
+run_mode() {
+    local label=$1 virtual=$2
+    java -jar "$BACKEND_JAR" \
+        --server.port="$PORT" \
+        --spring.threads.virtual.enabled="$virtual" \
+        --server.tomcat.max-connections=20000 \
+        --server.tomcat.accept-count=20000 \
+        > "target/backend-$label.log" 2>&1 &
+    local pid=$!
+    trap "kill $pid 2>/dev/null || true" EXIT
+
+    until curl -sf "http://localhost:$PORT/api/actuator/health" > /dev/null; do
+        kill -0 "$pid" 2>/dev/null || { echo "backend exited, see target/backend-$label.log"; exit 1; }
+        sleep 1
+    done
+
+    java -cp target/loadgen.jar com.trading.simulator.loadgen.ConcurrentClientsLoadTest --url "$URL" --clients "$CLIENTS" \
+        --seconds "$SECONDS_PER_RUN" --label "$label" --csv "$CSV"
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+}
+
+run_mode platform false
+run_mode virtual true
+
+echo "Results: $CSV"
@@ -0,0 +1,206 @@
+package com.trading.simulator.loadgen;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load: each of N clients sends a GET, waits for the
+ * response and sends the next, for a fixed time. Run once per client count
+ * and reports throughput and the latency distribution of each.
+ *
+ * <p>Closed-loop clients slow down when the server does, so this measures how
+ * many concurrent clients a thread mode can serve, not latency at a fixed
+ * rate. Clients are async requests on a small pool, so 10k of them need 10k
+ * sockets but not 10k threads.
+ *
+ * <pre>
+ * java -cp loadgen.jar com.trading.simulator.loadgen.ConcurrentClientsLoadTest \
+ *     --url http://localhost:8090/api/portfolio/user/1/dashboard \
+ *     --clients 1000,5000,10000 --seconds 30 --label platform --csv results.csv
+ * </pre>
+ */
+public final class ConcurrentClientsLoadTest {
+
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(2);
+    private static final String CSV_HEADER = "label,clients,seconds,requests,errors,throughput_per_sec,"
+            + "p50_ms,p90_ms,p99_ms,p999_ms,max_ms";
+
+    private final URI uri;
+    private final Duration requestTimeout;
+    private final HttpClient client;
+    private final ExecutorService executor;
+
+    ConcurrentClientsLoadTest(URI uri, Duration requestTimeout, int ioThreads) {
+        this.uri = uri;
+        this.requestTimeout = requestTimeout;
+        this.executor = Executors.newFixedThreadPool(ioThreads, runnable -> {
+            Thread thread = new Thread(runnable, "loadgen-io");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(requestTimeout)
+                .executor(executor)
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        URI uri = URI.create(require(options, "url"));
+        List<Integer> clientCounts = new ArrayList<>();
+        for (String count : options.getOrDefault("clients", "1000,5000,10000").split(",")) {
+            clientCounts.add(Integer.parseInt(count.trim()));
+        }
+        int seconds = Integer.parseInt(options.getOrDefault("seconds", "30"));
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup-seconds", "10"));
+        String label = options.getOrDefault("label", "run");
+        Duration timeout = Duration.ofSeconds(Long.parseLong(options.getOrDefault("timeout-seconds", "30")));
+        int ioThreads = Integer.parseInt(options.getOrDefault("io-threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+
+        ConcurrentClientsLoadTest test = new ConcurrentClientsLoadTest(uri, timeout, ioThreads);
+        List<Result> results = new ArrayList<>();
+        for (int clients : clientCounts) {
+            results.add(test.run(label, clients, warmupSeconds, seconds));
+        }
+        test.executor.shutdownNow();
+
+        print(System.out, results);
+        if (options.containsKey("csv")) {
+            appendCsv(Path.of(options.get("csv")), results);
+        }
+    }
+
+    Result run(String label, int clients, int warmupSeconds, int seconds) throws InterruptedException {
+        Recorder recorder = new Recorder(MAX_LATENCY_NANOS, 3);
+        AtomicLong errors = new AtomicLong();
+        Run run = new Run(recorder, errors);
+        CountDownLatch stopped = new CountDownLatch(clients);
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(requestTimeout).GET().build();
+
+        for (int i = 0; i < clients; i++) {
+            send(request, run, stopped);
+        }
+
+        Thread.sleep(TimeUnit.SECONDS.toMillis(warmupSeconds));
+        recorder.reset();
+        errors.set(0);
+        long start = System.nanoTime();
+        Thread.sleep(TimeUnit.SECONDS.toMillis(seconds));
+        Histogram histogram = recorder.getIntervalHistogram();
+        long elapsedNanos = System.nanoTime() - start;
+        long failed = errors.get();
+
+        run.running = false;
+        stopped.await(requestTimeout.toMillis() + 5_000, TimeUnit.MILLISECONDS);
+        return new Result(label, clients, elapsedNanos, histogram, failed);
+    }
+
+    // ========== PRIVATE HELPERS ==========
+
+    // One client: the next request goes out when the previous one completes
+    private void send(HttpRequest request, Run run, CountDownLatch stopped) {
+        long start = System.nanoTime();
+        // Completions hop to the pool, so a server that fails fast cannot recurse this into a stack overflow
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenCompleteAsync((response, error) -> {
+            long latency = System.nanoTime() - start;
+            if (error == null && response.statusCode() < 400) {
+                run.recorder.recordValue(Math.min(latency, MAX_LATENCY_NANOS));
+            } else {
+                run.errors.incrementAndGet();
+            }
+            if (run.running) {
+                send(request, run, stopped);
+            } else {
+                stopped.countDown();
+            }
+        }, executor);
+    }
+
+    private static void print(PrintStream out, List<Result> results) {
+        out.printf("%-12s %8s %10s %8s %12s %9s %9s %9s %9s %9s%n",
+                "label", "clients", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p999 ms", "max ms");
+        for (Result result : results) {
+            Histogram h = result.histogram();
+            out.printf("%-12s %8d %10d %8d %12.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    result.label(), result.clients(), h.getTotalCount(), result.errors(), result.throughput(),
+                    millis(h.getValueAtPercentile(50)), millis(h.getValueAtPercentile(90)),
+                    millis(h.getValueAtPercentile(99)), millis(h.getValueAtPercentile(99.9)),
+                    millis(h.getMaxValue()));
+        }
+    }
+
+    private static void appendCsv(Path path, List<Result> results) throws IOException {
+        List<String> lines = new ArrayList<>();
+        if (!Files.exists(path)) lines.add(CSV_HEADER);
+        for (Result result : results) {
+            Histogram h = result.histogram();
+            lines.add(String.format("%s,%d,%.1f,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f,%.3f",
+                    result.label(), result.clients(), result.elapsedNanos() / 1e9, h.getTotalCount(),
+                    result.errors(), result.throughput(),
+                    millis(h.getValueAtPercentile(50)), millis(h.getValueAtPercentile(90)),
+                    millis(h.getValueAtPercentile(99)), millis(h.getValueAtPercentile(99.9)),
+                    millis(h.getMaxValue())));
+        }
+        Files.write(path, lines, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 == args.length) {
+                throw new IllegalArgumentException("Expected --name value pairs, got " + args[i]);
+            }
+            options.put(args[i].substring(2), args[++i]);
+        }
+        return options;
+    }
+
+    private static String require(Map<String, String> options, String name) {
+        String value = options.get(name);
+        if (value == null) throw new IllegalArgumentException("--" + name + " is required");
+        return value;
+    }
+
+    private static final class Run {
+        final Recorder recorder;
+        final AtomicLong errors;
+        volatile boolean running = true;
+
+        Run(Recorder recorder, AtomicLong errors) {
+            this.recorder = recorder;
+            this.errors = errors;
+        }
+    }
+
+    record Result(String label, int clients, long elapsedNanos, Histogram histogram, long errors) {
+        double throughput() {
+            return histogram.getTotalCount() / (elapsedNanos / 1e9);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.trading.simulator.loadgen;
+
+import com.trading.simulator.TradingSimulatorApplication;
+import com.trading.simulator.entity.Stock;
+import com.trading.simulator.entity.User;
+import com.trading.simulator.repository.UserRepository;
+import com.trading.simulator.service.StockService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * The backend started inside the load generator's JVM on an in-memory H2
+ * database, with a throwaway trade journal, and seeded with synthetic stocks
+ * and funded users. Everything else (pricing, shards, write-behind, caches)
+ * is the production configuration.
+ */
+final class EmbeddedBackend implements AutoCloseable {
+
+    private final ConfigurableApplicationContext context;
+    private final Path journalDirectory;
+
+    private EmbeddedBackend(ConfigurableApplicationContext context, Path journalDirectory) {
+        this.context = context;
+        this.journalDirectory = journalDirectory;
+    }
+
+    /**
+     * Starts the backend; {@code web} also starts Tomcat on a free port,
+     * otherwise only the services exist.
+     */
+    static EmbeddedBackend start(boolean web, String... extraArgs) throws IOException {
+        Path journalDirectory = Files.createTempDirectory("loadgen-journal");
+        List<String> args = new ArrayList<>(List.of(
+                // Command-line arguments outrank the backend's application.properties
+                "--spring.datasource.url=jdbc:h2:mem:loadgen;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.hikari.data-source-properties.reWriteBatchedInserts=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--simulator.journal.directory=" + journalDirectory,
+                "--logging.level.root=WARN",
+                "--logging.level.org.hibernate.orm.deprecation=ERROR",
+                "--spring.main.banner-mode=off"));
+        if (web) {
+            args.add("--server.port=0");
+        } else {
+            args.add("--spring.main.web-application-type=none");
+        }
+        args.addAll(List.of(extraArgs));
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TradingSimulatorApplication.class)
+                .run(args.toArray(String[]::new));
+        return new EmbeddedBackend(context, journalDirectory);
+    }
+
+    /**
+     * Registers {@code count} stocks named SYM000, SYM001, ... at prices
+     * between $10 and $500, returned in that order.
+     */
+    List<String> seedStocks(int count, long seed) {
+        StockService stockService = getBean(StockService.class);
+        Random random = new Random(seed);
+        List<String> symbols = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Stock stock = new Stock();
+            stock.setSymbol(String.format("SYM%03d", i));
+            stock.setCompanyName("Synthetic " + i);
+            stock.setCurrentPrice(BigDecimal.valueOf(1_000 + random.nextInt(49_001), 2));
+            symbols.add(stockService.saveStock(stock).getSymbol());
+        }
+        return symbols;
+    }
+
+    List<Long> seedUsers(int count, BigDecimal balance) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User user = new User();
+            user.setUsername("agent" + i);
+            user.setEmail("agent" + i + "@loadgen.local");
+            user.setBalance(balance);
+            users.add(user);
+        }
+        return getBean(UserRepository.class).saveAll(users).stream().map(User::getId).toList();
+    }
+
+    <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    String baseUrl() {
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        String contextPath = context.getEnvironment().getProperty("server.servlet.context-path", "");
+        return "http://localhost:" + port + contextPath;
+    }
+
+    @Override
+    public void close() throws IOException {
+        context.close();
+        try (Stream<Path> files = Files.walk(journalDirectory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.trading.simulator.loadgen;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Sends operations to the REST API: trades as {@code POST /trades}, dashboards
+ * as {@code GET /portfolio/user/{id}/dashboard}. Any status of 400 or above
+ * fails the operation.
+ */
+final class HttpTarget implements LoadTarget {
+
+    private final String baseUrl;
+    private final Duration timeout;
+    private final ExecutorService executor;
+    private final HttpClient client;
+
+    // baseUrl includes the context path, e.g. http://localhost:8090/api
+    HttpTarget(String baseUrl, Duration timeout, int ioThreads) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.timeout = timeout;
+        this.executor = Executors.newFixedThreadPool(ioThreads, runnable -> {
+            Thread thread = new Thread(runnable, "loadgen-io");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .executor(executor)
+                .build();
+    }
+
+    @Override
+    public CompletableFuture<Void> execute(Operation operation) {
+        HttpRequest request = switch (operation.kind()) {
+            case BUY, SELL -> HttpRequest.newBuilder(URI.create(baseUrl + "/trades"))
+                    .timeout(timeout)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(String.format(
+                            "{\"userId\":%d,\"stockSymbol\":\"%s\",\"transactionType\":\"%s\",\"quantity\":%d}",
+                            operation.userId(), operation.symbol(), operation.kind().name(), operation.quantity())))
+                    .build();
+            case DASHBOARD -> HttpRequest.newBuilder(
+                            URI.create(baseUrl + "/portfolio/user/" + operation.userId() + "/dashboard"))
+                    .timeout(timeout)
+                    .GET()
+                    .build();
+        };
+
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).thenAccept(response -> {
+            if (response.statusCode() >= 400) {
+                throw new IllegalStateException("HTTP " + response.statusCode());
+            }
+        });
+    }
+
+    @Override
+    public String describe() {
+        return "HTTP, " + baseUrl;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,60 @@
+package com.trading.simulator.loadgen;
+
+import com.trading.simulator.dto.TradeRequest;
+import com.trading.simulator.service.PortfolioService;
+import com.trading.simulator.service.TradingService;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Calls {@link TradingService} and {@link PortfolioService} directly on a fixed
+ * pool of worker threads, standing in for the servlet container's pool. Time
+ * spent queued for a worker counts towards latency, as it would in Tomcat.
+ */
+final class InProcessTarget implements LoadTarget {
+
+    private final TradingService tradingService;
+    private final PortfolioService portfolioService;
+    private final ExecutorService workers;
+    private final int workerCount;
+
+    InProcessTarget(TradingService tradingService, PortfolioService portfolioService, int workerCount) {
+        this.tradingService = tradingService;
+        this.portfolioService = portfolioService;
+        this.workerCount = workerCount;
+        this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "loadgen-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> execute(Operation operation) {
+        return CompletableFuture.runAsync(() -> {
+            switch (operation.kind()) {
+                case BUY, SELL -> tradingService.executeTrade(new TradeRequest(
+                        operation.userId(), operation.symbol(), operation.kind().name(), operation.quantity()));
+                case DASHBOARD -> portfolioService.getDashboard(operation.userId());
+            }
+        }, workers);
+    }
+
+    @Override
+    public String describe() {
+        return "in-process, " + workerCount + " workers";
+    }
+
+    @Override
+    public void close() {
+        workers.shutdown();
+        try {
+            workers.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
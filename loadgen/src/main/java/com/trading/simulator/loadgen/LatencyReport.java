@@ -0,0 +1,189 @@
+package com.trading.simulator.loadgen;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency per operation kind, measured from when an operation was scheduled to
+ * start rather than when it was sent, so a stalled system or a lagging
+ * dispatcher shows up as latency instead of as fewer samples.
+ *
+ * <p>Recording is thread-safe. {@link #interval} is called from one thread on a
+ * fixed period; each call closes an interval, adds a row per kind to the
+ * throughput series and folds the interval into the totals.
+ */
+final class LatencyReport {
+
+    static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(5);
+    private static final String ALL = "all";
+    private static final String SERIES_HEADER = "elapsed_s,operation,sent,completed,errors,throughput_per_sec,"
+            + "p50_ms,p99_ms,max_ms,send_lag_max_ms";
+
+    private final Map<Operation.Kind, Recorder> recorders = new EnumMap<>(Operation.Kind.class);
+    private final Map<Operation.Kind, AtomicLong> sent = new EnumMap<>(Operation.Kind.class);
+    private final Map<Operation.Kind, AtomicLong> errors = new EnumMap<>(Operation.Kind.class);
+    private final Map<Operation.Kind, Histogram> totals = new EnumMap<>(Operation.Kind.class);
+    private final Map<Operation.Kind, Long> totalErrors = new EnumMap<>(Operation.Kind.class);
+    private final Map<String, LongAdder> errorMessages = new ConcurrentHashMap<>();
+    private final AtomicLong sendLagMax = new AtomicLong();
+    private final List<String> series = new ArrayList<>();
+    private long measuredNanos;
+
+    LatencyReport() {
+        for (Operation.Kind kind : Operation.Kind.values()) {
+            recorders.put(kind, new Recorder(MAX_LATENCY_NANOS, 3));
+            sent.put(kind, new AtomicLong());
+            errors.put(kind, new AtomicLong());
+            totals.put(kind, new Histogram(MAX_LATENCY_NANOS, 3));
+            totalErrors.put(kind, 0L);
+        }
+    }
+
+    // ========== RECORDING (any thread) ==========
+
+    void sent(Operation.Kind kind, long lagNanos) {
+        sent.get(kind).incrementAndGet();
+        sendLagMax.accumulateAndGet(lagNanos, Math::max);
+    }
+
+    void succeeded(Operation.Kind kind, long latencyNanos) {
+        recorders.get(kind).recordValue(Math.min(latencyNanos, MAX_LATENCY_NANOS));
+    }
+
+    void failed(Operation.Kind kind, Throwable error) {
+        errors.get(kind).incrementAndGet();
+        Throwable cause = error.getCause() != null ? error.getCause() : error;
+        String message = cause.getClass().getSimpleName() + ": " + cause.getMessage();
+        errorMessages.computeIfAbsent(message, key -> new LongAdder()).increment();
+    }
+
+    // ========== INTERVALS (one thread) ==========
+
+    /**
+     * Closes the current interval and returns a one-line summary of it. During
+     * warm-up ({@code measured} false) the interval is dropped, along with any
+     * errors seen so far.
+     */
+    String interval(long elapsedNanos, long intervalNanos, boolean measured) {
+        Histogram all = new Histogram(MAX_LATENCY_NANOS, 3);
+        long allSent = 0;
+        long allErrors = 0;
+        long lag = sendLagMax.getAndSet(0);
+        List<String> rows = new ArrayList<>();
+
+        for (Operation.Kind kind : Operation.Kind.values()) {
+            Histogram histogram = recorders.get(kind).getIntervalHistogram();
+            long kindSent = sent.get(kind).getAndSet(0);
+            long kindErrors = errors.get(kind).getAndSet(0);
+            all.add(histogram);
+            allSent += kindSent;
+            allErrors += kindErrors;
+            if (measured) {
+                rows.add(row(elapsedNanos, kind.name().toLowerCase(), kindSent, histogram, kindErrors,
+                        intervalNanos, lag));
+                totals.get(kind).add(histogram);
+                totalErrors.merge(kind, kindErrors, Long::sum);
+            }
+        }
+
+        if (measured) {
+            rows.add(row(elapsedNanos, ALL, allSent, all, allErrors, intervalNanos, lag));
+            series.addAll(rows);
+            measuredNanos += intervalNanos;
+        } else {
+            errorMessages.clear();
+        }
+        return String.format("sent %6.0f/s  completed %6.0f/s  errors %5d  p99 %9.2f ms  max %9.2f ms",
+                allSent / (intervalNanos / 1e9), all.getTotalCount() / (intervalNanos / 1e9), allErrors,
+                millis(all.getValueAtPercentile(99)), millis(all.getMaxValue()));
+    }
+
+    void print(PrintStream out) {
+        out.printf("%-10s %10s %8s %10s %9s %9s %9s %9s %9s %9s%n",
+                "operation", "count", "errors", "req/s", "mean ms", "p50 ms", "p90 ms", "p99 ms", "p999 ms", "max ms");
+        Histogram all = new Histogram(MAX_LATENCY_NANOS, 3);
+        long allErrors = 0;
+        for (Operation.Kind kind : Operation.Kind.values()) {
+            Histogram histogram = totals.get(kind);
+            if (histogram.getTotalCount() == 0 && totalErrors.get(kind) == 0) continue;
+            printRow(out, kind.name().toLowerCase(), histogram, totalErrors.get(kind));
+            all.add(histogram);
+            allErrors += totalErrors.get(kind);
+        }
+        printRow(out, ALL, all, allErrors);
+
+        if (!errorMessages.isEmpty()) {
+            out.println();
+            out.println("Most frequent errors:");
+            errorMessages.entrySet().stream()
+                    .sorted(Comparator.comparingLong((Map.Entry<String, LongAdder> e) -> e.getValue().sum()).reversed())
+                    .limit(5)
+                    .forEach(e -> out.printf("  %8d  %s%n", e.getValue().sum(), e.getKey()));
+        }
+    }
+
+    /**
+     * Writes {@code throughput.csv} (one row per kind per interval, plus
+     * {@code all}) and a percentile distribution per kind, in milliseconds, as
+     * {@code latency-<kind>.hgrm} for HdrHistogram's plotter.
+     */
+    void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        List<String> lines = new ArrayList<>(series.size() + 1);
+        lines.add(SERIES_HEADER);
+        lines.addAll(series);
+        Files.write(directory.resolve("throughput.csv"), lines);
+
+        Histogram all = new Histogram(MAX_LATENCY_NANOS, 3);
+        for (Operation.Kind kind : Operation.Kind.values()) {
+            Histogram histogram = totals.get(kind);
+            if (histogram.getTotalCount() == 0) continue;
+            writeDistribution(directory.resolve("latency-" + kind.name().toLowerCase() + ".hgrm"), histogram);
+            all.add(histogram);
+        }
+        writeDistribution(directory.resolve("latency-" + ALL + ".hgrm"), all);
+    }
+
+    // ========== PRIVATE HELPERS ==========
+
+    private void printRow(PrintStream out, String name, Histogram h, long errorCount) {
+        double seconds = measuredNanos / 1e9;
+        out.printf("%-10s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name, h.getTotalCount(), errorCount, seconds == 0 ? 0 : h.getTotalCount() / seconds,
+                h.getMean() / 1e6, millis(h.getValueAtPercentile(50)), millis(h.getValueAtPercentile(90)),
+                millis(h.getValueAtPercentile(99)), millis(h.getValueAtPercentile(99.9)), millis(h.getMaxValue()));
+    }
+
+    private static String row(long elapsedNanos, String name, long sentCount, Histogram h, long errorCount,
+                              long intervalNanos, long lagNanos) {
+        return String.format("%.1f,%s,%d,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f",
+                elapsedNanos / 1e9, name, sentCount, h.getTotalCount(), errorCount,
+                h.getTotalCount() / (intervalNanos / 1e9),
+                millis(h.getValueAtPercentile(50)), millis(h.getValueAtPercentile(99)), millis(h.getMaxValue()),
+                millis(lagNanos));
+    }
+
+    private static void writeDistribution(Path path, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(path))) {
+            histogram.outputPercentileDistribution(out, 1e6);
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
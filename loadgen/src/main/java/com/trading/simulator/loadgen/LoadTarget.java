@@ -0,0 +1,18 @@
+package com.trading.simulator.loadgen;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Where operations go. Implementations must return at once and complete the
+ * future when the operation does, exceptionally if it was rejected, so the
+ * caller's schedule never waits on the system under test.
+ */
+interface LoadTarget extends AutoCloseable {
+
+    CompletableFuture<Void> execute(Operation operation);
+
+    String describe();
+
+    @Override
+    default void close() {}
+}
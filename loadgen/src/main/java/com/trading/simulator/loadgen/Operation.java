@@ -0,0 +1,16 @@
+package com.trading.simulator.loadgen;
+
+/**
+ * One request an agent sends. {@code symbol} and {@code quantity} are unused
+ * for {@link Kind#DASHBOARD}.
+ */
+record Operation(Kind kind, long userId, String symbol, int quantity) {
+
+    enum Kind {
+        BUY, SELL, DASHBOARD
+    }
+
+    static Operation dashboard(long userId) {
+        return new Operation(Kind.DASHBOARD, userId, null, 0);
+    }
+}
@@ -0,0 +1,60 @@
+package com.trading.simulator.loadgen;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Relative weights of buys, sells and dashboard reads, parsed from
+ * {@code buy:45,sell:35,dashboard:20}. Kinds left out get weight 0.
+ */
+final class OperationMix {
+
+    private final Operation.Kind[] kinds = Operation.Kind.values();
+    private final double[] cumulative = new double[kinds.length];
+
+    OperationMix(Map<Operation.Kind, Double> weights) {
+        double total = 0;
+        for (int i = 0; i < kinds.length; i++) {
+            double weight = weights.getOrDefault(kinds[i], 0.0);
+            if (weight < 0) throw new IllegalArgumentException("Weights must not be negative");
+            total += weight;
+            cumulative[i] = total;
+        }
+        if (total == 0) throw new IllegalArgumentException("At least one weight must be positive");
+        for (int i = 0; i < kinds.length; i++) {
+            cumulative[i] /= total;
+        }
+    }
+
+    static OperationMix parse(String spec) {
+        Map<Operation.Kind, Double> weights = new EnumMap<>(Operation.Kind.class);
+        for (String part : spec.split(",")) {
+            String[] pair = part.split(":");
+            if (pair.length != 2) throw new IllegalArgumentException("Expected kind:weight, got " + part);
+            weights.put(Operation.Kind.valueOf(pair[0].trim().toUpperCase()), Double.parseDouble(pair[1].trim()));
+        }
+        return new OperationMix(weights);
+    }
+
+    Operation.Kind sample(RandomGenerator random) {
+        double u = random.nextDouble();
+        for (int i = 0; i < kinds.length - 1; i++) {
+            if (u < cumulative[i]) return kinds[i];
+        }
+        return kinds[kinds.length - 1];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder spec = new StringBuilder();
+        double previous = 0;
+        for (int i = 0; i < kinds.length; i++) {
+            if (spec.length() > 0) spec.append(',');
+            spec.append(kinds[i].name().toLowerCase()).append(':')
+                    .append(Math.round((cumulative[i] - previous) * 100));
+            previous = cumulative[i];
+        }
+        return spec.toString();
+    }
+}
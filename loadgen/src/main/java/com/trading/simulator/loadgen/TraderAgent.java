@@ -0,0 +1,70 @@
+package com.trading.simulator.loadgen;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.random.RandomGenerator;
+
+/**
+ * One simulated trader: a user id, the shares it knows it holds, and the time
+ * its next operation is due. Sells are only sent for shares a filled buy has
+ * confirmed, and are reserved until they complete, so agents do not generate
+ * rejections on purpose.
+ *
+ * <p>Only the dispatcher thread picks operations and moves the schedule;
+ * completions arrive on other threads and only touch {@code holdings}.
+ */
+final class TraderAgent {
+
+    final long userId;
+    private final Map<String, Integer> ranks; // shared by all agents, read-only
+    private final AtomicIntegerArray holdings; // by symbol rank
+    long nextStartNanos;
+
+    TraderAgent(long userId, Map<String, Integer> ranks) {
+        this.userId = userId;
+        this.ranks = ranks;
+        this.holdings = new AtomicIntegerArray(ranks.size());
+    }
+
+    Operation next(OperationMix mix, List<String> symbols, ZipfDistribution zipf, RandomGenerator random,
+                   int maxQuantity) {
+        Operation.Kind kind = mix.sample(random);
+        if (kind == Operation.Kind.DASHBOARD) return Operation.dashboard(userId);
+
+        int rank = zipf.sample(random);
+        int quantity = 1 + random.nextInt(maxQuantity);
+        if (kind == Operation.Kind.SELL) {
+            int held = heldRank(rank, random);
+            if (held < 0) {
+                kind = Operation.Kind.BUY; // nothing to sell yet
+            } else {
+                rank = held;
+                quantity = Math.min(quantity, holdings.get(rank));
+                holdings.addAndGet(rank, -quantity);
+            }
+        }
+        return new Operation(kind, userId, symbols.get(rank), quantity);
+    }
+
+    // A filled buy adds shares; a failed sell gives its reservation back
+    void completed(Operation operation, boolean succeeded) {
+        boolean addsShares = operation.kind() == Operation.Kind.BUY ? succeeded
+                : operation.kind() == Operation.Kind.SELL && !succeeded;
+        if (addsShares) {
+            holdings.addAndGet(ranks.get(operation.symbol()), operation.quantity());
+        }
+    }
+
+    // The drawn symbol if held, otherwise the first held one from a random start
+    private int heldRank(int rank, RandomGenerator random) {
+        if (holdings.get(rank) > 0) return rank;
+        int n = holdings.length();
+        int start = random.nextInt(n);
+        for (int i = 0; i < n; i++) {
+            int candidate = (start + i) % n;
+            if (holdings.get(candidate) > 0) return candidate;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,313 @@
+package com.trading.simulator.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trading.simulator.service.PortfolioService;
+import com.trading.simulator.service.TradingService;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.random.RandomGenerator;
+
+/**
+ * Open-loop trading load: N trader agents, each sending buys, sells and
+ * dashboard reads in a configured mix, on symbols drawn with Zipf skew,
+ * separated by exponentially distributed think time. Together they arrive at
+ * the target rate however slowly the system answers.
+ *
+ * <p>Each operation has a scheduled start that does not depend on earlier
+ * responses, and its latency is measured from that time, so when the system
+ * stalls the operations it delays are all counted at their full delay instead
+ * of being quietly sent later (coordinated omission).
+ *
+ * <p>By default the backend is started in this JVM on in-memory H2 and seeded
+ * with synthetic stocks and one funded user per agent; {@code --mode inprocess}
+ * calls {@link TradingService} and {@link PortfolioService} directly and
+ * {@code --mode http} goes through its REST API on a local port. With
+ * {@code --url} the HTTP mode targets an already running backend instead,
+ * whose users {@code --first-user-id} onwards must exist.
+ *
+ * <pre>
+ * java -jar loadgen.jar --mode inprocess --agents 1000 --rate 5000 --seconds 60
+ * </pre>
+ */
+public final class TradingLoadGenerator {
+
+    private final List<TraderAgent> agents;
+    private final List<String> symbols;
+    private final OperationMix mix;
+    private final ZipfDistribution zipf;
+    private final int maxQuantity;
+    private final long thinkMeanNanos;
+    private final RandomGenerator random;
+
+    TradingLoadGenerator(List<Long> userIds, List<String> symbols, OperationMix mix, double zipfExponent,
+                         int maxQuantity, long thinkMeanNanos, long seed) {
+        Map<String, Integer> ranks = new HashMap<>();
+        for (int rank = 0; rank < symbols.size(); rank++) {
+            ranks.put(symbols.get(rank), rank);
+        }
+        this.agents = new ArrayList<>(userIds.size());
+        for (Long userId : userIds) {
+            agents.add(new TraderAgent(userId, Map.copyOf(ranks)));
+        }
+        this.symbols = symbols;
+        this.mix = mix;
+        this.zipf = new ZipfDistribution(symbols.size(), zipfExponent);
+        this.maxQuantity = maxQuantity;
+        this.thinkMeanNanos = thinkMeanNanos;
+        this.random = new SplittableRandom(seed);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String mode = options.getOrDefault("mode", "inprocess");
+        int agentCount = Integer.parseInt(options.getOrDefault("agents", "1000"));
+        int symbolCount = Integer.parseInt(options.getOrDefault("symbols", "50"));
+        double rate = rate(options, agentCount);
+        long thinkMeanNanos = Math.round(agentCount * 1e9 / rate);
+        OperationMix mix = OperationMix.parse(options.getOrDefault("mix", "buy:45,sell:35,dashboard:20"));
+        double zipfExponent = Double.parseDouble(options.getOrDefault("zipf", "1.0"));
+        int maxQuantity = Integer.parseInt(options.getOrDefault("max-quantity", "10"));
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup-seconds", "10"));
+        int seconds = Integer.parseInt(options.getOrDefault("seconds", "60"));
+        long intervalMs = Long.parseLong(options.getOrDefault("interval-ms", "1000"));
+        Duration timeout = Duration.ofSeconds(Long.parseLong(options.getOrDefault("timeout-seconds", "30")));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        Path out = Path.of(options.getOrDefault("out", "target/loadgen-report"));
+
+        EmbeddedBackend backend = null;
+        LoadTarget target;
+        List<String> symbols;
+        List<Long> userIds;
+        if (mode.equals("http") && options.containsKey("url")) {
+            String url = options.get("url");
+            symbols = fetchSymbols(url, timeout);
+            long firstUserId = Long.parseLong(options.getOrDefault("first-user-id", "1"));
+            userIds = new ArrayList<>(agentCount);
+            for (int i = 0; i < agentCount; i++) userIds.add(firstUserId + i);
+            target = new HttpTarget(url, timeout, ioThreads(options));
+        } else if (mode.equals("http") || mode.equals("inprocess")) {
+            backend = EmbeddedBackend.start(mode.equals("http"));
+            symbols = backend.seedStocks(symbolCount, seed);
+            userIds = backend.seedUsers(agentCount, new BigDecimal(options.getOrDefault("balance", "1000000")));
+            target = mode.equals("http")
+                    ? new HttpTarget(backend.baseUrl(), timeout, ioThreads(options))
+                    : new InProcessTarget(backend.getBean(TradingService.class),
+                            backend.getBean(PortfolioService.class),
+                            Integer.parseInt(options.getOrDefault("workers", "64")));
+        } else {
+            throw new IllegalArgumentException("--mode must be inprocess or http");
+        }
+
+        TradingLoadGenerator generator = new TradingLoadGenerator(
+                userIds, symbols, mix, zipfExponent, maxQuantity, thinkMeanNanos, seed);
+        System.out.printf("Target: %s%nAgents: %d, rate: %.0f/s (mean think %.1f ms), mix: %s%n"
+                        + "Symbols: %d, zipf %.2f (hottest %s gets %.1f%%), warm-up %ds, measured %ds%n%n",
+                target.describe(), agentCount, rate, thinkMeanNanos / 1e6, mix, symbols.size(), zipfExponent,
+                symbols.get(0), generator.zipf.probability(0) * 100, warmupSeconds, seconds);
+
+        LatencyReport report;
+        try (target) {
+            report = generator.run(target, TimeUnit.SECONDS.toNanos(warmupSeconds), TimeUnit.SECONDS.toNanos(seconds),
+                    TimeUnit.MILLISECONDS.toNanos(intervalMs), timeout, System.out);
+        } finally {
+            if (backend != null) backend.close();
+        }
+
+        System.out.println();
+        report.print(System.out);
+        report.write(out);
+        System.out.println();
+        System.out.println("Throughput series and latency distributions written to " + out.toAbsolutePath());
+    }
+
+    /**
+     * Runs warm-up plus the measured period, then waits up to {@code drainTimeout}
+     * for operations still in flight. Only the measured period is reported.
+     */
+    LatencyReport run(LoadTarget target, long warmupNanos, long measuredNanos, long intervalNanos,
+                      Duration drainTimeout, PrintStream progress) throws InterruptedException {
+        LatencyReport report = new LatencyReport();
+        AtomicLong inFlight = new AtomicLong();
+        long start = System.nanoTime();
+        long end = start + warmupNanos + measuredNanos;
+
+        PriorityQueue<TraderAgent> schedule =
+                new PriorityQueue<>(Comparator.comparingLong((TraderAgent agent) -> agent.nextStartNanos));
+        for (TraderAgent agent : agents) {
+            agent.nextStartNanos = start + thinkTime(); // staggered, not all at once
+            schedule.add(agent);
+        }
+
+        IntervalTicker ticker = new IntervalTicker(report, start, warmupNanos, intervalNanos, inFlight, progress);
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "loadgen-report");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reporter.scheduleAtFixedRate(ticker, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+
+        while (true) {
+            TraderAgent agent = schedule.peek();
+            long due = agent.nextStartNanos;
+            if (due >= end) break;
+            long now = System.nanoTime();
+            if (due > now) {
+                LockSupport.parkNanos(due - now);
+                continue;
+            }
+
+            schedule.poll();
+            send(target, agent, due, now, report, inFlight);
+            agent.nextStartNanos = due + thinkTime(); // from the scheduled time, not from now
+            schedule.add(agent);
+        }
+
+        long drainDeadline = System.nanoTime() + drainTimeout.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        reporter.shutdown();
+        reporter.awaitTermination(10, TimeUnit.SECONDS);
+        ticker.finish();
+        if (inFlight.get() > 0) {
+            progress.printf("%d operations still in flight after %ds; they are not in the report%n",
+                    inFlight.get(), drainTimeout.toSeconds());
+        }
+        return report;
+    }
+
+    // ========== PRIVATE HELPERS ==========
+
+    private void send(LoadTarget target, TraderAgent agent, long due, long now, LatencyReport report,
+                      AtomicLong inFlight) {
+        Operation operation = agent.next(mix, symbols, zipf, random, maxQuantity);
+        report.sent(operation.kind(), now - due);
+        inFlight.incrementAndGet();
+        try {
+            target.execute(operation).whenComplete((ignored, error) -> {
+                long latency = System.nanoTime() - due;
+                if (error == null) {
+                    report.succeeded(operation.kind(), latency);
+                } else {
+                    report.failed(operation.kind(), error);
+                }
+                agent.completed(operation, error == null);
+                inFlight.decrementAndGet();
+            });
+        } catch (RuntimeException e) {
+            report.failed(operation.kind(), e);
+            agent.completed(operation, false);
+            inFlight.decrementAndGet();
+        }
+    }
+
+    // Exponential, so each agent is a Poisson source and so is their sum
+    private long thinkTime() {
+        return Math.round(-Math.log(1 - random.nextDouble()) * thinkMeanNanos);
+    }
+
+    private static double rate(Map<String, String> options, int agentCount) {
+        if (options.containsKey("rate") && options.containsKey("think-ms")) {
+            throw new IllegalArgumentException("Pass --rate or --think-ms, not both");
+        }
+        if (options.containsKey("think-ms")) {
+            return agentCount * 1000.0 / Double.parseDouble(options.get("think-ms"));
+        }
+        return Double.parseDouble(options.getOrDefault("rate", "1000"));
+    }
+
+    private static int ioThreads(Map<String, String> options) {
+        return Integer.parseInt(options.getOrDefault("io-threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+    }
+
+    // The running backend's stocks, in its order; that order sets the Zipf ranks
+    private static List<String> fetchSymbols(String baseUrl, Duration timeout) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl.replaceAll("/$", "") + "/stocks"))
+                .timeout(timeout)
+                .GET()
+                .build();
+        HttpResponse<String> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException("GET /stocks returned " + response.statusCode());
+        }
+        List<String> symbols = new ArrayList<>();
+        for (JsonNode stock : new ObjectMapper().readTree(response.body())) {
+            symbols.add(stock.get("symbol").asText());
+        }
+        if (symbols.isEmpty()) throw new IOException("The backend has no stocks");
+        return symbols;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 == args.length) {
+                throw new IllegalArgumentException("Expected --name value pairs, got " + args[i]);
+            }
+            options.put(args[i].substring(2), args[++i]);
+        }
+        return options;
+    }
+
+    // Closes one interval per period on the reporter thread, and the last partial one on finish()
+    private static final class IntervalTicker implements Runnable {
+        private final LatencyReport report;
+        private final long start;
+        private final long warmupNanos;
+        private final long intervalNanos;
+        private final AtomicLong inFlight;
+        private final PrintStream progress;
+        private long closedUntil;
+
+        IntervalTicker(LatencyReport report, long start, long warmupNanos, long intervalNanos, AtomicLong inFlight,
+                       PrintStream progress) {
+            this.report = report;
+            this.start = start;
+            this.warmupNanos = warmupNanos;
+            this.intervalNanos = intervalNanos;
+            this.inFlight = inFlight;
+            this.progress = progress;
+        }
+
+        @Override
+        public void run() {
+            close(closedUntil + intervalNanos);
+        }
+
+        void finish() {
+            long elapsed = System.nanoTime() - start;
+            if (elapsed > closedUntil) close(elapsed);
+        }
+
+        private void close(long until) {
+            boolean measured = closedUntil >= warmupNanos;
+            String summary = report.interval(until - warmupNanos, until - closedUntil, measured);
+            closedUntil = until;
+            progress.printf("%6.1fs %-9s %s  in flight %d%n",
+                    until / 1e9, measured ? "" : "(warm-up)", summary, inFlight.get());
+        }
+    }
+}
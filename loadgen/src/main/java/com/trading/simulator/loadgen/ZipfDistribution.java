@@ -0,0 +1,39 @@
+package com.trading.simulator.loadgen;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Ranks 0..n-1 drawn with probability proportional to {@code 1 / (rank + 1)^exponent},
+ * so rank 0 is the hottest. An exponent of 0 is uniform; around 1 is the usual
+ * skew of trading volume across tickers.
+ */
+final class ZipfDistribution {
+
+    private final double[] cumulative;
+
+    ZipfDistribution(int n, double exponent) {
+        if (n <= 0) throw new IllegalArgumentException("Need at least one rank");
+        if (exponent < 0) throw new IllegalArgumentException("Exponent must not be negative");
+
+        cumulative = new double[n];
+        double total = 0;
+        for (int rank = 0; rank < n; rank++) {
+            total += 1 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = total;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cumulative[rank] /= total;
+        }
+        cumulative[n - 1] = 1.0; // no rounding gap above the last rank
+    }
+
+    int sample(RandomGenerator random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return index >= 0 ? index : -index - 1;
+    }
+
+    double probability(int rank) {
+        return rank == 0 ? cumulative[0] : cumulative[rank] - cumulative[rank - 1];
+    }
+}